@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark of the gzip compression of the login payloads sent to Sift, by payload size. Compression pays off when
+ * the time spent compressing a payload is less than the transfer time saved, which is the number of bytes saved
+ * times 80 ns per byte over a 100 Mbps link. The compressed size is reported by the compressedBytes counter.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressionBenchmark {
+
+    @Param({"256", "1024", "2048", "4096", "16384", "65536"})
+    private int payloadSize;
+
+    private byte[] payload;
+
+    /**
+     * Size of the compressed payload.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CompressedSize {
+
+        public long compressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+
+            compressedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+
+        payload = buildPayload(payloadSize);
+    }
+
+    @Benchmark
+    public int gzip(CompressedSize compressedSize) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(payload.length);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(payload);
+        }
+        compressedSize.compressedBytes = outputStream.size();
+        return outputStream.size();
+    }
+
+    /**
+     * Build a login payload similar to the ones built by the Sift functions, padded with custom fields passed by the
+     * authentication scripts until it reaches the given size.
+     */
+    private static byte[] buildPayload(int size) {
+
+        Random random = new Random(size);
+        JSONObject payload = new JSONObject();
+        payload.put("$type", "$login");
+        payload.put("$api_key", UUID.randomUUID().toString());
+        payload.put("$user_id", "user" + random.nextInt(100000) + "@example.com");
+        payload.put("$session_id", UUID.randomUUID().toString());
+        payload.put("$login_status", "$success");
+        payload.put("$ip", random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." +
+                random.nextInt(256));
+        JSONObject browser = new JSONObject();
+        browser.put("$user_agent", LoginFixtures.USER_AGENT);
+        payload.put("$browser", browser);
+        int field = 0;
+        while (payload.toString().length() < size) {
+            payload.put("custom_field_" + field++, Long.toHexString(random.nextLong()));
+        }
+        return payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ExecutorConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the throughput of the blocking Sift I/O work on platform and virtual threads. Each task
+ * simulates a request to Sift by blocking for the given latency, and up to the given number of tasks are kept in
+ * flight, as with a burst of concurrent logins. Virtual threads can be measured only on JDK 21 and later.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutorModeBenchmark {
+
+    private static final String THREAD_NAME_PREFIX = "sift-benchmark-";
+    private static final int TASKS = 10000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private Constants.ExecutorMode executorMode;
+
+    @Param({"2000"})
+    private int inFlight;
+
+    @Param({"50"})
+    private long latency;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+
+        ExecutorProvider executorProvider = new ExecutorProvider(new ExecutorConfig.Builder()
+                .setExecutorMode(executorMode)
+                .setMaxPlatformThreads(Constants.EXECUTOR_MAX_PLATFORM_THREADS)
+                .build());
+        if (executorMode == Constants.ExecutorMode.VIRTUAL && !executorProvider.isVirtualThreadsEnabled()) {
+            throw new IllegalStateException("Virtual threads are not supported by this runtime.");
+        }
+        executor = executorProvider.newTaskExecutor(THREAD_NAME_PREFIX);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void runTasks() throws InterruptedException {
+
+        Semaphore inFlightTasks = new Semaphore(inFlight);
+        CountDownLatch completedTasks = new CountDownLatch(TASKS);
+        Runnable task = () -> {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlightTasks.release();
+                completedTasks.countDown();
+            }
+        };
+
+        for (int i = 0; i < TASKS; i++) {
+            inFlightTasks.acquire();
+            while (true) {
+                try {
+                    executor.execute(task);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    // All the platform threads are busy, as the authentication threads would be.
+                    Thread.sleep(1);
+                }
+            }
+        }
+        completedTasks.await();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.fraud.detection.sift.iprange.IpRangeIndex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the lookup of the IP address of a login in the IP ranges of a tenant. Half of the ranges and of the
+ * looked up addresses are IPv6. The throughput is reported per microsecond, hence a score above one means that a
+ * lookup takes less than a microsecond.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IpRangeBenchmark {
+
+    private static final int ADDRESS_COUNT = 4096;
+
+    @Param({"1000", "300000"})
+    private int rangeCount;
+
+    private IpRangeIndex index;
+    private String[] addresses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(42);
+        IpRangeIndex.Builder builder = new IpRangeIndex.Builder();
+        for (int i = 0; i < rangeCount; i++) {
+            if (i % 2 == 0) {
+                builder.add(createIpv4Address(random) + "/" + (16 + random.nextInt(17)), random.nextDouble());
+            } else {
+                builder.add(createIpv6Address(random) + "/" + (32 + random.nextInt(33)), random.nextDouble());
+            }
+        }
+        index = builder.build();
+        addresses = new String[ADDRESS_COUNT];
+        for (int i = 0; i < ADDRESS_COUNT; i++) {
+            addresses[i] = i % 2 == 0 ? createIpv4Address(random) : createIpv6Address(random);
+        }
+    }
+
+    @Benchmark
+    public double lookup() {
+
+        next = (next + 1) & (ADDRESS_COUNT - 1);
+        return index.lookup(addresses[next]);
+    }
+
+    private static String createIpv4Address(Random random) {
+
+        return random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." +
+                random.nextInt(256);
+    }
+
+    private static String createIpv6Address(Random random) {
+
+        // Addresses in 2001:db8::/32, so that the ranges share their leading bits as real allocations do.
+        return "2001:db8:" + Integer.toHexString(random.nextInt(0x10000)) + ":" +
+                Integer.toHexString(random.nextInt(0x10000)) + "::" + Integer.toHexString(random.nextInt(0x10000));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.graaljs.JsGraalAuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.TransientObjectWrapper;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.application.common.model.Property;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.governance.IdentityGovernanceService;
+import org.wso2.carbon.identity.governance.bean.ConnectorConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletRequestWrapper;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Realistic login fixtures for the benchmarks: a stubbed authentication context of a user logging in from a browser,
+ * a tenant with the Sift connector configured, custom parameters passed by the authentication scripts, and Sift
+ * responses.
+ *
+ * <p>The framework types are stubbed with stub-only mocks, which do not record the invocations, so that the cost of
+ * the stubs is small and the same for the benchmarks being compared.</p>
+ */
+public final class LoginFixtures {
+
+    public static final String TENANT_DOMAIN = "carbon.super";
+    public static final String API_KEY = "5a6f8c2e9b1d4f7a3c0e6b9d2f5a8c1e";
+    public static final String USER_ID = "4b3c4a3e-6a5b-4f0e-9c1d-2e7f8a9b0c1d";
+    public static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
+            "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    public static final String IP_ADDRESS = "203.0.113.42";
+
+    private LoginFixtures() {
+
+    }
+
+    /**
+     * Register a stubbed identity governance service returning the Sift connector configs of the tenant.
+     *
+     * @throws Exception If the stubs cannot be created.
+     */
+    public static void registerSiftConnector() throws Exception {
+
+        Property apiKey = new Property();
+        apiKey.setName(Constants.SIFT_API_KEY_PROP);
+        apiKey.setValue(API_KEY);
+        ConnectorConfig connectorConfig = mock(ConnectorConfig.class, withSettings().stubOnly());
+        when(connectorConfig.getProperties()).thenReturn(new Property[]{apiKey});
+        IdentityGovernanceService identityGovernanceService = mock(IdentityGovernanceService.class,
+                withSettings().stubOnly());
+        when(identityGovernanceService.getConnectorWithConfigs(TENANT_DOMAIN, Constants.CONNECTOR_NAME))
+                .thenReturn(connectorConfig);
+        SiftDataHolder.getInstance().setIdentityGovernanceService(identityGovernanceService);
+    }
+
+    /**
+     * Create the authentication context of a user logging in from a browser.
+     *
+     * @return Stubbed authentication context.
+     * @throws Exception If the stubs cannot be created.
+     */
+    public static JsAuthenticationContext createContext() throws Exception {
+
+        HttpServletRequestWrapper request = mock(HttpServletRequestWrapper.class, withSettings().stubOnly());
+        when(request.getHeader(Constants.USER_AGENT_HEADER)).thenReturn(USER_AGENT);
+        when(request.getRemoteAddr()).thenReturn(IP_ADDRESS);
+        TransientObjectWrapper<HttpServletRequestWrapper> requestWrapper = mock(TransientObjectWrapper.class,
+                withSettings().stubOnly());
+        when(requestWrapper.getWrapped()).thenReturn(request);
+
+        AuthenticationContext authenticationContext = mock(AuthenticationContext.class, withSettings().stubOnly());
+        when(authenticationContext.getTenantDomain()).thenReturn(TENANT_DOMAIN);
+        when(authenticationContext.getContextIdentifier()).thenReturn(UUID.randomUUID().toString());
+        when(authenticationContext.getParameter(Constants.HTTP_SERVLET_REQUEST)).thenReturn(requestWrapper);
+
+        AuthenticatedUser authenticatedUser = mock(AuthenticatedUser.class, withSettings().stubOnly());
+        when(authenticatedUser.getUserId()).thenReturn(USER_ID);
+        JsGraalAuthenticatedUser user = mock(JsGraalAuthenticatedUser.class, withSettings().stubOnly());
+        when(user.getWrapped()).thenReturn(authenticatedUser);
+
+        JsAuthenticationContext context = mock(JsAuthenticationContext.class, withSettings().stubOnly());
+        when(context.getWrapped()).thenReturn(authenticationContext);
+        when(context.getMember(Constants.CURRENT_KNOWN_SUBJECT)).thenReturn(user);
+        return context;
+    }
+
+    /**
+     * Create the custom parameters passed by an authentication script, mixing string, numeric and boolean values.
+     *
+     * @param count Number of custom parameters.
+     * @return Custom parameters.
+     */
+    public static Map<String, Object> createCustomParams(int count) {
+
+        Random random = new Random(count);
+        Map<String, Object> customParams = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+                case 0:
+                    customParams.put("custom_field_" + i, Long.toHexString(random.nextLong()));
+                    break;
+                case 1:
+                    customParams.put("custom_field_" + i, random.nextInt(100000));
+                    break;
+                default:
+                    customParams.put("custom_field_" + i, random.nextBoolean());
+            }
+        }
+        return customParams;
+    }
+
+    /**
+     * Create a risk score response of Sift. The verbose response also carries the workflow statuses and score
+     * reasons returned by Sift accounts with workflows configured.
+     *
+     * @param verbose Whether to add the workflow statuses and score reasons.
+     * @return Sift response.
+     */
+    public static String createScoreResponse(boolean verbose) {
+
+        StringBuilder reasons = new StringBuilder();
+        StringBuilder workflowStatuses = new StringBuilder();
+        if (verbose) {
+            for (int i = 0; i < 5; i++) {
+                reasons.append(i > 0 ? "," : "").append("{\"name\":\"Reason ").append(i)
+                        .append("\",\"value\":\"").append(i * 7).append("\",\"details\":{\"users\":\"user")
+                        .append(i).append("\"}}");
+                workflowStatuses.append(i > 0 ? "," : "").append("{\"id\":\"").append(UUID.randomUUID())
+                        .append("\",\"state\":\"finished\",\"config\":{\"id\":\"workflow").append(i)
+                        .append("\",\"version\":\"1\"},\"config_display_name\":\"Login workflow ").append(i)
+                        .append("\",\"abuse_types\":[\"account_takeover\"],\"entity\":{\"type\":\"session\",")
+                        .append("\"id\":\"session").append(i).append("\"},\"history\":[{\"app\":\"decision\",")
+                        .append("\"name\":\"Looks OK\",\"state\":\"finished\",\"config\":{\"decision_id\":")
+                        .append("\"looks_ok_account_takeover\"}}]}");
+            }
+        }
+        return "{\"status\":0,\"error_message\":\"OK\",\"time\":1700000000,\"request\":\"\"," +
+                "\"score_response\":{\"status\":0,\"error_message\":\"OK\",\"user_id\":\"" + USER_ID + "\"," +
+                "\"scores\":{\"account_takeover\":{\"score\":0.8512,\"reasons\":[" + reasons + "]}}," +
+                "\"latest_labels\":{},\"workflow_statuses\":[" + workflowStatuses + "]}}";
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.util.IdentifierHasher;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftPayloadSerializer;
+import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the per login work done to build the payload sent to Sift: building the payload from the
+ * authentication context, serializing it, masking the API key for logging, and the SHA-256 hashing of the user and
+ * session identifiers.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PayloadBenchmark {
+
+    @Param({"0", "8", "32"})
+    private int customParamCount;
+
+    private JsAuthenticationContext context;
+    private Map<String, Object> customParams;
+    private JSONObject payload;
+    private String sessionId;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        LoginFixtures.registerSiftConnector();
+        context = LoginFixtures.createContext();
+        customParams = LoginFixtures.createCustomParams(customParamCount);
+        payload = Util.buildPayload(context, "LOGIN_SUCCESS", new HashMap<>(customParams));
+        sessionId = context.getWrapped().getContextIdentifier();
+    }
+
+    /**
+     * Build the payload. The custom parameters are copied on each call, as the default parameters are removed from
+     * the passed map while building the payload, and as the scripts pass a new map on each login.
+     */
+    @Benchmark
+    public JSONObject buildPayload() throws FrameworkException {
+
+        return Util.buildPayload(context, "LOGIN_SUCCESS", new HashMap<>(customParams));
+    }
+
+    /**
+     * Build and serialize the payload, which is the work done on each login before the request is sent.
+     */
+    @Benchmark
+    public HttpEntity buildAndSerializePayload() throws FrameworkException {
+
+        return SiftPayloadSerializer.toEntity(Util.buildPayload(context, "LOGIN_SUCCESS",
+                new HashMap<>(customParams)));
+    }
+
+    /**
+     * Serialize the payload straight into the bytes of the request entity.
+     */
+    @Benchmark
+    public HttpEntity serializePayload() {
+
+        return SiftPayloadSerializer.toEntity(payload);
+    }
+
+    /**
+     * Serialize the payload into a string and encode it into a string entity, as a baseline for the serializer.
+     */
+    @Benchmark
+    public HttpEntity serializePayloadToString() {
+
+        return new StringEntity(payload.toString(), ContentType.APPLICATION_JSON);
+    }
+
+    /**
+     * Mask the API key of the payload, done on each login when logging is enabled in the script.
+     */
+    @Benchmark
+    public String maskPayload() {
+
+        return Util.getMaskedSiftPayload(payload);
+    }
+
+    /**
+     * Hash the user id and the session id, as done for each payload of a flow when the hashes are not yet memoized
+     * in the authentication context.
+     */
+    @Benchmark
+    public void hashIdentifiers(Blackhole blackhole) {
+
+        blackhole.consume(IdentifierHasher.sha256Hex(LoginFixtures.USER_ID));
+        blackhole.consume(IdentifierHasher.sha256Hex(sessionId));
+    }
+
+    /**
+     * Hash the user id and the session id with a new digest for each hash, as a baseline for the reused digests.
+     */
+    @Benchmark
+    public void hashIdentifiersWithNewDigests(Blackhole blackhole) {
+
+        blackhole.consume(DigestUtils.sha256Hex(LoginFixtures.USER_ID));
+        blackhole.consume(DigestUtils.sha256Hex(sessionId));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions.CallSiftOnLoginFunctionImpl;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser.SiftResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the risk score response handling: the extraction of the account takeover score from the Sift
+ * response, both streamed and through a JSON tree, and the whole risk score call of the authentication script against
+ * a stubbed http client.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseParsingBenchmark {
+
+    @Param({"false", "true"})
+    private boolean verboseResponse;
+
+    private byte[] response;
+    private JsAuthenticationContext context;
+    private Map<String, Object> customParams;
+    private CallSiftOnLoginFunctionImpl callSiftOnLoginFunction;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        String scoreResponse = LoginFixtures.createScoreResponse(verboseResponse);
+        response = scoreResponse.getBytes(StandardCharsets.UTF_8);
+        LoginFixtures.registerSiftConnector();
+        context = LoginFixtures.createContext();
+        customParams = LoginFixtures.createCustomParams(8);
+        callSiftOnLoginFunction = new CallSiftOnLoginFunctionImpl(new StubSiftHttpClient(scoreResponse));
+    }
+
+    /**
+     * Extract the score the same way as the risk score function does, streaming only the needed values.
+     */
+    @Benchmark
+    public double parseScore() throws IOException {
+
+        SiftResponse siftResponse = SiftResponseParser.parse(new ByteArrayInputStream(response));
+        return siftResponse.hasScore() ? siftResponse.getScore() : Constants.DEFAULT_ERROR_VALUE;
+    }
+
+    /**
+     * Parse the whole response into a JSON tree before extracting the score, as a baseline for the streaming parser.
+     */
+    @Benchmark
+    public double parseScoreTree() {
+
+        JSONObject jsonResponse = new JSONObject(new JSONTokener(new InputStreamReader(
+                new ByteArrayInputStream(response), StandardCharsets.UTF_8)));
+        JSONObject scoreResponse = jsonResponse.optJSONObject(Constants.SIFT_SCORE_RESPONSE);
+        JSONObject scores = scoreResponse != null ? scoreResponse.optJSONObject(Constants.SIFT_SCORES) : null;
+        JSONObject accountTakeover = scores != null ? scores.optJSONObject(Constants.SIFT_ACCOUNT_TAKEOVER) : null;
+        return accountTakeover != null ? accountTakeover.getDouble(Constants.SIFT_SCORE) :
+                Constants.DEFAULT_ERROR_VALUE;
+    }
+
+    /**
+     * The whole risk score call, from the payload to the extracted score, without the network.
+     */
+    @Benchmark
+    public double getRiskScore() throws FrameworkException {
+
+        return callSiftOnLoginFunction.getSiftRiskScoreForLogin(context, "LOGIN_SUCCESS",
+                new HashMap<>(customParams));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.benchmark;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Http client answering every request with the same Sift response without any I/O, so that the benchmarks measure
+ * only the work done by the connector around the request.
+ */
+@SuppressWarnings("deprecation")
+public class StubSiftHttpClient extends CloseableHttpClient {
+
+    private final byte[] response;
+
+    public StubSiftHttpClient(String response) {
+
+        this.response = response.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) {
+
+        StubResponse stubResponse = new StubResponse();
+        stubResponse.setEntity(new ByteArrayEntity(response, ContentType.APPLICATION_JSON));
+        return stubResponse;
+    }
+
+    @Override
+    public HttpParams getParams() {
+
+        return new BasicHttpParams();
+    }
+
+    @Override
+    public ClientConnectionManager getConnectionManager() {
+
+        return null;
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    /**
+     * Successful response of Sift.
+     */
+    private static class StubResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        StubResponse() {
+
+            super(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
@@ -26,7 +26,9 @@ public class Constants {
     private Constants() {
     }
 
-    public static final String SIFT_API_URL = "https://api.sift.com/v205/events?abuse_types=account_takeover";
+    public static final String SIFT_API_BASE_URL = "https://api.sift.com";
+    public static final String SIFT_EVENTS_PATH = "/v205/events?abuse_types=account_takeover";
+    public static final String SIFT_API_URL = SIFT_API_BASE_URL + SIFT_EVENTS_PATH;
     public static final String RETURN_SCORE_PARAM = "&return_score=true";
 
     // Connector configs.
@@ -35,6 +37,16 @@ public class Constants {
     public static final String SIFT_API_KEY_PROP = "__secret__.sift.api.key";
     public static final String SIFT_API_KEY_PROP_NAME = "API Key";
     public static final String SIFT_API_KEY_PROP_DESC = "API key of the Sift account.";
+    public static final String SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP = "sift.score.cache.time.to.live";
+    public static final String SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_NAME = "Risk Score Cache Time To Live";
+    public static final String SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_DESC = "Time in seconds for which the risk score " +
+            "received from Sift is reused for the logins of the same user, session, IP and user agent. Leave empty " +
+            "to use the server default, or set to 0 to disable caching for the tenant.";
+    public static final String SIFT_RATE_LIMIT_PROP = "sift.rate.limit";
+    public static final String SIFT_RATE_LIMIT_PROP_NAME = "Request Rate Limit";
+    public static final String SIFT_RATE_LIMIT_PROP_DESC = "Maximum number of risk score and login event " +
+            "publishing requests sent to Sift per second for the tenant. Leave empty to use the server default, or " +
+            "set to 0 to disable rate limiting for the tenant.";
     public static final String CONNECTOR_NAME = "sift-configuration";
     public static final String CONNECTOR_FRIENDLY_NAME = "Sift Configuration";
     public static final String CONNECTOR_CATEGORY = "Login Security";
@@ -47,10 +59,241 @@ public class Constants {
     public static final int CONNECTION_REQUEST_TIMEOUT = 5000;
     public static final int READ_TIMEOUT = 5000;
 
+    // Connection pool configs.
+    public static final int MAX_CONNECTIONS = 100;
+    public static final int MAX_CONNECTIONS_PER_ROUTE = 100;
+    // Durations in milliseconds.
+    public static final int KEEP_ALIVE_DURATION = 30000;
+    public static final int VALIDATE_AFTER_INACTIVITY = 2000;
+    public static final int IDLE_CONNECTION_TIMEOUT = 60000;
+    public static final int SSL_SESSION_TIMEOUT = 3600000;
+    public static final int SSL_SESSION_CACHE_SIZE = 1000;
+    // Number of connections opened to Sift at activation. Warm up is disabled by default.
+    public static final int WARM_UP_CONNECTIONS = 0;
+    // Isolated connection pools and concurrency limits of the risk score and login event publishing requests.
+    public static final int SCORE_MAX_CONNECTIONS = 60;
+    public static final int PUBLISH_MAX_CONNECTIONS = 40;
+    public static final int SCORE_MAX_CONCURRENT_REQUESTS = 60;
+    public static final int PUBLISH_MAX_CONCURRENT_REQUESTS = 40;
+    // Time in milliseconds to wait for a free slot before rejecting a request.
+    public static final int BULKHEAD_MAX_WAIT_DURATION = 100;
+    // Minimum size in bytes of the request bodies compressed with gzip.
+    public static final int REQUEST_COMPRESSION_THRESHOLD = 2048;
+
     // Identity configs.
     public static final String CONNECTION_TIMEOUT_CONFIG = "Sift.HTTPClient.ConnectionTimeout";
     public static final String CONNECTION_REQUEST_TIMEOUT_CONFIG = "Sift.HTTPClient.ConnectionRequestTimeout";
     public static final String READ_TIMEOUT_CONFIG = "Sift.HTTPClient.ReadTimeout";
+    public static final String MAX_CONNECTIONS_CONFIG = "Sift.HTTPClient.MaxConnections";
+    public static final String MAX_CONNECTIONS_PER_ROUTE_CONFIG = "Sift.HTTPClient.MaxConnectionsPerRoute";
+    public static final String KEEP_ALIVE_DURATION_CONFIG = "Sift.HTTPClient.KeepAliveDuration";
+    public static final String VALIDATE_AFTER_INACTIVITY_CONFIG = "Sift.HTTPClient.ValidateAfterInactivity";
+    public static final String IDLE_CONNECTION_TIMEOUT_CONFIG = "Sift.HTTPClient.IdleConnectionTimeout";
+    public static final String SSL_SESSION_TIMEOUT_CONFIG = "Sift.HTTPClient.SSLSessionTimeout";
+    public static final String SSL_SESSION_CACHE_SIZE_CONFIG = "Sift.HTTPClient.SSLSessionCacheSize";
+    public static final String WARM_UP_CONNECTIONS_CONFIG = "Sift.HTTPClient.WarmUpConnections";
+    public static final String SCORE_MAX_CONNECTIONS_CONFIG = "Sift.HTTPClient.Score.MaxConnections";
+    public static final String PUBLISH_MAX_CONNECTIONS_CONFIG = "Sift.HTTPClient.Publish.MaxConnections";
+    public static final String SCORE_MAX_CONCURRENT_REQUESTS_CONFIG = "Sift.Bulkhead.Score.MaxConcurrentRequests";
+    public static final String PUBLISH_MAX_CONCURRENT_REQUESTS_CONFIG = "Sift.Bulkhead.Publish.MaxConcurrentRequests";
+    public static final String BULKHEAD_MAX_WAIT_DURATION_CONFIG = "Sift.Bulkhead.MaxWaitDuration";
+    public static final String REQUEST_COMPRESSION_ENABLED_CONFIG = "Sift.HTTPClient.RequestCompression.Enabled";
+    public static final String REQUEST_COMPRESSION_THRESHOLD_CONFIG = "Sift.HTTPClient.RequestCompression.Threshold";
+    public static final String RESPONSE_COMPRESSION_ENABLED_CONFIG = "Sift.HTTPClient.ResponseCompression.Enabled";
+    public static final String SIFT_API_BASE_URL_CONFIG = "Sift.HTTPClient.BaseURL";
+    public static final String HTTP_TRANSPORT_CONFIG = "Sift.HTTPClient.Transport";
+
+    // Login event publisher configs.
+    public static final int PUBLISHER_QUEUE_SIZE = 10000;
+    public static final int PUBLISHER_WORKER_COUNT = 4;
+    // Drain timeout in milliseconds.
+    public static final int PUBLISHER_DRAIN_TIMEOUT = 5000;
+    public static final String PUBLISHER_ASYNC_ENABLED_CONFIG = "Sift.Publisher.Async.Enabled";
+    public static final String PUBLISHER_QUEUE_SIZE_CONFIG = "Sift.Publisher.QueueSize";
+    public static final String PUBLISHER_WORKER_COUNT_CONFIG = "Sift.Publisher.WorkerCount";
+    public static final String PUBLISHER_OVERFLOW_POLICY_CONFIG = "Sift.Publisher.OverflowPolicy";
+    public static final String PUBLISHER_DRAIN_TIMEOUT_CONFIG = "Sift.Publisher.DrainTimeout";
+
+    // Circuit breaker configs.
+    // Thresholds as a percentage of the calls in the sliding window.
+    public static final int CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+    public static final int CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD = 100;
+    // Durations in milliseconds.
+    public static final int CIRCUIT_BREAKER_SLOW_CALL_DURATION = 3000;
+    public static final int CIRCUIT_BREAKER_WAIT_DURATION_IN_OPEN_STATE = 30000;
+    public static final int CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = 100;
+    public static final int CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS = 20;
+    public static final int CIRCUIT_BREAKER_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 5;
+    public static final String CIRCUIT_BREAKER_ENABLED_CONFIG = "Sift.CircuitBreaker.Enabled";
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD_CONFIG =
+            "Sift.CircuitBreaker.FailureRateThreshold";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD_CONFIG =
+            "Sift.CircuitBreaker.SlowCallRateThreshold";
+    public static final String CIRCUIT_BREAKER_SLOW_CALL_DURATION_CONFIG = "Sift.CircuitBreaker.SlowCallDuration";
+    public static final String CIRCUIT_BREAKER_WAIT_DURATION_IN_OPEN_STATE_CONFIG =
+            "Sift.CircuitBreaker.WaitDurationInOpenState";
+    public static final String CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE_CONFIG = "Sift.CircuitBreaker.SlidingWindowSize";
+    public static final String CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS_CONFIG =
+            "Sift.CircuitBreaker.MinimumNumberOfCalls";
+    public static final String CIRCUIT_BREAKER_PERMITTED_CALLS_IN_HALF_OPEN_STATE_CONFIG =
+            "Sift.CircuitBreaker.PermittedCallsInHalfOpenState";
+
+    // Hedging configs.
+    public static final int HEDGING_DELAY_PERCENTILE = 95;
+    // Delays in milliseconds.
+    public static final int HEDGING_MIN_DELAY = 100;
+    // Maximum hedged requests as a percentage of the risk score requests.
+    public static final int HEDGING_BUDGET_PERCENTAGE = 10;
+    public static final int HEDGING_MAX_THREADS = 200;
+    public static final String HEDGING_ENABLED_CONFIG = "Sift.Hedging.Enabled";
+    public static final String HEDGING_DELAY_PERCENTILE_CONFIG = "Sift.Hedging.DelayPercentile";
+    public static final String HEDGING_MIN_DELAY_CONFIG = "Sift.Hedging.MinDelay";
+    public static final String HEDGING_BUDGET_PERCENTAGE_CONFIG = "Sift.Hedging.BudgetPercentage";
+    public static final String HEDGING_MAX_THREADS_CONFIG = "Sift.Hedging.MaxThreads";
+
+    // Retry configs.
+    public static final int RETRY_MAX_ATTEMPTS = 3;
+    // Delays in milliseconds.
+    public static final int RETRY_INITIAL_BACKOFF = 200;
+    public static final int RETRY_MAX_BACKOFF = 10000;
+    // Maximum retried requests as a percentage of the requests sent to Sift.
+    public static final int RETRY_BUDGET_PERCENTAGE = 10;
+    public static final int RETRY_SCHEDULER_THREADS = 2;
+    public static final int RETRY_SCORE_DEADLINE = 1000;
+    public static final String RETRY_ENABLED_CONFIG = "Sift.Retry.Enabled";
+    public static final String RETRY_MAX_ATTEMPTS_CONFIG = "Sift.Retry.MaxAttempts";
+    public static final String RETRY_INITIAL_BACKOFF_CONFIG = "Sift.Retry.InitialBackoff";
+    public static final String RETRY_MAX_BACKOFF_CONFIG = "Sift.Retry.MaxBackoff";
+    public static final String RETRY_BUDGET_PERCENTAGE_CONFIG = "Sift.Retry.BudgetPercentage";
+    public static final String RETRY_SCHEDULER_THREADS_CONFIG = "Sift.Retry.SchedulerThreads";
+    public static final String RETRY_SCORE_ENABLED_CONFIG = "Sift.Retry.Score.Enabled";
+    public static final String RETRY_SCORE_DEADLINE_CONFIG = "Sift.Retry.Score.Deadline";
+
+    // Executor configs.
+    // Maximum platform threads used for the Sift I/O work when virtual threads are not used.
+    public static final int EXECUTOR_MAX_PLATFORM_THREADS = 200;
+    public static final String EXECUTOR_MODE_CONFIG = "Sift.Executor.Mode";
+    public static final String EXECUTOR_MAX_PLATFORM_THREADS_CONFIG = "Sift.Executor.MaxPlatformThreads";
+
+    // Login event spool configs.
+    public static final String CARBON_HOME = "carbon.home";
+    // Spool directory relative to the carbon home.
+    public static final String SPOOL_DIRECTORY = "repository/data/sift-spool";
+    // Sizes in bytes.
+    public static final int SPOOL_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final int SPOOL_MAX_SIZE = 256 * 1024 * 1024;
+    // Durations in milliseconds.
+    public static final int SPOOL_MAX_AGE = 24 * 60 * 60 * 1000;
+    public static final int SPOOL_REPLAY_INTERVAL = 5000;
+    // Login events replayed per second.
+    public static final int SPOOL_REPLAY_RATE = 50;
+    public static final String SPOOL_ENABLED_CONFIG = "Sift.Spool.Enabled";
+    public static final String SPOOL_DIRECTORY_CONFIG = "Sift.Spool.Directory";
+    public static final String SPOOL_SEGMENT_SIZE_CONFIG = "Sift.Spool.SegmentSize";
+    public static final String SPOOL_MAX_SIZE_CONFIG = "Sift.Spool.MaxSize";
+    public static final String SPOOL_MAX_AGE_CONFIG = "Sift.Spool.MaxAge";
+    public static final String SPOOL_REPLAY_INTERVAL_CONFIG = "Sift.Spool.ReplayInterval";
+    public static final String SPOOL_REPLAY_RATE_CONFIG = "Sift.Spool.ReplayRate";
+
+    // Tenant config cache configs.
+    // Durations in milliseconds.
+    public static final int CONFIG_CACHE_TIME_TO_LIVE = 5 * 60 * 1000;
+    public static final int CONFIG_CACHE_NEGATIVE_TIME_TO_LIVE = 60 * 1000;
+    public static final int CONFIG_CACHE_MAX_ENTRIES = 10000;
+    // Comma separated tenant domains whose configs are loaded at startup.
+    public static final String CONFIG_CACHE_WARM_UP_TENANTS = "carbon.super";
+    public static final String CONFIG_CACHE_ENABLED_CONFIG = "Sift.ConfigCache.Enabled";
+    public static final String CONFIG_CACHE_TIME_TO_LIVE_CONFIG = "Sift.ConfigCache.TimeToLive";
+    public static final String CONFIG_CACHE_NEGATIVE_TIME_TO_LIVE_CONFIG = "Sift.ConfigCache.NegativeTimeToLive";
+    public static final String CONFIG_CACHE_MAX_ENTRIES_CONFIG = "Sift.ConfigCache.MaxEntries";
+    public static final String CONFIG_CACHE_WARM_UP_TENANTS_CONFIG = "Sift.ConfigCache.WarmUpTenants";
+
+    // Risk score cache configs.
+    // Durations in milliseconds. The time to live can be overridden per tenant with the connector config.
+    public static final int SCORE_CACHE_TIME_TO_LIVE = 30 * 1000;
+    public static final int SCORE_CACHE_STALE_WHILE_REVALIDATE = 30 * 1000;
+    public static final int SCORE_CACHE_MAX_ENTRIES = 100000;
+    // Maximum platform threads refreshing the stale risk scores.
+    public static final int SCORE_CACHE_REFRESH_THREADS = 4;
+    public static final String SCORE_CACHE_ENABLED_CONFIG = "Sift.ScoreCache.Enabled";
+    public static final String SCORE_CACHE_TIME_TO_LIVE_CONFIG = "Sift.ScoreCache.TimeToLive";
+    public static final String SCORE_CACHE_STALE_WHILE_REVALIDATE_CONFIG = "Sift.ScoreCache.StaleWhileRevalidate";
+    public static final String SCORE_CACHE_MAX_ENTRIES_CONFIG = "Sift.ScoreCache.MaxEntries";
+    public static final String SCORE_CACHE_REFRESH_THREADS_CONFIG = "Sift.ScoreCache.RefreshThreads";
+    // Concurrent risk score requests of identical payloads share a single request to Sift. Enabled by default.
+    public static final String SCORE_CACHE_REQUEST_COALESCING_ENABLED_CONFIG =
+            "Sift.ScoreCache.RequestCoalescing.Enabled";
+
+    // IP range configs.
+    // Directory of the IP range files of the tenants, relative to the carbon home. Each tenant has a file named
+    // <tenant domain>.txt.
+    public static final String IP_RANGE_DIRECTORY = "repository/conf/sift/ip-ranges";
+    public static final String IP_RANGE_FILE_EXTENSION = ".txt";
+    // Interval in milliseconds at which the IP range files are checked for changes.
+    public static final int IP_RANGE_RELOAD_INTERVAL = 30000;
+    // Risk scores of the allowed and denied IP ranges.
+    public static final double IP_RANGE_ALLOW_SCORE = 0;
+    public static final double IP_RANGE_DENY_SCORE = 1;
+    public static final String IP_RANGE_ENABLED_CONFIG = "Sift.IPRange.Enabled";
+    public static final String IP_RANGE_DIRECTORY_CONFIG = "Sift.IPRange.Directory";
+    public static final String IP_RANGE_RELOAD_INTERVAL_CONFIG = "Sift.IPRange.ReloadInterval";
+
+    // Fallback risk score configs.
+    // Sliding window of the failed login counts in milliseconds, split into FALLBACK_WINDOW_SLICES slices.
+    public static final int FALLBACK_WINDOW = 10 * 60 * 1000;
+    public static final int FALLBACK_WINDOW_SLICES = 10;
+    // Counters per row of the count-min sketch of each window slice.
+    public static final int FALLBACK_SKETCH_WIDTH = 16384;
+    // Failed logins within the window at which the fallback risk score reaches 1.
+    public static final int FALLBACK_USER_FAILURE_THRESHOLD = 10;
+    public static final int FALLBACK_IP_FAILURE_THRESHOLD = 50;
+    public static final int FALLBACK_USER_IP_FAILURE_THRESHOLD = 5;
+    public static final String FALLBACK_ENABLED_CONFIG = "Sift.Fallback.Enabled";
+    public static final String FALLBACK_WINDOW_CONFIG = "Sift.Fallback.Window";
+    public static final String FALLBACK_SKETCH_WIDTH_CONFIG = "Sift.Fallback.SketchWidth";
+    public static final String FALLBACK_USER_FAILURE_THRESHOLD_CONFIG = "Sift.Fallback.UserFailureThreshold";
+    public static final String FALLBACK_IP_FAILURE_THRESHOLD_CONFIG = "Sift.Fallback.IPFailureThreshold";
+    public static final String FALLBACK_USER_IP_FAILURE_THRESHOLD_CONFIG = "Sift.Fallback.UserIPFailureThreshold";
+
+    // Failed login aggregation configs.
+    // Window in milliseconds over which the failed logins of an IP address and user are aggregated.
+    public static final int FAILED_LOGIN_AGGREGATION_WINDOW = 60 * 1000;
+    // Failed logins of a window published as they are, before the rest are sampled.
+    public static final int FAILED_LOGIN_AGGREGATION_BURST_THRESHOLD = 10;
+    // One in every this many failed logins beyond the burst threshold is published.
+    public static final int FAILED_LOGIN_AGGREGATION_SAMPLE_INTERVAL = 100;
+    public static final int FAILED_LOGIN_AGGREGATION_MAX_KEYS = 100000;
+    public static final String FAILED_LOGIN_AGGREGATION_ENABLED_CONFIG = "Sift.FailedLoginAggregation.Enabled";
+    public static final String FAILED_LOGIN_AGGREGATION_WINDOW_CONFIG = "Sift.FailedLoginAggregation.Window";
+    public static final String FAILED_LOGIN_AGGREGATION_BURST_THRESHOLD_CONFIG =
+            "Sift.FailedLoginAggregation.BurstThreshold";
+    public static final String FAILED_LOGIN_AGGREGATION_SAMPLE_INTERVAL_CONFIG =
+            "Sift.FailedLoginAggregation.SampleInterval";
+    public static final String FAILED_LOGIN_AGGREGATION_MAX_KEYS_CONFIG = "Sift.FailedLoginAggregation.MaxKeys";
+
+    // Metrics configs.
+    // Tenants whose outcomes are counted separately. The outcomes of the other tenants are counted together.
+    public static final int METRICS_MAX_TENANTS = 1000;
+    public static final String METRICS_ENABLED_CONFIG = "Sift.Metrics.Enabled";
+    public static final String METRICS_MAX_TENANTS_CONFIG = "Sift.Metrics.MaxTenants";
+    public static final String METRICS_MBEAN_NAME = "org.wso2.carbon.identity.fraud.detection.sift:type=SiftMetrics";
+
+    // Rate limit configs.
+    // Requests sent to Sift per second by all the tenants together, and by each tenant. The tenant rate can be
+    // overridden per tenant with the connector config. A rate of 0 disables the limit.
+    public static final int RATE_LIMIT_GLOBAL_RATE = 1000;
+    public static final int RATE_LIMIT_TENANT_RATE = 100;
+    // Requests which can be sent at once after an idle period.
+    public static final int RATE_LIMIT_GLOBAL_BURST = 2000;
+    public static final int RATE_LIMIT_TENANT_BURST = 200;
+    public static final int RATE_LIMIT_MAX_TENANTS = 10000;
+    public static final String RATE_LIMIT_ENABLED_CONFIG = "Sift.RateLimit.Enabled";
+    public static final String RATE_LIMIT_GLOBAL_RATE_CONFIG = "Sift.RateLimit.GlobalRate";
+    public static final String RATE_LIMIT_GLOBAL_BURST_CONFIG = "Sift.RateLimit.GlobalBurst";
+    public static final String RATE_LIMIT_TENANT_RATE_CONFIG = "Sift.RateLimit.TenantRate";
+    public static final String RATE_LIMIT_TENANT_BURST_CONFIG = "Sift.RateLimit.TenantBurst";
+    public static final String RATE_LIMIT_MAX_TENANTS_CONFIG = "Sift.RateLimit.MaxTenants";
+    public static final String RATE_LIMIT_PUBLISH_POLICY_CONFIG = "Sift.RateLimit.PublishPolicy";
 
     public static final String TYPE = "$type";
     public static final String LOGIN_TYPE = "$login";
@@ -62,6 +305,9 @@ public class Constants {
     public static final String IP_KEY = "$ip";
     public static final String BROWSER_KEY = "$browser";
     public static final String USER_AGENT_KEY = "$user_agent";
+    // Custom fields of the sampled failed login events, carrying the failed logins aggregated into them.
+    public static final String AGGREGATED_FAILED_LOGINS_KEY = "aggregated_failed_logins";
+    public static final String WINDOW_FAILED_LOGINS_KEY = "window_failed_logins";
 
     public static final int SIFT_STATUS_OK = 0;
     public static final String SIFT_STATUS = "status";
@@ -73,7 +319,16 @@ public class Constants {
     public static final String HTTP_SERVLET_REQUEST = "HttpServletRequest";
     public static final String USER_AGENT_HEADER = "User-Agent";
     public static final String CONTENT_TYPE_HEADER = "Content-Type";
+    public static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
     public static final String CURRENT_KNOWN_SUBJECT = "currentKnownSubject";
+    // Authentication context properties holding the hashed identifiers of the flow.
+    public static final String HASHED_USER_ID_PROPERTY = "siftHashedUserId";
+    public static final String HASHED_SESSION_ID_PROPERTY = "siftHashedSessionId";
+    // Authentication context property set to true when the risk score was derived locally because Sift was
+    // unavailable, and to false when the risk score was received from Sift.
+    public static final String LOCAL_RISK_SCORE_PROPERTY = "siftLocalRiskScore";
+    // Authentication context property holding the status of the login last recorded by the fallback risk scorer.
+    public static final String FALLBACK_RECORDED_LOGIN_PROPERTY = "siftFallbackRecordedLogin";
 
     public static final String LOGGING_ENABLED = "loggingEnabled";
 
@@ -106,4 +361,50 @@ public class Constants {
             return siftValue;
         }
     }
+
+    /**
+     * Enum to hold the policies applied when the login event publisher queue is full.
+     */
+    public enum OverflowPolicy {
+
+        // Drop the event being published.
+        DROP_NEWEST,
+        // Drop the oldest queued event to make room for the event being published.
+        DROP_OLDEST,
+        // Publish the event synchronously on the calling thread.
+        CALLER_RUNS
+    }
+
+    /**
+     * Enum to hold the policies applied to the login events published beyond the rate limit.
+     */
+    public enum RateLimitPolicy {
+
+        // Spool the event to be replayed later. The event is dropped if spooling is disabled.
+        QUEUE,
+        // Drop the event.
+        DROP
+    }
+
+    /**
+     * Enum to hold the transports of the requests sent to Sift.
+     */
+    public enum Transport {
+
+        // HTTP/1.1 over pooled connections, with a connection per in flight request.
+        HTTP_1_1,
+        // HTTP/2, with the in flight requests multiplexed as streams over a single connection.
+        HTTP_2
+    }
+
+    /**
+     * Enum to hold the types of threads used for the blocking I/O work of the requests sent to Sift.
+     */
+    public enum ExecutorMode {
+
+        // Bounded pools of platform threads.
+        PLATFORM,
+        // Virtual threads, if supported by the runtime. Falls back to platform threads otherwise.
+        VIRTUAL
+    }
 }
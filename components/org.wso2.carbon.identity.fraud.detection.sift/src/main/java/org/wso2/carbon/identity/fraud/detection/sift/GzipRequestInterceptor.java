@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Request interceptor compressing the request bodies sent to Sift with gzip. Only the bodies of a known length
+ * above the threshold are compressed, since compressing small bodies costs more CPU time than the transfer time it
+ * saves. The compressed body is streamed with chunked transfer encoding.
+ */
+public class GzipRequestInterceptor implements HttpRequestInterceptor {
+
+    private final int threshold;
+
+    /**
+     * Create a gzip request interceptor.
+     *
+     * @param threshold Minimum size in bytes of the compressed request bodies.
+     */
+    public GzipRequestInterceptor(int threshold) {
+
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+
+        if (!(request instanceof HttpEntityEnclosingRequest) || request.containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = entityEnclosingRequest.getEntity();
+        if (entity == null || entity.getContentEncoding() != null || entity.getContentLength() < 0 ||
+                entity.getContentLength() < threshold) {
+            return;
+        }
+        // The request is a wrapper of the original request, hence retried requests start from the original body.
+        entityEnclosingRequest.setEntity(new GzipCompressingEntity(entity));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpRequestWrapper;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HttpClient sending the requests to Sift over HTTP/2 with the HttpClient 5 async client, so that the in flight
+ * requests are multiplexed as streams over a single connection instead of taking a pooled connection each. The client
+ * exposes the HttpClient 4 API used by the Sift functions, hence the functions work unchanged on both transports. The
+ * request and response bodies are buffered in memory, which is fine for the small JSON documents exchanged with Sift.
+ */
+public class Http2HttpClient extends CloseableHttpClient {
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+    private static final String GZIP = "gzip";
+    // Connection specific headers are not allowed in HTTP/2, and the content headers are derived from the body.
+    private static final Set<String> EXCLUDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        EXCLUDED_HEADERS.add(HttpHeaders.CONNECTION);
+        EXCLUDED_HEADERS.add("Keep-Alive");
+        EXCLUDED_HEADERS.add("Proxy-Connection");
+        EXCLUDED_HEADERS.add(HttpHeaders.TRANSFER_ENCODING);
+        EXCLUDED_HEADERS.add(HttpHeaders.UPGRADE);
+        EXCLUDED_HEADERS.add(HttpHeaders.HOST);
+        EXCLUDED_HEADERS.add(HttpHeaders.CONTENT_LENGTH);
+        EXCLUDED_HEADERS.add(HttpHeaders.CONTENT_TYPE);
+        EXCLUDED_HEADERS.add(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    private final CloseableHttpAsyncClient httpAsyncClient;
+    private final GzipRequestInterceptor gzipRequestInterceptor;
+    private final boolean responseCompressionEnabled;
+    private final long maxWaitDuration;
+
+    /**
+     * Create a HttpClient over the given started HTTP/2 async client. The async client is closed when this client is
+     * closed.
+     *
+     * @param httpAsyncClient  HTTP/2 async client.
+     * @param connectionConfig Connection config.
+     */
+    public Http2HttpClient(CloseableHttpAsyncClient httpAsyncClient, ConnectionConfig connectionConfig) {
+
+        this.httpAsyncClient = httpAsyncClient;
+        this.gzipRequestInterceptor = connectionConfig.isRequestCompressionEnabled() ?
+                new GzipRequestInterceptor(connectionConfig.getRequestCompressionThreshold()) : null;
+        this.responseCompressionEnabled = connectionConfig.isResponseCompressionEnabled();
+        // The async client enforces the timeouts of each phase, this only bounds the wait of the calling thread.
+        this.maxWaitDuration = (long) connectionConfig.getConnectionRequestTimeout() +
+                connectionConfig.getConnectionTimeout() + connectionConfig.getReadTimeout();
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context)
+            throws IOException {
+
+        // The request is wrapped, so that compressing the body does not change the original request.
+        HttpRequestWrapper requestWrapper = HttpRequestWrapper.wrap(request, target);
+        if (gzipRequestInterceptor != null) {
+            gzipRequestInterceptor.process(requestWrapper, context);
+        }
+        SimpleHttpRequest http2Request = toHttp2Request(target, requestWrapper);
+        HttpExecutionAware executionAware = request instanceof HttpExecutionAware ? (HttpExecutionAware) request : null;
+        if (executionAware != null && executionAware.isAborted()) {
+            throw new RequestAbortedException("Request aborted.");
+        }
+        Future<SimpleHttpResponse> responseFuture = httpAsyncClient.execute(http2Request, null);
+        if (executionAware != null) {
+            // Aborting the request resets its stream.
+            executionAware.setCancellable(() -> responseFuture.cancel(true));
+        }
+        try {
+            return toResponse(responseFuture.get(maxWaitDuration, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            responseFuture.cancel(true);
+            throw new SocketTimeoutException("No response received from Sift within " + maxWaitDuration + " ms.");
+        } catch (InterruptedException e) {
+            responseFuture.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response of Sift.");
+        } catch (CancellationException e) {
+            throw new RequestAbortedException("Request aborted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Error occurred while sending the request to Sift.", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+
+        httpAsyncClient.close(CloseMode.GRACEFUL);
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+
+        throw new UnsupportedOperationException("The HTTP/2 client has no HttpClient 4 params.");
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+
+        throw new UnsupportedOperationException("The HTTP/2 client has no HttpClient 4 connection manager.");
+    }
+
+    private SimpleHttpRequest toHttp2Request(HttpHost target, HttpRequestWrapper request) throws IOException {
+
+        URI requestUri = request.getURI();
+        if (!requestUri.isAbsolute()) {
+            requestUri = URI.create(target.toURI()).resolve(requestUri);
+        }
+        SimpleHttpRequest http2Request = new SimpleHttpRequest(request.getMethod(), requestUri);
+        for (Header header : request.getAllHeaders()) {
+            if (!EXCLUDED_HEADERS.contains(header.getName())) {
+                http2Request.addHeader(header.getName(), header.getValue());
+            }
+        }
+        if (responseCompressionEnabled && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            http2Request.addHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ?
+                ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        if (entity != null) {
+            // Compressed bodies can only be streamed, hence the body is written out instead of read.
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            entity.writeTo(body);
+            Header contentType = entity.getContentType() != null ? entity.getContentType() :
+                    request.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+            if (entity.getContentEncoding() != null) {
+                http2Request.addHeader(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+            }
+            http2Request.setBody(body.toByteArray(), contentType != null ?
+                    ContentType.parse(contentType.getValue()) : null);
+        }
+        return http2Request;
+    }
+
+    private CloseableHttpResponse toResponse(SimpleHttpResponse http2Response) {
+
+        Http2Response response = new Http2Response(http2Response.getCode(), http2Response.getReasonPhrase());
+        for (org.apache.hc.core5.http.Header header : http2Response.getHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        byte[] body = http2Response.getBodyBytes();
+        if (body == null) {
+            return response;
+        }
+        ByteArrayEntity entity = new ByteArrayEntity(body);
+        ContentType contentType = http2Response.getContentType();
+        entity.setContentType(contentType != null ? contentType.toString() : null);
+        Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (responseCompressionEnabled && contentEncoding != null &&
+                GZIP.equalsIgnoreCase(contentEncoding.getValue())) {
+            // Same as the HTTP/1.1 transport, the response content is decompressed on the fly.
+            response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            response.setEntity(new GzipDecompressingEntity(entity));
+        } else {
+            entity.setContentEncoding(contentEncoding);
+            response.setEntity(entity);
+        }
+        return response;
+    }
+
+    /**
+     * Response buffered in memory, hence closing it has nothing to release.
+     */
+    private static final class Http2Response extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private Http2Response(int statusCode, String reasonPhrase) {
+
+            super(new BasicStatusLine(HTTP_2, statusCode, reasonPhrase));
+        }
+
+        @Override
+        public void close() {
+
+        }
+    }
+}
@@ -20,12 +20,44 @@ package org.wso2.carbon.identity.fraud.detection.sift;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
 import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 
 /**
  * HttpClientManager class to manage HttpClient instances.
@@ -34,6 +66,11 @@ public class HttpClientManager {
 
     private static final Log LOG = LogFactory.getLog(HttpClientManager.class);
     private static final HttpClientManager instance = new HttpClientManager();
+    private static final String WARM_UP_THREAD_NAME = "sift-connection-warm-up";
+
+    // TLS state shared by all the clients, so that every connection to Sift can resume the cached TLS sessions.
+    private SSLContext sslContext;
+    private SSLConnectionSocketFactory sslConnectionSocketFactory;
 
     private HttpClientManager() {
 
@@ -44,9 +81,67 @@ public class HttpClientManager {
         return instance;
     }
 
+    /**
+     * Create a HttpClient backed by a bounded connection pool. Idle and expired connections are evicted by a
+     * background thread which is stopped when the client is closed.
+     *
+     * @param connectionConfig Connection config.
+     * @return HttpClient.
+     */
     public CloseableHttpClient getHttpClient(ConnectionConfig connectionConfig) {
 
-        return HttpClientBuilder.create().setDefaultRequestConfig(getRequestConfig(connectionConfig)).build();
+        return getHttpClient(connectionConfig, getConnectionManager(connectionConfig));
+    }
+
+    /**
+     * Create a HttpClient backed by the given connection manager. The connection manager is shut down when the
+     * client is closed.
+     *
+     * @param connectionConfig  Connection config.
+     * @param connectionManager Connection manager.
+     * @return HttpClient.
+     */
+    public CloseableHttpClient getHttpClient(ConnectionConfig connectionConfig,
+                                            HttpClientConnectionManager connectionManager) {
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(getKeepAliveStrategy(connectionConfig))
+                .evictExpiredConnections()
+                .evictIdleConnections(connectionConfig.getIdleConnectionTimeout(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(getRequestConfig(connectionConfig));
+        if (connectionConfig.isRequestCompressionEnabled()) {
+            // Added first so that the content headers of the compressed body are set by the default interceptors.
+            httpClientBuilder.addInterceptorFirst(
+                    new GzipRequestInterceptor(connectionConfig.getRequestCompressionThreshold()));
+        }
+        if (!connectionConfig.isResponseCompressionEnabled()) {
+            // Response compression sends the Accept-Encoding header and decompresses the response content on the fly.
+            httpClientBuilder.disableContentCompression();
+        }
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * Create a HttpClient sending the requests over HTTP/2. The requests are multiplexed over a single connection,
+     * hence the client has no connection pool to bound or warm up, and the number of concurrent requests is only
+     * bounded by the bulkheads and the stream limit of Sift. The socket timeout of the connection is the read timeout,
+     * same as the HTTP/1.1 transport.
+     *
+     * @param connectionConfig Connection config.
+     * @return HttpClient.
+     */
+    public CloseableHttpClient getHttp2Client(ConnectionConfig connectionConfig) {
+
+        CloseableHttpAsyncClient httpAsyncClient = H2AsyncClientBuilder.create()
+                .setTlsStrategy(new DefaultClientTlsStrategy(getSslContext(connectionConfig)))
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setSoTimeout(Timeout.ofMilliseconds(connectionConfig.getReadTimeout()))
+                        .build())
+                .setDefaultRequestConfig(getHttp2RequestConfig(connectionConfig))
+                .build();
+        httpAsyncClient.start();
+        return new Http2HttpClient(httpAsyncClient, connectionConfig);
     }
 
     public void closeHttpClient(CloseableHttpClient httpClient) {
@@ -58,6 +153,164 @@ public class HttpClientManager {
         }
     }
 
+    /**
+     * Create a bounded connection pool. The TLS connections of all the pools share a single SSL context, so that new
+     * connections to Sift resume cached TLS sessions instead of doing full handshakes.
+     *
+     * @param connectionConfig Connection config.
+     * @return Connection manager.
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager(ConnectionConfig connectionConfig) {
+
+        return getConnectionManager(connectionConfig, connectionConfig.getMaxConnections());
+    }
+
+    /**
+     * Create a connection pool bounded to the given number of connections. Used to give each type of requests sent
+     * to Sift its own isolated pool.
+     *
+     * @param connectionConfig Connection config.
+     * @param maxConnections   Maximum number of connections in the pool.
+     * @return Connection manager.
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager(ConnectionConfig connectionConfig,
+                                                                   int maxConnections) {
+
+        return getConnectionManager(connectionConfig, maxConnections, null);
+    }
+
+    /**
+     * Create a connection pool bounded to the given number of connections, reporting the time each connection lease
+     * waits for a connection of the pool.
+     *
+     * @param connectionConfig  Connection config.
+     * @param maxConnections    Maximum number of connections in the pool.
+     * @param leaseTimeListener Listener of the lease times in nanoseconds. If null, the lease times are not reported.
+     * @return Connection manager.
+     */
+    public PoolingHttpClientConnectionManager getConnectionManager(ConnectionConfig connectionConfig,
+                                                                   int maxConnections,
+                                                                   LongConsumer leaseTimeListener) {
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", getSslConnectionSocketFactory(connectionConfig))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = leaseTimeListener != null ?
+                new LeaseTimingConnectionManager(socketFactoryRegistry, leaseTimeListener) :
+                new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxConnections);
+        // All the requests go to the same Sift host, hence the per route limit is the effective limit.
+        connectionManager.setDefaultMaxPerRoute(Math.min(maxConnections, connectionConfig.getMaxConnectionsPerRoute()));
+        connectionManager.setValidateAfterInactivity(connectionConfig.getValidateAfterInactivity());
+        return connectionManager;
+    }
+
+    /**
+     * Get the SSL context shared by all the clients. The session cache settings are updated from the given config.
+     *
+     * @param connectionConfig Connection config.
+     * @return SSL context.
+     */
+    synchronized SSLContext getSslContext(ConnectionConfig connectionConfig) {
+
+        if (sslContext == null) {
+            sslContext = SSLContexts.createDefault();
+        }
+        SSLSessionContext sslSessionContext = sslContext.getClientSessionContext();
+        sslSessionContext.setSessionCacheSize(connectionConfig.getSslSessionCacheSize());
+        sslSessionContext.setSessionTimeout((int) TimeUnit.MILLISECONDS.toSeconds(
+                connectionConfig.getSslSessionTimeout()));
+        return sslContext;
+    }
+
+    private synchronized SSLConnectionSocketFactory getSslConnectionSocketFactory(ConnectionConfig connectionConfig) {
+
+        SSLContext sharedSslContext = getSslContext(connectionConfig);
+        if (sslConnectionSocketFactory == null) {
+            sslConnectionSocketFactory = new SSLConnectionSocketFactory(sharedSslContext,
+                    SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+        }
+        return sslConnectionSocketFactory;
+    }
+
+    /**
+     * Open the configured number of connections to Sift and release them to the pool, so that the first logins after
+     * a restart do not pay the connection and TLS handshake costs. The connections are opened in a background thread.
+     *
+     * @param connectionManager Connection manager.
+     * @param connectionConfig  Connection config.
+     */
+    public void warmUpConnections(HttpClientConnectionManager connectionManager, ConnectionConfig connectionConfig) {
+
+        if (connectionConfig.getWarmUpConnections() <= 0) {
+            return;
+        }
+        Thread warmUpThread = new Thread(() -> openConnections(connectionManager, connectionConfig),
+                WARM_UP_THREAD_NAME);
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    private void openConnections(HttpClientConnectionManager connectionManager, ConnectionConfig connectionConfig) {
+
+        List<HttpClientConnection> connections = new ArrayList<>();
+        try {
+            HttpRoute route = getSiftRoute(connectionConfig);
+            int maxConnectionsPerRoute = connectionManager instanceof PoolingHttpClientConnectionManager ?
+                    ((PoolingHttpClientConnectionManager) connectionManager).getDefaultMaxPerRoute() :
+                    connectionConfig.getMaxConnectionsPerRoute();
+            int warmUpConnections = Math.min(connectionConfig.getWarmUpConnections(), maxConnectionsPerRoute);
+            // Hold all the leased connections until the end, so that the pool opens a new connection each time.
+            for (int i = 0; i < warmUpConnections; i++) {
+                ConnectionRequest connectionRequest = connectionManager.requestConnection(route, null);
+                HttpClientConnection connection = connectionRequest.get(
+                        connectionConfig.getConnectionRequestTimeout(), TimeUnit.MILLISECONDS);
+                connections.add(connection);
+                if (!connection.isOpen()) {
+                    HttpClientContext context = HttpClientContext.create();
+                    connectionManager.connect(connection, route, connectionConfig.getConnectionTimeout(), context);
+                    connectionManager.routeComplete(connection, route, context);
+                }
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Opened " + connections.size() + " connections to Sift during warm up.");
+            }
+        } catch (IOException | ExecutionException e) {
+            LOG.warn("Error occurred while warming up connections to Sift.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (HttpClientConnection connection : connections) {
+                connectionManager.releaseConnection(connection, null, connectionConfig.getKeepAliveDuration(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private HttpRoute getSiftRoute(ConnectionConfig connectionConfig) throws UnsupportedSchemeException {
+
+        URI siftUri = URI.create(connectionConfig.getSiftApiUrl());
+        HttpHost host = new HttpHost(siftUri.getHost(), siftUri.getPort(), siftUri.getScheme());
+        HttpHost target = new HttpHost(host.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(host),
+                host.getSchemeName());
+        return new HttpRoute(target, null, "https".equalsIgnoreCase(target.getSchemeName()));
+    }
+
+    private ConnectionKeepAliveStrategy getKeepAliveStrategy(ConnectionConfig connectionConfig) {
+
+        // Honour the Keep-Alive header sent by Sift, but never keep a connection longer than the configured duration.
+        return (response, context) -> {
+            long keepAliveDuration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response,
+                    context);
+            if (keepAliveDuration > 0) {
+                return Math.min(keepAliveDuration, connectionConfig.getKeepAliveDuration());
+            }
+            return connectionConfig.getKeepAliveDuration();
+        };
+    }
+
     private RequestConfig getRequestConfig(ConnectionConfig connectionConfig) {
 
         return RequestConfig.custom()
@@ -68,4 +321,57 @@ public class HttpClientManager {
                 .setRelativeRedirectsAllowed(false)
                 .build();
     }
+
+    @SuppressWarnings("deprecation")
+    private org.apache.hc.client5.http.config.RequestConfig getHttp2RequestConfig(ConnectionConfig connectionConfig) {
+
+        // The connect timeout of the request config is used, since the HTTP/2 client has no connection manager.
+        return org.apache.hc.client5.http.config.RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectionConfig.getConnectionTimeout()))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionConfig.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.ofMilliseconds(connectionConfig.getReadTimeout()))
+                .setRedirectsEnabled(false)
+                .build();
+    }
+
+    /**
+     * Connection pool timing the wait of each connection lease.
+     */
+    private static final class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final LongConsumer leaseTimeListener;
+
+        private LeaseTimingConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry,
+                                             LongConsumer leaseTimeListener) {
+
+            super(socketFactoryRegistry);
+            this.leaseTimeListener = leaseTimeListener;
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+
+            ConnectionRequest connectionRequest = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+
+                    long startTime = System.nanoTime();
+                    try {
+                        return connectionRequest.get(timeout, timeUnit);
+                    } finally {
+                        leaseTimeListener.accept(System.nanoTime() - startTime);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+
+                    return connectionRequest.cancel();
+                }
+            };
+        }
+    }
 }
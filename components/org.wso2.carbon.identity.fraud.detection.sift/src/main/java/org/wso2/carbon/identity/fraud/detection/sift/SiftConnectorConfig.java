@@ -34,6 +34,12 @@ import static org.wso2.carbon.identity.fraud.detection.sift.Constants.CONNECTOR_
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_API_KEY_PROP;
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_API_KEY_PROP_DESC;
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_API_KEY_PROP_NAME;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_RATE_LIMIT_PROP;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_RATE_LIMIT_PROP_DESC;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_RATE_LIMIT_PROP_NAME;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_DESC;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_NAME;
 
 /**
  * Sift Config Connector containing the configurations required for integrating with Sift.
@@ -75,6 +81,8 @@ public class SiftConnectorConfig implements IdentityConnectorConfig {
 
         Map<String, String> mapping = new HashMap<>();
         mapping.put(SIFT_API_KEY_PROP, SIFT_API_KEY_PROP_NAME);
+        mapping.put(SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP, SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_NAME);
+        mapping.put(SIFT_RATE_LIMIT_PROP, SIFT_RATE_LIMIT_PROP_NAME);
         return mapping;
     }
 
@@ -83,6 +91,8 @@ public class SiftConnectorConfig implements IdentityConnectorConfig {
 
         Map<String, String> mapping = new HashMap<>();
         mapping.put(SIFT_API_KEY_PROP, SIFT_API_KEY_PROP_DESC);
+        mapping.put(SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP, SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_DESC);
+        mapping.put(SIFT_RATE_LIMIT_PROP, SIFT_RATE_LIMIT_PROP_DESC);
         return mapping;
     }
 
@@ -91,6 +101,8 @@ public class SiftConnectorConfig implements IdentityConnectorConfig {
 
         List<String> properties = new ArrayList<>();
         properties.add(SIFT_API_KEY_PROP);
+        properties.add(SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP);
+        properties.add(SIFT_RATE_LIMIT_PROP);
         return properties.toArray(new String[0]);
     }
 
@@ -99,6 +111,8 @@ public class SiftConnectorConfig implements IdentityConnectorConfig {
 
         Properties properties = new Properties();
         properties.put(SIFT_API_KEY_PROP, "");
+        properties.put(SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP, "");
+        properties.put(SIFT_RATE_LIMIT_PROP, "");
         return properties;
     }
 
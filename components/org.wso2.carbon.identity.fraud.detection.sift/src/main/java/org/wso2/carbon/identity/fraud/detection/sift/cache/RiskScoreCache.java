@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ScoreCacheConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.util.IdentifierHasher;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short lived cache of the risk scores received from Sift, so that the repeated risk score evaluations of the same
+ * login do not send a request to Sift each time. The risk scores are keyed on the tenant, the login status and the
+ * hashed user ID, session ID, IP and user agent of the login.
+ * <p>
+ * A cached risk score is served until its time to live expires. After that, it is served as stale for the configured
+ * stale while revalidate duration while a single background request refreshes it. The cache is bounded to the
+ * configured number of entries. Since the keys are hashed, all the entries have the same size.
+ */
+public class RiskScoreCache {
+
+    private static final Log LOG = LogFactory.getLog(RiskScoreCache.class);
+    private static final String REFRESH_THREAD_NAME_PREFIX = "sift-score-cache-refresh-";
+    // Share of the max entries freed when the cache is full and no entries have expired.
+    private static final int EVICTION_PERCENTAGE = 10;
+
+    private final long timeToLive;
+    private final long staleWhileRevalidateNanos;
+    private final int maxEntries;
+    private final ExecutorService refreshExecutor;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create the cache.
+     *
+     * @param scoreCacheConfig Score cache config.
+     * @param executorProvider Executor provider of the background refreshes. If null, platform threads are used.
+     */
+    public RiskScoreCache(ScoreCacheConfig scoreCacheConfig, ExecutorProvider executorProvider) {
+
+        this.timeToLive = scoreCacheConfig.getTimeToLive();
+        this.staleWhileRevalidateNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(0, scoreCacheConfig.getStaleWhileRevalidate()));
+        this.maxEntries = Math.max(1, scoreCacheConfig.getMaxEntries());
+        this.refreshExecutor = executorProvider != null ?
+                executorProvider.newTaskExecutor(REFRESH_THREAD_NAME_PREFIX, scoreCacheConfig.getRefreshThreads()) :
+                ExecutorProvider.newPlatformTaskExecutor(REFRESH_THREAD_NAME_PREFIX,
+                        scoreCacheConfig.getRefreshThreads());
+    }
+
+    /**
+     * Create the cache key of the login in the payload sent to Sift.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param payload      Payload sent to Sift.
+     * @return Cache key.
+     */
+    public static String createKey(String tenantDomain, JSONObject payload) {
+
+        StringBuilder key = new StringBuilder(256);
+        appendKeyPart(key, tenantDomain);
+        appendKeyPart(key, payload.opt(Constants.LOGIN_STATUS));
+        appendKeyPart(key, payload.opt(Constants.USER_ID_KEY));
+        appendKeyPart(key, payload.opt(Constants.SESSION_ID_KEY));
+        appendKeyPart(key, payload.opt(Constants.IP_KEY));
+        JSONObject browserProperties = payload.optJSONObject(Constants.BROWSER_KEY);
+        appendKeyPart(key, browserProperties != null ? browserProperties.opt(Constants.USER_AGENT_KEY) : null);
+        // Hashed, so that the keys have a fixed size and the raw IPs and user agents are not held in memory.
+        return IdentifierHasher.sha256Hex(key.toString());
+    }
+
+    /**
+     * Get the cached risk score. If the risk score is stale, it is returned and refreshed in the background with
+     * the given loader, unless a refresh of the risk score is already in progress.
+     *
+     * @param key    Cache key.
+     * @param loader Loader of the risk score used to refresh a stale risk score.
+     * @return Cached risk score, or null if the risk score is not cached or has expired.
+     */
+    public Double get(String key, ScoreLoader loader) {
+
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.riskScore;
+        }
+        if (now - entry.staleUntil < 0) {
+            staleHits.increment();
+            refresh(key, entry, loader);
+            return entry.riskScore;
+        }
+        entries.remove(key, entry);
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache the risk score. Error values are not cached.
+     *
+     * @param key        Cache key.
+     * @param riskScore  Risk score received from Sift.
+     * @param timeToLive Time to live in milliseconds. The risk score is not cached if the time to live is not
+     *                   positive.
+     */
+    public void put(String key, double riskScore, long timeToLive) {
+
+        if (timeToLive <= 0 || riskScore == Constants.DEFAULT_ERROR_VALUE) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        long expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeToLive);
+        entries.put(key, new CacheEntry(riskScore, timeToLive, expiresAt, expiresAt + staleWhileRevalidateNanos));
+    }
+
+    /**
+     * Get the default time to live of the risk scores, used for the tenants which have not configured a time to live.
+     *
+     * @return Time to live in milliseconds.
+     */
+    public long getTimeToLive() {
+
+        return timeToLive;
+    }
+
+    public long getHitCount() {
+
+        return hits.sum();
+    }
+
+    public long getStaleHitCount() {
+
+        return staleHits.sum();
+    }
+
+    public long getMissCount() {
+
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+
+        return evictions.sum();
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    /**
+     * Stop the background refreshes and discard the cached risk scores.
+     */
+    public void shutdown() {
+
+        refreshExecutor.shutdownNow();
+        entries.clear();
+    }
+
+    private void refresh(String key, CacheEntry entry, ScoreLoader loader) {
+
+        if (loader == null || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    put(key, loader.load(), entry.timeToLive);
+                } catch (FrameworkException | RuntimeException e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Error while refreshing the cached Sift risk score.", e);
+                    }
+                } finally {
+                    // Allows the next stale read to retry, if the risk score could not be refreshed.
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void evict() {
+
+        // A single thread evicts at a time. The others add their entries, exceeding the bound only briefly.
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int evicted = entries.size();
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> now - entry.staleUntil >= 0);
+            int target = maxEntries - Math.max(1, maxEntries * EVICTION_PERCENTAGE / 100);
+            // Evict in the iteration order of the map, which is effectively random since the keys are hashes.
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            evictions.add(Math.max(0, evicted - entries.size()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static void appendKeyPart(StringBuilder key, Object value) {
+
+        String part = value != null ? value.toString() : "";
+        // Length prefixed, so that the adjacent parts cannot run into each other.
+        key.append(part.length()).append(':').append(part);
+    }
+
+    /**
+     * Loader of the risk score of a login from Sift.
+     */
+    @FunctionalInterface
+    public interface ScoreLoader {
+
+        /**
+         * Load the risk score from Sift.
+         *
+         * @return Risk score, or the default error value if the risk score could not be evaluated.
+         * @throws FrameworkException If an error occurs while loading the risk score.
+         */
+        double load() throws FrameworkException;
+    }
+
+    private static final class CacheEntry {
+
+        private final double riskScore;
+        private final long timeToLive;
+        private final long expiresAt;
+        private final long staleUntil;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CacheEntry(double riskScore, long timeToLive, long expiresAt, long staleUntil) {
+
+            this.riskScore = riskScore;
+            this.timeToLive = timeToLive;
+            this.expiresAt = expiresAt;
+            this.staleUntil = staleUntil;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses the concurrent risk score requests of identical payloads into a single request to Sift. The first
+ * caller of a payload sends the request, and the callers arriving while it is in flight wait for and share its
+ * result. A request is forgotten as soon as it completes, hence the results are not reused afterwards.
+ * <p>
+ * The in-flight requests are held in a concurrent map, which locks only the bin of the key being added or removed.
+ */
+public class ScoreRequestCoalescer {
+
+    private static final Log LOG = LogFactory.getLog(ScoreRequestCoalescer.class);
+
+    private final Map<String, CompletableFuture<Double>> inFlightRequests = new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+
+    /**
+     * Create the key of the payload sent to Sift. Only the identical payloads share a request, so that no login
+     * event with different custom parameters is lost.
+     *
+     * @param payload Payload sent to Sift.
+     * @return Key of the payload.
+     */
+    public static String createKey(JSONObject payload) {
+
+        return payload.toString();
+    }
+
+    /**
+     * Load the risk score, or wait for the result of the in-flight request with the same key.
+     *
+     * @param key    Key of the payload.
+     * @param loader Loader of the risk score, run if there is no in-flight request with the same key.
+     * @return Risk score.
+     * @throws FrameworkException If the shared request failed, or the wait was interrupted.
+     */
+    public double execute(String key, RiskScoreCache.ScoreLoader loader) throws FrameworkException {
+
+        CompletableFuture<Double> request = new CompletableFuture<>();
+        CompletableFuture<Double> inFlightRequest = inFlightRequests.putIfAbsent(key, request);
+        if (inFlightRequest != null) {
+            coalescedRequests.increment();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Waiting for the in-flight risk score request with the same payload.");
+            }
+            return await(inFlightRequest);
+        }
+        try {
+            double riskScore = loader.load();
+            request.complete(riskScore);
+            return riskScore;
+        } catch (FrameworkException | RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Removes only the request of this caller, in case the key has been reused since.
+            inFlightRequests.remove(key, request);
+        }
+    }
+
+    /**
+     * Get the number of requests which shared the result of an in-flight request instead of calling Sift.
+     *
+     * @return Number of coalesced requests.
+     */
+    public long getCoalescedRequestCount() {
+
+        return coalescedRequests.sum();
+    }
+
+    public int getInFlightRequestCount() {
+
+        return inFlightRequests.size();
+    }
+
+    private static double await(CompletableFuture<Double> inFlightRequest) throws FrameworkException {
+
+        try {
+            return inFlightRequest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FrameworkException("Interrupted while waiting for the risk score from Sift.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new FrameworkException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+        }
+    }
+}
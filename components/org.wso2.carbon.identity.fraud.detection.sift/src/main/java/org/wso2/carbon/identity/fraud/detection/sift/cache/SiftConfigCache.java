@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConfigCacheConfig;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the Sift configurations of the tenants, so that the connector configs are not read from the identity
+ * governance service on each login. The configs of a tenant are cached until the time to live expires or until the
+ * configs are updated on this node. Tenants without Sift configurations are cached for a shorter time to live.
+ */
+public class SiftConfigCache {
+
+    private static final Log LOG = LogFactory.getLog(SiftConfigCache.class);
+    private static final String WARM_UP_THREAD_NAME = "sift-config-cache-warm-up";
+
+    private final ConfigLoader configLoader;
+    private final long timeToLiveNanos;
+    private final long negativeTimeToLiveNanos;
+    private final int maxEntries;
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    // Incremented on each invalidation, so that configs loaded before an invalidation are not cached after it.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SiftConfigCache(ConfigCacheConfig configCacheConfig, ConfigLoader configLoader) {
+
+        this.configLoader = configLoader;
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(configCacheConfig.getTimeToLive());
+        this.negativeTimeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(configCacheConfig.getNegativeTimeToLive());
+        this.maxEntries = Math.max(1, configCacheConfig.getMaxEntries());
+    }
+
+    /**
+     * Get the Sift configurations of the tenant, loading them if they are not cached or have expired.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Unmodifiable Sift configurations, or null if the tenant has no Sift configurations.
+     * @throws FrameworkException If the configurations could not be loaded. Failures are not cached.
+     */
+    public Map<String, String> getConfigs(String tenantDomain) throws FrameworkException {
+
+        if (tenantDomain == null) {
+            return configLoader.load(null);
+        }
+        CacheEntry entry = entries.get(tenantDomain);
+        if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+            return entry.configs;
+        }
+        return load(tenantDomain);
+    }
+
+    /**
+     * Discard the cached configurations of the tenant, so that they are loaded again on the next login.
+     *
+     * @param tenantDomain Tenant domain.
+     */
+    public void invalidate(String tenantDomain) {
+
+        if (tenantDomain == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        if (entries.remove(tenantDomain) != null && LOG.isDebugEnabled()) {
+            LOG.debug("Invalidated the cached Sift configurations of tenant: " + tenantDomain);
+        }
+    }
+
+    /**
+     * Discard the cached configurations of all the tenants.
+     */
+    public void invalidateAll() {
+
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Load the configurations of the given tenants into the cache in a background thread, so that the first logins
+     * of the tenants do not wait for the identity governance service.
+     *
+     * @param tenantDomains Comma separated tenant domains.
+     */
+    public void warmUp(String tenantDomains) {
+
+        String[] tenants = StringUtils.split(tenantDomains, ',');
+        if (tenants == null || tenants.length == 0) {
+            return;
+        }
+        Thread warmUpThread = new Thread(() -> {
+            for (String tenant : tenants) {
+                String tenantDomain = tenant.trim();
+                if (tenantDomain.isEmpty()) {
+                    continue;
+                }
+                try {
+                    load(tenantDomain);
+                } catch (FrameworkException e) {
+                    LOG.warn("Error while loading the Sift configurations of tenant: " + tenantDomain +
+                            " during warm up.", e);
+                }
+            }
+        }, WARM_UP_THREAD_NAME);
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    public int size() {
+
+        return entries.size();
+    }
+
+    private Map<String, String> load(String tenantDomain) throws FrameworkException {
+
+        long invalidationCount = invalidations.get();
+        Map<String, String> configs = configLoader.load(tenantDomain);
+        if (configs != null) {
+            configs = Collections.unmodifiableMap(configs);
+        }
+        long timeToLive = configs != null ? timeToLiveNanos : negativeTimeToLiveNanos;
+        if (timeToLive > 0) {
+            if (entries.size() >= maxEntries) {
+                evict();
+            }
+            CacheEntry entry = new CacheEntry(configs, System.nanoTime() + timeToLive);
+            entries.put(tenantDomain, entry);
+            if (invalidations.get() != invalidationCount) {
+                // The configs may have been updated while loading them.
+                entries.remove(tenantDomain, entry);
+            }
+        }
+        return configs;
+    }
+
+    private void evict() {
+
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        if (entries.size() >= maxEntries) {
+            // Rather than tracking the usage of the entries, start over. Only the busy tenants are loaded again.
+            entries.clear();
+        }
+    }
+
+    /**
+     * Loader of the Sift configurations of a tenant.
+     */
+    @FunctionalInterface
+    public interface ConfigLoader {
+
+        /**
+         * Load the Sift configurations of the tenant.
+         *
+         * @param tenantDomain Tenant domain.
+         * @return Sift configurations, or null if the tenant has no Sift configurations.
+         * @throws FrameworkException If the configurations could not be loaded.
+         */
+        Map<String, String> load(String tenantDomain) throws FrameworkException;
+    }
+
+    private static final class CacheEntry {
+
+        private final Map<String, String> configs;
+        private final long expiresAt;
+
+        CacheEntry(Map<String, String> configs, long expiresAt) {
+
+            this.configs = configs;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
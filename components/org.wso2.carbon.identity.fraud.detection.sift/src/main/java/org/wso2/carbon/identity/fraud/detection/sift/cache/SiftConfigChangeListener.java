@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.wso2.carbon.identity.application.common.model.IdentityProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.idp.mgt.listener.AbstractIdentityProviderMgtListener;
+
+/**
+ * Listener invalidating the cached Sift configurations of a tenant when the connector configs of the tenant are
+ * updated. The connector configs are stored as properties of the resident identity provider. Other nodes of a
+ * cluster pick up the update when the cached configurations expire.
+ */
+public class SiftConfigChangeListener extends AbstractIdentityProviderMgtListener {
+
+    private static final int DEFAULT_ORDER_ID = 250;
+
+    @Override
+    public int getDefaultOrderId() {
+
+        return DEFAULT_ORDER_ID;
+    }
+
+    @Override
+    public boolean doPostUpdateResidentIdP(IdentityProvider identityProvider, String tenantDomain) {
+
+        SiftConfigCache siftConfigCache = SiftDataHolder.getInstance().getSiftConfigCache();
+        if (siftConfigCache != null) {
+            siftConfigCache.invalidate(tenantDomain);
+        }
+        return true;
+    }
+}
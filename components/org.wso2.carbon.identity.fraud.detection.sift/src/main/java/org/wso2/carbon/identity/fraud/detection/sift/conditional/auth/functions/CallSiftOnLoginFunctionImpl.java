@@ -24,22 +24,38 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.graalvm.polyglot.HostAccess;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.RiskScoreCache;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.ScoreRequestCoalescer;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.iprange.IpRangeRegistry;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Operation;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Outcome;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Phase;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.Bulkhead;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.HedgedRequestExecutor;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RateLimiter;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftPayloadSerializer;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser.SiftResponse;
 import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InterruptedIOException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.fraud.detection.sift.util.Util.getMaskedSiftPayload;
 
@@ -50,10 +66,38 @@ public class CallSiftOnLoginFunctionImpl implements CallSiftOnLoginFunction {
 
     private static final Log LOG = LogFactory.getLog(CallSiftOnLoginFunctionImpl.class);
     private final CloseableHttpClient httpClient;
+    private final Bulkhead bulkhead;
+    private final String scoreUrl;
 
     public CallSiftOnLoginFunctionImpl(CloseableHttpClient httpClient) {
 
+        this(httpClient, null);
+    }
+
+    /**
+     * Create the function with a bulkhead limiting the concurrent risk score requests. If the bulkhead is null, the
+     * concurrent requests are only limited by the connection pool of the http client.
+     *
+     * @param httpClient Http client.
+     * @param bulkhead   Bulkhead of the risk score requests.
+     */
+    public CallSiftOnLoginFunctionImpl(CloseableHttpClient httpClient, Bulkhead bulkhead) {
+
+        this(httpClient, bulkhead, null);
+    }
+
+    /**
+     * Create the function sending the risk score requests to the given Sift events API URL.
+     *
+     * @param httpClient Http client.
+     * @param bulkhead   Bulkhead of the risk score requests.
+     * @param siftApiUrl Sift events API URL. If null, the requests are sent to the Sift API.
+     */
+    public CallSiftOnLoginFunctionImpl(CloseableHttpClient httpClient, Bulkhead bulkhead, String siftApiUrl) {
+
         this.httpClient = httpClient;
+        this.bulkhead = bulkhead;
+        this.scoreUrl = (siftApiUrl != null ? siftApiUrl : Constants.SIFT_API_URL) + Constants.RETURN_SCORE_PARAM;
     }
 
     @Override
@@ -61,59 +105,275 @@ public class CallSiftOnLoginFunctionImpl implements CallSiftOnLoginFunction {
     public double getSiftRiskScoreForLogin(JsAuthenticationContext context, String loginStatus, Object... paramMap)
             throws FrameworkException {
 
-        HttpPost request = new HttpPost(Constants.SIFT_API_URL + Constants.RETURN_SCORE_PARAM);
-        request.addHeader(Constants.CONTENT_TYPE_HEADER, FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
-
         Map<String, Object> passedCustomParams = Util.getPassedCustomParams(paramMap);
 
         boolean isLoggingEnabled = Util.isLoggingEnabled(passedCustomParams);
 
-        JSONObject payload = Util.buildPayload(context, loginStatus, passedCustomParams);
+        String tenantDomain = context.getWrapped().getTenantDomain();
+        // The Sift configurations are looked up once and shared by the payload and the risk score evaluation. The
+        // lookup is recorded separately, hence it is kept out of the payload build latency.
+        Map<String, String> siftConfigs = Util.getSiftConfigs(tenantDomain);
+        long payloadBuildStartTime = System.nanoTime();
+        JSONObject payload = Util.buildPayload(context, loginStatus, passedCustomParams, siftConfigs);
+        recordLatency(Phase.PAYLOAD_BUILD, payloadBuildStartTime);
+
+        IpRangeRegistry ipRangeRegistry = SiftDataHolder.getInstance().getIpRangeRegistry();
+        if (ipRangeRegistry != null) {
+            // The IP in the payload is the resolved IP of the request, or the IP passed by the script.
+            double ipRangeRiskScore = ipRangeRegistry.getRiskScore(tenantDomain, payload.optString(Constants.IP_KEY));
+            if (!Double.isNaN(ipRangeRiskScore)) {
+                if (isLoggingEnabled) {
+                    LOG.info("IP address of the login is in a configured IP range. Skipping the risk score " +
+                            "evaluation with Sift. Risk score: " + ipRangeRiskScore);
+                }
+                return ipRangeRiskScore;
+            }
+        }
+
+        FallbackRiskScorer fallbackRiskScorer = SiftDataHolder.getInstance().getFallbackRiskScorer();
+        if (fallbackRiskScorer == null) {
+            return getSiftRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        }
+
+        double riskScore;
+        try {
+            riskScore = getSiftRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        } catch (FrameworkException e) {
+            LOG.error("Error while getting the risk score from Sift. Using the locally derived risk score.", e);
+            riskScore = Constants.DEFAULT_ERROR_VALUE;
+        }
+        // Timeouts, errors and requests skipped by the rate limiter, the circuit breaker or the bulkhead all end up
+        // here.
+        boolean isLocalRiskScore = riskScore == Constants.DEFAULT_ERROR_VALUE;
+        if (isLocalRiskScore) {
+            riskScore = fallbackRiskScorer.getRiskScore(tenantDomain, payload);
+            if (isLoggingEnabled) {
+                LOG.info("Risk score could not be received from Sift. Locally derived risk score: " + riskScore);
+            }
+        }
+        context.getWrapped().setProperty(Constants.LOCAL_RISK_SCORE_PROPERTY, isLocalRiskScore);
+        return riskScore;
+    }
+
+    private double getSiftRiskScore(String tenantDomain, Map<String, String> siftConfigs, JSONObject payload,
+                                    boolean isLoggingEnabled) throws FrameworkException {
+
+        RiskScoreCache riskScoreCache = SiftDataHolder.getInstance().getRiskScoreCache();
+        if (riskScoreCache == null) {
+            return evaluateRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        }
+        long timeToLive = Util.getRiskScoreCacheTimeToLive(siftConfigs, tenantDomain, riskScoreCache.getTimeToLive());
+        if (timeToLive <= 0) {
+            return evaluateRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        }
+        String cacheKey = RiskScoreCache.createKey(tenantDomain, payload);
+        // Stale risk scores are refreshed in the background without logging, as the flow has already moved on.
+        Double cachedRiskScore = riskScoreCache.get(cacheKey,
+                () -> evaluateRiskScore(tenantDomain, siftConfigs, payload, false));
+        if (cachedRiskScore != null) {
+            if (isLoggingEnabled) {
+                LOG.info("Sift risk score served from the cache: " + cachedRiskScore);
+            }
+            return cachedRiskScore;
+        }
+        double riskScore = evaluateRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        riskScoreCache.put(cacheKey, riskScore, timeToLive);
+        return riskScore;
+    }
+
+    private double evaluateRiskScore(String tenantDomain, Map<String, String> siftConfigs, JSONObject payload,
+                                     boolean isLoggingEnabled) throws FrameworkException {
+
+        ScoreRequestCoalescer scoreRequestCoalescer = SiftDataHolder.getInstance().getScoreRequestCoalescer();
+        if (scoreRequestCoalescer == null) {
+            return loadRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled);
+        }
+        return scoreRequestCoalescer.execute(ScoreRequestCoalescer.createKey(payload),
+                () -> loadRiskScore(tenantDomain, siftConfigs, payload, isLoggingEnabled));
+    }
+
+    private double loadRiskScore(String tenantDomain, Map<String, String> siftConfigs, JSONObject payload,
+                                 boolean isLoggingEnabled) throws FrameworkException {
+
+        RateLimiter rateLimiter = SiftDataHolder.getInstance().getRateLimiter();
+        if (rateLimiter != null && !rateLimiter.tryAcquire(tenantDomain,
+                Util.getRateLimit(siftConfigs, tenantDomain, rateLimiter.getTenantRate()))) {
+            if (isLoggingEnabled) {
+                LOG.info("Sift request rate limit is exceeded. Skipping the risk score evaluation.");
+            }
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            if (isLoggingEnabled) {
+                LOG.info("Too many concurrent risk score requests to Sift. Skipping the risk score evaluation.");
+            }
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
+        try {
+            return getRiskScore(tenantDomain, payload, isLoggingEnabled);
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private double getRiskScore(String tenantDomain, JSONObject payload, boolean isLoggingEnabled)
+            throws FrameworkException {
 
         if (isLoggingEnabled) {
             LOG.info("Payload sent to Sift for risk score evaluation: " + getMaskedSiftPayload(payload));
         }
 
-        StringEntity entity = new StringEntity(payload.toString(), ContentType.APPLICATION_JSON);
-        request.setEntity(entity);
+        HttpEntity entity = SiftPayloadSerializer.toEntity(payload);
 
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
+        // The permission is acquired right before the call, so that every permitted call reports its result.
+        CircuitBreaker circuitBreaker = SiftDataHolder.getInstance().getCircuitBreaker();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            if (isLoggingEnabled) {
+                LOG.info("Sift circuit breaker is open. Skipping the risk score evaluation.");
+            }
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
 
-            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
-                LOG.error("Error occurred while getting the risk score from Sift. HTTP Status code: " +
-                        response.getStatusLine().getStatusCode());
-                return Constants.DEFAULT_ERROR_VALUE;
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try (CloseableHttpResponse response = executeRequest(entity)) {
+            failed = CircuitBreaker.isFailureStatus(response.getStatusLine().getStatusCode());
+            long parseStartTime = System.nanoTime();
+            double riskScore = resolveRiskScore(tenantDomain, response, isLoggingEnabled);
+            recordLatency(Phase.PARSE, parseStartTime);
+            // Consume the remaining content so that the connection is released back to the pool instead of closed.
+            EntityUtils.consumeQuietly(response.getEntity());
+            return riskScore;
+        } catch (IOException e) {
+            recordOutcome(tenantDomain, Outcome.of(e));
+            throw new FrameworkException("Error while executing the request: " + e);
+        } finally {
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(failed, System.nanoTime() - startTime);
             }
+        }
+    }
 
-            HttpEntity responseEntity = response.getEntity();
-            if (responseEntity == null) {
-                LOG.error("Error occurred while getting the risk score from Sift. Response is null.");
-                return Constants.DEFAULT_ERROR_VALUE;
+    private CloseableHttpResponse executeRequest(HttpEntity entity) throws IOException {
+
+        RetryPolicy retryPolicy = SiftDataHolder.getInstance().getRetryPolicy();
+        if (retryPolicy == null || !retryPolicy.isScoreRetryEnabled()) {
+            return sendRequest(entity);
+        }
+
+        // Retries are done on the authentication thread, hence they are bounded by the score deadline.
+        retryPolicy.onRequest();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryPolicy.getScoreDeadline());
+        for (int attempt = 0; ; attempt++) {
+            CloseableHttpResponse response = null;
+            IOException error = null;
+            try {
+                response = sendRequest(entity);
+            } catch (IOException e) {
+                error = e;
             }
 
-            JSONObject jsonResponse = new JSONObject(new JSONTokener(new InputStreamReader(
-                    response.getEntity().getContent(), StandardCharsets.UTF_8)));
-            if (jsonResponse.has(Constants.SIFT_STATUS) &&
-                    jsonResponse.getInt(Constants.SIFT_STATUS) != Constants.SIFT_STATUS_OK) {
-                LOG.error("Error occurred from Sift while getting the risk score. Received Sift status: " +
-                        jsonResponse.getInt(Constants.SIFT_STATUS));
-                return Constants.DEFAULT_ERROR_VALUE;
+            long remainingTime = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            long retryDelay = retryPolicy.getRetryDelay(attempt, response, remainingTime);
+            if (retryDelay == RetryPolicy.NO_RETRY) {
+                if (error != null) {
+                    throw error;
+                }
+                return response;
+            }
+            if (response != null) {
+                // Release the connection of the failed attempt before retrying.
+                EntityUtils.consumeQuietly(response.getEntity());
+                HttpClientUtils.closeQuietly(response);
             }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Retrying the risk score request to Sift in " + retryDelay + " ms. Retry attempt: " +
+                        (attempt + 1));
+            }
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry the request to Sift.");
+            }
+        }
+    }
 
-            JSONObject scoreResponse = jsonResponse.optJSONObject(Constants.SIFT_SCORE_RESPONSE);
-            JSONObject scores = scoreResponse != null ? scoreResponse.optJSONObject(Constants.SIFT_SCORES) : null;
-            JSONObject accountTakeover = scores != null ? scores.optJSONObject(Constants.SIFT_ACCOUNT_TAKEOVER) : null;
+    private CloseableHttpResponse sendRequest(HttpEntity entity) throws IOException {
 
-            if (accountTakeover != null && accountTakeover.has(Constants.SIFT_SCORE)) {
-                double riskScore = accountTakeover.getDouble(Constants.SIFT_SCORE);
-                if (isLoggingEnabled) {
-                    LOG.info("Sift risk score: " + riskScore);
-                }
-                return riskScore;
+        HedgedRequestExecutor hedgedRequestExecutor = SiftDataHolder.getInstance().getHedgedRequestExecutor();
+        long startTime = System.nanoTime();
+        try {
+            if (hedgedRequestExecutor != null) {
+                return hedgedRequestExecutor.execute(httpClient, () -> createRequest(entity));
             }
-        } catch (IOException e) {
-            throw new FrameworkException("Error while executing the request: " + e);
+            return httpClient.execute(createRequest(entity));
+        } finally {
+            recordLatency(Phase.ROUND_TRIP, startTime);
         }
+    }
+
+    private HttpPost createRequest(HttpEntity entity) {
+
+        HttpPost request = new HttpPost(scoreUrl);
+        request.addHeader(Constants.CONTENT_TYPE_HEADER, FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
+        request.setEntity(entity);
+        return request;
+    }
+
+    private double resolveRiskScore(String tenantDomain, CloseableHttpResponse response, boolean isLoggingEnabled)
+            throws IOException {
+
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+            recordOutcome(tenantDomain, Outcome.HTTP_ERROR);
+            LOG.error("Error occurred while getting the risk score from Sift. HTTP Status code: " +
+                    response.getStatusLine().getStatusCode());
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
+
+        HttpEntity responseEntity = response.getEntity();
+        if (responseEntity == null) {
+            recordOutcome(tenantDomain, Outcome.HTTP_ERROR);
+            LOG.error("Error occurred while getting the risk score from Sift. Response is null.");
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
+
+        SiftResponse siftResponse = SiftResponseParser.parse(responseEntity.getContent());
+        if (siftResponse.hasStatus() && siftResponse.getStatus() != Constants.SIFT_STATUS_OK) {
+            recordOutcome(tenantDomain, Outcome.SIFT_STATUS_ERROR);
+            LOG.error("Error occurred from Sift while getting the risk score. Received Sift status: " +
+                    siftResponse.getStatus());
+            return Constants.DEFAULT_ERROR_VALUE;
+        }
+
+        if (siftResponse.hasScore()) {
+            recordOutcome(tenantDomain, Outcome.OK);
+            double riskScore = siftResponse.getScore();
+            if (isLoggingEnabled) {
+                LOG.info("Sift risk score: " + riskScore);
+            }
+            return riskScore;
+        }
+        // A successful response without a risk score is of no use to the flow.
+        recordOutcome(tenantDomain, Outcome.SIFT_STATUS_ERROR);
         return Constants.DEFAULT_ERROR_VALUE;
     }
+
+    private static void recordLatency(Phase phase, long startTime) {
+
+        SiftMetrics siftMetrics = SiftDataHolder.getInstance().getSiftMetrics();
+        if (siftMetrics != null) {
+            siftMetrics.recordLatency(Operation.RISK_SCORE, phase, System.nanoTime() - startTime);
+        }
+    }
+
+    private static void recordOutcome(String tenantDomain, Outcome outcome) {
+
+        SiftMetrics siftMetrics = SiftDataHolder.getInstance().getSiftMetrics();
+        if (siftMetrics != null) {
+            siftMetrics.recordOutcome(Operation.RISK_SCORE, tenantDomain, outcome);
+        }
+    }
 }
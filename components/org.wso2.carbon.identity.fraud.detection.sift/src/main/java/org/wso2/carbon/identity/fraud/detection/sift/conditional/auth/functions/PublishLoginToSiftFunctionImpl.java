@@ -20,24 +20,36 @@ package org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.graalvm.polyglot.HostAccess;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Operation;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Outcome;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Phase;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.AsyncEventPublisher;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.FailedLoginAggregator;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.Bulkhead;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RateLimiter;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
+import org.wso2.carbon.identity.fraud.detection.sift.spool.LoginEventSpool;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftPayloadSerializer;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser.SiftResponse;
 import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static org.wso2.carbon.identity.fraud.detection.sift.util.Util.getMaskedSiftPayload;
@@ -49,10 +61,56 @@ public class PublishLoginToSiftFunctionImpl implements PublishLoginToSiftFunctio
 
     private static final Log LOG = LogFactory.getLog(PublishLoginToSiftFunctionImpl.class);
     private final CloseableHttpClient httpClient;
+    private final AsyncEventPublisher eventPublisher;
+    private final Bulkhead bulkhead;
+    private final String siftApiUrl;
 
     public PublishLoginToSiftFunctionImpl(CloseableHttpClient httpClient) {
 
+        this(httpClient, null);
+    }
+
+    /**
+     * Create the function with an async event publisher. If the publisher is null, login events are published
+     * synchronously on the authentication thread.
+     *
+     * @param httpClient     Http client.
+     * @param eventPublisher Async event publisher.
+     */
+    public PublishLoginToSiftFunctionImpl(CloseableHttpClient httpClient, AsyncEventPublisher eventPublisher) {
+
+        this(httpClient, eventPublisher, null);
+    }
+
+    /**
+     * Create the function with an async event publisher and a bulkhead limiting the concurrent login event
+     * publishing requests.
+     *
+     * @param httpClient     Http client.
+     * @param eventPublisher Async event publisher.
+     * @param bulkhead       Bulkhead of the login event publishing requests.
+     */
+    public PublishLoginToSiftFunctionImpl(CloseableHttpClient httpClient, AsyncEventPublisher eventPublisher,
+                                          Bulkhead bulkhead) {
+
+        this(httpClient, eventPublisher, bulkhead, null);
+    }
+
+    /**
+     * Create the function publishing the login events to the given Sift events API URL.
+     *
+     * @param httpClient     Http client.
+     * @param eventPublisher Async event publisher.
+     * @param bulkhead       Bulkhead of the login event publishing requests.
+     * @param siftApiUrl     Sift events API URL. If null, the login events are published to the Sift API.
+     */
+    public PublishLoginToSiftFunctionImpl(CloseableHttpClient httpClient, AsyncEventPublisher eventPublisher,
+                                          Bulkhead bulkhead, String siftApiUrl) {
+
         this.httpClient = httpClient;
+        this.eventPublisher = eventPublisher;
+        this.bulkhead = bulkhead;
+        this.siftApiUrl = siftApiUrl != null ? siftApiUrl : Constants.SIFT_API_URL;
     }
 
     @Override
@@ -60,43 +118,230 @@ public class PublishLoginToSiftFunctionImpl implements PublishLoginToSiftFunctio
     public void publishLoginEventToSift(JsAuthenticationContext context, String loginStatus, Object... paramMap)
             throws FrameworkException {
 
-        HttpPost request = new HttpPost(Constants.SIFT_API_URL);
-        request.addHeader(Constants.CONTENT_TYPE_HEADER, FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
-
         Map<String, Object> passedCustomParams = Util.getPassedCustomParams(paramMap);
 
         boolean isLoggingEnabled = Util.isLoggingEnabled(passedCustomParams);
 
-        JSONObject payload = Util.buildPayload(context, loginStatus, passedCustomParams);
+        String tenantDomain = context.getWrapped().getTenantDomain();
+        // The Sift config lookup is recorded separately, hence it is kept out of the payload build latency.
+        Map<String, String> siftConfigs = Util.getSiftConfigs(tenantDomain);
+        long payloadBuildStartTime = System.nanoTime();
+        JSONObject payload = Util.buildPayload(context, loginStatus, passedCustomParams, siftConfigs);
+        recordLatency(Phase.PAYLOAD_BUILD, payloadBuildStartTime);
+
+        FailedLoginAggregator failedLoginAggregator = SiftDataHolder.getInstance().getFailedLoginAggregator();
+        if (failedLoginAggregator != null && !failedLoginAggregator.shouldPublish(tenantDomain, payload)) {
+            if (isLoggingEnabled) {
+                LOG.info("Login event is aggregated into a burst of failed logins. Skipping publishing to Sift.");
+            }
+            return;
+        }
 
         if (isLoggingEnabled) {
             LOG.info("Payload sent to Sift for login event publishing: " + getMaskedSiftPayload(payload));
         }
 
-        StringEntity entity = new StringEntity(payload.toString(), ContentType.APPLICATION_JSON);
+        // The rate limit of the tenant is resolved once, and applies to the retries of the login event as well.
+        RateLimiter rateLimiter = SiftDataHolder.getInstance().getRateLimiter();
+        int rateLimit = rateLimiter != null ?
+                Util.getRateLimit(siftConfigs, tenantDomain, rateLimiter.getTenantRate()) : 0;
+
+        if (eventPublisher != null) {
+            eventPublisher.publish(() -> sendLoginEventQuietly(payload, tenantDomain, rateLimit, isLoggingEnabled, 0),
+                    () -> spoolLoginEvent(payload, tenantDomain, isLoggingEnabled));
+            return;
+        }
+
+        try {
+            sendLoginEvent(payload, tenantDomain, rateLimit, isLoggingEnabled, 0);
+        } catch (IOException e) {
+            throw new FrameworkException("Error occurred while publishing login event information to Sift.", e);
+        }
+    }
+
+    private void sendLoginEventQuietly(JSONObject payload, String tenantDomain, int rateLimit,
+                                       boolean isLoggingEnabled, int attempt) {
+
+        try {
+            sendLoginEvent(payload, tenantDomain, rateLimit, isLoggingEnabled, attempt);
+        } catch (IOException e) {
+            LOG.error("Error occurred while publishing login event information to Sift.", e);
+        }
+    }
+
+    private void sendLoginEvent(JSONObject payload, String tenantDomain, int rateLimit, boolean isLoggingEnabled,
+                                int attempt) throws IOException {
+
+        RateLimiter rateLimiter = SiftDataHolder.getInstance().getRateLimiter();
+        if (rateLimiter != null && !rateLimiter.tryAcquire(tenantDomain, rateLimit)) {
+            if (isLoggingEnabled) {
+                LOG.info("Sift request rate limit is exceeded.");
+            }
+            if (rateLimiter.getPublishPolicy() == Constants.RateLimitPolicy.QUEUE) {
+                spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
+            } else if (isLoggingEnabled) {
+                LOG.info("Dropping the login event.");
+            }
+            return;
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            if (isLoggingEnabled) {
+                LOG.info("Too many concurrent login event publishing requests to Sift.");
+            }
+            spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
+            return;
+        }
+        try {
+            postLoginEvent(payload, tenantDomain, rateLimit, isLoggingEnabled, attempt);
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private void postLoginEvent(JSONObject payload, String tenantDomain, int rateLimit, boolean isLoggingEnabled,
+                                int attempt) throws IOException {
+
+        RetryPolicy retryPolicy = SiftDataHolder.getInstance().getRetryPolicy();
+        if (retryPolicy != null && attempt == 0) {
+            retryPolicy.onRequest();
+        }
+
+        HttpPost request = new HttpPost(siftApiUrl);
+        request.addHeader(Constants.CONTENT_TYPE_HEADER, FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
+
+        HttpEntity entity = SiftPayloadSerializer.toEntity(payload);
         request.setEntity(entity);
 
-        try (CloseableHttpResponse response = httpClient.execute(request)) {
-            if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
-                LOG.error("Error occurred while publishing login event information to Sift. HTTP Status code: " +
-                        response.getStatusLine().getStatusCode());
-                return;
+        // The permission is acquired right before the call, so that every permitted call reports its result.
+        CircuitBreaker circuitBreaker = SiftDataHolder.getInstance().getCircuitBreaker();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            if (isLoggingEnabled) {
+                LOG.info("Sift circuit breaker is open.");
             }
+            spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
+            return;
+        }
 
-            JSONObject jsonResponse = new JSONObject(new JSONTokener(new InputStreamReader(
-                    response.getEntity().getContent(), StandardCharsets.UTF_8)));
-            if (jsonResponse.has(Constants.SIFT_STATUS) &&
-                    jsonResponse.getInt(Constants.SIFT_STATUS) == Constants.SIFT_STATUS_OK) {
-                if (isLoggingEnabled) {
-                    LOG.info("Successfully published login event information to Sift.");
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        long retryDelay = RetryPolicy.NO_RETRY;
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            recordLatency(Phase.ROUND_TRIP, startTime);
+            failed = CircuitBreaker.isFailureStatus(response.getStatusLine().getStatusCode());
+            if (failed && retryPolicy != null) {
+                retryDelay = retryPolicy.getRetryDelay(attempt, response);
+            }
+            if (retryDelay == RetryPolicy.NO_RETRY) {
+                if (failed) {
+                    spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
                 }
+                handleResponse(response, tenantDomain, isLoggingEnabled);
             } else {
-                LOG.error("Error occurred from Sift while publishing login event information. " +
-                        "Received Sift status: " + jsonResponse.getInt(Constants.SIFT_STATUS));
+                recordOutcome(tenantDomain, Outcome.HTTP_ERROR);
             }
-
+            // Consume the remaining content so that the connection is released back to the pool instead of closed.
+            EntityUtils.consumeQuietly(response.getEntity());
         } catch (IOException e) {
-            throw new FrameworkException("Error occurred while publishing login event information to Sift.", e);
+            recordOutcome(tenantDomain, Outcome.of(e));
+            // Events which reached Sift successfully are not retried, to avoid publishing them twice.
+            if (retryDelay == RetryPolicy.NO_RETRY && failed && retryPolicy != null) {
+                retryDelay = retryPolicy.getRetryDelay(attempt);
+            }
+            if (retryDelay == RetryPolicy.NO_RETRY) {
+                if (!failed || !spoolLoginEvent(payload, tenantDomain, isLoggingEnabled)) {
+                    throw e;
+                }
+            }
+        } finally {
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(failed, System.nanoTime() - startTime);
+            }
+        }
+
+        if (retryDelay != RetryPolicy.NO_RETRY) {
+            scheduleRetry(retryPolicy, payload, tenantDomain, rateLimit, isLoggingEnabled, attempt + 1, retryDelay);
+        }
+    }
+
+    private void scheduleRetry(RetryPolicy retryPolicy, JSONObject payload, String tenantDomain, int rateLimit,
+                               boolean isLoggingEnabled, int attempt, long delay) {
+
+        if (isLoggingEnabled) {
+            LOG.info("Retrying login event publishing to Sift in " + delay + " ms. Retry attempt: " + attempt);
+        }
+        Runnable retry = () -> sendLoginEventQuietly(payload, tenantDomain, rateLimit, isLoggingEnabled, attempt);
+        Runnable spool = () -> spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
+        // Hand the retry over to the event publisher, if any, so that the retry scheduler does not wait for Sift.
+        Runnable task = eventPublisher != null ? () -> eventPublisher.publish(retry, spool) : retry;
+        // Retries still pending on shutdown are spooled.
+        if (!retryPolicy.schedule(task, spool, delay)) {
+            LOG.warn("Unable to schedule the retry of the login event publishing to Sift.");
+            spoolLoginEvent(payload, tenantDomain, isLoggingEnabled);
+        }
+    }
+
+    /**
+     * Spool the login event to be replayed once Sift is reachable again. The Sift API key is not spooled, and is
+     * resolved again from the tenant domain when the event is replayed.
+     *
+     * @return True if the login event was spooled.
+     */
+    private static boolean spoolLoginEvent(JSONObject payload, String tenantDomain, boolean isLoggingEnabled) {
+
+        LoginEventSpool loginEventSpool = SiftDataHolder.getInstance().getLoginEventSpool();
+        if (loginEventSpool == null || tenantDomain == null) {
+            if (isLoggingEnabled) {
+                LOG.info("Dropping the login event.");
+            }
+            return false;
+        }
+        boolean spooled = loginEventSpool.append(tenantDomain, SiftPayloadSerializer.toStringWithoutApiKey(payload));
+        if (isLoggingEnabled) {
+            LOG.info(spooled ? "Spooled the login event to be replayed to Sift later." : "Dropping the login event.");
+        }
+        return spooled;
+    }
+
+    private void handleResponse(CloseableHttpResponse response, String tenantDomain, boolean isLoggingEnabled)
+            throws IOException {
+
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+            recordOutcome(tenantDomain, Outcome.HTTP_ERROR);
+            LOG.error("Error occurred while publishing login event information to Sift. HTTP Status code: " +
+                    response.getStatusLine().getStatusCode());
+            return;
+        }
+
+        long parseStartTime = System.nanoTime();
+        SiftResponse siftResponse = SiftResponseParser.parse(response.getEntity().getContent());
+        recordLatency(Phase.PARSE, parseStartTime);
+        if (siftResponse.hasStatus() && siftResponse.getStatus() == Constants.SIFT_STATUS_OK) {
+            recordOutcome(tenantDomain, Outcome.OK);
+            if (isLoggingEnabled) {
+                LOG.info("Successfully published login event information to Sift.");
+            }
+        } else {
+            recordOutcome(tenantDomain, Outcome.SIFT_STATUS_ERROR);
+            LOG.error("Error occurred from Sift while publishing login event information. " +
+                    "Received Sift status: " + (siftResponse.hasStatus() ? siftResponse.getStatus() : "none"));
+        }
+    }
+
+    private static void recordLatency(Phase phase, long startTime) {
+
+        SiftMetrics siftMetrics = SiftDataHolder.getInstance().getSiftMetrics();
+        if (siftMetrics != null) {
+            siftMetrics.recordLatency(Operation.PUBLISH, phase, System.nanoTime() - startTime);
+        }
+    }
+
+    private static void recordOutcome(String tenantDomain, Outcome outcome) {
+
+        SiftMetrics siftMetrics = SiftDataHolder.getInstance().getSiftMetrics();
+        if (siftMetrics != null) {
+            siftMetrics.recordOutcome(Operation.PUBLISH, tenantDomain, outcome);
         }
     }
 }
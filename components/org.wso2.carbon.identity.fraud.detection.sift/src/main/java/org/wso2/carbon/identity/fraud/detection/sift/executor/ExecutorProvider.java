@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.executor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ExecutorConfig;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the threads running the blocking I/O work of the requests sent to Sift. Virtual threads are used when
+ * enabled and supported by the runtime, so that a large number of concurrent requests to Sift do not need a matching
+ * number of platform threads. Otherwise, bounded pools of platform threads are used.
+ */
+public class ExecutorProvider {
+
+    private static final Log LOG = LogFactory.getLog(ExecutorProvider.class);
+    private static final long THREAD_KEEP_ALIVE_TIME = 60L;
+
+    private final int maxPlatformThreads;
+    private final VirtualThreadSupport virtualThreadSupport;
+
+    public ExecutorProvider(ExecutorConfig executorConfig) {
+
+        this.maxPlatformThreads = Math.max(1, executorConfig.getMaxPlatformThreads());
+        if (executorConfig.getExecutorMode() == Constants.ExecutorMode.VIRTUAL) {
+            this.virtualThreadSupport = VirtualThreadSupport.load();
+            if (virtualThreadSupport == null) {
+                LOG.warn("Virtual threads are not supported by the runtime. Falling back to platform threads for " +
+                        "the requests sent to Sift.");
+            } else {
+                LOG.info("Using virtual threads for the requests sent to Sift.");
+            }
+        } else {
+            this.virtualThreadSupport = null;
+        }
+    }
+
+    /**
+     * Check whether virtual threads are used.
+     *
+     * @return True if virtual threads are used.
+     */
+    public boolean isVirtualThreadsEnabled() {
+
+        return virtualThreadSupport != null;
+    }
+
+    /**
+     * Get a thread factory creating virtual threads, or daemon platform threads if virtual threads are not used.
+     *
+     * @param namePrefix Prefix of the thread names.
+     * @return Thread factory.
+     */
+    public ThreadFactory getThreadFactory(String namePrefix) {
+
+        if (virtualThreadSupport != null) {
+            return virtualThreadSupport.newThreadFactory(namePrefix);
+        }
+        return getPlatformThreadFactory(namePrefix);
+    }
+
+    /**
+     * Create an executor running each task on a new virtual thread, or on a pool of platform threads bounded to the
+     * given number of threads if virtual threads are not used. The platform thread pool does not queue tasks, hence
+     * the tasks submitted when all the threads are busy are rejected.
+     *
+     * @param namePrefix         Prefix of the thread names.
+     * @param maxPlatformThreads Maximum number of platform threads.
+     * @return Executor.
+     */
+    public ExecutorService newTaskExecutor(String namePrefix, int maxPlatformThreads) {
+
+        if (virtualThreadSupport != null) {
+            return virtualThreadSupport.newThreadPerTaskExecutor(namePrefix);
+        }
+        return newPlatformTaskExecutor(namePrefix, maxPlatformThreads);
+    }
+
+    /**
+     * Create an executor bounded to the configured max platform threads.
+     *
+     * @param namePrefix Prefix of the thread names.
+     * @return Executor.
+     * @see #newTaskExecutor(String, int)
+     */
+    public ExecutorService newTaskExecutor(String namePrefix) {
+
+        return newTaskExecutor(namePrefix, maxPlatformThreads);
+    }
+
+    /**
+     * Create an executor running the tasks on a pool of daemon platform threads bounded to the given number of
+     * threads. The pool does not queue tasks, hence the tasks submitted when all the threads are busy are rejected.
+     *
+     * @param namePrefix         Prefix of the thread names.
+     * @param maxPlatformThreads Maximum number of platform threads.
+     * @return Executor.
+     */
+    public static ExecutorService newPlatformTaskExecutor(String namePrefix, int maxPlatformThreads) {
+
+        return new ThreadPoolExecutor(0, Math.max(1, maxPlatformThreads), THREAD_KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), getPlatformThreadFactory(namePrefix));
+    }
+
+    /**
+     * Get a thread factory creating daemon platform threads.
+     *
+     * @param namePrefix Prefix of the thread names.
+     * @return Thread factory.
+     */
+    public static ThreadFactory getPlatformThreadFactory(String namePrefix) {
+
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Access to the virtual thread APIs of JDK 21 and later. The APIs are accessed reflectively since the component
+     * is compiled for older JDKs.
+     */
+    private static class VirtualThreadSupport {
+
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreadSupport(Method ofVirtual, Method name, Method factory,
+                                     Method newThreadPerTaskExecutor) {
+
+            this.ofVirtual = ofVirtual;
+            this.name = name;
+            this.factory = factory;
+            this.newThreadPerTaskExecutor = newThreadPerTaskExecutor;
+        }
+
+        static VirtualThreadSupport load() {
+
+            try {
+                Method ofVirtual = Thread.class.getMethod("ofVirtual");
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Method name = builderClass.getMethod("name", String.class, long.class);
+                Method factory = builderClass.getMethod("factory");
+                Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+                        ThreadFactory.class);
+                VirtualThreadSupport virtualThreadSupport = new VirtualThreadSupport(ofVirtual, name, factory,
+                        newThreadPerTaskExecutor);
+                // Fail early if the virtual threads are a disabled preview feature of the runtime.
+                virtualThreadSupport.newThreadFactory("sift-virtual-thread-check-");
+                return virtualThreadSupport;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Virtual threads are not available.", e);
+                }
+                return null;
+            }
+        }
+
+        ThreadFactory newThreadFactory(String namePrefix) {
+
+            try {
+                Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 1L);
+                return (ThreadFactory) factory.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Error while creating a virtual thread factory.", e);
+            }
+        }
+
+        ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+
+            try {
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, newThreadFactory(namePrefix));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Error while creating a virtual thread executor.", e);
+            }
+        }
+    }
+}
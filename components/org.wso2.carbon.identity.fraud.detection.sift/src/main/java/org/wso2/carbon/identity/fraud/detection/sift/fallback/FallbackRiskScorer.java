@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.fallback;
+
+import org.apache.commons.lang.StringUtils;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FallbackConfig;
+
+/**
+ * Derives approximate risk scores locally, to be used when a risk score cannot be received from Sift. Failed logins
+ * are counted per user, per IP address and per user and IP address pair over a sliding window, and the risk score
+ * grows with the count closest to its configured threshold, reaching 1 at the threshold.
+ * <p>
+ * The counts of all the tenants share a single sketch of fixed size, hence the memory used does not grow with the
+ * number of users or IP addresses. A login reported both for a risk score and to be published is counted twice.
+ */
+public class FallbackRiskScorer {
+
+    // Distinguish the keys of each count, so that a user ID and an IP address never share a key.
+    private static final long USER_KEY = 1L;
+    private static final long IP_KEY = 2L;
+    private static final long USER_IP_KEY = 3L;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final SlidingWindowSketch failedLogins;
+    private final int userFailureThreshold;
+    private final int ipFailureThreshold;
+    private final int userIpFailureThreshold;
+
+    public FallbackRiskScorer(FallbackConfig fallbackConfig) {
+
+        this(fallbackConfig, new SlidingWindowSketch(fallbackConfig.getWindow(), Constants.FALLBACK_WINDOW_SLICES,
+                fallbackConfig.getSketchWidth()));
+    }
+
+    FallbackRiskScorer(FallbackConfig fallbackConfig, SlidingWindowSketch failedLogins) {
+
+        this.failedLogins = failedLogins;
+        this.userFailureThreshold = fallbackConfig.getUserFailureThreshold();
+        this.ipFailureThreshold = fallbackConfig.getIpFailureThreshold();
+        this.userIpFailureThreshold = fallbackConfig.getUserIpFailureThreshold();
+    }
+
+    /**
+     * Record a login seen by the connector. Only the failed logins are counted.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param payload      Payload built for the login.
+     */
+    public void recordLogin(String tenantDomain, JSONObject payload) {
+
+        if (!Constants.LoginStatus.LOGIN_FAILED.getSiftValue().equals(payload.opt(Constants.LOGIN_STATUS))) {
+            return;
+        }
+        String userId = payload.optString(Constants.USER_ID_KEY);
+        String ip = payload.optString(Constants.IP_KEY);
+        if (StringUtils.isNotEmpty(userId)) {
+            failedLogins.increment(createKey(USER_KEY, tenantDomain, userId, null));
+        }
+        if (StringUtils.isNotEmpty(ip)) {
+            failedLogins.increment(createKey(IP_KEY, tenantDomain, null, ip));
+        }
+        if (StringUtils.isNotEmpty(userId) && StringUtils.isNotEmpty(ip)) {
+            failedLogins.increment(createKey(USER_IP_KEY, tenantDomain, userId, ip));
+        }
+    }
+
+    /**
+     * Get the approximate risk score of a login from the failed logins of its user and IP address.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param payload      Payload built for the login.
+     * @return Risk score between 0 and 1.
+     */
+    public double getRiskScore(String tenantDomain, JSONObject payload) {
+
+        String userId = payload.optString(Constants.USER_ID_KEY);
+        String ip = payload.optString(Constants.IP_KEY);
+        double riskScore = 0;
+        if (StringUtils.isNotEmpty(userId)) {
+            riskScore = Math.max(riskScore, getRiskScore(createKey(USER_KEY, tenantDomain, userId, null),
+                    userFailureThreshold));
+        }
+        if (StringUtils.isNotEmpty(ip)) {
+            riskScore = Math.max(riskScore, getRiskScore(createKey(IP_KEY, tenantDomain, null, ip),
+                    ipFailureThreshold));
+        }
+        if (StringUtils.isNotEmpty(userId) && StringUtils.isNotEmpty(ip)) {
+            riskScore = Math.max(riskScore, getRiskScore(createKey(USER_IP_KEY, tenantDomain, userId, ip),
+                    userIpFailureThreshold));
+        }
+        return riskScore;
+    }
+
+    private double getRiskScore(long key, int threshold) {
+
+        // A threshold of 0 or less disables the count.
+        if (threshold <= 0) {
+            return 0;
+        }
+        return Math.min(1, (double) failedLogins.estimate(key) / threshold);
+    }
+
+    /**
+     * Create the 64-bit FNV-1a hash of the parts of a key, hashing the characters in place.
+     */
+    private static long createKey(long type, String tenantDomain, String userId, String ip) {
+
+        long hash = hash(FNV_OFFSET_BASIS ^ type, tenantDomain);
+        hash = hash(hash, userId);
+        return hash(hash, ip);
+    }
+
+    private static long hash(long hash, String part) {
+
+        // The length is hashed first, so that the parts cannot be shifted into each other.
+        hash = (hash ^ (part != null ? part.length() : -1)) * FNV_PRIME;
+        if (part != null) {
+            for (int i = 0; i < part.length(); i++) {
+                hash = (hash ^ part.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+}
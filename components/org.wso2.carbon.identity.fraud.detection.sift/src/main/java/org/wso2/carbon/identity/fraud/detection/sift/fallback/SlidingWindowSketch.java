@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.fallback;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate counts of keys over a sliding time window, kept in a fixed amount of memory. The window is split into
+ * time slices, and each slice holds a count-min sketch: a few rows of counters where every key is counted in one
+ * counter per row, picked by a different hash per row. The count of a key is the smallest of its counters summed over
+ * the slices of the window, which never undercounts and overcounts only when other keys share all its counters.
+ * <p>
+ * The counters are updated with atomic increments, hence concurrent logins never block each other. The slice of the
+ * current time is cleared by the first thread finding it holding the counts of an expired slice, and increments done
+ * while it is being cleared may be lost, which is acceptable for approximate counts.
+ */
+public class SlidingWindowSketch {
+
+    private static final int DEPTH = 4;
+    private static final long UNUSED_EPOCH = Long.MIN_VALUE;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int width;
+    private final int mask;
+    private final long sliceDurationNanos;
+    private final Slice[] slices;
+
+    /**
+     * Create a sketch counting the keys over the given window.
+     *
+     * @param window      Window in milliseconds.
+     * @param sliceCount  Number of slices of the window. The window slides forward one slice at a time.
+     * @param sketchWidth Counters per row of each slice, rounded up to a power of two.
+     */
+    public SlidingWindowSketch(long window, int sliceCount, int sketchWidth) {
+
+        int count = Math.max(1, sliceCount);
+        this.width = Integer.highestOneBit(Math.max(2, sketchWidth) * 2 - 1);
+        this.mask = width - 1;
+        this.sliceDurationNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(Math.max(1, window)) / count);
+        this.slices = new Slice[count];
+        for (int i = 0; i < count; i++) {
+            slices[i] = new Slice(DEPTH * width);
+        }
+    }
+
+    /**
+     * Count an occurrence of the key.
+     *
+     * @param key 64-bit hash of the key.
+     */
+    public void increment(long key) {
+
+        increment(key, System.nanoTime());
+    }
+
+    /**
+     * Get the approximate number of occurrences of the key within the window.
+     *
+     * @param key 64-bit hash of the key.
+     * @return Approximate count.
+     */
+    public int estimate(long key) {
+
+        return estimate(key, System.nanoTime());
+    }
+
+    public int getWidth() {
+
+        return width;
+    }
+
+    void increment(long key, long nanoTime) {
+
+        long epoch = Math.floorDiv(nanoTime, sliceDurationNanos);
+        Slice slice = slices[(int) Math.floorMod(epoch, (long) slices.length)];
+        long sliceEpoch = slice.epoch.get();
+        if (sliceEpoch < epoch && slice.epoch.compareAndSet(sliceEpoch, epoch) && sliceEpoch != UNUSED_EPOCH) {
+            slice.clear();
+        }
+        for (int row = 0; row < DEPTH; row++) {
+            slice.counters.incrementAndGet(index(key, row));
+        }
+    }
+
+    int estimate(long key, long nanoTime) {
+
+        long epoch = Math.floorDiv(nanoTime, sliceDurationNanos);
+        long oldestEpoch = epoch - slices.length;
+        long minimum = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(key, row);
+            long sum = 0;
+            for (Slice slice : slices) {
+                long sliceEpoch = slice.epoch.get();
+                if (sliceEpoch > oldestEpoch && sliceEpoch <= epoch) {
+                    sum += slice.counters.get(index);
+                }
+            }
+            minimum = Math.min(minimum, sum);
+        }
+        return (int) Math.min(minimum, Integer.MAX_VALUE);
+    }
+
+    private int index(long key, int row) {
+
+        // Finalizer of MurmurHash3, spreading every bit of the key over the bits of the index.
+        long hash = key ^ SEEDS[row];
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return row * width + ((int) hash & mask);
+    }
+
+    /**
+     * Counters of a time slice of the window.
+     */
+    private static final class Slice {
+
+        private final AtomicLong epoch = new AtomicLong(UNUSED_EPOCH);
+        private final AtomicIntegerArray counters;
+
+        private Slice(int size) {
+
+            this.counters = new AtomicIntegerArray(size);
+        }
+
+        private void clear() {
+
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, 0);
+            }
+        }
+    }
+}
@@ -19,6 +19,18 @@
 package org.wso2.carbon.identity.fraud.detection.sift.internal;
 
 import org.wso2.carbon.identity.application.authentication.framework.JsFunctionRegistry;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.RiskScoreCache;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.ScoreRequestCoalescer;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.SiftConfigCache;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
+import org.wso2.carbon.identity.fraud.detection.sift.iprange.IpRangeRegistry;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.FailedLoginAggregator;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.HedgedRequestExecutor;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RateLimiter;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
+import org.wso2.carbon.identity.fraud.detection.sift.spool.LoginEventSpool;
 import org.wso2.carbon.identity.governance.IdentityGovernanceService;
 
 /**
@@ -29,6 +41,18 @@ public class SiftDataHolder {
     private static SiftDataHolder instance = new SiftDataHolder();
     private JsFunctionRegistry jsFunctionRegistry;
     private IdentityGovernanceService identityGovernanceService;
+    private CircuitBreaker circuitBreaker;
+    private HedgedRequestExecutor hedgedRequestExecutor;
+    private RetryPolicy retryPolicy;
+    private LoginEventSpool loginEventSpool;
+    private SiftConfigCache siftConfigCache;
+    private RiskScoreCache riskScoreCache;
+    private ScoreRequestCoalescer scoreRequestCoalescer;
+    private IpRangeRegistry ipRangeRegistry;
+    private FallbackRiskScorer fallbackRiskScorer;
+    private FailedLoginAggregator failedLoginAggregator;
+    private SiftMetrics siftMetrics;
+    private RateLimiter rateLimiter;
 
     private SiftDataHolder() {
 
@@ -59,4 +83,184 @@ public class SiftDataHolder {
 
         this.identityGovernanceService = identityGovernanceService;
     }
+
+    /**
+     * Get the circuit breaker guarding the calls to Sift.
+     *
+     * @return Circuit breaker, or null if the circuit breaker is disabled.
+     */
+    public CircuitBreaker getCircuitBreaker() {
+
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Get the executor hedging the risk score requests sent to Sift.
+     *
+     * @return Hedged request executor, or null if hedging is disabled.
+     */
+    public HedgedRequestExecutor getHedgedRequestExecutor() {
+
+        return hedgedRequestExecutor;
+    }
+
+    public void setHedgedRequestExecutor(HedgedRequestExecutor hedgedRequestExecutor) {
+
+        this.hedgedRequestExecutor = hedgedRequestExecutor;
+    }
+
+    /**
+     * Get the retry policy for the failed requests sent to Sift.
+     *
+     * @return Retry policy, or null if retries are disabled.
+     */
+    public RetryPolicy getRetryPolicy() {
+
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Get the spool of the login events which could not be published to Sift.
+     *
+     * @return Login event spool, or null if spooling is disabled.
+     */
+    public LoginEventSpool getLoginEventSpool() {
+
+        return loginEventSpool;
+    }
+
+    public void setLoginEventSpool(LoginEventSpool loginEventSpool) {
+
+        this.loginEventSpool = loginEventSpool;
+    }
+
+    /**
+     * Get the cache of the Sift configurations of the tenants.
+     *
+     * @return Sift config cache, or null if caching is disabled.
+     */
+    public SiftConfigCache getSiftConfigCache() {
+
+        return siftConfigCache;
+    }
+
+    public void setSiftConfigCache(SiftConfigCache siftConfigCache) {
+
+        this.siftConfigCache = siftConfigCache;
+    }
+
+    /**
+     * Get the cache of the risk scores received from Sift.
+     *
+     * @return Risk score cache, or null if caching is disabled.
+     */
+    public RiskScoreCache getRiskScoreCache() {
+
+        return riskScoreCache;
+    }
+
+    public void setRiskScoreCache(RiskScoreCache riskScoreCache) {
+
+        this.riskScoreCache = riskScoreCache;
+    }
+
+    /**
+     * Get the coalescer sharing the concurrent risk score requests of identical payloads.
+     *
+     * @return Score request coalescer, or null if request coalescing is disabled.
+     */
+    public ScoreRequestCoalescer getScoreRequestCoalescer() {
+
+        return scoreRequestCoalescer;
+    }
+
+    public void setScoreRequestCoalescer(ScoreRequestCoalescer scoreRequestCoalescer) {
+
+        this.scoreRequestCoalescer = scoreRequestCoalescer;
+    }
+
+    /**
+     * Get the registry of the IP ranges whose risk scores are resolved locally.
+     *
+     * @return IP range registry, or null if the IP ranges are disabled.
+     */
+    public IpRangeRegistry getIpRangeRegistry() {
+
+        return ipRangeRegistry;
+    }
+
+    public void setIpRangeRegistry(IpRangeRegistry ipRangeRegistry) {
+
+        this.ipRangeRegistry = ipRangeRegistry;
+    }
+
+    /**
+     * Get the scorer deriving the risk scores locally when Sift is unavailable.
+     *
+     * @return Fallback risk scorer, or null if the fallback risk scores are disabled.
+     */
+    public FallbackRiskScorer getFallbackRiskScorer() {
+
+        return fallbackRiskScorer;
+    }
+
+    public void setFallbackRiskScorer(FallbackRiskScorer fallbackRiskScorer) {
+
+        this.fallbackRiskScorer = fallbackRiskScorer;
+    }
+
+    /**
+     * Get the aggregator of the bursts of failed login events published to Sift.
+     *
+     * @return Failed login aggregator, or null if the failed login events are not aggregated.
+     */
+    public FailedLoginAggregator getFailedLoginAggregator() {
+
+        return failedLoginAggregator;
+    }
+
+    public void setFailedLoginAggregator(FailedLoginAggregator failedLoginAggregator) {
+
+        this.failedLoginAggregator = failedLoginAggregator;
+    }
+
+    /**
+     * Get the latency and outcome metrics of the Sift calls.
+     *
+     * @return Sift metrics, or null if the metrics are disabled.
+     */
+    public SiftMetrics getSiftMetrics() {
+
+        return siftMetrics;
+    }
+
+    public void setSiftMetrics(SiftMetrics siftMetrics) {
+
+        this.siftMetrics = siftMetrics;
+    }
+
+    /**
+     * Get the rate limiter of the requests sent to Sift.
+     *
+     * @return Rate limiter, or null if rate limiting is disabled.
+     */
+    public RateLimiter getRateLimiter() {
+
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter) {
+
+        this.rateLimiter = rateLimiter;
+    }
 }
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.fraud.detection.sift.internal;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -31,15 +32,55 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.application.authentication.framework.JsFunctionRegistry;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
 import org.wso2.carbon.identity.fraud.detection.sift.HttpClientManager;
 import org.wso2.carbon.identity.fraud.detection.sift.SiftConnectorConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.RiskScoreCache;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.ScoreRequestCoalescer;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.SiftConfigCache;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.SiftConfigChangeListener;
 import org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions.CallSiftOnLoginFunction;
 import org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions.CallSiftOnLoginFunctionImpl;
 import org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions.PublishLoginToSiftFunction;
 import org.wso2.carbon.identity.fraud.detection.sift.conditional.auth.functions.PublishLoginToSiftFunctionImpl;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
+import org.wso2.carbon.identity.fraud.detection.sift.iprange.IpRangeRegistry;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConfigCacheConfig;
 import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ExecutorConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FailedLoginAggregationConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FallbackConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.HedgingConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.IpRangeConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.MetricsConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.PublisherConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RateLimitConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RetryConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ScoreCacheConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.SpoolConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.AsyncEventPublisher;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.FailedLoginAggregator;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.Bulkhead;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.HedgedRequestExecutor;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RateLimiter;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
+import org.wso2.carbon.identity.fraud.detection.sift.spool.LoginEventReplayer;
+import org.wso2.carbon.identity.fraud.detection.sift.spool.LoginEventSpool;
+import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
 import org.wso2.carbon.identity.governance.IdentityGovernanceService;
 import org.wso2.carbon.identity.governance.common.IdentityConnectorConfig;
+import org.wso2.carbon.idp.mgt.listener.IdentityProviderMgtListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongConsumer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 /**
  * Service component for Sift.
@@ -52,18 +93,117 @@ public class SiftServiceComponent {
 
     public static final String FUNC_CALL_SIFT = "getSiftRiskScoreForLogin";
     public static final String FUNC_PUBLISH_LOGIN_TO_SIFT = "publishLoginEventToSift";
+    private static final String SCORE_BULKHEAD_NAME = "risk score";
+    private static final String PUBLISH_BULKHEAD_NAME = "login event publishing";
     private static final Log LOG = LogFactory.getLog(SiftServiceComponent.class);
-    private CloseableHttpClient httpClient;
+    private CloseableHttpClient scoreHttpClient;
+    private CloseableHttpClient publishHttpClient;
+    private AsyncEventPublisher eventPublisher;
+    private LoginEventReplayer loginEventReplayer;
 
     @Activate
     protected void activate(ComponentContext context) {
 
         try {
+            MetricsConfig metricsConfig = new MetricsConfig.Builder().build();
+            SiftMetrics siftMetrics = null;
+            if (metricsConfig.isEnabled()) {
+                siftMetrics = new SiftMetrics(metricsConfig);
+                SiftDataHolder.getInstance().setSiftMetrics(siftMetrics);
+                registerMetrics(siftMetrics);
+            }
+            // Risk score and login event publishing requests use isolated connection pools, so that a spike of login
+            // events cannot take the connections needed by the latency critical risk score requests.
             ConnectionConfig connectionConfig = new ConnectionConfig.Builder().build();
-            httpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+            if (connectionConfig.getTransport() == Constants.Transport.HTTP_2) {
+                // Each client multiplexes its requests over its own connection, hence there are no pools to bound or
+                // warm up.
+                scoreHttpClient = HttpClientManager.getInstance().getHttp2Client(connectionConfig);
+                publishHttpClient = HttpClientManager.getInstance().getHttp2Client(connectionConfig);
+            } else {
+                PoolingHttpClientConnectionManager scoreConnectionManager = HttpClientManager.getInstance()
+                        .getConnectionManager(connectionConfig, connectionConfig.getScoreMaxConnections(),
+                                getLeaseTimeListener(siftMetrics, SiftMetrics.Operation.RISK_SCORE));
+                scoreHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig,
+                        scoreConnectionManager);
+                HttpClientManager.getInstance().warmUpConnections(scoreConnectionManager, connectionConfig);
+                PoolingHttpClientConnectionManager publishConnectionManager = HttpClientManager.getInstance()
+                        .getConnectionManager(connectionConfig, connectionConfig.getPublishMaxConnections(),
+                                getLeaseTimeListener(siftMetrics, SiftMetrics.Operation.PUBLISH));
+                publishHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig,
+                        publishConnectionManager);
+            }
+            Bulkhead scoreBulkhead = new Bulkhead(SCORE_BULKHEAD_NAME,
+                    connectionConfig.getScoreMaxConcurrentRequests(), connectionConfig.getBulkheadMaxWaitDuration());
+            Bulkhead publishBulkhead = new Bulkhead(PUBLISH_BULKHEAD_NAME,
+                    connectionConfig.getPublishMaxConcurrentRequests(), connectionConfig.getBulkheadMaxWaitDuration());
+            // Virtual threads are used for the blocking I/O work of Sift if enabled and supported by the runtime.
+            ExecutorProvider executorProvider = new ExecutorProvider(new ExecutorConfig.Builder().build());
+            PublisherConfig publisherConfig = new PublisherConfig.Builder().build();
+            if (publisherConfig.isAsyncEnabled()) {
+                eventPublisher = new AsyncEventPublisher(publisherConfig, executorProvider);
+            }
+            CircuitBreakerConfig circuitBreakerConfig = new CircuitBreakerConfig.Builder().build();
+            if (circuitBreakerConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setCircuitBreaker(new CircuitBreaker(circuitBreakerConfig));
+            }
+            HedgingConfig hedgingConfig = new HedgingConfig.Builder().build();
+            if (hedgingConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setHedgedRequestExecutor(new HedgedRequestExecutor(hedgingConfig,
+                        executorProvider));
+            }
+            RetryConfig retryConfig = new RetryConfig.Builder().build();
+            if (retryConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setRetryPolicy(new RetryPolicy(retryConfig, executorProvider));
+            }
+            SpoolConfig spoolConfig = new SpoolConfig.Builder().build();
+            if (spoolConfig.isEnabled()) {
+                LoginEventSpool loginEventSpool = new LoginEventSpool(spoolConfig);
+                SiftDataHolder.getInstance().setLoginEventSpool(loginEventSpool);
+                loginEventReplayer = new LoginEventReplayer(loginEventSpool, publishHttpClient,
+                        connectionConfig.getSiftApiUrl(), spoolConfig);
+                loginEventReplayer.start();
+            }
+            ConfigCacheConfig configCacheConfig = new ConfigCacheConfig.Builder().build();
+            SiftConfigCache siftConfigCache = null;
+            if (configCacheConfig.isEnabled()) {
+                siftConfigCache = new SiftConfigCache(configCacheConfig, Util::loadSiftConfigs);
+                SiftDataHolder.getInstance().setSiftConfigCache(siftConfigCache);
+            }
+            ScoreCacheConfig scoreCacheConfig = new ScoreCacheConfig.Builder().build();
+            if (scoreCacheConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setRiskScoreCache(new RiskScoreCache(scoreCacheConfig,
+                        executorProvider));
+            }
+            if (scoreCacheConfig.isRequestCoalescingEnabled()) {
+                SiftDataHolder.getInstance().setScoreRequestCoalescer(new ScoreRequestCoalescer());
+            }
+            IpRangeConfig ipRangeConfig = new IpRangeConfig.Builder().build();
+            if (ipRangeConfig.isEnabled()) {
+                IpRangeRegistry ipRangeRegistry = new IpRangeRegistry(ipRangeConfig);
+                ipRangeRegistry.start();
+                SiftDataHolder.getInstance().setIpRangeRegistry(ipRangeRegistry);
+            }
+            FallbackConfig fallbackConfig = new FallbackConfig.Builder().build();
+            if (fallbackConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setFallbackRiskScorer(new FallbackRiskScorer(fallbackConfig));
+            }
+            FailedLoginAggregationConfig failedLoginAggregationConfig =
+                    new FailedLoginAggregationConfig.Builder().build();
+            if (failedLoginAggregationConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setFailedLoginAggregator(
+                        new FailedLoginAggregator(failedLoginAggregationConfig));
+            }
+            RateLimitConfig rateLimitConfig = new RateLimitConfig.Builder().build();
+            if (rateLimitConfig.isEnabled()) {
+                SiftDataHolder.getInstance().setRateLimiter(new RateLimiter(rateLimitConfig));
+            }
             JsFunctionRegistry jsFunctionRegistry = SiftDataHolder.getInstance().getJsFunctionRegistry();
-            CallSiftOnLoginFunction getSiftRiskScoreForLogin = new CallSiftOnLoginFunctionImpl(httpClient);
-            PublishLoginToSiftFunction publishLoginToSiftFunction = new PublishLoginToSiftFunctionImpl(httpClient);
+            CallSiftOnLoginFunction getSiftRiskScoreForLogin =
+                    new CallSiftOnLoginFunctionImpl(scoreHttpClient, scoreBulkhead, connectionConfig.getSiftApiUrl());
+            PublishLoginToSiftFunction publishLoginToSiftFunction =
+                    new PublishLoginToSiftFunctionImpl(publishHttpClient, eventPublisher, publishBulkhead,
+                            connectionConfig.getSiftApiUrl());
             jsFunctionRegistry.register(JsFunctionRegistry.Subsystem.SEQUENCE_HANDLER, FUNC_CALL_SIFT,
                     getSiftRiskScoreForLogin);
             jsFunctionRegistry.register(JsFunctionRegistry.Subsystem.SEQUENCE_HANDLER, FUNC_PUBLISH_LOGIN_TO_SIFT,
@@ -72,6 +212,11 @@ public class SiftServiceComponent {
             BundleContext bundleContext = context.getBundleContext();
             SiftConnectorConfig siftConfigConnector = new SiftConnectorConfig();
             bundleContext.registerService(IdentityConnectorConfig.class.getName(), siftConfigConnector, null);
+            if (siftConfigCache != null) {
+                bundleContext.registerService(IdentityProviderMgtListener.class.getName(),
+                        new SiftConfigChangeListener(), null);
+                siftConfigCache.warmUp(configCacheConfig.getWarmUpTenants());
+            }
         } catch (Throwable e) {
             LOG.error("Error while activating SiftServiceComponent.", e);
         }
@@ -87,8 +232,93 @@ public class SiftServiceComponent {
             jsFunctionRegistry.deRegister(JsFunctionRegistry.Subsystem.SEQUENCE_HANDLER, FUNC_PUBLISH_LOGIN_TO_SIFT);
         }
 
-        if (httpClient != null) {
-            HttpClientManager.getInstance().closeHttpClient(httpClient);
+        if (loginEventReplayer != null) {
+            loginEventReplayer.stop();
+            loginEventReplayer = null;
+        }
+        // Cancel the pending retries and drain the queued login events before closing the http clients and the
+        // spool. Login events of the cancelled retries and the events which cannot be drained are spooled, if
+        // spooling is enabled.
+        RetryPolicy retryPolicy = SiftDataHolder.getInstance().getRetryPolicy();
+        if (retryPolicy != null) {
+            retryPolicy.shutdown();
+            SiftDataHolder.getInstance().setRetryPolicy(null);
+        }
+        if (eventPublisher != null) {
+            eventPublisher.shutdown();
+        }
+        LoginEventSpool loginEventSpool = SiftDataHolder.getInstance().getLoginEventSpool();
+        if (loginEventSpool != null) {
+            SiftDataHolder.getInstance().setLoginEventSpool(null);
+            loginEventSpool.close();
+        }
+
+        if (scoreHttpClient != null) {
+            HttpClientManager.getInstance().closeHttpClient(scoreHttpClient);
+        }
+        if (publishHttpClient != null) {
+            HttpClientManager.getInstance().closeHttpClient(publishHttpClient);
+        }
+        SiftDataHolder.getInstance().setCircuitBreaker(null);
+        SiftDataHolder.getInstance().setSiftConfigCache(null);
+        RiskScoreCache riskScoreCache = SiftDataHolder.getInstance().getRiskScoreCache();
+        if (riskScoreCache != null) {
+            riskScoreCache.shutdown();
+            SiftDataHolder.getInstance().setRiskScoreCache(null);
+        }
+        SiftDataHolder.getInstance().setScoreRequestCoalescer(null);
+        IpRangeRegistry ipRangeRegistry = SiftDataHolder.getInstance().getIpRangeRegistry();
+        if (ipRangeRegistry != null) {
+            ipRangeRegistry.stop();
+            SiftDataHolder.getInstance().setIpRangeRegistry(null);
+        }
+        SiftDataHolder.getInstance().setFallbackRiskScorer(null);
+        SiftDataHolder.getInstance().setFailedLoginAggregator(null);
+        SiftDataHolder.getInstance().setRateLimiter(null);
+        HedgedRequestExecutor hedgedRequestExecutor = SiftDataHolder.getInstance().getHedgedRequestExecutor();
+        if (hedgedRequestExecutor != null) {
+            hedgedRequestExecutor.shutdown();
+            SiftDataHolder.getInstance().setHedgedRequestExecutor(null);
+        }
+        if (SiftDataHolder.getInstance().getSiftMetrics() != null) {
+            unregisterMetrics();
+            SiftDataHolder.getInstance().setSiftMetrics(null);
+        }
+    }
+
+    private static LongConsumer getLeaseTimeListener(SiftMetrics siftMetrics, SiftMetrics.Operation operation) {
+
+        if (siftMetrics == null) {
+            return null;
+        }
+        return leaseTime -> siftMetrics.recordLatency(operation, SiftMetrics.Phase.CONNECTION_LEASE, leaseTime);
+    }
+
+    private static void registerMetrics(SiftMetrics siftMetrics) {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(Constants.METRICS_MBEAN_NAME);
+            // Replace the metrics left behind by a previous activation of the component.
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(siftMetrics, objectName);
+        } catch (JMException e) {
+            LOG.warn("Unable to register the Sift metrics MBean.", e);
+        }
+    }
+
+    private static void unregisterMetrics() {
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(Constants.METRICS_MBEAN_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Unable to unregister the Sift metrics MBean.", e);
         }
     }
 
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.iprange;
+
+/**
+ * Immutable index of IPv4 and IPv6 ranges, returning the risk score of the most specific range containing an IP
+ * address. The ranges are held in a path compressed binary radix trie flattened into a single array, so that a lookup
+ * walks at most one node per branching bit, touches a single cache line per node and does not allocate.
+ * <p>
+ * IPv4 addresses are indexed as IPv4-mapped IPv6 addresses, hence an IPv4 range also contains the IPv4-mapped form
+ * of its addresses.
+ */
+public class IpRangeIndex {
+
+    private static final int ADDRESS_LENGTH = 128;
+    private static final int IPV4_MAPPED_PREFIX_LENGTH = 96;
+    private static final long IPV4_MAPPED_PREFIX = 0xffff00000000L;
+    private static final ThreadLocal<long[]> ADDRESS = ThreadLocal.withInitial(() -> new long[2]);
+
+    // Each node takes NODE_SIZE consecutive longs, so that the visit of a node touches a single cache line: the high
+    // and low bits of the prefix, the prefix length and the indexes of the children, and the risk score. The root is
+    // the node at index 0, hence a child index of 0 marks a missing child. A NaN risk score marks a node without a
+    // range.
+    private static final int NODE_SIZE = 4;
+    private static final int HIGH = 0;
+    private static final int LOW = 1;
+    private static final int LINKS = 2;
+    private static final int SCORE = 3;
+    private static final int CHILD_INDEX_BITS = 28;
+    private static final long CHILD_INDEX_MASK = (1L << CHILD_INDEX_BITS) - 1;
+    private static final int MAX_NODES = 1 << CHILD_INDEX_BITS;
+
+    private final long[] nodes;
+    private final int size;
+
+    private IpRangeIndex(Builder builder) {
+
+        int nodeCount = countNodes(builder.root);
+        if (nodeCount >= MAX_NODES) {
+            throw new IllegalStateException("Too many IP ranges: " + builder.size);
+        }
+        this.nodes = new long[nodeCount * NODE_SIZE];
+        this.size = builder.size;
+        if (builder.root != null) {
+            flatten(builder.root, 0);
+        }
+    }
+
+    /**
+     * Get the risk score of the most specific range containing the IP address.
+     *
+     * @param ipAddress IPv4 or IPv6 address.
+     * @return Risk score, or NaN if the IP address is invalid or not in any range.
+     */
+    public double lookup(CharSequence ipAddress) {
+
+        if (ipAddress == null || nodes.length == 0) {
+            return Double.NaN;
+        }
+        long[] address = ADDRESS.get();
+        if (!parseAddress(ipAddress, 0, ipAddress.length(), address)) {
+            return Double.NaN;
+        }
+        return lookup(address[0], address[1]);
+    }
+
+    /**
+     * Get the number of ranges in the index.
+     *
+     * @return Number of ranges.
+     */
+    public int size() {
+
+        return size;
+    }
+
+    private double lookup(long high, long low) {
+
+        double score = Double.NaN;
+        int node = 0;
+        while (true) {
+            long links = nodes[node + LINKS];
+            int prefixLength = (int) (links >>> (2 * CHILD_INDEX_BITS));
+            if (((high ^ nodes[node + HIGH]) & highMask(prefixLength)) != 0 ||
+                    ((low ^ nodes[node + LOW]) & lowMask(prefixLength)) != 0) {
+                break;
+            }
+            double nodeScore = Double.longBitsToDouble(nodes[node + SCORE]);
+            if (!Double.isNaN(nodeScore)) {
+                score = nodeScore;
+            }
+            if (prefixLength == ADDRESS_LENGTH) {
+                break;
+            }
+            int child = bit(high, low, prefixLength) == 0 ? (int) (links >>> CHILD_INDEX_BITS & CHILD_INDEX_MASK) :
+                    (int) (links & CHILD_INDEX_MASK);
+            if (child == 0) {
+                break;
+            }
+            node = child * NODE_SIZE;
+        }
+        return score;
+    }
+
+    private int flatten(Node node, int index) {
+
+        int next = index + 1;
+        int zeroChild = 0;
+        if (node.zero != null) {
+            zeroChild = next;
+            next = flatten(node.zero, next);
+        }
+        int oneChild = 0;
+        if (node.one != null) {
+            oneChild = next;
+            next = flatten(node.one, next);
+        }
+        int offset = index * NODE_SIZE;
+        nodes[offset + HIGH] = node.high;
+        nodes[offset + LOW] = node.low;
+        nodes[offset + LINKS] = (long) node.prefixLength << (2 * CHILD_INDEX_BITS) |
+                (long) zeroChild << CHILD_INDEX_BITS | oneChild;
+        nodes[offset + SCORE] = Double.doubleToRawLongBits(node.score);
+        return next;
+    }
+
+    private static int countNodes(Node node) {
+
+        return node == null ? 0 : 1 + countNodes(node.zero) + countNodes(node.one);
+    }
+
+    /**
+     * Parse an IPv4 or IPv6 address without allocating. IPv4 addresses are parsed into their IPv4-mapped IPv6 form.
+     * The zone ID of an IPv6 address is ignored.
+     *
+     * @param text    Text containing the IP address.
+     * @param start   Start index of the IP address in the text.
+     * @param end     End index of the IP address in the text, exclusive.
+     * @param address Array receiving the high and low 64 bits of the address.
+     * @return True if the IP address is valid.
+     */
+    static boolean parseAddress(CharSequence text, int start, int end, long[] address) {
+
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        address[0] = 0;
+        address[1] = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ':') {
+                return parseIpv6(text, start, end, address);
+            } else if (c == '.') {
+                break;
+            }
+        }
+        long ipv4 = parseIpv4(text, start, end);
+        if (ipv4 < 0) {
+            return false;
+        }
+        address[1] = IPV4_MAPPED_PREFIX | ipv4;
+        return true;
+    }
+
+    private static long parseIpv4(CharSequence text, int start, int end) {
+
+        long value = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                value = (value << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octet < 0 || octets != 3) {
+            return -1;
+        }
+        return (value << 8) | octet;
+    }
+
+    private static boolean parseIpv6(CharSequence text, int start, int end, long[] address) {
+
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+        int groups = 0;
+        // Number of groups before the "::", or -1 if the address does not have a "::".
+        int headGroups = -1;
+        int i = start;
+        if (end - start >= 2 && text.charAt(start) == ':' && text.charAt(start + 1) == ':') {
+            headGroups = 0;
+            i += 2;
+        }
+        while (i < end) {
+            int groupStart = i;
+            int group = 0;
+            while (i < end && Character.digit(text.charAt(i), 16) >= 0) {
+                if (i - groupStart == 4) {
+                    return false;
+                }
+                group = (group << 4) | Character.digit(text.charAt(i), 16);
+                i++;
+            }
+            if (i < end && text.charAt(i) == '.') {
+                // An IPv4 address in the last 32 bits.
+                long ipv4 = parseIpv4(text, groupStart, end);
+                if (ipv4 < 0 || groups > 6) {
+                    return false;
+                }
+                setGroup(address, groups++, (int) (ipv4 >>> 16));
+                setGroup(address, groups++, (int) (ipv4 & 0xffff));
+                break;
+            }
+            if (i == groupStart || groups == 8) {
+                return false;
+            }
+            setGroup(address, groups++, group);
+            if (i == end) {
+                break;
+            }
+            if (text.charAt(i) != ':' || ++i == end) {
+                return false;
+            }
+            if (text.charAt(i) == ':') {
+                if (headGroups >= 0) {
+                    return false;
+                }
+                headGroups = groups;
+                i++;
+            }
+        }
+        if (headGroups < 0) {
+            return groups == 8;
+        }
+        if (groups > 7) {
+            return false;
+        }
+        // Move the groups after the "::" to the end of the address.
+        int headLength = headGroups * 16;
+        long tailHigh = address[0] & ~highMask(headLength);
+        long tailLow = address[1] & ~lowMask(headLength);
+        int shift = (8 - groups) * 16;
+        if (shift >= 64) {
+            tailLow = tailHigh >>> (shift - 64);
+            tailHigh = 0;
+        } else if (shift > 0) {
+            tailLow = (tailLow >>> shift) | (tailHigh << (64 - shift));
+            tailHigh >>>= shift;
+        }
+        address[0] = (address[0] & highMask(headLength)) | tailHigh;
+        address[1] = (address[1] & lowMask(headLength)) | tailLow;
+        return true;
+    }
+
+    private static void setGroup(long[] address, int index, int group) {
+
+        if (index < 4) {
+            address[0] |= (long) group << (48 - index * 16);
+        } else {
+            address[1] |= (long) group << (48 - (index - 4) * 16);
+        }
+    }
+
+    private static long highMask(int prefixLength) {
+
+        if (prefixLength >= 64) {
+            return -1L;
+        }
+        return prefixLength == 0 ? 0 : -1L << (64 - prefixLength);
+    }
+
+    private static long lowMask(int prefixLength) {
+
+        return prefixLength <= 64 ? 0 : -1L << (ADDRESS_LENGTH - prefixLength);
+    }
+
+    private static int bit(long high, long low, int position) {
+
+        if (position < 64) {
+            return (int) (high >>> (63 - position)) & 1;
+        }
+        return (int) (low >>> (127 - position)) & 1;
+    }
+
+    private static int commonPrefixLength(long high1, long low1, long high2, long low2) {
+
+        if (high1 != high2) {
+            return Long.numberOfLeadingZeros(high1 ^ high2);
+        }
+        return low1 != low2 ? 64 + Long.numberOfLeadingZeros(low1 ^ low2) : ADDRESS_LENGTH;
+    }
+
+    /**
+     * Builder for IpRangeIndex. When a range is added more than once, the last risk score is used.
+     */
+    public static class Builder {
+
+        private Node root;
+        private int size;
+
+        /**
+         * Add a range to the index.
+         *
+         * @param range Range in the CIDR notation, or a single IPv4 or IPv6 address.
+         * @param score Risk score of the IP addresses in the range.
+         * @return Builder.
+         * @throws IllegalArgumentException If the range or the risk score is invalid.
+         */
+        public Builder add(String range, double score) {
+
+            if (Double.isNaN(score)) {
+                throw new IllegalArgumentException("Invalid risk score for the IP range: " + range);
+            }
+            int separator = range.indexOf('/');
+            int end = separator >= 0 ? separator : range.length();
+            long[] address = new long[2];
+            if (!parseAddress(range, 0, end, address)) {
+                throw new IllegalArgumentException("Invalid IP range: " + range);
+            }
+            boolean ipv4 = range.lastIndexOf(':', end) < 0;
+            int prefixLength = ADDRESS_LENGTH;
+            if (separator >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(range.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid prefix length of the IP range: " + range);
+                }
+                int maxPrefixLength = ipv4 ? ADDRESS_LENGTH - IPV4_MAPPED_PREFIX_LENGTH : ADDRESS_LENGTH;
+                if (prefixLength < 0 || prefixLength > maxPrefixLength) {
+                    throw new IllegalArgumentException("Invalid prefix length of the IP range: " + range);
+                }
+                if (ipv4) {
+                    prefixLength += IPV4_MAPPED_PREFIX_LENGTH;
+                }
+            }
+            // The host bits of the range are ignored.
+            root = insert(root, address[0] & highMask(prefixLength), address[1] & lowMask(prefixLength),
+                    prefixLength, score);
+            return this;
+        }
+
+        public IpRangeIndex build() {
+
+            return new IpRangeIndex(this);
+        }
+
+        private Node insert(Node node, long high, long low, int prefixLength, double score) {
+
+            if (node == null) {
+                size++;
+                return new Node(high, low, prefixLength, score);
+            }
+            int commonLength = Math.min(Math.min(prefixLength, node.prefixLength),
+                    commonPrefixLength(high, low, node.high, node.low));
+            if (commonLength == node.prefixLength) {
+                if (prefixLength == node.prefixLength) {
+                    if (Double.isNaN(node.score)) {
+                        size++;
+                    }
+                    node.score = score;
+                } else if (bit(high, low, node.prefixLength) == 0) {
+                    node.zero = insert(node.zero, high, low, prefixLength, score);
+                } else {
+                    node.one = insert(node.one, high, low, prefixLength, score);
+                }
+                return node;
+            }
+
+            // The range diverges from the prefix of the node. Insert a node at the point of divergence.
+            size++;
+            Node parent;
+            if (commonLength == prefixLength) {
+                parent = new Node(high, low, prefixLength, score);
+            } else {
+                parent = new Node(high & highMask(commonLength), low & lowMask(commonLength), commonLength,
+                        Double.NaN);
+                parent.setChild(bit(high, low, commonLength), new Node(high, low, prefixLength, score));
+            }
+            parent.setChild(bit(node.high, node.low, commonLength), node);
+            return parent;
+        }
+    }
+
+    private static final class Node {
+
+        private final long high;
+        private final long low;
+        private final int prefixLength;
+        private double score;
+        private Node zero;
+        private Node one;
+
+        Node(long high, long low, int prefixLength, double score) {
+
+            this.high = high;
+            this.low = low;
+            this.prefixLength = prefixLength;
+            this.score = score;
+        }
+
+        void setChild(int bit, Node child) {
+
+            if (bit == 0) {
+                zero = child;
+            } else {
+                one = child;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.iprange;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.IpRangeConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the IP ranges of the tenants, used to resolve the risk score of the logins from trusted or abusive IP
+ * ranges locally instead of calling Sift.
+ * <p>
+ * The IP ranges of a tenant are read from the file named {@code <tenant domain>.txt} in the configured directory.
+ * Each line of the file holds a range in the CIDR notation followed by {@code allow}, {@code deny} or a risk score.
+ * Empty lines and lines starting with {@code #} are ignored. The files are checked for changes periodically, and
+ * the IP ranges of a tenant are replaced at once when its file changes.
+ */
+public class IpRangeRegistry {
+
+    private static final Log LOG = LogFactory.getLog(IpRangeRegistry.class);
+    private static final String THREAD_NAME_PREFIX = "sift-ip-range-reloader-";
+    private static final String ALLOW = "allow";
+    private static final String DENY = "deny";
+    private static final String COMMENT_PREFIX = "#";
+
+    private final Path directory;
+    private final long reloadInterval;
+    private final Map<String, TenantIpRanges> tenantIpRanges = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public IpRangeRegistry(IpRangeConfig ipRangeConfig) {
+
+        this.directory = Paths.get(ipRangeConfig.getDirectory());
+        this.reloadInterval = ipRangeConfig.getReloadInterval();
+    }
+
+    /**
+     * Load the IP ranges of the tenants and start checking the files for changes.
+     */
+    public synchronized void start() {
+
+        if (scheduler != null) {
+            return;
+        }
+        reload();
+        if (reloadInterval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    ExecutorProvider.getPlatformThreadFactory(THREAD_NAME_PREFIX));
+            scheduler.scheduleWithFixedDelay(this::reload, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop checking the files for changes. The loaded IP ranges are kept.
+     */
+    public synchronized void stop() {
+
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /**
+     * Get the risk score of the IP address from the IP ranges of the tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param ipAddress    IP address of the login.
+     * @return Risk score of the most specific range containing the IP address, or NaN if the tenant has no range
+     * containing the IP address.
+     */
+    public double getRiskScore(String tenantDomain, CharSequence ipAddress) {
+
+        if (tenantDomain == null) {
+            return Double.NaN;
+        }
+        TenantIpRanges ipRanges = tenantIpRanges.get(tenantDomain);
+        return ipRanges != null ? ipRanges.index.lookup(ipAddress) : Double.NaN;
+    }
+
+    /**
+     * Load the IP range files which have changed since they were last loaded, and discard the IP ranges of the
+     * removed files. If a file cannot be read, the previously loaded IP ranges of the tenant are kept.
+     */
+    public void reload() {
+
+        try {
+            Set<String> tenantDomains = new HashSet<>();
+            if (Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                        "*" + Constants.IP_RANGE_FILE_EXTENSION)) {
+                    for (Path file : files) {
+                        String fileName = file.getFileName().toString();
+                        String tenantDomain = fileName.substring(0,
+                                fileName.length() - Constants.IP_RANGE_FILE_EXTENSION.length());
+                        tenantDomains.add(tenantDomain);
+                        reload(tenantDomain, file);
+                    }
+                }
+            }
+            tenantIpRanges.keySet().retainAll(tenantDomains);
+        } catch (IOException | DirectoryIteratorException e) {
+            LOG.error("Error while reading the IP range files from: " + directory, e);
+        } catch (RuntimeException e) {
+            LOG.error("Error while reloading the IP ranges.", e);
+        }
+    }
+
+    private void reload(String tenantDomain, Path file) {
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            TenantIpRanges current = tenantIpRanges.get(tenantDomain);
+            if (current != null && current.lastModified == lastModified && current.fileSize == attributes.size()) {
+                return;
+            }
+            IpRangeIndex index = load(file);
+            tenantIpRanges.put(tenantDomain, new TenantIpRanges(index, lastModified, attributes.size()));
+            LOG.info("Loaded " + index.size() + " IP ranges of tenant: " + tenantDomain);
+        } catch (IOException e) {
+            LOG.error("Error while loading the IP ranges from: " + file + ". The previously loaded IP ranges " +
+                    "of the tenant are kept.", e);
+        }
+    }
+
+    private static IpRangeIndex load(Path file) throws IOException {
+
+        IpRangeIndex.Builder builder = new IpRangeIndex.Builder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                try {
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Expected an IP range and an action.");
+                    }
+                    builder.add(parts[0], getRiskScore(parts[1]));
+                } catch (IllegalArgumentException e) {
+                    LOG.warn("Ignoring the invalid line " + lineNumber + " of: " + file + ". " + e.getMessage());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static double getRiskScore(String action) {
+
+        if (ALLOW.equalsIgnoreCase(action)) {
+            return Constants.IP_RANGE_ALLOW_SCORE;
+        }
+        if (DENY.equalsIgnoreCase(action)) {
+            return Constants.IP_RANGE_DENY_SCORE;
+        }
+        double riskScore = Double.parseDouble(action);
+        if (!(riskScore >= 0 && riskScore <= 1)) {
+            throw new IllegalArgumentException("Invalid risk score: " + action);
+        }
+        return riskScore;
+    }
+
+    private static final class TenantIpRanges {
+
+        private final IpRangeIndex index;
+        private final long lastModified;
+        private final long fileSize;
+
+        TenantIpRanges(IpRangeIndex index, long lastModified, long fileSize) {
+
+            this.index = index;
+            this.lastModified = lastModified;
+            this.fileSize = fileSize;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.metrics;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.RiskScoreCache;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.ScoreRequestCoalescer;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.models.MetricsConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.FailedLoginAggregator;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RateLimiter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latencies and outcomes of the Sift calls of the risk score and login event publishing functions. The latencies
+ * are recorded per phase of each operation, and the tenant config lookups of both operations share a histogram. The
+ * outcomes are counted per tenant, up to the configured number of tenants, after which the outcomes of the other
+ * tenants are counted together.
+ * <p>
+ * Recording does not lock or allocate, once the outcome counters of the tenant are created.
+ */
+public class SiftMetrics implements SiftMetricsMXBean {
+
+    static final String OTHER_TENANTS = "other";
+    static final String UNKNOWN_TENANT = "unknown";
+    private static final String CONFIG_LOOKUP_KEY = "configLookup";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p999"};
+    // Cached, as values() copies the constants on each call.
+    private static final int OUTCOME_COUNT = Outcome.values().length;
+
+    /**
+     * Operations calling Sift.
+     */
+    public enum Operation {
+
+        RISK_SCORE("riskScore"),
+        PUBLISH("publish");
+
+        private final String key;
+
+        Operation(String key) {
+
+            this.key = key;
+        }
+
+        public String getKey() {
+
+            return key;
+        }
+    }
+
+    /**
+     * Phases of a Sift call. The payload build includes the tenant config lookup, and the round trip includes the
+     * connection lease.
+     */
+    public enum Phase {
+
+        PAYLOAD_BUILD("payloadBuild"),
+        CONNECTION_LEASE("connectionLease"),
+        ROUND_TRIP("roundTrip"),
+        PARSE("parse");
+
+        private final String key;
+
+        Phase(String key) {
+
+            this.key = key;
+        }
+
+        public String getKey() {
+
+            return key;
+        }
+    }
+
+    /**
+     * Outcomes of a Sift call.
+     */
+    public enum Outcome {
+
+        OK("ok"),
+        HTTP_ERROR("httpError"),
+        SIFT_STATUS_ERROR("siftStatusError"),
+        TIMEOUT("timeout"),
+        IO_ERROR("ioError");
+
+        private final String key;
+
+        Outcome(String key) {
+
+            this.key = key;
+        }
+
+        public String getKey() {
+
+            return key;
+        }
+
+        /**
+         * Get the outcome of a call which failed with the given exception.
+         *
+         * @param e Exception of the call.
+         * @return TIMEOUT if a connection, connection lease or read timed out, IO_ERROR otherwise.
+         */
+        public static Outcome of(IOException e) {
+
+            // Connection pool lease timeouts are connect timeouts as well.
+            return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException ? TIMEOUT : IO_ERROR;
+        }
+    }
+
+    private final int maxTenants;
+    private final LatencyHistogram configLookupLatency = new LatencyHistogram();
+    private final LatencyHistogram[][] latencies;
+    private final Map<String, AtomicLongArray> outcomes = new ConcurrentHashMap<>();
+
+    public SiftMetrics(MetricsConfig metricsConfig) {
+
+        this.maxTenants = Math.max(0, metricsConfig.getMaxTenants());
+        this.latencies = new LatencyHistogram[Operation.values().length][Phase.values().length];
+        for (LatencyHistogram[] operationLatencies : latencies) {
+            for (int i = 0; i < operationLatencies.length; i++) {
+                operationLatencies[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * Record the latency of a phase of a Sift call.
+     *
+     * @param operation Operation calling Sift.
+     * @param phase     Phase of the call.
+     * @param nanos     Latency in nanoseconds.
+     */
+    public void recordLatency(Operation operation, Phase phase, long nanos) {
+
+        latencies[operation.ordinal()][phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record the latency of a lookup of the Sift configs of a tenant.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void recordConfigLookup(long nanos) {
+
+        configLookupLatency.record(nanos);
+    }
+
+    /**
+     * Count the outcome of a Sift call.
+     *
+     * @param operation    Operation calling Sift.
+     * @param tenantDomain Tenant domain, or null if unknown.
+     * @param outcome      Outcome of the call.
+     */
+    public void recordOutcome(Operation operation, String tenantDomain, Outcome outcome) {
+
+        getOutcomes(tenantDomain).incrementAndGet(operation.ordinal() * OUTCOME_COUNT + outcome.ordinal());
+    }
+
+    LatencyHistogram getLatency(Operation operation, Phase phase) {
+
+        return latencies[operation.ordinal()][phase.ordinal()];
+    }
+
+    LatencyHistogram getConfigLookupLatency() {
+
+        return configLookupLatency;
+    }
+
+    @Override
+    public Map<String, Long> getLatencies() {
+
+        Map<String, Long> statistics = new TreeMap<>();
+        addStatistics(statistics, CONFIG_LOOKUP_KEY, configLookupLatency);
+        for (Operation operation : Operation.values()) {
+            for (Phase phase : Phase.values()) {
+                addStatistics(statistics, operation.getKey() + "." + phase.getKey(), getLatency(operation, phase));
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public Map<String, Long> getOutcomes() {
+
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLongArray> entry : outcomes.entrySet()) {
+            for (Operation operation : Operation.values()) {
+                for (Outcome outcome : Outcome.values()) {
+                    counts.put(entry.getKey() + "." + operation.getKey() + "." + outcome.getKey(),
+                            entry.getValue().get(operation.ordinal() * OUTCOME_COUNT + outcome.ordinal()));
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+
+        Map<String, Long> counters = new TreeMap<>();
+        CircuitBreaker circuitBreaker = SiftDataHolder.getInstance().getCircuitBreaker();
+        if (circuitBreaker != null) {
+            counters.put("circuitBreaker.state", (long) circuitBreaker.getState().ordinal());
+            counters.put("circuitBreaker.openTransitions",
+                    circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+            counters.put("circuitBreaker.halfOpenTransitions",
+                    circuitBreaker.getTransitionCount(CircuitBreaker.State.HALF_OPEN));
+            counters.put("circuitBreaker.closedTransitions",
+                    circuitBreaker.getTransitionCount(CircuitBreaker.State.CLOSED));
+        }
+        RiskScoreCache riskScoreCache = SiftDataHolder.getInstance().getRiskScoreCache();
+        if (riskScoreCache != null) {
+            counters.put("riskScoreCache.hits", riskScoreCache.getHitCount());
+            counters.put("riskScoreCache.staleHits", riskScoreCache.getStaleHitCount());
+            counters.put("riskScoreCache.misses", riskScoreCache.getMissCount());
+            counters.put("riskScoreCache.evictions", riskScoreCache.getEvictionCount());
+            counters.put("riskScoreCache.size", (long) riskScoreCache.size());
+        }
+        ScoreRequestCoalescer scoreRequestCoalescer = SiftDataHolder.getInstance().getScoreRequestCoalescer();
+        if (scoreRequestCoalescer != null) {
+            counters.put("scoreRequestCoalescer.coalescedRequests", scoreRequestCoalescer.getCoalescedRequestCount());
+            counters.put("scoreRequestCoalescer.inFlightRequests",
+                    (long) scoreRequestCoalescer.getInFlightRequestCount());
+        }
+        FailedLoginAggregator failedLoginAggregator = SiftDataHolder.getInstance().getFailedLoginAggregator();
+        if (failedLoginAggregator != null) {
+            counters.put("failedLoginAggregator.aggregatedEvents", failedLoginAggregator.getAggregatedEventCount());
+            counters.put("failedLoginAggregator.size", (long) failedLoginAggregator.size());
+        }
+        RateLimiter rateLimiter = SiftDataHolder.getInstance().getRateLimiter();
+        if (rateLimiter != null) {
+            counters.put("rateLimiter.rejectedRequests", rateLimiter.getRejectedRequestCount());
+            counters.put("rateLimiter.tenants", (long) rateLimiter.size());
+        }
+        return counters;
+    }
+
+    @Override
+    public void reset() {
+
+        configLookupLatency.reset();
+        for (LatencyHistogram[] operationLatencies : latencies) {
+            for (LatencyHistogram latency : operationLatencies) {
+                latency.reset();
+            }
+        }
+        outcomes.clear();
+    }
+
+    private AtomicLongArray getOutcomes(String tenantDomain) {
+
+        String tenant = tenantDomain != null ? tenantDomain : UNKNOWN_TENANT;
+        AtomicLongArray tenantOutcomes = outcomes.get(tenant);
+        if (tenantOutcomes != null) {
+            return tenantOutcomes;
+        }
+        if (outcomes.size() >= maxTenants) {
+            tenant = OTHER_TENANTS;
+        }
+        return outcomes.computeIfAbsent(tenant,
+                key -> new AtomicLongArray(Operation.values().length * OUTCOME_COUNT));
+    }
+
+    private static void addStatistics(Map<String, Long> statistics, String key, LatencyHistogram latency) {
+
+        statistics.put(key + ".count", latency.getCount());
+        statistics.put(key + ".mean", toMicros(latency.getMean()));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            statistics.put(key + "." + PERCENTILE_KEYS[i], toMicros(latency.getValueAtPercentile(PERCENTILES[i])));
+        }
+        statistics.put(key + ".max", toMicros(latency.getMax()));
+    }
+
+    private static long toMicros(long nanos) {
+
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface of the Sift metrics.
+ */
+public interface SiftMetricsMXBean {
+
+    /**
+     * Get the latency statistics of each phase of the Sift calls, keyed as operation.phase.statistic. The statistics
+     * are the count, and the mean, 50th, 90th, 99th and 99.9th percentiles and max in microseconds.
+     *
+     * @return Latency statistics.
+     */
+    Map<String, Long> getLatencies();
+
+    /**
+     * Get the number of Sift calls of each outcome, keyed as tenant.operation.outcome.
+     *
+     * @return Outcome counts.
+     */
+    Map<String, Long> getOutcomes();
+
+    /**
+     * Get the counters of the circuit breaker, the risk score cache, the request coalescer, the failed login
+     * aggregator and the rate limiter, if enabled. The circuit breaker state is 0 when closed, 1 when open and 2 when
+     * half open.
+     *
+     * @return Counters.
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Clear the latencies and the outcome counts.
+     */
+    void reset();
+}
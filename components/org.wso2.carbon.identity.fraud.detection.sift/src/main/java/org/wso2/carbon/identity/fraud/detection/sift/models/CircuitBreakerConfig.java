@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Circuit Breaker Config model containing configs for the circuit breaker guarding the calls to Sift.
+ */
+public class CircuitBreakerConfig {
+
+    private final boolean enabled;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final int slowCallDuration;
+    private final int waitDurationInOpenState;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final int permittedCallsInHalfOpenState;
+
+    private CircuitBreakerConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.waitDurationInOpenState = builder.waitDurationInOpenState;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getFailureRateThreshold() {
+
+        return failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+
+        return slowCallRateThreshold;
+    }
+
+    public int getSlowCallDuration() {
+
+        return slowCallDuration;
+    }
+
+    public int getWaitDurationInOpenState() {
+
+        return waitDurationInOpenState;
+    }
+
+    public int getSlidingWindowSize() {
+
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+
+        return minimumNumberOfCalls;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+
+        return permittedCallsInHalfOpenState;
+    }
+
+    /**
+     * Builder for CircuitBreakerConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int failureRateThreshold;
+        private int slowCallRateThreshold;
+        private int slowCallDuration;
+        private int waitDurationInOpenState;
+        private int slidingWindowSize;
+        private int minimumNumberOfCalls;
+        private int permittedCallsInHalfOpenState;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.CIRCUIT_BREAKER_ENABLED_CONFIG, false);
+            this.failureRateThreshold = getIntProperty(Constants.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD_CONFIG,
+                    Constants.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD, "circuit breaker failure rate threshold");
+            this.slowCallRateThreshold = getIntProperty(Constants.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD_CONFIG,
+                    Constants.CIRCUIT_BREAKER_SLOW_CALL_RATE_THRESHOLD, "circuit breaker slow call rate threshold");
+            this.slowCallDuration = getIntProperty(Constants.CIRCUIT_BREAKER_SLOW_CALL_DURATION_CONFIG,
+                    Constants.CIRCUIT_BREAKER_SLOW_CALL_DURATION, "circuit breaker slow call duration");
+            this.waitDurationInOpenState = getIntProperty(Constants.CIRCUIT_BREAKER_WAIT_DURATION_IN_OPEN_STATE_CONFIG,
+                    Constants.CIRCUIT_BREAKER_WAIT_DURATION_IN_OPEN_STATE,
+                    "circuit breaker wait duration in open state");
+            this.slidingWindowSize = getIntProperty(Constants.CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE_CONFIG,
+                    Constants.CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE, "circuit breaker sliding window size");
+            this.minimumNumberOfCalls = getIntProperty(Constants.CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS_CONFIG,
+                    Constants.CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS, "circuit breaker minimum number of calls");
+            this.permittedCallsInHalfOpenState = getIntProperty(
+                    Constants.CIRCUIT_BREAKER_PERMITTED_CALLS_IN_HALF_OPEN_STATE_CONFIG,
+                    Constants.CIRCUIT_BREAKER_PERMITTED_CALLS_IN_HALF_OPEN_STATE,
+                    "circuit breaker permitted calls in half open state");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setFailureRateThreshold(int failureRateThreshold) {
+
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        public Builder setSlowCallRateThreshold(int slowCallRateThreshold) {
+
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            return this;
+        }
+
+        public Builder setSlowCallDuration(int slowCallDuration) {
+
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        public Builder setWaitDurationInOpenState(int waitDurationInOpenState) {
+
+            this.waitDurationInOpenState = waitDurationInOpenState;
+            return this;
+        }
+
+        public Builder setSlidingWindowSize(int slidingWindowSize) {
+
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        public Builder setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        public Builder setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+            return this;
+        }
+
+        public CircuitBreakerConfig build() {
+
+            return new CircuitBreakerConfig(this);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getStringProperty;
+
+/**
+ * Config Cache Config model containing configs for caching the Sift configurations of the tenants.
+ */
+public class ConfigCacheConfig {
+
+    private final boolean enabled;
+    private final int timeToLive;
+    private final int negativeTimeToLive;
+    private final int maxEntries;
+    private final String warmUpTenants;
+
+    private ConfigCacheConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.timeToLive = builder.timeToLive;
+        this.negativeTimeToLive = builder.negativeTimeToLive;
+        this.maxEntries = builder.maxEntries;
+        this.warmUpTenants = builder.warmUpTenants;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getTimeToLive() {
+
+        return timeToLive;
+    }
+
+    public int getNegativeTimeToLive() {
+
+        return negativeTimeToLive;
+    }
+
+    public int getMaxEntries() {
+
+        return maxEntries;
+    }
+
+    public String getWarmUpTenants() {
+
+        return warmUpTenants;
+    }
+
+    /**
+     * Builder for ConfigCacheConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int timeToLive;
+        private int negativeTimeToLive;
+        private int maxEntries;
+        private String warmUpTenants;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.CONFIG_CACHE_ENABLED_CONFIG, true);
+            this.timeToLive = getIntProperty(Constants.CONFIG_CACHE_TIME_TO_LIVE_CONFIG,
+                    Constants.CONFIG_CACHE_TIME_TO_LIVE, "config cache time to live");
+            this.negativeTimeToLive = getIntProperty(Constants.CONFIG_CACHE_NEGATIVE_TIME_TO_LIVE_CONFIG,
+                    Constants.CONFIG_CACHE_NEGATIVE_TIME_TO_LIVE, "config cache negative time to live");
+            this.maxEntries = getIntProperty(Constants.CONFIG_CACHE_MAX_ENTRIES_CONFIG,
+                    Constants.CONFIG_CACHE_MAX_ENTRIES, "config cache max entries");
+            this.warmUpTenants = getStringProperty(Constants.CONFIG_CACHE_WARM_UP_TENANTS_CONFIG,
+                    Constants.CONFIG_CACHE_WARM_UP_TENANTS);
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setTimeToLive(int timeToLive) {
+
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder setNegativeTimeToLive(int negativeTimeToLive) {
+
+            this.negativeTimeToLive = negativeTimeToLive;
+            return this;
+        }
+
+        public Builder setMaxEntries(int maxEntries) {
+
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder setWarmUpTenants(String warmUpTenants) {
+
+            this.warmUpTenants = warmUpTenants;
+            return this;
+        }
+
+        public ConfigCacheConfig build() {
+
+            return new ConfigCacheConfig(this);
+        }
+    }
+}
@@ -19,11 +19,13 @@
 package org.wso2.carbon.identity.fraud.detection.sift.models;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
 
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getEnumProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getStringProperty;
+
 /**
  * Connection Config model containing configs for http client.
  */
@@ -32,12 +34,48 @@ public class ConnectionConfig {
     private final int connectionTimeout;
     private final int readTimeout;
     private final int connectionRequestTimeout;
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final int keepAliveDuration;
+    private final int validateAfterInactivity;
+    private final int idleConnectionTimeout;
+    private final int sslSessionTimeout;
+    private final int sslSessionCacheSize;
+    private final int warmUpConnections;
+    private final int scoreMaxConnections;
+    private final int publishMaxConnections;
+    private final int scoreMaxConcurrentRequests;
+    private final int publishMaxConcurrentRequests;
+    private final int bulkheadMaxWaitDuration;
+    private final boolean requestCompressionEnabled;
+    private final int requestCompressionThreshold;
+    private final boolean responseCompressionEnabled;
+    private final String baseUrl;
+    private final Constants.Transport transport;
 
     private ConnectionConfig(Builder builder) {
 
         this.connectionTimeout = builder.connectionTimeout;
         this.readTimeout = builder.readTimeout;
         this.connectionRequestTimeout = builder.connectionRequestTimeout;
+        this.maxConnections = builder.maxConnections;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.keepAliveDuration = builder.keepAliveDuration;
+        this.validateAfterInactivity = builder.validateAfterInactivity;
+        this.idleConnectionTimeout = builder.idleConnectionTimeout;
+        this.sslSessionTimeout = builder.sslSessionTimeout;
+        this.sslSessionCacheSize = builder.sslSessionCacheSize;
+        this.warmUpConnections = builder.warmUpConnections;
+        this.scoreMaxConnections = builder.scoreMaxConnections;
+        this.publishMaxConnections = builder.publishMaxConnections;
+        this.scoreMaxConcurrentRequests = builder.scoreMaxConcurrentRequests;
+        this.publishMaxConcurrentRequests = builder.publishMaxConcurrentRequests;
+        this.bulkheadMaxWaitDuration = builder.bulkheadMaxWaitDuration;
+        this.requestCompressionEnabled = builder.requestCompressionEnabled;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.responseCompressionEnabled = builder.responseCompressionEnabled;
+        this.baseUrl = builder.baseUrl;
+        this.transport = builder.transport;
     }
 
     public int getConnectionTimeout() {
@@ -55,48 +93,174 @@ public class ConnectionConfig {
         return connectionRequestTimeout;
     }
 
+    public int getMaxConnections() {
+
+        return maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+
+        return maxConnectionsPerRoute;
+    }
+
+    public int getKeepAliveDuration() {
+
+        return keepAliveDuration;
+    }
+
+    public int getValidateAfterInactivity() {
+
+        return validateAfterInactivity;
+    }
+
+    public int getIdleConnectionTimeout() {
+
+        return idleConnectionTimeout;
+    }
+
+    public int getSslSessionTimeout() {
+
+        return sslSessionTimeout;
+    }
+
+    public int getSslSessionCacheSize() {
+
+        return sslSessionCacheSize;
+    }
+
+    public int getWarmUpConnections() {
+
+        return warmUpConnections;
+    }
+
+    public int getScoreMaxConnections() {
+
+        return scoreMaxConnections;
+    }
+
+    public int getPublishMaxConnections() {
+
+        return publishMaxConnections;
+    }
+
+    public int getScoreMaxConcurrentRequests() {
+
+        return scoreMaxConcurrentRequests;
+    }
+
+    public int getPublishMaxConcurrentRequests() {
+
+        return publishMaxConcurrentRequests;
+    }
+
+    public int getBulkheadMaxWaitDuration() {
+
+        return bulkheadMaxWaitDuration;
+    }
+
+    public boolean isRequestCompressionEnabled() {
+
+        return requestCompressionEnabled;
+    }
+
+    public int getRequestCompressionThreshold() {
+
+        return requestCompressionThreshold;
+    }
+
+    public boolean isResponseCompressionEnabled() {
+
+        return responseCompressionEnabled;
+    }
+
+    public String getBaseUrl() {
+
+        return baseUrl;
+    }
+
+    public Constants.Transport getTransport() {
+
+        return transport;
+    }
+
+    /**
+     * Get the URL of the Sift events API on the configured base URL.
+     *
+     * @return Sift events API URL.
+     */
+    public String getSiftApiUrl() {
+
+        return StringUtils.removeEnd(baseUrl, "/") + Constants.SIFT_EVENTS_PATH;
+    }
+
     /**
      * Builder for ConnectionConfig.
      */
     public static class Builder {
 
-        private static final Log LOG = LogFactory.getLog(ConnectionConfig.class);
         private int connectionTimeout;
         private int readTimeout;
         private int connectionRequestTimeout;
+        private int maxConnections;
+        private int maxConnectionsPerRoute;
+        private int keepAliveDuration;
+        private int validateAfterInactivity;
+        private int idleConnectionTimeout;
+        private int sslSessionTimeout;
+        private int sslSessionCacheSize;
+        private int warmUpConnections;
+        private int scoreMaxConnections;
+        private int publishMaxConnections;
+        private int scoreMaxConcurrentRequests;
+        private int publishMaxConcurrentRequests;
+        private int bulkheadMaxWaitDuration;
+        private boolean requestCompressionEnabled;
+        private int requestCompressionThreshold;
+        private boolean responseCompressionEnabled;
+        private String baseUrl;
+        private Constants.Transport transport;
 
         public Builder() {
 
-            String connectionTimeoutConfig = IdentityUtil.getProperty(Constants.CONNECTION_TIMEOUT_CONFIG);
-            try {
-                this.connectionTimeout = StringUtils.isNotBlank(connectionTimeoutConfig) ?
-                        Integer.parseInt(connectionTimeoutConfig) : Constants.CONNECTION_TIMEOUT;
-            } catch (NumberFormatException e) {
-                LOG.error("Error while parsing connection timeout : " + connectionTimeoutConfig +
-                        " defaulting to system default : " + Constants.CONNECTION_TIMEOUT, e);
-                this.connectionTimeout = Constants.CONNECTION_TIMEOUT;
-            }
-
-            String readTimeoutConfig = IdentityUtil.getProperty(Constants.READ_TIMEOUT_CONFIG);
-            try {
-                this.readTimeout = StringUtils.isNotBlank(readTimeoutConfig) ?
-                        Integer.parseInt(readTimeoutConfig) : Constants.READ_TIMEOUT;
-            } catch (NumberFormatException e) {
-                LOG.error("Error while parsing read timeout : " + readTimeoutConfig +
-                        " defaulting to system default : " + Constants.READ_TIMEOUT, e);
-                this.readTimeout = Constants.READ_TIMEOUT;
-            }
-
-            String connectionRequestTimeoutConfig =
-                    IdentityUtil.getProperty(Constants.CONNECTION_REQUEST_TIMEOUT_CONFIG);
-            try {
-                this.connectionRequestTimeout = StringUtils.isNotBlank(connectionRequestTimeoutConfig) ?
-                        Integer.parseInt(connectionRequestTimeoutConfig) : Constants.CONNECTION_REQUEST_TIMEOUT;
-            } catch (NumberFormatException e) {
-                LOG.error("Error while parsing connection request timeout : " + connectionRequestTimeoutConfig +
-                        " defaulting to system default : " + Constants.CONNECTION_REQUEST_TIMEOUT, e);
-                this.connectionRequestTimeout = Constants.CONNECTION_REQUEST_TIMEOUT;
-            }
+            this.connectionTimeout = getIntProperty(Constants.CONNECTION_TIMEOUT_CONFIG,
+                    Constants.CONNECTION_TIMEOUT, "connection timeout");
+            this.readTimeout = getIntProperty(Constants.READ_TIMEOUT_CONFIG, Constants.READ_TIMEOUT,
+                    "read timeout");
+            this.connectionRequestTimeout = getIntProperty(Constants.CONNECTION_REQUEST_TIMEOUT_CONFIG,
+                    Constants.CONNECTION_REQUEST_TIMEOUT, "connection request timeout");
+            this.maxConnections = getIntProperty(Constants.MAX_CONNECTIONS_CONFIG, Constants.MAX_CONNECTIONS,
+                    "max connections");
+            this.maxConnectionsPerRoute = getIntProperty(Constants.MAX_CONNECTIONS_PER_ROUTE_CONFIG,
+                    Constants.MAX_CONNECTIONS_PER_ROUTE, "max connections per route");
+            this.keepAliveDuration = getIntProperty(Constants.KEEP_ALIVE_DURATION_CONFIG,
+                    Constants.KEEP_ALIVE_DURATION, "keep alive duration");
+            this.validateAfterInactivity = getIntProperty(Constants.VALIDATE_AFTER_INACTIVITY_CONFIG,
+                    Constants.VALIDATE_AFTER_INACTIVITY, "validate after inactivity");
+            this.idleConnectionTimeout = getIntProperty(Constants.IDLE_CONNECTION_TIMEOUT_CONFIG,
+                    Constants.IDLE_CONNECTION_TIMEOUT, "idle connection timeout");
+            this.sslSessionTimeout = getIntProperty(Constants.SSL_SESSION_TIMEOUT_CONFIG,
+                    Constants.SSL_SESSION_TIMEOUT, "ssl session timeout");
+            this.sslSessionCacheSize = getIntProperty(Constants.SSL_SESSION_CACHE_SIZE_CONFIG,
+                    Constants.SSL_SESSION_CACHE_SIZE, "ssl session cache size");
+            this.warmUpConnections = getIntProperty(Constants.WARM_UP_CONNECTIONS_CONFIG,
+                    Constants.WARM_UP_CONNECTIONS, "warm up connections");
+            this.scoreMaxConnections = getIntProperty(Constants.SCORE_MAX_CONNECTIONS_CONFIG,
+                    Constants.SCORE_MAX_CONNECTIONS, "score max connections");
+            this.publishMaxConnections = getIntProperty(Constants.PUBLISH_MAX_CONNECTIONS_CONFIG,
+                    Constants.PUBLISH_MAX_CONNECTIONS, "publish max connections");
+            this.scoreMaxConcurrentRequests = getIntProperty(Constants.SCORE_MAX_CONCURRENT_REQUESTS_CONFIG,
+                    Constants.SCORE_MAX_CONCURRENT_REQUESTS, "score max concurrent requests");
+            this.publishMaxConcurrentRequests = getIntProperty(Constants.PUBLISH_MAX_CONCURRENT_REQUESTS_CONFIG,
+                    Constants.PUBLISH_MAX_CONCURRENT_REQUESTS, "publish max concurrent requests");
+            this.bulkheadMaxWaitDuration = getIntProperty(Constants.BULKHEAD_MAX_WAIT_DURATION_CONFIG,
+                    Constants.BULKHEAD_MAX_WAIT_DURATION, "bulkhead max wait duration");
+            this.requestCompressionEnabled = getBooleanProperty(Constants.REQUEST_COMPRESSION_ENABLED_CONFIG, false);
+            this.requestCompressionThreshold = getIntProperty(Constants.REQUEST_COMPRESSION_THRESHOLD_CONFIG,
+                    Constants.REQUEST_COMPRESSION_THRESHOLD, "request compression threshold");
+            this.responseCompressionEnabled = getBooleanProperty(Constants.RESPONSE_COMPRESSION_ENABLED_CONFIG, true);
+            this.baseUrl = getStringProperty(Constants.SIFT_API_BASE_URL_CONFIG, Constants.SIFT_API_BASE_URL);
+            this.transport = getEnumProperty(Constants.HTTP_TRANSPORT_CONFIG, Constants.Transport.HTTP_1_1,
+                    "http transport");
         }
 
         public Builder setConnectionTimeout(int connectionTimeout) {
@@ -117,6 +281,114 @@ public class ConnectionConfig {
             return this;
         }
 
+        public Builder setMaxConnections(int maxConnections) {
+
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        public Builder setKeepAliveDuration(int keepAliveDuration) {
+
+            this.keepAliveDuration = keepAliveDuration;
+            return this;
+        }
+
+        public Builder setValidateAfterInactivity(int validateAfterInactivity) {
+
+            this.validateAfterInactivity = validateAfterInactivity;
+            return this;
+        }
+
+        public Builder setIdleConnectionTimeout(int idleConnectionTimeout) {
+
+            this.idleConnectionTimeout = idleConnectionTimeout;
+            return this;
+        }
+
+        public Builder setSslSessionTimeout(int sslSessionTimeout) {
+
+            this.sslSessionTimeout = sslSessionTimeout;
+            return this;
+        }
+
+        public Builder setSslSessionCacheSize(int sslSessionCacheSize) {
+
+            this.sslSessionCacheSize = sslSessionCacheSize;
+            return this;
+        }
+
+        public Builder setWarmUpConnections(int warmUpConnections) {
+
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
+        public Builder setScoreMaxConnections(int scoreMaxConnections) {
+
+            this.scoreMaxConnections = scoreMaxConnections;
+            return this;
+        }
+
+        public Builder setPublishMaxConnections(int publishMaxConnections) {
+
+            this.publishMaxConnections = publishMaxConnections;
+            return this;
+        }
+
+        public Builder setScoreMaxConcurrentRequests(int scoreMaxConcurrentRequests) {
+
+            this.scoreMaxConcurrentRequests = scoreMaxConcurrentRequests;
+            return this;
+        }
+
+        public Builder setPublishMaxConcurrentRequests(int publishMaxConcurrentRequests) {
+
+            this.publishMaxConcurrentRequests = publishMaxConcurrentRequests;
+            return this;
+        }
+
+        public Builder setBulkheadMaxWaitDuration(int bulkheadMaxWaitDuration) {
+
+            this.bulkheadMaxWaitDuration = bulkheadMaxWaitDuration;
+            return this;
+        }
+
+        public Builder setRequestCompressionEnabled(boolean requestCompressionEnabled) {
+
+            this.requestCompressionEnabled = requestCompressionEnabled;
+            return this;
+        }
+
+        public Builder setRequestCompressionThreshold(int requestCompressionThreshold) {
+
+            this.requestCompressionThreshold = requestCompressionThreshold;
+            return this;
+        }
+
+        public Builder setResponseCompressionEnabled(boolean responseCompressionEnabled) {
+
+            this.responseCompressionEnabled = responseCompressionEnabled;
+            return this;
+        }
+
+        public Builder setBaseUrl(String baseUrl) {
+
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder setTransport(Constants.Transport transport) {
+
+            this.transport = transport;
+            return this;
+        }
+
         public ConnectionConfig build() {
 
             return new ConnectionConfig(this);
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getEnumProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Executor Config model containing configs for the threads running the I/O work of the requests sent to Sift.
+ */
+public class ExecutorConfig {
+
+    private final Constants.ExecutorMode executorMode;
+    private final int maxPlatformThreads;
+
+    private ExecutorConfig(Builder builder) {
+
+        this.executorMode = builder.executorMode;
+        this.maxPlatformThreads = builder.maxPlatformThreads;
+    }
+
+    public Constants.ExecutorMode getExecutorMode() {
+
+        return executorMode;
+    }
+
+    public int getMaxPlatformThreads() {
+
+        return maxPlatformThreads;
+    }
+
+    /**
+     * Builder for ExecutorConfig.
+     */
+    public static class Builder {
+
+        private Constants.ExecutorMode executorMode;
+        private int maxPlatformThreads;
+
+        public Builder() {
+
+            this.executorMode = getEnumProperty(Constants.EXECUTOR_MODE_CONFIG,
+                    Constants.ExecutorMode.PLATFORM, "executor mode");
+            this.maxPlatformThreads = getIntProperty(Constants.EXECUTOR_MAX_PLATFORM_THREADS_CONFIG,
+                    Constants.EXECUTOR_MAX_PLATFORM_THREADS, "executor max platform threads");
+        }
+
+        public Builder setExecutorMode(Constants.ExecutorMode executorMode) {
+
+            this.executorMode = executorMode;
+            return this;
+        }
+
+        public Builder setMaxPlatformThreads(int maxPlatformThreads) {
+
+            this.maxPlatformThreads = maxPlatformThreads;
+            return this;
+        }
+
+        public ExecutorConfig build() {
+
+            return new ExecutorConfig(this);
+        }
+    }
+}
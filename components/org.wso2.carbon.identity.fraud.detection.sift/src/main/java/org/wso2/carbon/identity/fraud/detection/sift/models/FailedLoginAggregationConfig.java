@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Failed Login Aggregation Config model containing configs for aggregating the bursts of failed login events
+ * published to Sift.
+ */
+public class FailedLoginAggregationConfig {
+
+    private final boolean enabled;
+    private final int window;
+    private final int burstThreshold;
+    private final int sampleInterval;
+    private final int maxKeys;
+
+    private FailedLoginAggregationConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.window = builder.window;
+        this.burstThreshold = builder.burstThreshold;
+        this.sampleInterval = builder.sampleInterval;
+        this.maxKeys = builder.maxKeys;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getWindow() {
+
+        return window;
+    }
+
+    public int getBurstThreshold() {
+
+        return burstThreshold;
+    }
+
+    public int getSampleInterval() {
+
+        return sampleInterval;
+    }
+
+    public int getMaxKeys() {
+
+        return maxKeys;
+    }
+
+    /**
+     * Builder for FailedLoginAggregationConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int window;
+        private int burstThreshold;
+        private int sampleInterval;
+        private int maxKeys;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.FAILED_LOGIN_AGGREGATION_ENABLED_CONFIG, false);
+            this.window = getIntProperty(Constants.FAILED_LOGIN_AGGREGATION_WINDOW_CONFIG,
+                    Constants.FAILED_LOGIN_AGGREGATION_WINDOW, "failed login aggregation window");
+            this.burstThreshold = getIntProperty(Constants.FAILED_LOGIN_AGGREGATION_BURST_THRESHOLD_CONFIG,
+                    Constants.FAILED_LOGIN_AGGREGATION_BURST_THRESHOLD, "failed login aggregation burst threshold");
+            this.sampleInterval = getIntProperty(Constants.FAILED_LOGIN_AGGREGATION_SAMPLE_INTERVAL_CONFIG,
+                    Constants.FAILED_LOGIN_AGGREGATION_SAMPLE_INTERVAL, "failed login aggregation sample interval");
+            this.maxKeys = getIntProperty(Constants.FAILED_LOGIN_AGGREGATION_MAX_KEYS_CONFIG,
+                    Constants.FAILED_LOGIN_AGGREGATION_MAX_KEYS, "failed login aggregation max keys");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setWindow(int window) {
+
+            this.window = window;
+            return this;
+        }
+
+        public Builder setBurstThreshold(int burstThreshold) {
+
+            this.burstThreshold = burstThreshold;
+            return this;
+        }
+
+        public Builder setSampleInterval(int sampleInterval) {
+
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        public Builder setMaxKeys(int maxKeys) {
+
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        public FailedLoginAggregationConfig build() {
+
+            return new FailedLoginAggregationConfig(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Fallback Config model containing configs for the local risk scores used when Sift is unavailable.
+ */
+public class FallbackConfig {
+
+    private final boolean enabled;
+    private final int window;
+    private final int sketchWidth;
+    private final int userFailureThreshold;
+    private final int ipFailureThreshold;
+    private final int userIpFailureThreshold;
+
+    private FallbackConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.window = builder.window;
+        this.sketchWidth = builder.sketchWidth;
+        this.userFailureThreshold = builder.userFailureThreshold;
+        this.ipFailureThreshold = builder.ipFailureThreshold;
+        this.userIpFailureThreshold = builder.userIpFailureThreshold;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getWindow() {
+
+        return window;
+    }
+
+    public int getSketchWidth() {
+
+        return sketchWidth;
+    }
+
+    public int getUserFailureThreshold() {
+
+        return userFailureThreshold;
+    }
+
+    public int getIpFailureThreshold() {
+
+        return ipFailureThreshold;
+    }
+
+    public int getUserIpFailureThreshold() {
+
+        return userIpFailureThreshold;
+    }
+
+    /**
+     * Builder for FallbackConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int window;
+        private int sketchWidth;
+        private int userFailureThreshold;
+        private int ipFailureThreshold;
+        private int userIpFailureThreshold;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.FALLBACK_ENABLED_CONFIG, false);
+            this.window = getIntProperty(Constants.FALLBACK_WINDOW_CONFIG,
+                    Constants.FALLBACK_WINDOW, "fallback window");
+            this.sketchWidth = getIntProperty(Constants.FALLBACK_SKETCH_WIDTH_CONFIG,
+                    Constants.FALLBACK_SKETCH_WIDTH, "fallback sketch width");
+            this.userFailureThreshold = getIntProperty(Constants.FALLBACK_USER_FAILURE_THRESHOLD_CONFIG,
+                    Constants.FALLBACK_USER_FAILURE_THRESHOLD, "fallback user failure threshold");
+            this.ipFailureThreshold = getIntProperty(Constants.FALLBACK_IP_FAILURE_THRESHOLD_CONFIG,
+                    Constants.FALLBACK_IP_FAILURE_THRESHOLD, "fallback IP failure threshold");
+            this.userIpFailureThreshold = getIntProperty(Constants.FALLBACK_USER_IP_FAILURE_THRESHOLD_CONFIG,
+                    Constants.FALLBACK_USER_IP_FAILURE_THRESHOLD, "fallback user and IP failure threshold");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setWindow(int window) {
+
+            this.window = window;
+            return this;
+        }
+
+        public Builder setSketchWidth(int sketchWidth) {
+
+            this.sketchWidth = sketchWidth;
+            return this;
+        }
+
+        public Builder setUserFailureThreshold(int userFailureThreshold) {
+
+            this.userFailureThreshold = userFailureThreshold;
+            return this;
+        }
+
+        public Builder setIpFailureThreshold(int ipFailureThreshold) {
+
+            this.ipFailureThreshold = ipFailureThreshold;
+            return this;
+        }
+
+        public Builder setUserIpFailureThreshold(int userIpFailureThreshold) {
+
+            this.userIpFailureThreshold = userIpFailureThreshold;
+            return this;
+        }
+
+        public FallbackConfig build() {
+
+            return new FallbackConfig(this);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Hedging Config model containing configs for hedging the risk score requests sent to Sift.
+ */
+public class HedgingConfig {
+
+    private final boolean enabled;
+    private final int delayPercentile;
+    private final int minDelay;
+    private final int budgetPercentage;
+    private final int maxThreads;
+
+    private HedgingConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.delayPercentile = builder.delayPercentile;
+        this.minDelay = builder.minDelay;
+        this.budgetPercentage = builder.budgetPercentage;
+        this.maxThreads = builder.maxThreads;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getDelayPercentile() {
+
+        return delayPercentile;
+    }
+
+    public int getMinDelay() {
+
+        return minDelay;
+    }
+
+    public int getBudgetPercentage() {
+
+        return budgetPercentage;
+    }
+
+    public int getMaxThreads() {
+
+        return maxThreads;
+    }
+
+    /**
+     * Builder for HedgingConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int delayPercentile;
+        private int minDelay;
+        private int budgetPercentage;
+        private int maxThreads;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.HEDGING_ENABLED_CONFIG, false);
+            this.delayPercentile = getIntProperty(Constants.HEDGING_DELAY_PERCENTILE_CONFIG,
+                    Constants.HEDGING_DELAY_PERCENTILE, "hedging delay percentile");
+            this.minDelay = getIntProperty(Constants.HEDGING_MIN_DELAY_CONFIG,
+                    Constants.HEDGING_MIN_DELAY, "hedging min delay");
+            this.budgetPercentage = getIntProperty(Constants.HEDGING_BUDGET_PERCENTAGE_CONFIG,
+                    Constants.HEDGING_BUDGET_PERCENTAGE, "hedging budget percentage");
+            this.maxThreads = getIntProperty(Constants.HEDGING_MAX_THREADS_CONFIG,
+                    Constants.HEDGING_MAX_THREADS, "hedging max threads");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setDelayPercentile(int delayPercentile) {
+
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        public Builder setMinDelay(int minDelay) {
+
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public Builder setBudgetPercentage(int budgetPercentage) {
+
+            this.budgetPercentage = budgetPercentage;
+            return this;
+        }
+
+        public Builder setMaxThreads(int maxThreads) {
+
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        public HedgingConfig build() {
+
+            return new HedgingConfig(this);
+        }
+    }
+}
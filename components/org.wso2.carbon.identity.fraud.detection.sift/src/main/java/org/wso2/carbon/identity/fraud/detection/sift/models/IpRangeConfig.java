@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.nio.file.Paths;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getStringProperty;
+
+/**
+ * IP Range Config model containing configs for the local risk scores of the IP ranges of the tenants.
+ */
+public class IpRangeConfig {
+
+    private final boolean enabled;
+    private final String directory;
+    private final int reloadInterval;
+
+    private IpRangeConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.directory = builder.directory;
+        this.reloadInterval = builder.reloadInterval;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public String getDirectory() {
+
+        return directory;
+    }
+
+    public int getReloadInterval() {
+
+        return reloadInterval;
+    }
+
+    /**
+     * Builder for IpRangeConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private String directory;
+        private int reloadInterval;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.IP_RANGE_ENABLED_CONFIG, false);
+            this.directory = getStringProperty(Constants.IP_RANGE_DIRECTORY_CONFIG, getDefaultDirectory());
+            this.reloadInterval = getIntProperty(Constants.IP_RANGE_RELOAD_INTERVAL_CONFIG,
+                    Constants.IP_RANGE_RELOAD_INTERVAL, "IP range reload interval");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setDirectory(String directory) {
+
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder setReloadInterval(int reloadInterval) {
+
+            this.reloadInterval = reloadInterval;
+            return this;
+        }
+
+        public IpRangeConfig build() {
+
+            return new IpRangeConfig(this);
+        }
+
+        private static String getDefaultDirectory() {
+
+            return Paths.get(System.getProperty(Constants.CARBON_HOME, "."), Constants.IP_RANGE_DIRECTORY).toString();
+        }
+    }
+}
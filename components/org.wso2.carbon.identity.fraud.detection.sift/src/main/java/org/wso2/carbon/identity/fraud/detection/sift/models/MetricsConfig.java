@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Metrics Config model containing configs for the latency and outcome metrics of the Sift calls.
+ */
+public class MetricsConfig {
+
+    private final boolean enabled;
+    private final int maxTenants;
+
+    private MetricsConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.maxTenants = builder.maxTenants;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getMaxTenants() {
+
+        return maxTenants;
+    }
+
+    /**
+     * Builder for MetricsConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int maxTenants;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.METRICS_ENABLED_CONFIG, true);
+            this.maxTenants = getIntProperty(Constants.METRICS_MAX_TENANTS_CONFIG,
+                    Constants.METRICS_MAX_TENANTS, "metrics max tenants");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setMaxTenants(int maxTenants) {
+
+            this.maxTenants = maxTenants;
+            return this;
+        }
+
+        public MetricsConfig build() {
+
+            return new MetricsConfig(this);
+        }
+    }
+}
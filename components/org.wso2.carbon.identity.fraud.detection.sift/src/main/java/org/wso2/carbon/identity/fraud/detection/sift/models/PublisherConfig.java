@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getEnumProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Publisher Config model containing configs for publishing login events to Sift.
+ */
+public class PublisherConfig {
+
+    private final boolean asyncEnabled;
+    private final int queueSize;
+    private final int workerCount;
+    private final Constants.OverflowPolicy overflowPolicy;
+    private final int drainTimeout;
+
+    private PublisherConfig(Builder builder) {
+
+        this.asyncEnabled = builder.asyncEnabled;
+        this.queueSize = builder.queueSize;
+        this.workerCount = builder.workerCount;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.drainTimeout = builder.drainTimeout;
+    }
+
+    public boolean isAsyncEnabled() {
+
+        return asyncEnabled;
+    }
+
+    public int getQueueSize() {
+
+        return queueSize;
+    }
+
+    public int getWorkerCount() {
+
+        return workerCount;
+    }
+
+    public Constants.OverflowPolicy getOverflowPolicy() {
+
+        return overflowPolicy;
+    }
+
+    public int getDrainTimeout() {
+
+        return drainTimeout;
+    }
+
+    /**
+     * Builder for PublisherConfig.
+     */
+    public static class Builder {
+
+        private boolean asyncEnabled;
+        private int queueSize;
+        private int workerCount;
+        private Constants.OverflowPolicy overflowPolicy;
+        private int drainTimeout;
+
+        public Builder() {
+
+            this.asyncEnabled = getBooleanProperty(Constants.PUBLISHER_ASYNC_ENABLED_CONFIG, false);
+            this.queueSize = getIntProperty(Constants.PUBLISHER_QUEUE_SIZE_CONFIG, Constants.PUBLISHER_QUEUE_SIZE,
+                    "publisher queue size");
+            this.workerCount = getIntProperty(Constants.PUBLISHER_WORKER_COUNT_CONFIG,
+                    Constants.PUBLISHER_WORKER_COUNT, "publisher worker count");
+            this.overflowPolicy = getEnumProperty(Constants.PUBLISHER_OVERFLOW_POLICY_CONFIG,
+                    Constants.OverflowPolicy.DROP_NEWEST, "publisher overflow policy");
+            this.drainTimeout = getIntProperty(Constants.PUBLISHER_DRAIN_TIMEOUT_CONFIG,
+                    Constants.PUBLISHER_DRAIN_TIMEOUT, "publisher drain timeout");
+        }
+
+        public Builder setAsyncEnabled(boolean asyncEnabled) {
+
+            this.asyncEnabled = asyncEnabled;
+            return this;
+        }
+
+        public Builder setQueueSize(int queueSize) {
+
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        public Builder setWorkerCount(int workerCount) {
+
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        public Builder setOverflowPolicy(Constants.OverflowPolicy overflowPolicy) {
+
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public Builder setDrainTimeout(int drainTimeout) {
+
+            this.drainTimeout = drainTimeout;
+            return this;
+        }
+
+        public PublisherConfig build() {
+
+            return new PublisherConfig(this);
+        }
+    }
+}
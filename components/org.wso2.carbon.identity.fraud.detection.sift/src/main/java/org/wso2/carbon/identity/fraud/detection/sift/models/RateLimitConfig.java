@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getEnumProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Rate Limit Config model containing configs for limiting the rate of the requests sent to Sift.
+ */
+public class RateLimitConfig {
+
+    private final boolean enabled;
+    private final int globalRate;
+    private final int globalBurst;
+    private final int tenantRate;
+    private final int tenantBurst;
+    private final int maxTenants;
+    private final Constants.RateLimitPolicy publishPolicy;
+
+    private RateLimitConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.globalRate = builder.globalRate;
+        this.globalBurst = builder.globalBurst;
+        this.tenantRate = builder.tenantRate;
+        this.tenantBurst = builder.tenantBurst;
+        this.maxTenants = builder.maxTenants;
+        this.publishPolicy = builder.publishPolicy;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getGlobalRate() {
+
+        return globalRate;
+    }
+
+    public int getGlobalBurst() {
+
+        return globalBurst;
+    }
+
+    public int getTenantRate() {
+
+        return tenantRate;
+    }
+
+    public int getTenantBurst() {
+
+        return tenantBurst;
+    }
+
+    public int getMaxTenants() {
+
+        return maxTenants;
+    }
+
+    public Constants.RateLimitPolicy getPublishPolicy() {
+
+        return publishPolicy;
+    }
+
+    /**
+     * Builder for RateLimitConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int globalRate;
+        private int globalBurst;
+        private int tenantRate;
+        private int tenantBurst;
+        private int maxTenants;
+        private Constants.RateLimitPolicy publishPolicy;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.RATE_LIMIT_ENABLED_CONFIG, false);
+            this.globalRate = getIntProperty(Constants.RATE_LIMIT_GLOBAL_RATE_CONFIG,
+                    Constants.RATE_LIMIT_GLOBAL_RATE, "rate limit global rate");
+            this.globalBurst = getIntProperty(Constants.RATE_LIMIT_GLOBAL_BURST_CONFIG,
+                    Constants.RATE_LIMIT_GLOBAL_BURST, "rate limit global burst");
+            this.tenantRate = getIntProperty(Constants.RATE_LIMIT_TENANT_RATE_CONFIG,
+                    Constants.RATE_LIMIT_TENANT_RATE, "rate limit tenant rate");
+            this.tenantBurst = getIntProperty(Constants.RATE_LIMIT_TENANT_BURST_CONFIG,
+                    Constants.RATE_LIMIT_TENANT_BURST, "rate limit tenant burst");
+            this.maxTenants = getIntProperty(Constants.RATE_LIMIT_MAX_TENANTS_CONFIG,
+                    Constants.RATE_LIMIT_MAX_TENANTS, "rate limit max tenants");
+            this.publishPolicy = getEnumProperty(Constants.RATE_LIMIT_PUBLISH_POLICY_CONFIG,
+                    Constants.RateLimitPolicy.QUEUE, "rate limit publish policy");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setGlobalRate(int globalRate) {
+
+            this.globalRate = globalRate;
+            return this;
+        }
+
+        public Builder setGlobalBurst(int globalBurst) {
+
+            this.globalBurst = globalBurst;
+            return this;
+        }
+
+        public Builder setTenantRate(int tenantRate) {
+
+            this.tenantRate = tenantRate;
+            return this;
+        }
+
+        public Builder setTenantBurst(int tenantBurst) {
+
+            this.tenantBurst = tenantBurst;
+            return this;
+        }
+
+        public Builder setMaxTenants(int maxTenants) {
+
+            this.maxTenants = maxTenants;
+            return this;
+        }
+
+        public Builder setPublishPolicy(Constants.RateLimitPolicy publishPolicy) {
+
+            this.publishPolicy = publishPolicy;
+            return this;
+        }
+
+        public RateLimitConfig build() {
+
+            return new RateLimitConfig(this);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Retry Config model containing configs for retrying the failed requests sent to Sift.
+ */
+public class RetryConfig {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final int initialBackoff;
+    private final int maxBackoff;
+    private final int budgetPercentage;
+    private final int schedulerThreads;
+    private final boolean scoreRetryEnabled;
+    private final int scoreDeadline;
+
+    private RetryConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.budgetPercentage = builder.budgetPercentage;
+        this.schedulerThreads = builder.schedulerThreads;
+        this.scoreRetryEnabled = builder.scoreRetryEnabled;
+        this.scoreDeadline = builder.scoreDeadline;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getMaxAttempts() {
+
+        return maxAttempts;
+    }
+
+    public int getInitialBackoff() {
+
+        return initialBackoff;
+    }
+
+    public int getMaxBackoff() {
+
+        return maxBackoff;
+    }
+
+    public int getBudgetPercentage() {
+
+        return budgetPercentage;
+    }
+
+    public int getSchedulerThreads() {
+
+        return schedulerThreads;
+    }
+
+    public boolean isScoreRetryEnabled() {
+
+        return scoreRetryEnabled;
+    }
+
+    public int getScoreDeadline() {
+
+        return scoreDeadline;
+    }
+
+    /**
+     * Builder for RetryConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int maxAttempts;
+        private int initialBackoff;
+        private int maxBackoff;
+        private int budgetPercentage;
+        private int schedulerThreads;
+        private boolean scoreRetryEnabled;
+        private int scoreDeadline;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.RETRY_ENABLED_CONFIG, false);
+            this.maxAttempts = getIntProperty(Constants.RETRY_MAX_ATTEMPTS_CONFIG,
+                    Constants.RETRY_MAX_ATTEMPTS, "retry max attempts");
+            this.initialBackoff = getIntProperty(Constants.RETRY_INITIAL_BACKOFF_CONFIG,
+                    Constants.RETRY_INITIAL_BACKOFF, "retry initial backoff");
+            this.maxBackoff = getIntProperty(Constants.RETRY_MAX_BACKOFF_CONFIG,
+                    Constants.RETRY_MAX_BACKOFF, "retry max backoff");
+            this.budgetPercentage = getIntProperty(Constants.RETRY_BUDGET_PERCENTAGE_CONFIG,
+                    Constants.RETRY_BUDGET_PERCENTAGE, "retry budget percentage");
+            this.schedulerThreads = getIntProperty(Constants.RETRY_SCHEDULER_THREADS_CONFIG,
+                    Constants.RETRY_SCHEDULER_THREADS, "retry scheduler threads");
+            this.scoreRetryEnabled = getBooleanProperty(Constants.RETRY_SCORE_ENABLED_CONFIG, false);
+            this.scoreDeadline = getIntProperty(Constants.RETRY_SCORE_DEADLINE_CONFIG,
+                    Constants.RETRY_SCORE_DEADLINE, "retry score deadline");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setMaxAttempts(int maxAttempts) {
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder setInitialBackoff(int initialBackoff) {
+
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder setMaxBackoff(int maxBackoff) {
+
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder setBudgetPercentage(int budgetPercentage) {
+
+            this.budgetPercentage = budgetPercentage;
+            return this;
+        }
+
+        public Builder setSchedulerThreads(int schedulerThreads) {
+
+            this.schedulerThreads = schedulerThreads;
+            return this;
+        }
+
+        public Builder setScoreRetryEnabled(boolean scoreRetryEnabled) {
+
+            this.scoreRetryEnabled = scoreRetryEnabled;
+            return this;
+        }
+
+        public Builder setScoreDeadline(int scoreDeadline) {
+
+            this.scoreDeadline = scoreDeadline;
+            return this;
+        }
+
+        public RetryConfig build() {
+
+            return new RetryConfig(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+
+/**
+ * Score Cache Config model containing configs for caching and sharing the risk scores received from Sift.
+ */
+public class ScoreCacheConfig {
+
+    private final boolean enabled;
+    private final int timeToLive;
+    private final int staleWhileRevalidate;
+    private final int maxEntries;
+    private final int refreshThreads;
+    private final boolean requestCoalescingEnabled;
+
+    private ScoreCacheConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.timeToLive = builder.timeToLive;
+        this.staleWhileRevalidate = builder.staleWhileRevalidate;
+        this.maxEntries = builder.maxEntries;
+        this.refreshThreads = builder.refreshThreads;
+        this.requestCoalescingEnabled = builder.requestCoalescingEnabled;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public int getTimeToLive() {
+
+        return timeToLive;
+    }
+
+    public int getStaleWhileRevalidate() {
+
+        return staleWhileRevalidate;
+    }
+
+    public int getMaxEntries() {
+
+        return maxEntries;
+    }
+
+    public int getRefreshThreads() {
+
+        return refreshThreads;
+    }
+
+    public boolean isRequestCoalescingEnabled() {
+
+        return requestCoalescingEnabled;
+    }
+
+    /**
+     * Builder for ScoreCacheConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private int timeToLive;
+        private int staleWhileRevalidate;
+        private int maxEntries;
+        private int refreshThreads;
+        private boolean requestCoalescingEnabled;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.SCORE_CACHE_ENABLED_CONFIG, false);
+            this.timeToLive = getIntProperty(Constants.SCORE_CACHE_TIME_TO_LIVE_CONFIG,
+                    Constants.SCORE_CACHE_TIME_TO_LIVE, "score cache time to live");
+            this.staleWhileRevalidate = getIntProperty(Constants.SCORE_CACHE_STALE_WHILE_REVALIDATE_CONFIG,
+                    Constants.SCORE_CACHE_STALE_WHILE_REVALIDATE, "score cache stale while revalidate duration");
+            this.maxEntries = getIntProperty(Constants.SCORE_CACHE_MAX_ENTRIES_CONFIG,
+                    Constants.SCORE_CACHE_MAX_ENTRIES, "score cache max entries");
+            this.refreshThreads = getIntProperty(Constants.SCORE_CACHE_REFRESH_THREADS_CONFIG,
+                    Constants.SCORE_CACHE_REFRESH_THREADS, "score cache refresh threads");
+            this.requestCoalescingEnabled = getBooleanProperty(
+                    Constants.SCORE_CACHE_REQUEST_COALESCING_ENABLED_CONFIG, true);
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setTimeToLive(int timeToLive) {
+
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder setStaleWhileRevalidate(int staleWhileRevalidate) {
+
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+
+        public Builder setMaxEntries(int maxEntries) {
+
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder setRefreshThreads(int refreshThreads) {
+
+            this.refreshThreads = refreshThreads;
+            return this;
+        }
+
+        public Builder setRequestCoalescingEnabled(boolean requestCoalescingEnabled) {
+
+            this.requestCoalescingEnabled = requestCoalescingEnabled;
+            return this;
+        }
+
+        public ScoreCacheConfig build() {
+
+            return new ScoreCacheConfig(this);
+        }
+    }
+}
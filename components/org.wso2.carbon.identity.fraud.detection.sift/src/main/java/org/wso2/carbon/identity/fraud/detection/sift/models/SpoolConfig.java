@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.models;
+
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.nio.file.Paths;
+
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getBooleanProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getIntProperty;
+import static org.wso2.carbon.identity.fraud.detection.sift.util.ConfigUtil.getStringProperty;
+
+/**
+ * Spool Config model containing configs for spooling the login events which could not be published to Sift.
+ */
+public class SpoolConfig {
+
+    private final boolean enabled;
+    private final String directory;
+    private final int segmentSize;
+    private final int maxSize;
+    private final int maxAge;
+    private final int replayInterval;
+    private final int replayRate;
+
+    private SpoolConfig(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.maxSize = builder.maxSize;
+        this.maxAge = builder.maxAge;
+        this.replayInterval = builder.replayInterval;
+        this.replayRate = builder.replayRate;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    public String getDirectory() {
+
+        return directory;
+    }
+
+    public int getSegmentSize() {
+
+        return segmentSize;
+    }
+
+    public int getMaxSize() {
+
+        return maxSize;
+    }
+
+    public int getMaxAge() {
+
+        return maxAge;
+    }
+
+    public int getReplayInterval() {
+
+        return replayInterval;
+    }
+
+    public int getReplayRate() {
+
+        return replayRate;
+    }
+
+    /**
+     * Builder for SpoolConfig.
+     */
+    public static class Builder {
+
+        private boolean enabled;
+        private String directory;
+        private int segmentSize;
+        private int maxSize;
+        private int maxAge;
+        private int replayInterval;
+        private int replayRate;
+
+        public Builder() {
+
+            this.enabled = getBooleanProperty(Constants.SPOOL_ENABLED_CONFIG, false);
+            this.directory = getStringProperty(Constants.SPOOL_DIRECTORY_CONFIG, getDefaultDirectory());
+            this.segmentSize = getIntProperty(Constants.SPOOL_SEGMENT_SIZE_CONFIG,
+                    Constants.SPOOL_SEGMENT_SIZE, "spool segment size");
+            this.maxSize = getIntProperty(Constants.SPOOL_MAX_SIZE_CONFIG,
+                    Constants.SPOOL_MAX_SIZE, "spool max size");
+            this.maxAge = getIntProperty(Constants.SPOOL_MAX_AGE_CONFIG,
+                    Constants.SPOOL_MAX_AGE, "spool max age");
+            this.replayInterval = getIntProperty(Constants.SPOOL_REPLAY_INTERVAL_CONFIG,
+                    Constants.SPOOL_REPLAY_INTERVAL, "spool replay interval");
+            this.replayRate = getIntProperty(Constants.SPOOL_REPLAY_RATE_CONFIG,
+                    Constants.SPOOL_REPLAY_RATE, "spool replay rate");
+        }
+
+        public Builder setEnabled(boolean enabled) {
+
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder setDirectory(String directory) {
+
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder setSegmentSize(int segmentSize) {
+
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder setMaxSize(int maxSize) {
+
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder setMaxAge(int maxAge) {
+
+            this.maxAge = maxAge;
+            return this;
+        }
+
+        public Builder setReplayInterval(int replayInterval) {
+
+            this.replayInterval = replayInterval;
+            return this;
+        }
+
+        public Builder setReplayRate(int replayRate) {
+
+            this.replayRate = replayRate;
+            return this;
+        }
+
+        public SpoolConfig build() {
+
+            return new SpoolConfig(this);
+        }
+
+        private static String getDefaultDirectory() {
+
+            return Paths.get(System.getProperty(Constants.CARBON_HOME, "."), Constants.SPOOL_DIRECTORY).toString();
+        }
+    }
+}
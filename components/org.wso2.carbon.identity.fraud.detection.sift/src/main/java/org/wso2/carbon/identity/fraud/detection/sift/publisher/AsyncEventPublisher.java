@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.publisher;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.PublisherConfig;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes login events to Sift asynchronously. Events are queued in a bounded in-memory queue and drained by a
+ * dedicated pool of worker threads, so that the authentication thread does not wait for Sift.
+ */
+public class AsyncEventPublisher {
+
+    private static final Log LOG = LogFactory.getLog(AsyncEventPublisher.class);
+    private static final String THREAD_NAME_PREFIX = "sift-event-publisher-";
+    private static final int DROPPED_EVENT_LOG_INTERVAL = 1000;
+
+    private final ThreadPoolExecutor executor;
+    private final int drainTimeout;
+    private final AtomicLong droppedEventCount = new AtomicLong();
+
+    public AsyncEventPublisher(PublisherConfig publisherConfig) {
+
+        this(publisherConfig, null);
+    }
+
+    /**
+     * Create an async event publisher running the workers on the threads of the given executor provider.
+     *
+     * @param publisherConfig  Publisher config.
+     * @param executorProvider Executor provider. If null, the workers are platform threads.
+     */
+    public AsyncEventPublisher(PublisherConfig publisherConfig, ExecutorProvider executorProvider) {
+
+        ThreadFactory threadFactory = executorProvider != null ?
+                executorProvider.getThreadFactory(THREAD_NAME_PREFIX) :
+                ExecutorProvider.getPlatformThreadFactory(THREAD_NAME_PREFIX);
+        int workerCount = Math.max(1, publisherConfig.getWorkerCount());
+        this.drainTimeout = publisherConfig.getDrainTimeout();
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, publisherConfig.getQueueSize())), threadFactory,
+                getRejectedExecutionHandler(publisherConfig.getOverflowPolicy()));
+    }
+
+    /**
+     * Queue a login event publishing task. The task is handled according to the configured overflow policy if the
+     * queue is full.
+     *
+     * @param task Task publishing the login event to Sift.
+     */
+    public void publish(Runnable task) {
+
+        publish(task, null);
+    }
+
+    /**
+     * Queue a login event publishing task, with a callback invoked if the task is dropped due to the overflow
+     * policy or the shutdown of the publisher, so that the event can be handed over elsewhere.
+     *
+     * @param task      Task publishing the login event to Sift.
+     * @param onDropped Callback invoked if the task is dropped. May be null.
+     */
+    public void publish(Runnable task, Runnable onDropped) {
+
+        // The rejected tasks are handled by the rejected execution handler, hence execute does not throw.
+        executor.execute(onDropped != null ? new PublishTask(task, onDropped) : task);
+    }
+
+    /**
+     * Stop accepting new events and wait until the queued events are published or the drain timeout elapses.
+     */
+    public void shutdown() {
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeout, TimeUnit.MILLISECONDS)) {
+                List<Runnable> pendingTasks = executor.shutdownNow();
+                LOG.warn("Sift login event publisher did not drain within " + drainTimeout + " ms. " +
+                        pendingTasks.size() + " queued login events were dropped.");
+                pendingTasks.forEach(AsyncEventPublisher::notifyDropped);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow().forEach(AsyncEventPublisher::notifyDropped);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueuedEventCount() {
+
+        return executor.getQueue().size();
+    }
+
+    public long getDroppedEventCount() {
+
+        return droppedEventCount.get();
+    }
+
+    private void onEventDropped(Runnable task) {
+
+        notifyDropped(task);
+        long count = droppedEventCount.incrementAndGet();
+        if (count == 1 || count % DROPPED_EVENT_LOG_INTERVAL == 0) {
+            LOG.warn("Sift login event publisher queue is full. Total login events dropped: " + count);
+        }
+    }
+
+    private void onEventDroppedOnShutdown(Runnable task) {
+
+        notifyDropped(task);
+        long count = droppedEventCount.incrementAndGet();
+        LOG.warn("Sift login event publisher is shut down. Total login events dropped: " + count);
+    }
+
+    private RejectedExecutionHandler getRejectedExecutionHandler(Constants.OverflowPolicy overflowPolicy) {
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                return (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        onEventDroppedOnShutdown(task);
+                        return;
+                    }
+                    Runnable oldestTask = pool.getQueue().poll();
+                    if (oldestTask != null) {
+                        onEventDropped(oldestTask);
+                    }
+                    pool.execute(task);
+                };
+            case CALLER_RUNS:
+                return (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        onEventDroppedOnShutdown(task);
+                        return;
+                    }
+                    task.run();
+                };
+            default:
+                return (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        onEventDroppedOnShutdown(task);
+                        return;
+                    }
+                    onEventDropped(task);
+                };
+        }
+    }
+
+    private static void notifyDropped(Runnable task) {
+
+        if (task instanceof PublishTask) {
+            try {
+                ((PublishTask) task).onDropped.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error while handling the dropped login event.", e);
+            }
+        }
+    }
+
+    /**
+     * Login event publishing task with a callback for when the task is dropped.
+     */
+    private static class PublishTask implements Runnable {
+
+        private final Runnable task;
+        private final Runnable onDropped;
+
+        PublishTask(Runnable task, Runnable onDropped) {
+
+            this.task = task;
+            this.onDropped = onDropped;
+        }
+
+        @Override
+        public void run() {
+
+            task.run();
+        }
+    }
+}
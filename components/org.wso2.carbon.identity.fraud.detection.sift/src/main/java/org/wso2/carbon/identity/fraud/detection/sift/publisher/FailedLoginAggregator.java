@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.publisher;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FailedLoginAggregationConfig;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the bursts of failed login events published to Sift, such as the ones of a credential stuffing attack.
+ * The failed logins are grouped per tenant, IP address and hashed user ID, where the failed logins of unknown users
+ * share the group of their IP address. Within a window, the first failed logins of a group are published as they
+ * are. Once the burst threshold is exceeded, only the first of every sample interval failed logins is published,
+ * carrying the number of failed logins it stands for and the number of failed logins of the window as custom fields.
+ * <p>
+ * The failed logins left out after the last published event of a group are reported with its next published event.
+ * Successful logins are always published. The groups are bounded to the configured number, and the failed logins of
+ * new groups are published as they are while no more groups can be tracked.
+ */
+public class FailedLoginAggregator {
+
+    private static final Log LOG = LogFactory.getLog(FailedLoginAggregator.class);
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final long windowNanos;
+    private final int burstThreshold;
+    private final int sampleInterval;
+    private final int maxKeys;
+    private final Map<String, Burst> bursts = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder aggregatedEvents = new LongAdder();
+
+    public FailedLoginAggregator(FailedLoginAggregationConfig failedLoginAggregationConfig) {
+
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, failedLoginAggregationConfig.getWindow()));
+        this.burstThreshold = Math.max(0, failedLoginAggregationConfig.getBurstThreshold());
+        this.sampleInterval = Math.max(1, failedLoginAggregationConfig.getSampleInterval());
+        this.maxKeys = Math.max(1, failedLoginAggregationConfig.getMaxKeys());
+    }
+
+    /**
+     * Check whether the login event should be published to Sift. If a failed login event of a burst is published,
+     * the aggregated failed login counts are added to its payload.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param payload      Payload of the login event.
+     * @return True if the login event should be published.
+     */
+    public boolean shouldPublish(String tenantDomain, JSONObject payload) {
+
+        return shouldPublish(tenantDomain, payload, System.nanoTime());
+    }
+
+    /**
+     * Get the number of failed login events which were not published, as they were aggregated into other events.
+     *
+     * @return Number of aggregated failed login events.
+     */
+    public long getAggregatedEventCount() {
+
+        return aggregatedEvents.sum();
+    }
+
+    public int size() {
+
+        return bursts.size();
+    }
+
+    boolean shouldPublish(String tenantDomain, JSONObject payload, long nanoTime) {
+
+        if (!Constants.LoginStatus.LOGIN_FAILED.getSiftValue().equals(payload.opt(Constants.LOGIN_STATUS))) {
+            return true;
+        }
+        Burst burst = getBurst(createKey(tenantDomain, payload), nanoTime);
+        if (burst == null) {
+            return true;
+        }
+        synchronized (burst) {
+            if (nanoTime - burst.windowStart >= windowNanos) {
+                burst.windowStart = nanoTime;
+                burst.windowFailures = 0;
+            }
+            burst.windowFailures++;
+            burst.unreportedFailures++;
+            // The first failed login of every sample interval beyond the burst threshold is published.
+            int sampledFailures = burst.windowFailures - burstThreshold;
+            if (sampledFailures > 0 && (sampledFailures - 1) % sampleInterval != 0) {
+                aggregatedEvents.increment();
+                return false;
+            }
+            if (burst.unreportedFailures > 1 || sampledFailures > 0) {
+                payload.put(Constants.AGGREGATED_FAILED_LOGINS_KEY, burst.unreportedFailures);
+                payload.put(Constants.WINDOW_FAILED_LOGINS_KEY, burst.windowFailures);
+            }
+            burst.unreportedFailures = 0;
+            return true;
+        }
+    }
+
+    private Burst getBurst(String key, long nanoTime) {
+
+        Burst burst = bursts.get(key);
+        if (burst != null) {
+            return burst;
+        }
+        if (bursts.size() >= maxKeys) {
+            evictExpiredBursts(nanoTime);
+            if (bursts.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return bursts.computeIfAbsent(key, k -> new Burst(nanoTime));
+    }
+
+    /**
+     * Remove the groups whose window has expired. Only one thread scans the groups at a time, while the others carry
+     * on without aggregating. The failed logins left out of the removed groups are not reported.
+     */
+    private void evictExpiredBursts(long nanoTime) {
+
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int evicted = 0;
+            Iterator<Burst> iterator = bursts.values().iterator();
+            while (iterator.hasNext()) {
+                Burst burst = iterator.next();
+                synchronized (burst) {
+                    if (nanoTime - burst.windowStart >= windowNanos) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicted " + evicted + " expired failed login bursts.");
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String createKey(String tenantDomain, JSONObject payload) {
+
+        return tenantDomain + KEY_SEPARATOR + payload.optString(Constants.IP_KEY) + KEY_SEPARATOR +
+                payload.optString(Constants.USER_ID_KEY);
+    }
+
+    /**
+     * Failed logins of a group within the current window.
+     */
+    private static final class Burst {
+
+        private long windowStart;
+        private int windowFailures;
+        private int unreportedFailures;
+
+        private Burst(long windowStart) {
+
+            this.windowStart = windowStart;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulkhead limiting the number of concurrent requests of a given type sent to Sift, so that a spike of one type of
+ * requests cannot exhaust the threads and connections needed by the other. Requests which cannot get a slot within
+ * the max wait duration are rejected instead of queued.
+ */
+public class Bulkhead {
+
+    private static final Log LOG = LogFactory.getLog(Bulkhead.class);
+    private static final int REJECTED_REQUEST_LOG_INTERVAL = 1000;
+
+    private final String name;
+    private final int maxConcurrentRequests;
+    private final long maxWaitDuration;
+    private final Semaphore semaphore;
+    private final AtomicLong rejectedRequestCount = new AtomicLong();
+
+    /**
+     * Create a bulkhead.
+     *
+     * @param name                  Name of the requests guarded by the bulkhead, used in logs.
+     * @param maxConcurrentRequests Maximum number of concurrent requests.
+     * @param maxWaitDuration       Time in milliseconds to wait for a free slot.
+     */
+    public Bulkhead(String name, int maxConcurrentRequests, long maxWaitDuration) {
+
+        this.name = name;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.maxWaitDuration = Math.max(0, maxWaitDuration);
+        this.semaphore = new Semaphore(this.maxConcurrentRequests, true);
+    }
+
+    /**
+     * Try to get a slot for a request. A successful call must be followed by a call to {@link #release()}.
+     *
+     * @return True if the request can be sent.
+     */
+    public boolean tryAcquire() {
+
+        boolean acquired;
+        try {
+            // The untimed tryAcquire barges ahead of the waiting threads, hence the timed one is used.
+            acquired = semaphore.tryAcquire(maxWaitDuration, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            onRequestRejected();
+        }
+        return acquired;
+    }
+
+    /**
+     * Release the slot of a completed request.
+     */
+    public void release() {
+
+        semaphore.release();
+    }
+
+    public int getMaxConcurrentRequests() {
+
+        return maxConcurrentRequests;
+    }
+
+    public int getConcurrentRequestCount() {
+
+        return maxConcurrentRequests - semaphore.availablePermits();
+    }
+
+    public long getRejectedRequestCount() {
+
+        return rejectedRequestCount.get();
+    }
+
+    private void onRequestRejected() {
+
+        long count = rejectedRequestCount.incrementAndGet();
+        if (count == 1 || count % REJECTED_REQUEST_LOG_INTERVAL == 0) {
+            LOG.warn("Sift " + name + " bulkhead is full. Total " + name + " requests rejected: " + count);
+        }
+    }
+}
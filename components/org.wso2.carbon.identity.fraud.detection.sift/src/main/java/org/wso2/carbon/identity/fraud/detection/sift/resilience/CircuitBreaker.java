@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpStatus;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker guarding the calls to Sift. The breaker opens when the failure rate or the slow call rate of the
+ * calls in a count based sliding window exceeds the configured thresholds. While open, calls are rejected without
+ * contacting Sift. After the configured wait duration, a limited number of trial calls are permitted to decide whether
+ * to close the breaker again.
+ */
+public class CircuitBreaker {
+
+    private static final Log LOG = LogFactory.getLog(CircuitBreaker.class);
+
+    /**
+     * States of the circuit breaker.
+     */
+    public enum State {
+
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallDurationNanos;
+    private final long waitDurationInOpenStateNanos;
+    private final int minimumNumberOfCalls;
+    private final int permittedCallsInHalfOpenState;
+    private final SlidingWindow closedStateWindow;
+    private final SlidingWindow halfOpenStateWindow;
+    private final long[] transitionCounts = new long[State.values().length];
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int availableHalfOpenPermits;
+
+    public CircuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+
+        this.failureRateThreshold = circuitBreakerConfig.getFailureRateThreshold();
+        this.slowCallRateThreshold = circuitBreakerConfig.getSlowCallRateThreshold();
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(circuitBreakerConfig.getSlowCallDuration());
+        this.waitDurationInOpenStateNanos =
+                TimeUnit.MILLISECONDS.toNanos(circuitBreakerConfig.getWaitDurationInOpenState());
+        this.permittedCallsInHalfOpenState = Math.max(1, circuitBreakerConfig.getPermittedCallsInHalfOpenState());
+        int slidingWindowSize = Math.max(1, circuitBreakerConfig.getSlidingWindowSize());
+        this.minimumNumberOfCalls = Math.min(Math.max(1, circuitBreakerConfig.getMinimumNumberOfCalls()),
+                slidingWindowSize);
+        this.closedStateWindow = new SlidingWindow(slidingWindowSize);
+        this.halfOpenStateWindow = new SlidingWindow(permittedCallsInHalfOpenState);
+    }
+
+    /**
+     * Check whether a call to Sift is permitted. Every permitted call must be followed by a call to
+     * {@link #onResult(boolean, long)}.
+     *
+     * @return True if the call is permitted.
+     */
+    public synchronized boolean tryAcquirePermission() {
+
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < waitDurationInOpenStateNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (availableHalfOpenPermits > 0) {
+            availableHalfOpenPermits--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Record the result of a permitted call.
+     *
+     * @param failed        Whether the call failed.
+     * @param durationNanos Duration of the call in nanoseconds.
+     */
+    public synchronized void onResult(boolean failed, long durationNanos) {
+
+        boolean slow = durationNanos >= slowCallDurationNanos;
+        if (state == State.CLOSED) {
+            closedStateWindow.record(failed, slow);
+            if (closedStateWindow.getRecordedCalls() >= minimumNumberOfCalls &&
+                    isThresholdExceeded(closedStateWindow)) {
+                transitionTo(State.OPEN);
+            }
+        } else if (state == State.HALF_OPEN) {
+            halfOpenStateWindow.record(failed, slow);
+            if (halfOpenStateWindow.getRecordedCalls() >= permittedCallsInHalfOpenState) {
+                transitionTo(isThresholdExceeded(halfOpenStateWindow) ? State.OPEN : State.CLOSED);
+            }
+        }
+        // Results of calls which completed after the breaker opened are ignored.
+    }
+
+    public State getState() {
+
+        return state;
+    }
+
+    /**
+     * Get the number of times the breaker transitioned to the given state.
+     *
+     * @param targetState State transitioned to.
+     * @return Number of transitions.
+     */
+    public synchronized long getTransitionCount(State targetState) {
+
+        return transitionCounts[targetState.ordinal()];
+    }
+
+    /**
+     * Get the failure rate of the calls recorded while the breaker is closed.
+     *
+     * @return Failure rate as a percentage.
+     */
+    public synchronized float getFailureRate() {
+
+        return closedStateWindow.getFailureRate();
+    }
+
+    /**
+     * Get the slow call rate of the calls recorded while the breaker is closed.
+     *
+     * @return Slow call rate as a percentage.
+     */
+    public synchronized float getSlowCallRate() {
+
+        return closedStateWindow.getSlowCallRate();
+    }
+
+    /**
+     * Check whether a HTTP status code received from Sift indicates that Sift is unavailable or overloaded.
+     *
+     * @param statusCode HTTP status code.
+     * @return True if the status code is counted as a failure.
+     */
+    public static boolean isFailureStatus(int statusCode) {
+
+        return statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR ||
+                statusCode == Constants.HTTP_STATUS_TOO_MANY_REQUESTS;
+    }
+
+    private boolean isThresholdExceeded(SlidingWindow window) {
+
+        return window.getFailureRate() >= failureRateThreshold || window.getSlowCallRate() >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State newState) {
+
+        State previousState = state;
+        state = newState;
+        transitionCounts[newState.ordinal()]++;
+        switch (newState) {
+            case OPEN:
+                openedAt = System.nanoTime();
+                LOG.warn("Sift circuit breaker transitioned from " + previousState + " to OPEN. Failure rate: " +
+                        getCurrentWindow(previousState).getFailureRate() + "%, slow call rate: " +
+                        getCurrentWindow(previousState).getSlowCallRate() + "%.");
+                break;
+            case HALF_OPEN:
+                availableHalfOpenPermits = permittedCallsInHalfOpenState;
+                halfOpenStateWindow.reset();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Sift circuit breaker transitioned from OPEN to HALF_OPEN.");
+                }
+                break;
+            default:
+                closedStateWindow.reset();
+                LOG.info("Sift circuit breaker transitioned from " + previousState + " to CLOSED.");
+                break;
+        }
+    }
+
+    private SlidingWindow getCurrentWindow(State currentState) {
+
+        return currentState == State.HALF_OPEN ? halfOpenStateWindow : closedStateWindow;
+    }
+
+    /**
+     * Count based sliding window of call outcomes. Not thread safe, guarded by the circuit breaker.
+     */
+    private static class SlidingWindow {
+
+        private final boolean[] failedCalls;
+        private final boolean[] slowCalls;
+        private int nextIndex;
+        private int recordedCalls;
+        private int failedCallCount;
+        private int slowCallCount;
+
+        SlidingWindow(int size) {
+
+            this.failedCalls = new boolean[size];
+            this.slowCalls = new boolean[size];
+        }
+
+        void record(boolean failed, boolean slow) {
+
+            if (recordedCalls == failedCalls.length) {
+                // Evict the oldest outcome.
+                if (failedCalls[nextIndex]) {
+                    failedCallCount--;
+                }
+                if (slowCalls[nextIndex]) {
+                    slowCallCount--;
+                }
+            } else {
+                recordedCalls++;
+            }
+            failedCalls[nextIndex] = failed;
+            slowCalls[nextIndex] = slow;
+            if (failed) {
+                failedCallCount++;
+            }
+            if (slow) {
+                slowCallCount++;
+            }
+            nextIndex = (nextIndex + 1) % failedCalls.length;
+        }
+
+        int getRecordedCalls() {
+
+            return recordedCalls;
+        }
+
+        float getFailureRate() {
+
+            return recordedCalls == 0 ? 0 : failedCallCount * 100f / recordedCalls;
+        }
+
+        float getSlowCallRate() {
+
+            return recordedCalls == 0 ? 0 : slowCallCount * 100f / recordedCalls;
+        }
+
+        void reset() {
+
+            nextIndex = 0;
+            recordedCalls = 0;
+            failedCallCount = 0;
+            slowCallCount = 0;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.HedgingConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Executes requests to Sift with hedging. If the first request does not complete within a delay derived from a
+ * percentile of the recently observed latencies, an identical request is sent on another pooled connection. The first
+ * response received is used and the other request is aborted. The number of hedged requests is limited by a
+ * {@link RequestBudget}.
+ */
+public class HedgedRequestExecutor {
+
+    private static final Log LOG = LogFactory.getLog(HedgedRequestExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "sift-hedged-request-";
+    private static final int MAX_HEDGE_BURST = 10;
+
+    private final ExecutorService executor;
+    private final RequestBudget hedgeBudget;
+    private final LatencyTracker latencyTracker;
+    private final AtomicLong hedgedRequestCount = new AtomicLong();
+
+    public HedgedRequestExecutor(HedgingConfig hedgingConfig) {
+
+        this(hedgingConfig, null);
+    }
+
+    /**
+     * Create a hedged request executor running the attempts on the threads of the given executor provider.
+     *
+     * @param hedgingConfig    Hedging config.
+     * @param executorProvider Executor provider. If null, the attempts are run on a pool of platform threads.
+     */
+    public HedgedRequestExecutor(HedgingConfig hedgingConfig, ExecutorProvider executorProvider) {
+
+        int maxThreads = Math.max(2, hedgingConfig.getMaxThreads());
+        this.executor = executorProvider != null ? executorProvider.newTaskExecutor(THREAD_NAME_PREFIX, maxThreads) :
+                ExecutorProvider.newPlatformTaskExecutor(THREAD_NAME_PREFIX, maxThreads);
+        this.hedgeBudget = new RequestBudget(hedgingConfig.getBudgetPercentage(), MAX_HEDGE_BURST);
+        this.latencyTracker = new LatencyTracker(hedgingConfig.getDelayPercentile(),
+                TimeUnit.MILLISECONDS.toNanos(hedgingConfig.getMinDelay()));
+    }
+
+    /**
+     * Execute a request with hedging.
+     *
+     * @param httpClient     Http client.
+     * @param requestFactory Factory creating identical requests for each attempt.
+     * @return Response of the first attempt which completed without an error.
+     * @throws IOException If all the attempts failed.
+     */
+    public CloseableHttpResponse execute(CloseableHttpClient httpClient, Supplier<? extends HttpRequestBase>
+            requestFactory) throws IOException {
+
+        hedgeBudget.onRequest();
+        CompletionService<CloseableHttpResponse> completionService = new ExecutorCompletionService<>(executor);
+        HttpRequestBase primaryRequest = requestFactory.get();
+        HttpRequestBase hedgedRequest = null;
+        Future<CloseableHttpResponse> primaryFuture;
+        try {
+            primaryFuture = completionService.submit(() -> executeAndTrack(httpClient, primaryRequest));
+        } catch (RejectedExecutionException e) {
+            // All the hedging threads are busy. Execute the request without hedging.
+            return httpClient.execute(primaryRequest);
+        }
+
+        try {
+            int pendingAttempts = 1;
+            Future<CloseableHttpResponse> completedFuture =
+                    completionService.poll(latencyTracker.getHedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            if (completedFuture == null && hedgeBudget.tryAcquire()) {
+                hedgedRequest = requestFactory.get();
+                HttpRequestBase request = hedgedRequest;
+                try {
+                    completionService.submit(() -> executeAndTrack(httpClient, request));
+                    pendingAttempts++;
+                    hedgedRequestCount.incrementAndGet();
+                } catch (RejectedExecutionException e) {
+                    hedgedRequest = null;
+                }
+            }
+
+            IOException lastException = null;
+            while (pendingAttempts > 0) {
+                if (completedFuture == null) {
+                    completedFuture = completionService.take();
+                }
+                pendingAttempts--;
+                try {
+                    CloseableHttpResponse response = completedFuture.get();
+                    // Abort the attempt which lost the race, releasing its connection.
+                    abort(completedFuture == primaryFuture ? hedgedRequest : primaryRequest);
+                    return response;
+                } catch (ExecutionException e) {
+                    lastException = toIOException(e.getCause());
+                }
+                completedFuture = null;
+            }
+            throw lastException;
+        } catch (InterruptedException e) {
+            abort(primaryRequest);
+            abort(hedgedRequest);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response from Sift.");
+        }
+    }
+
+    /**
+     * Get the number of hedged requests sent.
+     *
+     * @return Number of hedged requests.
+     */
+    public long getHedgedRequestCount() {
+
+        return hedgedRequestCount.get();
+    }
+
+    public void shutdown() {
+
+        executor.shutdownNow();
+    }
+
+    private CloseableHttpResponse executeAndTrack(CloseableHttpClient httpClient, HttpRequestBase request)
+            throws IOException {
+
+        long startTime = System.nanoTime();
+        CloseableHttpResponse response = httpClient.execute(request);
+        latencyTracker.record(System.nanoTime() - startTime);
+        return response;
+    }
+
+    private static void abort(HttpRequestBase request) {
+
+        if (request != null) {
+            request.abort();
+        }
+    }
+
+    private static IOException toIOException(Throwable throwable) {
+
+        if (throwable instanceof IOException) {
+            return (IOException) throwable;
+        }
+        return new IOException("Error occurred while executing the request to Sift.", throwable);
+    }
+
+    /**
+     * Tracks the recent request latencies and derives the hedging delay from the configured percentile. The
+     * percentile is recomputed periodically instead of on every request.
+     */
+    private static class LatencyTracker {
+
+        private static final int SAMPLE_SIZE = 1024;
+        private static final int RECOMPUTE_INTERVAL = 128;
+
+        private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+        private final AtomicLong sampleCount = new AtomicLong();
+        private final int percentile;
+        private final long minDelayNanos;
+        private volatile long hedgeDelayNanos;
+
+        LatencyTracker(int percentile, long minDelayNanos) {
+
+            this.percentile = Math.min(100, Math.max(1, percentile));
+            this.minDelayNanos = minDelayNanos;
+            this.hedgeDelayNanos = minDelayNanos;
+        }
+
+        void record(long latencyNanos) {
+
+            long count = sampleCount.getAndIncrement();
+            samples.set((int) (count % SAMPLE_SIZE), latencyNanos);
+            if ((count + 1) % RECOMPUTE_INTERVAL == 0) {
+                recompute(Math.min(count + 1, SAMPLE_SIZE));
+            }
+        }
+
+        long getHedgeDelayNanos() {
+
+            return hedgeDelayNanos;
+        }
+
+        private void recompute(long size) {
+
+            long[] snapshot = new long[(int) size];
+            for (int i = 0; i < size; i++) {
+                snapshot[i] = samples.get(i);
+            }
+            Arrays.sort(snapshot);
+            int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+            hedgeDelayNanos = Math.max(minDelayNanos, snapshot[Math.max(0, index)]);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Sift request hedging delay updated to " + TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos) +
+                        " ms.");
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RateLimitConfig;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiter of the requests sent to Sift, with a token bucket per tenant and a global token bucket shared by all
+ * the tenants, so that a single tenant cannot use up the Sift quota and the connections of the others. The rate of a
+ * tenant can be overridden by the tenant, in which case its burst is scaled with the rate.
+ * <p>
+ * The tenant buckets are bounded to the configured number. Full buckets are equivalent to new buckets, hence they
+ * are removed to make room for new tenants. The tenants which cannot get a bucket of their own share a bucket of
+ * the default tenant rate, or are only limited by the global bucket if the tenants are not limited by default.
+ */
+public class RateLimiter {
+
+    private static final Log LOG = LogFactory.getLog(RateLimiter.class);
+    private static final String UNKNOWN_TENANT = "";
+
+    private final TokenBucket globalBucket;
+    private final int tenantRate;
+    private final int tenantBurst;
+    private final int maxTenants;
+    private final Constants.RateLimitPolicy publishPolicy;
+    private final Map<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    public RateLimiter(RateLimitConfig rateLimitConfig) {
+
+        this(rateLimitConfig, System.nanoTime());
+    }
+
+    RateLimiter(RateLimitConfig rateLimitConfig, long nanoTime) {
+
+        this.globalBucket = rateLimitConfig.getGlobalRate() > 0 ?
+                new TokenBucket(rateLimitConfig.getGlobalRate(), rateLimitConfig.getGlobalBurst(), nanoTime) : null;
+        this.tenantRate = Math.max(0, rateLimitConfig.getTenantRate());
+        this.tenantBurst = Math.max(1, rateLimitConfig.getTenantBurst());
+        this.maxTenants = Math.max(1, rateLimitConfig.getMaxTenants());
+        this.publishPolicy = rateLimitConfig.getPublishPolicy();
+        this.overflowBucket = tenantRate > 0 ? new TokenBucket(tenantRate, tenantBurst, nanoTime) : null;
+    }
+
+    /**
+     * Try to acquire a permit to send a request to Sift for the tenant.
+     *
+     * @param tenantDomain Tenant domain, or null if unknown.
+     * @param rate         Requests per second allowed for the tenant. 0 disables the limit of the tenant.
+     * @return True if the request is within the rate limits.
+     */
+    public boolean tryAcquire(String tenantDomain, int rate) {
+
+        return tryAcquire(tenantDomain, rate, System.nanoTime());
+    }
+
+    /**
+     * Get the requests per second allowed for a tenant which has not overridden the rate.
+     *
+     * @return Requests per second, or 0 if the tenants are not limited.
+     */
+    public int getTenantRate() {
+
+        return tenantRate;
+    }
+
+    public Constants.RateLimitPolicy getPublishPolicy() {
+
+        return publishPolicy;
+    }
+
+    /**
+     * Get the number of requests rejected for exceeding the rate limits.
+     *
+     * @return Number of rejected requests.
+     */
+    public long getRejectedRequestCount() {
+
+        return rejectedRequests.sum();
+    }
+
+    public int size() {
+
+        return tenantBuckets.size();
+    }
+
+    boolean tryAcquire(String tenantDomain, int rate, long nanoTime) {
+
+        // The tenant token is spent even if the global bucket rejects the request, which only affects the tenants
+        // already sending beyond the global rate.
+        TokenBucket tenantBucket = rate > 0 ? getTenantBucket(tenantDomain, rate, nanoTime) : null;
+        if ((tenantBucket != null && !tenantBucket.tryAcquire(nanoTime)) ||
+                (globalBucket != null && !globalBucket.tryAcquire(nanoTime))) {
+            rejectedRequests.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private TokenBucket getTenantBucket(String tenantDomain, int rate, long nanoTime) {
+
+        String key = tenantDomain != null ? tenantDomain : UNKNOWN_TENANT;
+        TokenBucket tenantBucket = tenantBuckets.get(key);
+        if (tenantBucket != null && tenantBucket.getRate() == rate) {
+            return tenantBucket;
+        }
+        if (tenantBucket == null && tenantBuckets.size() >= maxTenants) {
+            evictFullBuckets(nanoTime);
+            if (tenantBuckets.size() >= maxTenants) {
+                return overflowBucket;
+            }
+        }
+        // The bucket is replaced when the tenant changes its rate, starting full.
+        return tenantBuckets.compute(key, (k, current) -> current != null && current.getRate() == rate ? current :
+                new TokenBucket(rate, getBurst(rate), nanoTime));
+    }
+
+    private int getBurst(int rate) {
+
+        if (tenantRate <= 0 || rate == tenantRate) {
+            return tenantBurst;
+        }
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) tenantBurst * rate / tenantRate));
+    }
+
+    /**
+     * Remove the full tenant buckets. Only one thread scans the buckets at a time, while the others use the shared
+     * bucket.
+     */
+    private void evictFullBuckets(long nanoTime) {
+
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int evicted = 0;
+            Iterator<TokenBucket> iterator = tenantBuckets.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isFull(nanoTime)) {
+                    iterator.remove();
+                    evicted++;
+                }
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicted " + evicted + " full tenant rate limit buckets.");
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
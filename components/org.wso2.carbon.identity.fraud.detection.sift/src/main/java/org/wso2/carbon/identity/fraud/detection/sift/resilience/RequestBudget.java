@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget limiting the additional requests sent to Sift, such as hedged or retried requests, to a percentage of the
+ * regular requests. Every regular request deposits a fraction of a token, and every additional request withdraws a
+ * full token, so that additional requests cannot amplify the load on Sift beyond the configured percentage.
+ */
+public class RequestBudget {
+
+    // Tokens are kept in thousandths to allow fractional deposits.
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * Create a request budget.
+     *
+     * @param budgetPercentage Additional requests allowed as a percentage of the regular requests.
+     * @param maxBurst         Maximum number of additional requests that can be accumulated.
+     */
+    public RequestBudget(int budgetPercentage, int maxBurst) {
+
+        this.depositPerRequest = TOKEN * Math.max(0, budgetPercentage) / 100;
+        this.maxBalance = TOKEN * Math.max(1, maxBurst);
+    }
+
+    /**
+     * Record a regular request.
+     */
+    public void onRequest() {
+
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    /**
+     * Try to withdraw the budget for an additional request.
+     *
+     * @return True if the additional request is within the budget.
+     */
+    public boolean tryAcquire() {
+
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
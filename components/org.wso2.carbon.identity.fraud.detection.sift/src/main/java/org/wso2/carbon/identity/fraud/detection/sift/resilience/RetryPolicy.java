@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RetryConfig;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry policy for the requests sent to Sift. Retries are delayed with an exponential backoff with full jitter, or by
+ * the delay requested by Sift through the Retry-After header, and limited by a {@link RequestBudget} so that retries
+ * cannot amplify the load on Sift during an outage. Delayed retries are run on a dedicated scheduler so that they
+ * never block the authentication thread.
+ */
+public class RetryPolicy {
+
+    /**
+     * Value returned when a request should not be retried.
+     */
+    public static final long NO_RETRY = -1;
+
+    private static final Log LOG = LogFactory.getLog(RetryPolicy.class);
+    private static final String THREAD_NAME_PREFIX = "sift-retry-scheduler-";
+    private static final String RETRY_THREAD_NAME_PREFIX = "sift-retry-";
+    private static final int MAX_RETRY_BURST = 100;
+    // Caps the shift so that the exponential backoff does not overflow.
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private final RetryConfig retryConfig;
+    private final RequestBudget retryBudget;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ExecutorService retryExecutor;
+    private final AtomicLong retryCount = new AtomicLong();
+    private final Set<PendingRetry> pendingRetries = ConcurrentHashMap.newKeySet();
+
+    public RetryPolicy(RetryConfig retryConfig) {
+
+        this(retryConfig, null);
+    }
+
+    /**
+     * Create a retry policy. When the executor provider uses virtual threads, the due retries are handed over to
+     * virtual threads, so that the scheduler threads only keep track of the delays.
+     *
+     * @param retryConfig      Retry config.
+     * @param executorProvider Executor provider. If null, the due retries are run on the scheduler threads.
+     */
+    public RetryPolicy(RetryConfig retryConfig, ExecutorProvider executorProvider) {
+
+        this.retryConfig = retryConfig;
+        this.retryBudget = new RequestBudget(retryConfig.getBudgetPercentage(), MAX_RETRY_BURST);
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, retryConfig.getSchedulerThreads()),
+                ExecutorProvider.getPlatformThreadFactory(THREAD_NAME_PREFIX));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.retryExecutor = executorProvider != null && executorProvider.isVirtualThreadsEnabled() ?
+                executorProvider.newTaskExecutor(RETRY_THREAD_NAME_PREFIX) : null;
+    }
+
+    /**
+     * Record a request sent to Sift for the first time. Retried requests must not be recorded.
+     */
+    public void onRequest() {
+
+        retryBudget.onRequest();
+    }
+
+    /**
+     * Get the delay before retrying a request which failed with an I/O error.
+     *
+     * @param attempt Zero based number of the failed attempt.
+     * @return Delay in milliseconds, or {@link #NO_RETRY} if the request should not be retried.
+     */
+    public long getRetryDelay(int attempt) {
+
+        return getRetryDelay(attempt, null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the delay before retrying a request.
+     *
+     * @param attempt  Zero based number of the failed attempt.
+     * @param response Response received from Sift, or null if the request failed with an I/O error.
+     * @return Delay in milliseconds, or {@link #NO_RETRY} if the request should not be retried.
+     */
+    public long getRetryDelay(int attempt, HttpResponse response) {
+
+        return getRetryDelay(attempt, response, Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the delay before retrying a request, provided that the retry can be sent within the remaining time.
+     *
+     * @param attempt       Zero based number of the failed attempt.
+     * @param response      Response received from Sift, or null if the request failed with an I/O error.
+     * @param remainingTime Time left in milliseconds to send the retry.
+     * @return Delay in milliseconds, or {@link #NO_RETRY} if the request should not be retried.
+     */
+    public long getRetryDelay(int attempt, HttpResponse response, long remainingTime) {
+
+        if (attempt + 1 >= retryConfig.getMaxAttempts()) {
+            return NO_RETRY;
+        }
+        if (response != null && !CircuitBreaker.isFailureStatus(response.getStatusLine().getStatusCode())) {
+            return NO_RETRY;
+        }
+
+        long delay = getBackoffDelay(attempt);
+        long retryAfter = response != null ? getRetryAfter(response) : NO_RETRY;
+        if (retryAfter != NO_RETRY) {
+            // Sift asked to wait longer than we are willing to, so the retry would only add load.
+            if (retryAfter > retryConfig.getMaxBackoff()) {
+                return NO_RETRY;
+            }
+            delay = Math.max(delay, retryAfter);
+        }
+        if (delay >= remainingTime || !retryBudget.tryAcquire()) {
+            return NO_RETRY;
+        }
+        retryCount.incrementAndGet();
+        return delay;
+    }
+
+    /**
+     * Schedule a retry on the retry scheduler.
+     *
+     * @param retry Task retrying the request.
+     * @param delay Delay in milliseconds.
+     * @return True if the retry was scheduled.
+     */
+    public boolean schedule(Runnable retry, long delay) {
+
+        return schedule(retry, null, delay);
+    }
+
+    /**
+     * Schedule a retry on the retry scheduler. If the retry policy is shut down before the retry is run, the fallback
+     * is run instead, so that the request is not lost.
+     *
+     * @param retry    Task retrying the request.
+     * @param fallback Task run instead of the retry on shutdown. If null, the retry is discarded on shutdown.
+     * @param delay    Delay in milliseconds.
+     * @return True if the retry was scheduled, or was handed over to the fallback by a concurrent shutdown.
+     */
+    public boolean schedule(Runnable retry, Runnable fallback, long delay) {
+
+        PendingRetry pendingRetry = new PendingRetry(retry, fallback);
+        pendingRetries.add(pendingRetry);
+        try {
+            scheduler.schedule(retryExecutor != null ? () -> executeRetry(pendingRetry) : pendingRetry, delay,
+                    TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Thrown only when the retry policy is shutting down, which runs the fallback unless removed here.
+            return !pendingRetries.remove(pendingRetry);
+        }
+    }
+
+    /**
+     * Check whether the risk score requests should be retried within the score deadline.
+     *
+     * @return True if the risk score requests should be retried.
+     */
+    public boolean isScoreRetryEnabled() {
+
+        return retryConfig.isScoreRetryEnabled();
+    }
+
+    public int getScoreDeadline() {
+
+        return retryConfig.getScoreDeadline();
+    }
+
+    public long getRetryCount() {
+
+        return retryCount.get();
+    }
+
+    /**
+     * Stop the retry scheduler. Pending retries are not run, and their fallbacks are run instead.
+     */
+    public void shutdown() {
+
+        scheduler.shutdownNow();
+        if (retryExecutor != null) {
+            retryExecutor.shutdownNow();
+        }
+        int cancelledRetries = 0;
+        int discardedRetries = 0;
+        for (PendingRetry pendingRetry : pendingRetries) {
+            if (pendingRetry.cancel()) {
+                cancelledRetries++;
+                if (pendingRetry.fallback == null) {
+                    discardedRetries++;
+                }
+            }
+        }
+        if (cancelledRetries > 0) {
+            LOG.warn(cancelledRetries + " pending retries of requests to Sift were cancelled on shutdown. Retries " +
+                    "discarded without a fallback: " + discardedRetries);
+        }
+    }
+
+    private long getBackoffDelay(int attempt) {
+
+        long maxDelay = Math.min(retryConfig.getMaxBackoff(),
+                (long) retryConfig.getInitialBackoff() << Math.min(attempt, MAX_BACKOFF_EXPONENT));
+        return maxDelay > 0 ? ThreadLocalRandom.current().nextLong(maxDelay + 1) : 0;
+    }
+
+    private static long getRetryAfter(HttpResponse response) {
+
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        if (header == null || StringUtils.isBlank(header.getValue())) {
+            return NO_RETRY;
+        }
+        String value = header.getValue().trim();
+        if (StringUtils.isNumeric(value)) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                return NO_RETRY;
+            }
+        }
+        Date date = DateUtils.parseDate(value);
+        return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : NO_RETRY;
+    }
+
+    private void executeRetry(PendingRetry pendingRetry) {
+
+        try {
+            retryExecutor.execute(pendingRetry);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to run the retry of a request to Sift. Running the fallback of the retry, if any.");
+            pendingRetry.cancel();
+        }
+    }
+
+    /**
+     * Scheduled retry, which is either run or cancelled exactly once.
+     */
+    private final class PendingRetry implements Runnable {
+
+        private final Runnable retry;
+        private final Runnable fallback;
+
+        PendingRetry(Runnable retry, Runnable fallback) {
+
+            this.retry = retry;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void run() {
+
+            if (pendingRetries.remove(this)) {
+                retry.run();
+            }
+        }
+
+        /**
+         * Cancel the retry and run its fallback, if the retry was neither run nor cancelled before.
+         *
+         * @return True if the retry was cancelled.
+         */
+        boolean cancel() {
+
+            if (!pendingRetries.remove(this)) {
+                return false;
+            }
+            if (fallback != null) {
+                fallback.run();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket limiting the rate of requests, without locks. The bucket is split into stripes, each refilled at an
+ * equal share of the rate and holding a share of the burst, so that the threads acquiring tokens concurrently
+ * mostly update different stripes instead of contending on a single counter. A thread first tries the stripe picked
+ * by its ID, and then the other stripes, hence a request is only rejected when no stripe has a token left.
+ * <p>
+ * Each stripe tracks the time at which it would be refilled completely, in the style of the generic cell rate
+ * algorithm, so that acquiring a token is a single compare and set, without a separate refill step. If the burst is
+ * not a multiple of the stripe count, the remaining tokens are held by the first stripes, one each.
+ */
+public class TokenBucket {
+
+    // Stripes are spread apart in the array, so that each stripe is on its own cache line.
+    private static final int STRIPE_SPACING = 8;
+    private static final int MAX_STRIPES = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final int rate;
+    private final int burst;
+    private final int stripeMask;
+    private final long tokenInterval;
+    private final long[] burstIntervals;
+    private final AtomicLongArray refillTimes;
+
+    /**
+     * Create a full token bucket.
+     *
+     * @param rate  Tokens added per second.
+     * @param burst Maximum number of tokens in the bucket.
+     */
+    public TokenBucket(int rate, int burst) {
+
+        this(rate, burst, System.nanoTime());
+    }
+
+    TokenBucket(int rate, int burst, long nanoTime) {
+
+        this(rate, burst, MAX_STRIPES, nanoTime);
+    }
+
+    TokenBucket(int rate, int burst, int maxStripes, long nanoTime) {
+
+        this.rate = Math.max(1, rate);
+        this.burst = Math.max(1, burst);
+        // Every stripe holds at least a token, and the stripe count is a power of two.
+        int stripes = Math.min(Integer.highestOneBit(maxStripes), Integer.highestOneBit(this.burst));
+        this.stripeMask = stripes - 1;
+        this.tokenInterval = Math.max(1, TimeUnit.SECONDS.toNanos(stripes) / this.rate);
+        this.burstIntervals = new long[stripes];
+        this.refillTimes = new AtomicLongArray(stripes * STRIPE_SPACING);
+        for (int i = 0; i < stripes; i++) {
+            int stripeBurst = this.burst / stripes + (i < this.burst % stripes ? 1 : 0);
+            burstIntervals[i] = tokenInterval * stripeBurst;
+            refillTimes.set(i * STRIPE_SPACING, nanoTime);
+        }
+    }
+
+    /**
+     * Try to acquire a token.
+     *
+     * @return True if a token was acquired.
+     */
+    public boolean tryAcquire() {
+
+        return tryAcquire(System.nanoTime());
+    }
+
+    public int getRate() {
+
+        return rate;
+    }
+
+    public int getBurst() {
+
+        return burst;
+    }
+
+    boolean tryAcquire(long nanoTime) {
+
+        int firstStripe = getStripe(Thread.currentThread().getId());
+        for (int i = 0; i <= stripeMask; i++) {
+            if (tryAcquire((firstStripe + i) & stripeMask, nanoTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the bucket is full, in which case it is equivalent to a newly created bucket.
+     */
+    boolean isFull(long nanoTime) {
+
+        for (int i = 0; i <= stripeMask; i++) {
+            if (refillTimes.get(i * STRIPE_SPACING) - nanoTime > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryAcquire(int stripe, long nanoTime) {
+
+        int index = stripe * STRIPE_SPACING;
+        long refillTime;
+        long nextRefillTime;
+        do {
+            refillTime = refillTimes.get(index);
+            // A refill time in the past means the stripe is full.
+            nextRefillTime = (refillTime - nanoTime > 0 ? refillTime : nanoTime) + tokenInterval;
+            if (nextRefillTime - nanoTime > burstIntervals[stripe]) {
+                return false;
+            }
+        } while (!refillTimes.compareAndSet(index, refillTime, nextRefillTime));
+        return true;
+    }
+
+    private int getStripe(long threadId) {
+
+        // Spread sequential thread IDs over the stripes.
+        long hash = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & stripeMask;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.spool;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.application.authentication.framework.util.FrameworkConstants;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.executor.ExecutorProvider;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.models.SpoolConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftPayloadSerializer;
+import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the login events of the {@link LoginEventSpool} to Sift once Sift is reachable again. Replay runs on a
+ * single background thread, only while the circuit breaker is closed, and is paced to the configured replay rate so
+ * that a recovering Sift is not flooded with the backlog.
+ */
+public class LoginEventReplayer {
+
+    private static final Log LOG = LogFactory.getLog(LoginEventReplayer.class);
+    private static final String THREAD_NAME_PREFIX = "sift-spool-replayer-";
+
+    private final LoginEventSpool spool;
+    private final CloseableHttpClient httpClient;
+    private final String siftApiUrl;
+    private final int replayInterval;
+    private final int replayRate;
+    private final long replayPauseNanos;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Create a replayer of the spooled login events.
+     *
+     * @param spool       Login event spool.
+     * @param httpClient  Http client used to publish the login events.
+     * @param siftApiUrl  Sift events API URL.
+     * @param spoolConfig Spool config.
+     */
+    public LoginEventReplayer(LoginEventSpool spool, CloseableHttpClient httpClient, String siftApiUrl,
+                              SpoolConfig spoolConfig) {
+
+        this.spool = spool;
+        this.httpClient = httpClient;
+        this.siftApiUrl = siftApiUrl;
+        this.replayInterval = Math.max(1, spoolConfig.getReplayInterval());
+        this.replayRate = Math.max(1, spoolConfig.getReplayRate());
+        this.replayPauseNanos = TimeUnit.SECONDS.toNanos(1) / replayRate;
+    }
+
+    /**
+     * Start replaying the spooled login events.
+     */
+    public synchronized void start() {
+
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                ExecutorProvider.getPlatformThreadFactory(THREAD_NAME_PREFIX));
+        scheduler.scheduleWithFixedDelay(this::replay, replayInterval, replayInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop replaying the spooled login events. The events which are not replayed yet stay in the spool.
+     */
+    public synchronized void stop() {
+
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            if (!scheduler.awaitTermination(replayInterval, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Sift login event replayer did not stop within " + replayInterval + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    /**
+     * Replay the spooled login events until the spool is empty or Sift fails again.
+     */
+    void replay() {
+
+        try {
+            while (!Thread.currentThread().isInterrupted() && isSiftAvailable()) {
+                List<SpooledEvent> events = spool.read(replayRate);
+                if (events.isEmpty()) {
+                    return;
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Replaying " + events.size() + " spooled login events to Sift.");
+                }
+                if (!replay(events)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.error("Error while replaying the spooled login events to Sift.", e);
+        }
+    }
+
+    private boolean replay(List<SpooledEvent> events) throws InterruptedException {
+
+        SpooledEvent lastReplayedEvent = null;
+        try {
+            for (SpooledEvent event : events) {
+                long startTime = System.nanoTime();
+                if (!replay(event)) {
+                    // Sift failed again. The event is retried in the next round.
+                    return false;
+                }
+                lastReplayedEvent = event;
+                TimeUnit.NANOSECONDS.sleep(replayPauseNanos - (System.nanoTime() - startTime));
+            }
+            return true;
+        } finally {
+            if (lastReplayedEvent != null) {
+                spool.commit(lastReplayedEvent);
+            }
+        }
+    }
+
+    private boolean replay(SpooledEvent event) {
+
+        String apiKey;
+        try {
+            apiKey = Util.getSiftApiKey(event.getTenantDomain());
+        } catch (FrameworkException e) {
+            // The config lookup can fail transiently, hence the event is retried in the next round. The events of a
+            // tenant which no longer has an API key are dropped once they exceed the max age of the spool.
+            LOG.warn("Unable to resolve the Sift API key of tenant: " + event.getTenantDomain() +
+                    ". Retrying the spooled login events later.", e);
+            return false;
+        }
+        HttpEntity entity;
+        try {
+            JSONObject jsonPayload = new JSONObject(event.getPayload());
+            jsonPayload.put(Constants.API_KEY, apiKey);
+            entity = SiftPayloadSerializer.toEntity(jsonPayload);
+        } catch (JSONException e) {
+            LOG.warn("Unable to replay the spooled login event of tenant: " + event.getTenantDomain() +
+                    ". Dropping the login event.", e);
+            return true;
+        }
+
+        CircuitBreaker circuitBreaker = SiftDataHolder.getInstance().getCircuitBreaker();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            return false;
+        }
+
+        HttpPost request = new HttpPost(siftApiUrl);
+        request.addHeader(Constants.CONTENT_TYPE_HEADER, FrameworkConstants.ContentTypes.TYPE_APPLICATION_JSON);
+        request.setEntity(entity);
+
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try (CloseableHttpResponse response = httpClient.execute(request)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            failed = CircuitBreaker.isFailureStatus(statusCode);
+            EntityUtils.consumeQuietly(response.getEntity());
+            if (failed) {
+                return false;
+            }
+            if (statusCode != HttpStatus.SC_OK) {
+                LOG.warn("Sift rejected the spooled login event of tenant: " + event.getTenantDomain() +
+                        ". HTTP Status code: " + statusCode + ". Dropping the login event.");
+            }
+            return true;
+        } catch (IOException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Error while replaying the spooled login event to Sift.", e);
+            }
+            return false;
+        } finally {
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(failed, System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private static boolean isSiftAvailable() {
+
+        CircuitBreaker circuitBreaker = SiftDataHolder.getInstance().getCircuitBreaker();
+        return circuitBreaker == null || circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+}
@@ -0,0 +1,517 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.spool;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.fraud.detection.sift.models.SpoolConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Durable spool of the login events which could not be published to Sift. Events are appended to fixed size,
+ * memory mapped segment files, and are read back in order by the {@link LoginEventReplayer}. Each record carries a
+ * checksum so that a record torn by a crash is detected and discarded on restart, and the position of the last
+ * replayed event is kept in a checkpoint file, so that the spool survives node restarts.
+ *
+ * <p>Record layout: length (int), CRC32 of the data (int), spooled time (long), data. A zero length marks the end of
+ * the records of a segment. The data holds the tenant domain and the login payload without the Sift API key, which is
+ * resolved again when the event is replayed, so that the API keys are never written to the disk.</p>
+ *
+ * <p>The spool is bounded by the configured max size, beyond which the oldest segments are dropped, and by the
+ * configured max age, beyond which events are skipped when read.</p>
+ */
+public class LoginEventSpool {
+
+    private static final Log LOG = LogFactory.getLog(LoginEventSpool.class);
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String CHECKPOINT_TEMP_FILE = "checkpoint.tmp";
+    private static final String OWNER_ONLY_PERMISSIONS = "rwx------";
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int CHECKPOINT_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int DROPPED_EVENT_LOG_INTERVAL = 1000;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long maxAge;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final AtomicLong droppedEventCount = new AtomicLong();
+    private Segment writeSegment;
+    private long readSegmentId;
+    private int readOffset;
+    private boolean closed;
+
+    /**
+     * Open the spool in the configured directory, recovering the events spooled before a restart.
+     *
+     * @param spoolConfig Spool config.
+     * @throws IOException If the spool directory or files cannot be accessed.
+     */
+    public LoginEventSpool(SpoolConfig spoolConfig) throws IOException {
+
+        this.directory = Paths.get(spoolConfig.getDirectory());
+        this.segmentSize = Math.max(HEADER_SIZE * 2, spoolConfig.getSegmentSize());
+        this.maxSegments = Math.max(2, spoolConfig.getMaxSize() / segmentSize);
+        this.maxAge = spoolConfig.getMaxAge();
+        open();
+    }
+
+    /**
+     * Append a login event to the spool.
+     *
+     * @param tenantDomain Tenant domain of the login event.
+     * @param payload      Login payload without the Sift API key.
+     * @return True if the event was spooled.
+     */
+    public synchronized boolean append(String tenantDomain, String payload) {
+
+        if (closed) {
+            return false;
+        }
+        byte[] data;
+        try {
+            data = encode(tenantDomain, payload);
+        } catch (IOException e) {
+            LOG.error("Error while encoding the login event to spool.", e);
+            return false;
+        }
+        int recordSize = HEADER_SIZE + data.length;
+        if (recordSize > segmentSize) {
+            onEventDropped(1, "Login event is larger than the spool segment size");
+            return false;
+        }
+
+        try {
+            if (writeSegment.writeOffset + recordSize > segmentSize) {
+                writeSegment.buffer.force();
+                writeSegment = createSegment(writeSegment.id + 1);
+                dropOldestSegments();
+            }
+        } catch (IOException e) {
+            LOG.error("Error while creating a new login event spool segment.", e);
+            return false;
+        }
+
+        ByteBuffer buffer = writeSegment.buffer;
+        int offset = writeSegment.writeOffset;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        buffer.putLong(offset + Integer.BYTES * 2, System.currentTimeMillis());
+        ByteBuffer dataBuffer = buffer.duplicate();
+        dataBuffer.position(offset + HEADER_SIZE);
+        dataBuffer.put(data);
+        if (offset + recordSize + Integer.BYTES <= segmentSize) {
+            buffer.putInt(offset + recordSize, 0);
+        }
+        // The length is written last, so that the record becomes visible only once it is complete.
+        buffer.putInt(offset, data.length);
+        writeSegment.writeOffset = offset + recordSize;
+        return true;
+    }
+
+    /**
+     * Read the next spooled events, skipping the events older than the max age. The events are not removed from the
+     * spool until they are committed.
+     *
+     * @param maxEvents Maximum number of events to read.
+     * @return Spooled events, in the order they were spooled.
+     */
+    public synchronized List<SpooledEvent> read(int maxEvents) {
+
+        List<SpooledEvent> events = new ArrayList<>();
+        if (closed) {
+            return events;
+        }
+        long segmentId = readSegmentId;
+        int offset = readOffset;
+        int expiredEvents = 0;
+        long minSpooledTime = System.currentTimeMillis() - maxAge;
+        while (events.size() < maxEvents) {
+            Segment segment = segments.get(segmentId);
+            if (segment == null) {
+                break;
+            }
+            if (offset >= segment.writeOffset) {
+                Long nextSegmentId = segments.higherKey(segmentId);
+                if (nextSegmentId == null) {
+                    break;
+                }
+                segmentId = nextSegmentId;
+                offset = 0;
+                continue;
+            }
+
+            ByteBuffer buffer = segment.buffer;
+            int length = buffer.getInt(offset);
+            long spooledTime = buffer.getLong(offset + Integer.BYTES * 2);
+            byte[] data = new byte[length];
+            ByteBuffer dataBuffer = buffer.duplicate();
+            dataBuffer.position(offset + HEADER_SIZE);
+            dataBuffer.get(data);
+            offset += HEADER_SIZE + length;
+            if (spooledTime < minSpooledTime) {
+                expiredEvents++;
+                continue;
+            }
+            try {
+                events.add(decode(data, spooledTime, segmentId, offset));
+            } catch (IOException e) {
+                LOG.error("Error while decoding a spooled login event. Skipping the event.", e);
+            }
+        }
+        if (expiredEvents > 0) {
+            onEventDropped(expiredEvents, "Spooled login events expired");
+            if (events.isEmpty()) {
+                // Nothing to replay, hence move past the expired events right away.
+                commit(segmentId, offset);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Remove the given event and all the events spooled before it from the spool.
+     *
+     * @param event Last replayed event.
+     */
+    public synchronized void commit(SpooledEvent event) {
+
+        if (closed) {
+            return;
+        }
+        commit(event.getSegmentId(), event.getNextOffset());
+    }
+
+    /**
+     * Check whether there are events to replay.
+     *
+     * @return True if there are no events to replay.
+     */
+    public synchronized boolean isEmpty() {
+
+        return readSegmentId == writeSegment.id && readOffset >= writeSegment.writeOffset;
+    }
+
+    /**
+     * Flush the spooled events to the disk. The events are kept by the operating system even if the server crashes
+     * before they are flushed, but they may be lost if the node itself crashes.
+     */
+    public synchronized void flush() {
+
+        if (closed) {
+            return;
+        }
+        writeSegment.buffer.force();
+    }
+
+    public long getDroppedEventCount() {
+
+        return droppedEventCount.get();
+    }
+
+    /**
+     * Flush and close the spool.
+     */
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+            closeQuietly(segment.channel);
+        }
+        segments.clear();
+    }
+
+    private void open() throws IOException {
+
+        Files.createDirectories(directory);
+        try {
+            Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString(OWNER_ONLY_PERMISSIONS));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system.
+        }
+
+        List<Long> segmentIds = new ArrayList<>();
+        try (DirectoryStream<Path> segmentFiles = Files.newDirectoryStream(directory,
+                SEGMENT_FILE_PREFIX + "*" + SEGMENT_FILE_SUFFIX)) {
+            for (Path segmentFile : segmentFiles) {
+                String fileName = segmentFile.getFileName().toString();
+                try {
+                    segmentIds.add(Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(),
+                            fileName.length() - SEGMENT_FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring the unknown file in the login event spool: " + segmentFile);
+                }
+            }
+        }
+        Collections.sort(segmentIds);
+
+        readCheckpoint();
+        for (long segmentId : segmentIds) {
+            if (segmentId < readSegmentId) {
+                // Fully replayed before the restart.
+                Files.deleteIfExists(getSegmentPath(segmentId));
+                continue;
+            }
+            segments.put(segmentId, openSegment(segmentId));
+        }
+
+        if (segments.isEmpty()) {
+            writeSegment = createSegment(Math.max(readSegmentId, 0));
+        } else {
+            writeSegment = segments.lastEntry().getValue();
+        }
+        Segment readSegment = segments.get(readSegmentId);
+        if (readSegment == null) {
+            readSegmentId = segments.firstKey();
+            readOffset = 0;
+        } else {
+            // The checkpoint may point past the records discarded on recovery.
+            readOffset = Math.max(0, Math.min(readOffset, readSegment.writeOffset));
+        }
+        if (!isEmpty()) {
+            LOG.info("Recovered spooled login events to be replayed to Sift from: " + directory);
+        }
+    }
+
+    private Segment openSegment(long segmentId) throws IOException {
+
+        Segment segment = mapSegment(segmentId, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        CRC32 crc = new CRC32();
+        // Find the end of the valid records. Records torn by a crash are discarded with the records after them.
+        while (offset + HEADER_SIZE <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            byte[] data = new byte[length];
+            ByteBuffer dataBuffer = buffer.duplicate();
+            dataBuffer.position(offset + HEADER_SIZE);
+            dataBuffer.get(data);
+            crc.reset();
+            crc.update(data, 0, data.length);
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                LOG.warn("Discarding the corrupted records of the login event spool segment: " +
+                        getSegmentPath(segmentId));
+                buffer.putInt(offset, 0);
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        segment.writeOffset = offset;
+        return segment;
+    }
+
+    private Segment createSegment(long segmentId) throws IOException {
+
+        Segment segment = mapSegment(segmentId, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE_NEW);
+        segments.put(segmentId, segment);
+        return segment;
+    }
+
+    private Segment mapSegment(long segmentId, StandardOpenOption... options) throws IOException {
+
+        FileChannel channel = FileChannel.open(getSegmentPath(segmentId), options);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(segmentId, channel, buffer);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private void dropOldestSegments() {
+
+        while (segments.size() > maxSegments) {
+            Map.Entry<Long, Segment> oldestSegment = segments.firstEntry();
+            if (oldestSegment.getKey() == readSegmentId) {
+                int droppedEvents = countRecords(oldestSegment.getValue(), readOffset);
+                onEventDropped(droppedEvents, "Login event spool is full");
+                readSegmentId = segments.higherKey(readSegmentId);
+                readOffset = 0;
+                writeCheckpoint();
+            }
+            deleteSegment(oldestSegment.getValue());
+        }
+    }
+
+    private void commit(long segmentId, int offset) {
+
+        // The segment of an event may be dropped while the event is replayed, moving the read position past it.
+        if (segmentId < readSegmentId || (segmentId == readSegmentId && offset <= readOffset) ||
+                !segments.containsKey(segmentId)) {
+            return;
+        }
+        readSegmentId = segmentId;
+        readOffset = offset;
+        while (segments.firstKey() < readSegmentId) {
+            deleteSegment(segments.firstEntry().getValue());
+        }
+        writeCheckpoint();
+    }
+
+    private int countRecords(Segment segment, int fromOffset) {
+
+        int count = 0;
+        int offset = fromOffset;
+        while (offset < segment.writeOffset) {
+            offset += HEADER_SIZE + segment.buffer.getInt(offset);
+            count++;
+        }
+        return count;
+    }
+
+    private void deleteSegment(Segment segment) {
+
+        segments.remove(segment.id);
+        closeQuietly(segment.channel);
+        try {
+            Files.deleteIfExists(getSegmentPath(segment.id));
+        } catch (IOException e) {
+            LOG.warn("Error while deleting the login event spool segment: " + getSegmentPath(segment.id), e);
+        }
+    }
+
+    private void readCheckpoint() {
+
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        try {
+            ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+            if (checkpoint.remaining() == CHECKPOINT_SIZE) {
+                readSegmentId = checkpoint.getLong();
+                readOffset = checkpoint.getInt();
+            }
+        } catch (IOException e) {
+            LOG.warn("Error while reading the login event spool checkpoint. Replaying all the spooled events.", e);
+        }
+    }
+
+    private void writeCheckpoint() {
+
+        ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_SIZE);
+        checkpoint.putLong(readSegmentId);
+        checkpoint.putInt(readOffset);
+        Path checkpointTempFile = directory.resolve(CHECKPOINT_TEMP_FILE);
+        try {
+            Files.write(checkpointTempFile, checkpoint.array());
+            Files.move(checkpointTempFile, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Error while writing the login event spool checkpoint. Replayed events may be replayed again " +
+                    "after a restart.", e);
+        }
+    }
+
+    private Path getSegmentPath(long segmentId) {
+
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_FILE_PREFIX, segmentId, SEGMENT_FILE_SUFFIX));
+    }
+
+    private void onEventDropped(int count, String reason) {
+
+        long total = droppedEventCount.addAndGet(count);
+        if (total == count || total / DROPPED_EVENT_LOG_INTERVAL != (total - count) / DROPPED_EVENT_LOG_INTERVAL) {
+            LOG.warn(reason + ". Total spooled login events dropped: " + total);
+        }
+    }
+
+    private static byte[] encode(String tenantDomain, String payload) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(payload.length() + tenantDomain.length() + 8);
+        try (DataOutputStream dataOutputStream = new DataOutputStream(outputStream)) {
+            dataOutputStream.writeUTF(tenantDomain);
+            dataOutputStream.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static SpooledEvent decode(byte[] data, long spooledTime, long segmentId, int nextOffset)
+            throws IOException {
+
+        try (DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(data))) {
+            String tenantDomain = dataInputStream.readUTF();
+            int payloadOffset = data.length - dataInputStream.available();
+            String payload = new String(data, payloadOffset, data.length - payloadOffset, StandardCharsets.UTF_8);
+            return new SpooledEvent(tenantDomain, payload, spooledTime, segmentId, nextOffset);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Error while closing the login event spool segment.", e);
+        }
+    }
+
+    /**
+     * Memory mapped segment file of the spool.
+     */
+    private static class Segment {
+
+        private final long id;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+
+        Segment(long id, FileChannel channel, MappedByteBuffer buffer) {
+
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.spool;
+
+/**
+ * Login event read from the {@link LoginEventSpool}.
+ */
+public class SpooledEvent {
+
+    private final String tenantDomain;
+    private final String payload;
+    private final long spooledTime;
+    private final long segmentId;
+    private final int nextOffset;
+
+    SpooledEvent(String tenantDomain, String payload, long spooledTime, long segmentId, int nextOffset) {
+
+        this.tenantDomain = tenantDomain;
+        this.payload = payload;
+        this.spooledTime = spooledTime;
+        this.segmentId = segmentId;
+        this.nextOffset = nextOffset;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    /**
+     * Get the login payload, without the Sift API key.
+     *
+     * @return Login payload.
+     */
+    public String getPayload() {
+
+        return payload;
+    }
+
+    public long getSpooledTime() {
+
+        return spooledTime;
+    }
+
+    long getSegmentId() {
+
+        return segmentId;
+    }
+
+    int getNextOffset() {
+
+        return nextOffset;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+/**
+ * Util class to resolve the Sift related server configurations defined in identity config.
+ */
+public class ConfigUtil {
+
+    private static final Log LOG = LogFactory.getLog(ConfigUtil.class);
+
+    private ConfigUtil() {
+
+    }
+
+    /**
+     * Resolve an integer config. The default value is used if the config is not defined or invalid.
+     *
+     * @param configName        Name of the config.
+     * @param defaultValue      Default value of the config.
+     * @param configDescription Description of the config used for logging.
+     * @return Resolved config value.
+     */
+    public static int getIntProperty(String configName, int defaultValue, String configDescription) {
+
+        String configValue = IdentityUtil.getProperty(configName);
+        try {
+            return StringUtils.isNotBlank(configValue) ? Integer.parseInt(configValue.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            LOG.error("Error while parsing " + configDescription + " : " + configValue +
+                    " defaulting to system default : " + defaultValue, e);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Resolve a string config. The default value is used if the config is not defined.
+     *
+     * @param configName   Name of the config.
+     * @param defaultValue Default value of the config.
+     * @return Resolved config value.
+     */
+    public static String getStringProperty(String configName, String defaultValue) {
+
+        String configValue = IdentityUtil.getProperty(configName);
+        return StringUtils.isNotBlank(configValue) ? configValue.trim() : defaultValue;
+    }
+
+    /**
+     * Resolve a boolean config. The default value is used if the config is not defined.
+     *
+     * @param configName   Name of the config.
+     * @param defaultValue Default value of the config.
+     * @return Resolved config value.
+     */
+    public static boolean getBooleanProperty(String configName, boolean defaultValue) {
+
+        String configValue = IdentityUtil.getProperty(configName);
+        return StringUtils.isNotBlank(configValue) ? Boolean.parseBoolean(configValue.trim()) : defaultValue;
+    }
+
+    /**
+     * Resolve an enum config. The default value is used if the config is not defined or invalid.
+     *
+     * @param configName        Name of the config.
+     * @param defaultValue      Default value of the config.
+     * @param configDescription Description of the config used for logging.
+     * @param <T>               Type of the enum.
+     * @return Resolved config value.
+     */
+    public static <T extends Enum<T>> T getEnumProperty(String configName, T defaultValue, String configDescription) {
+
+        String configValue = IdentityUtil.getProperty(configName);
+        if (StringUtils.isBlank(configValue)) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), configValue.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.error("Invalid " + configDescription + " : " + configValue + " defaulting to system default : " +
+                    defaultValue, e);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hasher of the user and session identifiers sent to Sift. Each thread reuses its own SHA-256 digest and hex buffer,
+ * and the hashes are memoized in the authentication context, so that the identifiers are hashed once per flow even if
+ * the script calls Sift in several steps.
+ */
+public class IdentifierHasher {
+
+    private static final String SHA_256 = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<Sha256Hasher> HASHER = ThreadLocal.withInitial(Sha256Hasher::new);
+
+    private IdentifierHasher() {
+
+    }
+
+    /**
+     * Get the SHA-256 hash of the value as a lower case hex string, the same as {@link DigestUtils#sha256Hex(String)}.
+     *
+     * @param value Value to be hashed.
+     * @return Hex encoded hash.
+     */
+    public static String sha256Hex(String value) {
+
+        return HASHER.get().hash(value);
+    }
+
+    /**
+     * Get the SHA-256 hash of the value, reusing the hash memoized in the given property of the authentication
+     * context if it was computed for the same value.
+     *
+     * @param context      Authentication context of the flow.
+     * @param propertyName Name of the context property holding the memoized hash.
+     * @param value        Value to be hashed.
+     * @return Hex encoded hash.
+     */
+    public static String sha256Hex(AuthenticationContext context, String propertyName, String value) {
+
+        if (context == null) {
+            return sha256Hex(value);
+        }
+        // The hashed value is kept with the hash, as the user of the flow can change between the steps.
+        Object memoized = context.getProperty(propertyName);
+        if (memoized instanceof String[]) {
+            String[] memoizedHash = (String[]) memoized;
+            if (memoizedHash.length == 2 && value.equals(memoizedHash[0])) {
+                return memoizedHash[1];
+            }
+        }
+        String hash = sha256Hex(value);
+        context.setProperty(propertyName, new String[]{value, hash});
+        return hash;
+    }
+
+    private static final class Sha256Hasher {
+
+        private final MessageDigest digest;
+        private final char[] hex;
+
+        Sha256Hasher() {
+
+            try {
+                digest = MessageDigest.getInstance(SHA_256);
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to support SHA-256.
+                throw new IllegalStateException(e);
+            }
+            hex = new char[digest.getDigestLength() * 2];
+        }
+
+        String hash(String value) {
+
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xF];
+            }
+            return new String(hex);
+        }
+    }
+}
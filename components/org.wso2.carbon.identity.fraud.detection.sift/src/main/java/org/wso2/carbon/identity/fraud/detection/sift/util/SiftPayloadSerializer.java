@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializer writing the Sift payload straight into the UTF-8 bytes sent to Sift. The output is byte for byte the
+ * same as the UTF-8 encoding of {@link JSONObject#toString()}: the keys are written in the iteration order of the
+ * payload and the strings are escaped the same way as {@link JSONObject#quote(String)} does. The constant fields of
+ * the payload are written from fragments serialized once, the API key field once per tenant API key, in both its
+ * plain and masked forms.
+ */
+public class SiftPayloadSerializer {
+
+    private static final int MIN_BUFFER_SIZE = 256;
+    private static final int MAX_CACHED_API_KEYS = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+    private static final byte[] TYPE_FIELD = serializeField(Constants.TYPE, Constants.LOGIN_TYPE);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+    private static final Map<String, ApiKeyFields> API_KEY_FIELDS = new ConcurrentHashMap<>();
+    // The payloads serialized into strings are copied into the strings, hence the buffer is reused by each thread.
+    private static final ThreadLocal<PayloadBuffer> STRING_PAYLOAD_BUFFER =
+            ThreadLocal.withInitial(() -> new PayloadBuffer(MIN_BUFFER_SIZE));
+
+    // Size of the last serialized payload with some headroom, so that the buffers rarely need to grow.
+    private static volatile int bufferSize = MIN_BUFFER_SIZE;
+
+    private SiftPayloadSerializer() {
+
+    }
+
+    /**
+     * Serialize the payload into a request entity. The entity is backed by the serialized bytes without copying them
+     * and is repeatable, hence it can be sent again on retries.
+     *
+     * @param payload Payload to be sent to Sift.
+     * @return JSON request entity.
+     */
+    public static HttpEntity toEntity(JSONObject payload) {
+
+        PayloadBuffer buffer = serialize(payload);
+        return new ByteArrayEntity(buffer.bytes, 0, buffer.count, ContentType.APPLICATION_JSON);
+    }
+
+    /**
+     * Serialize the payload into UTF-8 encoded JSON.
+     *
+     * @param payload Payload to be sent to Sift.
+     * @return Serialized payload.
+     */
+    public static byte[] toBytes(JSONObject payload) {
+
+        PayloadBuffer buffer = serialize(payload);
+        return Arrays.copyOf(buffer.bytes, buffer.count);
+    }
+
+    /**
+     * Serialize the payload for logging, with the second half of the API key masked. The payload is serialized in a
+     * single pass, writing the masked API key field in place of the API key field.
+     *
+     * @param payload Payload to be sent to Sift.
+     * @return Serialized payload with the API key masked.
+     */
+    public static String toMaskedString(JSONObject payload) {
+
+        return toString(payload, ApiKeyField.MASKED);
+    }
+
+    /**
+     * Serialize the payload without the API key, e.g. to store the payload until it can be sent to Sift. The payload
+     * is serialized in a single pass, skipping the API key field.
+     *
+     * @param payload Payload to be sent to Sift.
+     * @return Serialized payload without the API key.
+     */
+    public static String toStringWithoutApiKey(JSONObject payload) {
+
+        return toString(payload, ApiKeyField.OMITTED);
+    }
+
+    private static String toString(JSONObject payload, ApiKeyField apiKeyField) {
+
+        PayloadBuffer buffer = STRING_PAYLOAD_BUFFER.get();
+        buffer.count = 0;
+        writeObject(payload, buffer, apiKeyField);
+        String serializedPayload = new String(buffer.bytes, 0, buffer.count, StandardCharsets.UTF_8);
+        if (buffer.bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+            // Do not hold on to the memory of an unusually large payload.
+            STRING_PAYLOAD_BUFFER.remove();
+        }
+        return serializedPayload;
+    }
+
+    private static PayloadBuffer serialize(JSONObject payload) {
+
+        PayloadBuffer buffer = new PayloadBuffer(bufferSize);
+        writeObject(payload, buffer, ApiKeyField.PLAIN);
+        bufferSize = Math.max(MIN_BUFFER_SIZE, buffer.count + (buffer.count >> 2));
+        return buffer;
+    }
+
+    private static void writeObject(JSONObject object, PayloadBuffer buffer, ApiKeyField apiKeyField) {
+
+        buffer.write('{');
+        boolean first = true;
+        for (String key : object.keySet()) {
+            if (apiKeyField == ApiKeyField.OMITTED && Constants.API_KEY.equals(key)) {
+                continue;
+            }
+            if (!first) {
+                buffer.write(',');
+            }
+            first = false;
+            Object value = object.opt(key);
+            if (Constants.TYPE.equals(key) && Constants.LOGIN_TYPE.equals(value)) {
+                buffer.write(TYPE_FIELD);
+            } else if (Constants.API_KEY.equals(key) && value instanceof String) {
+                ApiKeyFields apiKeyFields = getApiKeyFields((String) value);
+                buffer.write(apiKeyField == ApiKeyField.MASKED ? apiKeyFields.maskedField : apiKeyFields.field);
+            } else {
+                writeQuoted(key, buffer);
+                buffer.write(':');
+                writeValue(value, buffer);
+            }
+        }
+        buffer.write('}');
+    }
+
+    private static void writeArray(JSONArray array, PayloadBuffer buffer) {
+
+        buffer.write('[');
+        for (int i = 0; i < array.length(); i++) {
+            if (i > 0) {
+                buffer.write(',');
+            }
+            writeValue(array.opt(i), buffer);
+        }
+        buffer.write(']');
+    }
+
+    private static void writeValue(Object value, PayloadBuffer buffer) {
+
+        if (value instanceof String) {
+            writeQuoted((String) value, buffer);
+        } else if (value instanceof JSONObject) {
+            writeObject((JSONObject) value, buffer, ApiKeyField.PLAIN);
+        } else if (value instanceof JSONArray) {
+            writeArray((JSONArray) value, buffer);
+        } else {
+            // Numbers, booleans and any other values are rare in the payload, leave their formatting to org.json.
+            String json = JSONObject.valueToString(value);
+            for (int i = 0; i < json.length(); i++) {
+                i = writeUtf8(json, i, buffer);
+            }
+        }
+    }
+
+    /**
+     * Write the string as a JSON string, escaping the same characters as {@link JSONObject#quote(String)}.
+     */
+    private static void writeQuoted(String value, PayloadBuffer buffer) {
+
+        buffer.ensureCapacity(value.length() + 2);
+        buffer.write('"');
+        char current = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char previous = current;
+            current = value.charAt(i);
+            switch (current) {
+                case '\\':
+                case '"':
+                    buffer.write('\\');
+                    buffer.write(current);
+                    break;
+                case '/':
+                    if (previous == '<') {
+                        buffer.write('\\');
+                    }
+                    buffer.write(current);
+                    break;
+                case '\b':
+                    writeEscape('b', buffer);
+                    break;
+                case '\t':
+                    writeEscape('t', buffer);
+                    break;
+                case '\n':
+                    writeEscape('n', buffer);
+                    break;
+                case '\f':
+                    writeEscape('f', buffer);
+                    break;
+                case '\r':
+                    writeEscape('r', buffer);
+                    break;
+                default:
+                    if (current < ' ' || (current >= '\u0080' && current < '\u00a0') ||
+                            (current >= '\u2000' && current < '\u2100')) {
+                        buffer.write('\\');
+                        buffer.write('u');
+                        buffer.write(HEX_DIGITS[(current >> 12) & 0xF]);
+                        buffer.write(HEX_DIGITS[(current >> 8) & 0xF]);
+                        buffer.write(HEX_DIGITS[(current >> 4) & 0xF]);
+                        buffer.write(HEX_DIGITS[current & 0xF]);
+                    } else {
+                        i = writeUtf8(value, i, buffer);
+                        current = value.charAt(i);
+                    }
+            }
+        }
+        buffer.write('"');
+    }
+
+    private static void writeEscape(char escape, PayloadBuffer buffer) {
+
+        buffer.write('\\');
+        buffer.write(escape);
+    }
+
+    /**
+     * Write the character at the given index in UTF-8, the same way as {@link String#getBytes} does. A surrogate
+     * pair is written as a single code point and an unpaired surrogate as '?'.
+     *
+     * @return Index of the last character written.
+     */
+    private static int writeUtf8(String value, int index, PayloadBuffer buffer) {
+
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            buffer.write(c);
+        } else if (c < 0x800) {
+            buffer.write(0xC0 | (c >> 6));
+            buffer.write(0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && index + 1 < value.length() &&
+                    Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+                buffer.write(0xF0 | (codePoint >> 18));
+                buffer.write(0x80 | ((codePoint >> 12) & 0x3F));
+                buffer.write(0x80 | ((codePoint >> 6) & 0x3F));
+                buffer.write(0x80 | (codePoint & 0x3F));
+                return index + 1;
+            }
+            buffer.write('?');
+        } else {
+            buffer.write(0xE0 | (c >> 12));
+            buffer.write(0x80 | ((c >> 6) & 0x3F));
+            buffer.write(0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    private static ApiKeyFields getApiKeyFields(String apiKey) {
+
+        ApiKeyFields apiKeyFields = API_KEY_FIELDS.get(apiKey);
+        if (apiKeyFields == null) {
+            if (API_KEY_FIELDS.size() >= MAX_CACHED_API_KEYS) {
+                // Rotated keys are never removed otherwise, start over rather than tracking the usage of the keys.
+                API_KEY_FIELDS.clear();
+            }
+            apiKeyFields = new ApiKeyFields(serializeField(Constants.API_KEY, apiKey),
+                    serializeField(Constants.API_KEY, maskApiKey(apiKey)));
+            API_KEY_FIELDS.put(apiKey, apiKeyFields);
+        }
+        return apiKeyFields;
+    }
+
+    /**
+     * Mask the second half of the API key for logging.
+     */
+    private static String maskApiKey(String apiKey) {
+
+        int maskStart = apiKey.length() / 2;
+        StringBuilder maskedApiKey = new StringBuilder(apiKey.length());
+        maskedApiKey.append(apiKey, 0, maskStart);
+        for (int i = maskStart; i < apiKey.length(); i++) {
+            maskedApiKey.append('*');
+        }
+        return maskedApiKey.toString();
+    }
+
+    private static byte[] serializeField(String key, String value) {
+
+        PayloadBuffer buffer = new PayloadBuffer(key.length() + value.length() + 8);
+        writeQuoted(key, buffer);
+        buffer.write(':');
+        writeQuoted(value, buffer);
+        return Arrays.copyOf(buffer.bytes, buffer.count);
+    }
+
+    /**
+     * How the API key field of the payload is written.
+     */
+    private enum ApiKeyField {
+        PLAIN,
+        MASKED,
+        OMITTED
+    }
+
+    /**
+     * Serialized API key field of a tenant API key, in its plain and masked forms.
+     */
+    private static final class ApiKeyFields {
+
+        private final byte[] field;
+        private final byte[] maskedField;
+
+        ApiKeyFields(byte[] field, byte[] maskedField) {
+
+            this.field = field;
+            this.maskedField = maskedField;
+        }
+    }
+
+    /**
+     * Growable byte buffer. Unlike {@link java.io.ByteArrayOutputStream}, it is not synchronized and exposes the
+     * backing array so that the entity can be created without copying it.
+     */
+    private static final class PayloadBuffer {
+
+        private byte[] bytes;
+        private int count;
+
+        PayloadBuffer(int size) {
+
+            bytes = new byte[size];
+        }
+
+        void write(int b) {
+
+            ensureCapacity(1);
+            bytes[count++] = (byte) b;
+        }
+
+        void write(byte[] b) {
+
+            ensureCapacity(b.length);
+            System.arraycopy(b, 0, bytes, count, b.length);
+            count += b.length;
+        }
+
+        void ensureCapacity(int length) {
+
+            if (count + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, count + length));
+            }
+        }
+    }
+}
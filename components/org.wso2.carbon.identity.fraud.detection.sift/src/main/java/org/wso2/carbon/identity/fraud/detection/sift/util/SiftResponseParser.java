@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming parser for the responses received from Sift. Only the Sift status and the account takeover score are
+ * read from the response, every other value is skipped without being materialized.
+ */
+public class SiftResponseParser {
+
+    private SiftResponseParser() {
+
+    }
+
+    /**
+     * Parse the given Sift response content. The content is read until the end of the top level JSON object, but is
+     * not closed.
+     *
+     * @param content Response content.
+     * @return Parsed Sift response.
+     * @throws IOException If the content could not be read or is not a valid Sift response.
+     */
+    public static SiftResponse parse(InputStream content) throws IOException {
+
+        JsonReader reader = new JsonReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        SiftResponse siftResponse = new SiftResponse();
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (Constants.SIFT_STATUS.equals(name) && isScalar(reader.peek())) {
+                    siftResponse.status = reader.nextInt();
+                    siftResponse.hasStatus = true;
+                } else if (Constants.SIFT_SCORE_RESPONSE.equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readScoreResponse(reader, siftResponse);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Invalid response received from Sift.", e);
+        }
+        return siftResponse;
+    }
+
+    private static void readScoreResponse(JsonReader reader, SiftResponse siftResponse) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (Constants.SIFT_SCORES.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readScores(reader, siftResponse);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readScores(JsonReader reader, SiftResponse siftResponse) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (Constants.SIFT_ACCOUNT_TAKEOVER.equals(reader.nextName()) &&
+                    reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readAccountTakeover(reader, siftResponse);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readAccountTakeover(JsonReader reader, SiftResponse siftResponse) throws IOException {
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (Constants.SIFT_SCORE.equals(reader.nextName()) && isScalar(reader.peek())) {
+                siftResponse.score = reader.nextDouble();
+                siftResponse.hasScore = true;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static boolean isScalar(JsonToken token) {
+
+        return token == JsonToken.NUMBER || token == JsonToken.STRING;
+    }
+
+    /**
+     * Values read from a Sift response.
+     */
+    public static class SiftResponse {
+
+        private boolean hasStatus;
+        private int status;
+        private boolean hasScore;
+        private double score;
+
+        public boolean hasStatus() {
+
+            return hasStatus;
+        }
+
+        public int getStatus() {
+
+            return status;
+        }
+
+        public boolean hasScore() {
+
+            return hasScore;
+        }
+
+        public double getScore() {
+
+            return score;
+        }
+    }
+}
@@ -18,25 +18,29 @@
 
 package org.wso2.carbon.identity.fraud.detection.sift.util;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.json.JSONObject;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.graaljs.JsGraalAuthenticatedUser;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.context.TransientObjectWrapper;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.SiftConfigCache;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
 import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics;
 import org.wso2.carbon.identity.governance.IdentityGovernanceException;
 import org.wso2.carbon.identity.governance.IdentityGovernanceService;
 import org.wso2.carbon.identity.governance.bean.ConnectorConfig;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequestWrapper;
 
@@ -44,6 +48,8 @@ import static org.wso2.carbon.identity.fraud.detection.sift.Constants.CONNECTOR_
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.HTTP_SERVLET_REQUEST;
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.LOGIN_TYPE;
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_API_KEY_PROP;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_RATE_LIMIT_PROP;
+import static org.wso2.carbon.identity.fraud.detection.sift.Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP;
 import static org.wso2.carbon.identity.fraud.detection.sift.Constants.USER_AGENT_HEADER;
 
 /**
@@ -59,11 +65,12 @@ public class Util {
      * @param context            Authentication context.
      * @param loginStatus        Login status.
      * @param passedCustomParams Custom parameters passed by the user.
+     * @param siftConfigs        Sift configurations of the tenant.
      * @return Payload to be sent to Sift.
      * @throws FrameworkException If an error occurs while building the payload.
      */
     public static JSONObject buildPayload(JsAuthenticationContext context, String loginStatus,
-                                          Map<String, Object> passedCustomParams)
+                                          Map<String, Object> passedCustomParams, Map<String, String> siftConfigs)
             throws FrameworkException {
 
         String loginSts = getLoginStatus(loginStatus).getSiftValue();
@@ -71,11 +78,11 @@ public class Util {
 
         // Add the required parameters to the payload.
         payload.put(Constants.TYPE, LOGIN_TYPE);
-        payload.put(Constants.API_KEY, getSiftApiKey(context.getWrapped().getTenantDomain()));
+        payload.put(Constants.API_KEY, getSiftApiKey(siftConfigs, context.getWrapped().getTenantDomain()));
         payload.put(Constants.LOGIN_STATUS, loginSts);
         payload.put(Constants.USER_ID_KEY, resolvePayloadData(Constants.USER_ID_KEY, context));
 
-        Map<String, String> browserProperties = new HashMap<>();
+        JSONObject browserProperties = new JSONObject();
         browserProperties.put(Constants.USER_AGENT_KEY, resolvePayloadData(Constants.USER_AGENT_KEY, context));
         payload.put(Constants.BROWSER_KEY, browserProperties);
         payload.put(Constants.IP_KEY, resolvePayloadData(Constants.IP_KEY, context));
@@ -87,6 +94,18 @@ public class Util {
                 payload.put(entry.getKey(), entry.getValue());
             }
         }
+
+        // Every login seen by the connector is recorded, whether or not Sift is reachable. A script can build the
+        // payload of the same login more than once, e.g. to get the risk score and publish the login, hence the
+        // recorded login status is kept in the context so that the login is recorded only once.
+        FallbackRiskScorer fallbackRiskScorer = SiftDataHolder.getInstance().getFallbackRiskScorer();
+        if (fallbackRiskScorer != null) {
+            AuthenticationContext authenticationContext = context.getWrapped();
+            if (!loginSts.equals(authenticationContext.getProperty(Constants.FALLBACK_RECORDED_LOGIN_PROPERTY))) {
+                fallbackRiskScorer.recordLogin(authenticationContext.getTenantDomain(), payload);
+                authenticationContext.setProperty(Constants.FALLBACK_RECORDED_LOGIN_PROPERTY, loginSts);
+            }
+        }
         return payload;
     }
 
@@ -126,7 +145,7 @@ public class Util {
         if (passedCustomParams.containsKey(Constants.USER_AGENT_KEY)) {
             String userAgent = (String) passedCustomParams.get(Constants.USER_AGENT_KEY);
             if (StringUtils.isNotBlank(userAgent)) {
-                Map<String, String> browserProperties = new HashMap<>();
+                JSONObject browserProperties = new JSONObject();
                 browserProperties.put(Constants.USER_AGENT_KEY, userAgent);
                 payload.put(Constants.BROWSER_KEY, browserProperties);
             } else {
@@ -166,22 +185,113 @@ public class Util {
         return passedCustomParams;
     }
 
-    private static String getSiftApiKey(String tenantDomain) throws FrameworkException {
+    /**
+     * Get the Sift API key configured for the tenant.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Sift API key.
+     * @throws FrameworkException If the API key is not configured or cannot be retrieved.
+     */
+    public static String getSiftApiKey(String tenantDomain) throws FrameworkException {
 
-        String apiKey = getSiftConfigs(tenantDomain).get(SIFT_API_KEY_PROP);
+        return getSiftApiKey(getSiftConfigs(tenantDomain), tenantDomain);
+    }
+
+    private static String getSiftApiKey(Map<String, String> siftConfigs, String tenantDomain)
+            throws FrameworkException {
+
+        String apiKey = siftConfigs.get(SIFT_API_KEY_PROP);
         if (apiKey == null) {
             throw new FrameworkException("Sift API key not found for tenant: " + tenantDomain);
         }
         return apiKey;
     }
 
-    private static Map<String, String> getSiftConfigs(String tenantDomain) throws FrameworkException {
+    /**
+     * Get the time to live of the risk scores cached for the tenant.
+     *
+     * @param siftConfigs       Sift configurations of the tenant.
+     * @param tenantDomain      Tenant domain.
+     * @param defaultTimeToLive Time to live in milliseconds used if the tenant has not configured a valid time to live.
+     * @return Time to live in milliseconds.
+     */
+    public static long getRiskScoreCacheTimeToLive(Map<String, String> siftConfigs, String tenantDomain,
+                                                   long defaultTimeToLive) {
+
+        String timeToLive = siftConfigs.get(SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP);
+        if (StringUtils.isBlank(timeToLive)) {
+            return defaultTimeToLive;
+        }
+        try {
+            // Configured in seconds by the tenant.
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(timeToLive.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid risk score cache time to live: " + timeToLive + " configured for tenant: " +
+                    tenantDomain + ". Using the default value: " + defaultTimeToLive + " ms.");
+            return defaultTimeToLive;
+        }
+    }
+
+    /**
+     * Get the number of requests the tenant can send to Sift per second.
+     *
+     * @param siftConfigs  Sift configurations of the tenant.
+     * @param tenantDomain Tenant domain.
+     * @param defaultRate  Requests per second used if the tenant has not configured a valid rate limit.
+     * @return Requests per second, or 0 if the requests of the tenant are not limited.
+     */
+    public static int getRateLimit(Map<String, String> siftConfigs, String tenantDomain, int defaultRate) {
+
+        String rateLimit = siftConfigs.get(SIFT_RATE_LIMIT_PROP);
+        if (StringUtils.isBlank(rateLimit)) {
+            return defaultRate;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(rateLimit.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid rate limit: " + rateLimit + " configured for tenant: " + tenantDomain +
+                    ". Using the default value: " + defaultRate + " requests per second.");
+            return defaultRate;
+        }
+    }
+
+    /**
+     * Get the Sift configurations of the tenant, from the config cache if it is enabled.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Sift configurations.
+     * @throws FrameworkException If the tenant has no Sift configurations or they cannot be retrieved.
+     */
+    public static Map<String, String> getSiftConfigs(String tenantDomain) throws FrameworkException {
+
+        long startTime = System.nanoTime();
+        SiftConfigCache siftConfigCache = SiftDataHolder.getInstance().getSiftConfigCache();
+        Map<String, String> siftConfigs = siftConfigCache != null ? siftConfigCache.getConfigs(tenantDomain) :
+                loadSiftConfigs(tenantDomain);
+        SiftMetrics siftMetrics = SiftDataHolder.getInstance().getSiftMetrics();
+        if (siftMetrics != null) {
+            siftMetrics.recordConfigLookup(System.nanoTime() - startTime);
+        }
+        if (siftConfigs == null) {
+            throw new FrameworkException("Sift configurations not found for tenant: " + tenantDomain);
+        }
+        return siftConfigs;
+    }
+
+    /**
+     * Load the Sift configurations of the tenant from the identity governance service.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Sift configurations, or null if the tenant has no Sift configurations.
+     * @throws FrameworkException If an error occurs while retrieving the configurations.
+     */
+    public static Map<String, String> loadSiftConfigs(String tenantDomain) throws FrameworkException {
 
         try {
             ConnectorConfig connectorConfig =
                     getIdentityGovernanceService().getConnectorWithConfigs(tenantDomain, CONNECTOR_NAME);
             if (connectorConfig == null) {
-                throw new FrameworkException("Sift configurations not found for tenant: " + tenantDomain);
+                return null;
             }
             Map<String, String> siftConfigs = new HashMap<>();
             // Go through the connector config and get the sift configurations.
@@ -204,20 +314,7 @@ public class Util {
      */
     public static String getMaskedSiftPayload(JSONObject payload) {
 
-        JSONObject maskedPayload = new JSONObject(payload.toString());
-        String apiKey = (String) maskedPayload.get(Constants.API_KEY);
-
-        // Masked half of the API key for logging.
-        int length = apiKey.length();
-        int maskStart = length / 2;
-        StringBuilder maskedAPIKey = new StringBuilder(apiKey.substring(0, maskStart));
-        for (int i = maskStart; i < length; i++) {
-            maskedAPIKey.append('*');
-        }
-
-        maskedPayload.put(Constants.API_KEY, maskedAPIKey.toString());
-        return maskedPayload.toString();
-
+        return SiftPayloadSerializer.toMaskedString(payload);
     }
 
     private static IdentityGovernanceService getIdentityGovernanceService() {
@@ -257,7 +354,7 @@ public class Util {
         try {
             String userId = ((JsGraalAuthenticatedUser) context.getMember(Constants.CURRENT_KNOWN_SUBJECT))
                     .getWrapped().getUserId();
-            return DigestUtils.sha256Hex(userId);
+            return IdentifierHasher.sha256Hex(context.getWrapped(), Constants.HASHED_USER_ID_PROPERTY, userId);
         } catch (UserIdNotFoundException e) {
             LOG.debug("Unable to resolve the user id.", e);
             return null;
@@ -308,6 +405,7 @@ public class Util {
         if (context.getWrapped().getContextIdentifier() == null) {
             throw new FrameworkException("Context identifier is null.");
         }
-        return DigestUtils.sha256Hex(context.getWrapped().getContextIdentifier());
+        return IdentifierHasher.sha256Hex(context.getWrapped(), Constants.HASHED_SESSION_ID_PROPERTY,
+                context.getWrapped().getContextIdentifier());
     }
 }
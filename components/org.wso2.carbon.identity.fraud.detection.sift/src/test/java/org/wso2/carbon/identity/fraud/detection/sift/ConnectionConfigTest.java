@@ -48,6 +48,72 @@ public class ConnectionConfigTest {
         Assert.assertEquals(config.getConnectionRequestTimeout(), connectionRequestTimeout);
     }
 
+    @Test
+    public void testBuilderWithPassedPoolValues() {
+
+        int maxConnections = 200;
+        int maxConnectionsPerRoute = 150;
+        int keepAliveDuration = 20000;
+        int validateAfterInactivity = 1000;
+        int idleConnectionTimeout = 45000;
+
+        ConnectionConfig config = new ConnectionConfig.Builder()
+                .setMaxConnections(maxConnections)
+                .setMaxConnectionsPerRoute(maxConnectionsPerRoute)
+                .setKeepAliveDuration(keepAliveDuration)
+                .setValidateAfterInactivity(validateAfterInactivity)
+                .setIdleConnectionTimeout(idleConnectionTimeout)
+                .build();
+
+        Assert.assertEquals(config.getMaxConnections(), maxConnections);
+        Assert.assertEquals(config.getMaxConnectionsPerRoute(), maxConnectionsPerRoute);
+        Assert.assertEquals(config.getKeepAliveDuration(), keepAliveDuration);
+        Assert.assertEquals(config.getValidateAfterInactivity(), validateAfterInactivity);
+        Assert.assertEquals(config.getIdleConnectionTimeout(), idleConnectionTimeout);
+    }
+
+    @Test
+    public void testBuilderWithPassedBulkheadValues() {
+
+        ConnectionConfig config = new ConnectionConfig.Builder()
+                .setScoreMaxConnections(70)
+                .setPublishMaxConnections(30)
+                .setScoreMaxConcurrentRequests(50)
+                .setPublishMaxConcurrentRequests(20)
+                .setBulkheadMaxWaitDuration(0)
+                .build();
+
+        Assert.assertEquals(config.getScoreMaxConnections(), 70);
+        Assert.assertEquals(config.getPublishMaxConnections(), 30);
+        Assert.assertEquals(config.getScoreMaxConcurrentRequests(), 50);
+        Assert.assertEquals(config.getPublishMaxConcurrentRequests(), 20);
+        Assert.assertEquals(config.getBulkheadMaxWaitDuration(), 0);
+    }
+
+    @Test
+    public void testBuilderWithIdentityUtilPoolValues() {
+
+        int maxConnections = 300;
+        int maxConnectionsPerRoute = 250;
+
+        try (MockedStatic<IdentityUtil> mockedIdentityUtil = Mockito.mockStatic(IdentityUtil.class)) {
+            mockedIdentityUtil.when(() -> IdentityUtil.getProperty(Constants.MAX_CONNECTIONS_CONFIG))
+                    .thenReturn(String.valueOf(maxConnections));
+            mockedIdentityUtil.when(() -> IdentityUtil.getProperty(Constants.MAX_CONNECTIONS_PER_ROUTE_CONFIG))
+                    .thenReturn(String.valueOf(maxConnectionsPerRoute));
+            mockedIdentityUtil.when(() -> IdentityUtil.getProperty(Constants.KEEP_ALIVE_DURATION_CONFIG))
+                    .thenReturn("invalid");
+
+            ConnectionConfig config = new ConnectionConfig.Builder().build();
+
+            Assert.assertEquals(config.getMaxConnections(), maxConnections);
+            Assert.assertEquals(config.getMaxConnectionsPerRoute(), maxConnectionsPerRoute);
+            Assert.assertEquals(config.getKeepAliveDuration(), Constants.KEEP_ALIVE_DURATION);
+            Assert.assertEquals(config.getValidateAfterInactivity(), Constants.VALIDATE_AFTER_INACTIVITY);
+            Assert.assertEquals(config.getIdleConnectionTimeout(), Constants.IDLE_CONNECTION_TIMEOUT);
+        }
+    }
+
     @Test
     public void testBuilderWithIdentityUtilValues() {
 
@@ -99,5 +165,35 @@ public class ConnectionConfigTest {
         Assert.assertEquals(config.getConnectionTimeout(), Constants.CONNECTION_TIMEOUT);
         Assert.assertEquals(config.getReadTimeout(), Constants.READ_TIMEOUT);
         Assert.assertEquals(config.getConnectionRequestTimeout(), Constants.CONNECTION_REQUEST_TIMEOUT);
+        Assert.assertEquals(config.getMaxConnections(), Constants.MAX_CONNECTIONS);
+        Assert.assertEquals(config.getMaxConnectionsPerRoute(), Constants.MAX_CONNECTIONS_PER_ROUTE);
+        Assert.assertEquals(config.getScoreMaxConnections(), Constants.SCORE_MAX_CONNECTIONS);
+        Assert.assertEquals(config.getPublishMaxConnections(), Constants.PUBLISH_MAX_CONNECTIONS);
+        Assert.assertEquals(config.getSiftApiUrl(), Constants.SIFT_API_URL);
+        Assert.assertEquals(config.getTransport(), Constants.Transport.HTTP_1_1);
+    }
+
+    @Test
+    public void testBuilderWithIdentityUtilTransport() {
+
+        try (MockedStatic<IdentityUtil> mockedIdentityUtil = Mockito.mockStatic(IdentityUtil.class)) {
+            mockedIdentityUtil.when(() -> IdentityUtil.getProperty(Constants.HTTP_TRANSPORT_CONFIG))
+                    .thenReturn("http_2");
+
+            ConnectionConfig config = new ConnectionConfig.Builder().build();
+
+            Assert.assertEquals(config.getTransport(), Constants.Transport.HTTP_2);
+        }
+    }
+
+    @Test
+    public void testBuilderWithPassedBaseUrl() {
+
+        ConnectionConfig config = new ConnectionConfig.Builder()
+                .setBaseUrl("http://localhost:8080/")
+                .build();
+
+        Assert.assertEquals(config.getBaseUrl(), "http://localhost:8080/");
+        Assert.assertEquals(config.getSiftApiUrl(), "http://localhost:8080" + Constants.SIFT_EVENTS_PATH);
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Test class for GzipRequestInterceptor.
+ */
+public class GzipRequestInterceptorTest {
+
+    private static final String RESPONSE_BODY = "{\"status\":0,\"error_message\":\"OK\"}";
+
+    private HttpServer server;
+    private volatile String receivedContentEncoding;
+    private volatile String receivedAcceptEncoding;
+    private volatile String receivedBody;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedContentEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            receivedAcceptEncoding = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            InputStream requestBody = "gzip".equals(receivedContentEncoding) ?
+                    new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody();
+            receivedBody = new String(readAll(requestBody), StandardCharsets.UTF_8);
+
+            ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(responseBody)) {
+                gzipOutputStream.write(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            exchange.sendResponseHeaders(200, responseBody.size());
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                responseBody.writeTo(outputStream);
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        server.stop(0);
+    }
+
+    @Test
+    public void testCompressesLargeRequestBody() throws IOException {
+
+        String payload = "{\"$type\":\"$login\",\"$user_id\":\"" + StringUtils.repeat("a", 4096) + "\"}";
+
+        String response = post(getConnectionConfig(true, 1024), payload);
+
+        Assert.assertEquals(receivedContentEncoding, "gzip");
+        Assert.assertEquals(receivedBody, payload);
+        Assert.assertTrue(receivedAcceptEncoding.contains("gzip"));
+        Assert.assertEquals(response, RESPONSE_BODY);
+    }
+
+    @Test
+    public void testDoesNotCompressSmallRequestBody() throws IOException {
+
+        String payload = "{\"$type\":\"$login\"}";
+
+        String response = post(getConnectionConfig(true, 1024), payload);
+
+        Assert.assertNull(receivedContentEncoding);
+        Assert.assertEquals(receivedBody, payload);
+        Assert.assertEquals(response, RESPONSE_BODY);
+    }
+
+    @Test
+    public void testRequestCompressionDisabled() throws IOException {
+
+        String payload = "{\"$type\":\"$login\",\"$user_id\":\"" + StringUtils.repeat("a", 4096) + "\"}";
+
+        post(getConnectionConfig(false, 1024), payload);
+
+        Assert.assertNull(receivedContentEncoding);
+        Assert.assertEquals(receivedBody, payload);
+    }
+
+    private String post(ConnectionConfig connectionConfig, String payload) throws IOException {
+
+        try (CloseableHttpClient httpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig)) {
+            HttpPost request = new HttpPost("http://localhost:" + server.getAddress().getPort() + "/events");
+            request.setEntity(new StringEntity(payload, ContentType.APPLICATION_JSON));
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                return EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static ConnectionConfig getConnectionConfig(boolean requestCompressionEnabled, int threshold) {
+
+        return new ConnectionConfig.Builder()
+                .setRequestCompressionEnabled(requestCompressionEnabled)
+                .setRequestCompressionThreshold(threshold)
+                .setResponseCompressionEnabled(true)
+                .build();
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+}
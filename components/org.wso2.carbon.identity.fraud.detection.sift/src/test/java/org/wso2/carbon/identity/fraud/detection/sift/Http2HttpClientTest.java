@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.mockito.ArgumentCaptor;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for Http2HttpClient.
+ */
+public class Http2HttpClientTest {
+
+    private static final String SIFT_API_URL = "https://api.sift.com/v205/events";
+    private static final String PAYLOAD = "{\"$type\":\"$login\",\"$user_id\":\"user\"}";
+
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private CompletableFuture<SimpleHttpResponse> responseFuture;
+
+    @BeforeMethod
+    public void setUp() {
+
+        httpAsyncClient = mock(CloseableHttpAsyncClient.class);
+        responseFuture = new CompletableFuture<>();
+        when(httpAsyncClient.execute(any(SimpleHttpRequest.class), isNull())).thenReturn(responseFuture);
+    }
+
+    @Test
+    public void testRequestAndResponseAreConverted() throws Exception {
+
+        SimpleHttpResponse http2Response = SimpleHttpResponse.create(200, "{\"status\":0}",
+                org.apache.hc.core5.http.ContentType.APPLICATION_JSON);
+        http2Response.addHeader("X-Request-Id", "1");
+        responseFuture.complete(http2Response);
+        Http2HttpClient httpClient = new Http2HttpClient(httpAsyncClient, createConnectionConfig(false));
+
+        try (CloseableHttpResponse response = httpClient.execute(createRequest())) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+            Assert.assertEquals(response.getFirstHeader("X-Request-Id").getValue(), "1");
+            Assert.assertEquals(EntityUtils.toString(response.getEntity()), "{\"status\":0}");
+        }
+
+        ArgumentCaptor<SimpleHttpRequest> requestCaptor = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+        verify(httpAsyncClient).execute(requestCaptor.capture(), isNull());
+        SimpleHttpRequest http2Request = requestCaptor.getValue();
+        Assert.assertEquals(http2Request.getMethod(), "POST");
+        Assert.assertEquals(http2Request.getUri(), URI.create(SIFT_API_URL));
+        Assert.assertEquals(new String(http2Request.getBodyBytes(), StandardCharsets.UTF_8), PAYLOAD);
+        Assert.assertEquals(http2Request.getContentType().getMimeType(), "application/json");
+        // Connection specific headers are not sent over HTTP/2.
+        Assert.assertNull(http2Request.getFirstHeader(HttpHeaders.CONNECTION));
+        Assert.assertNull(http2Request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    public void testGzipResponseIsDecompressed() throws Exception {
+
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+            gzipOutputStream.write("{\"status\":0}".getBytes(StandardCharsets.UTF_8));
+        }
+        SimpleHttpResponse http2Response = SimpleHttpResponse.create(200, compressedBody.toByteArray(),
+                org.apache.hc.core5.http.ContentType.APPLICATION_JSON);
+        http2Response.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        responseFuture.complete(http2Response);
+        Http2HttpClient httpClient = new Http2HttpClient(httpAsyncClient, createConnectionConfig(true));
+
+        try (CloseableHttpResponse response = httpClient.execute(createRequest())) {
+            Assert.assertEquals(EntityUtils.toString(response.getEntity()), "{\"status\":0}");
+            Assert.assertNull(response.getFirstHeader(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        ArgumentCaptor<SimpleHttpRequest> requestCaptor = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+        verify(httpAsyncClient).execute(requestCaptor.capture(), isNull());
+        Assert.assertEquals(requestCaptor.getValue().getFirstHeader(HttpHeaders.ACCEPT_ENCODING).getValue(), "gzip");
+    }
+
+    @Test(expectedExceptions = SocketTimeoutException.class)
+    public void testRequestFailureIsRethrown() throws IOException {
+
+        responseFuture.completeExceptionally(new SocketTimeoutException("Read timed out."));
+        Http2HttpClient httpClient = new Http2HttpClient(httpAsyncClient, createConnectionConfig(false));
+
+        httpClient.execute(createRequest());
+    }
+
+    @Test
+    public void testAbortCancelsRequest() throws IOException {
+
+        Http2HttpClient httpClient = new Http2HttpClient(httpAsyncClient, createConnectionConfig(false));
+        HttpPost request = createRequest();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scheduler.schedule(request::abort, 200, TimeUnit.MILLISECONDS);
+            httpClient.execute(request);
+            Assert.fail("Aborted request should fail.");
+        } catch (InterruptedIOException e) {
+            Assert.assertTrue(responseFuture.isCancelled());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCloseClosesAsyncClient() {
+
+        new Http2HttpClient(httpAsyncClient, createConnectionConfig(false)).close();
+
+        verify(httpAsyncClient).close(CloseMode.GRACEFUL);
+    }
+
+    private static ConnectionConfig createConnectionConfig(boolean responseCompressionEnabled) {
+
+        return new ConnectionConfig.Builder()
+                .setConnectionRequestTimeout(1000)
+                .setConnectionTimeout(1000)
+                .setReadTimeout(3000)
+                .setRequestCompressionEnabled(false)
+                .setResponseCompressionEnabled(responseCompressionEnabled)
+                .setTransport(Constants.Transport.HTTP_2)
+                .build();
+    }
+
+    private static HttpPost createRequest() {
+
+        HttpPost request = new HttpPost(SIFT_API_URL);
+        request.addHeader(HttpHeaders.CONNECTION, "keep-alive");
+        request.setEntity(new StringEntity(PAYLOAD, ContentType.APPLICATION_JSON));
+        return request;
+    }
+}
@@ -18,8 +18,13 @@
 
 package org.wso2.carbon.identity.fraud.detection.sift;
 
+import org.apache.http.HttpClientConnection;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.testng.Assert;
@@ -28,10 +33,21 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import javax.net.ssl.SSLContext;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Test class for HttpClientManager.
@@ -78,4 +94,98 @@ public class HttpClientManagerTest {
         HttpClientManager.getInstance().closeHttpClient(mockHttpClient);
         verify(mockHttpClient, times(1)).close();
     }
+
+    @Test
+    public void testGetConnectionManager() {
+
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                .setMaxConnections(20)
+                .setMaxConnectionsPerRoute(10)
+                .setValidateAfterInactivity(1000)
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager =
+                HttpClientManager.getInstance().getConnectionManager(connectionConfig);
+
+        Assert.assertEquals(connectionManager.getMaxTotal(), 20);
+        Assert.assertEquals(connectionManager.getDefaultMaxPerRoute(), 10);
+        Assert.assertEquals(connectionManager.getValidateAfterInactivity(), 1000);
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void testGetIsolatedConnectionManager() {
+
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                .setMaxConnections(100)
+                .setMaxConnectionsPerRoute(100)
+                .setScoreMaxConnections(30)
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = HttpClientManager.getInstance()
+                .getConnectionManager(connectionConfig, connectionConfig.getScoreMaxConnections());
+
+        Assert.assertEquals(connectionManager.getMaxTotal(), 30);
+        Assert.assertEquals(connectionManager.getDefaultMaxPerRoute(), 30);
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void testConnectionManagersShareSslContext() {
+
+        ConnectionConfig scoreConnectionConfig = new ConnectionConfig.Builder()
+                .setSslSessionCacheSize(100)
+                .build();
+        ConnectionConfig publishConnectionConfig = new ConnectionConfig.Builder()
+                .setSslSessionCacheSize(200)
+                .setSslSessionTimeout(60000)
+                .build();
+
+        SSLContext sslContext = HttpClientManager.getInstance().getSslContext(scoreConnectionConfig);
+        Assert.assertEquals(sslContext.getClientSessionContext().getSessionCacheSize(), 100);
+        PoolingHttpClientConnectionManager publishConnectionManager = HttpClientManager.getInstance()
+                .getConnectionManager(publishConnectionConfig, publishConnectionConfig.getPublishMaxConnections());
+
+        // The TLS sessions are cached once for all the pools, with the settings of the latest config.
+        Assert.assertSame(HttpClientManager.getInstance().getSslContext(publishConnectionConfig), sslContext);
+        Assert.assertEquals(sslContext.getClientSessionContext().getSessionCacheSize(), 200);
+        Assert.assertEquals(sslContext.getClientSessionContext().getSessionTimeout(), 60);
+        publishConnectionManager.shutdown();
+    }
+
+    @Test
+    public void testWarmUpConnections() throws Exception {
+
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                .setWarmUpConnections(3)
+                .build();
+        HttpClientConnectionManager connectionManager = mock(HttpClientConnectionManager.class);
+        ConnectionRequest connectionRequest = mock(ConnectionRequest.class);
+        HttpClientConnection connection = mock(HttpClientConnection.class);
+        when(connectionManager.requestConnection(any(HttpRoute.class), isNull())).thenReturn(connectionRequest);
+        when(connectionRequest.get(anyLong(), any(TimeUnit.class))).thenReturn(connection);
+        when(connection.isOpen()).thenReturn(false);
+
+        HttpClientManager.getInstance().warmUpConnections(connectionManager, connectionConfig);
+
+        verify(connectionManager, timeout(5000).times(3)).releaseConnection(any(HttpClientConnection.class),
+                isNull(), anyLong(), any(TimeUnit.class));
+        verify(connectionManager, times(3)).connect(any(HttpClientConnection.class), any(HttpRoute.class),
+                anyInt(), any());
+        verify(connectionManager, times(3)).routeComplete(any(HttpClientConnection.class), any(HttpRoute.class),
+                any());
+    }
+
+    @Test
+    public void testWarmUpConnectionsDisabled() {
+
+        ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                .setWarmUpConnections(0)
+                .build();
+        HttpClientConnectionManager connectionManager = mock(HttpClientConnectionManager.class);
+
+        HttpClientManager.getInstance().warmUpConnections(connectionManager, connectionConfig);
+
+        verify(connectionManager, never()).requestConnection(any(HttpRoute.class), any());
+    }
 }
@@ -76,6 +76,10 @@ public class SiftConnectorConfigTest {
 
         Map<String, String> propertyNameMapping = siftConnectorConfig.getPropertyNameMapping();
         Assert.assertEquals(propertyNameMapping.get(Constants.SIFT_API_KEY_PROP), Constants.SIFT_API_KEY_PROP_NAME);
+        Assert.assertEquals(propertyNameMapping.get(Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP),
+                Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_NAME);
+        Assert.assertEquals(propertyNameMapping.get(Constants.SIFT_RATE_LIMIT_PROP),
+                Constants.SIFT_RATE_LIMIT_PROP_NAME);
     }
 
     @Test
@@ -84,14 +88,20 @@ public class SiftConnectorConfigTest {
         Map<String, String> propertyDescriptionMapping = siftConnectorConfig.getPropertyDescriptionMapping();
         Assert.assertEquals(propertyDescriptionMapping.get(Constants.SIFT_API_KEY_PROP),
                 Constants.SIFT_API_KEY_PROP_DESC);
+        Assert.assertEquals(propertyDescriptionMapping.get(Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP),
+                Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP_DESC);
+        Assert.assertEquals(propertyDescriptionMapping.get(Constants.SIFT_RATE_LIMIT_PROP),
+                Constants.SIFT_RATE_LIMIT_PROP_DESC);
     }
 
     @Test
     public void testGetPropertyNames() {
 
         String[] propertyNames = siftConnectorConfig.getPropertyNames();
-        Assert.assertEquals(propertyNames.length, 1);
+        Assert.assertEquals(propertyNames.length, 3);
         Assert.assertTrue(ArrayUtils.contains(propertyNames, Constants.SIFT_API_KEY_PROP));
+        Assert.assertTrue(ArrayUtils.contains(propertyNames, Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP));
+        Assert.assertTrue(ArrayUtils.contains(propertyNames, Constants.SIFT_RATE_LIMIT_PROP));
     }
 
     @Test
@@ -106,6 +116,8 @@ public class SiftConnectorConfigTest {
 
         Properties defaultPropertyValues = siftConnectorConfig.getDefaultPropertyValues("");
         Assert.assertEquals(defaultPropertyValues.getProperty(Constants.SIFT_API_KEY_PROP), "");
+        Assert.assertEquals(defaultPropertyValues.getProperty(Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP), "");
+        Assert.assertEquals(defaultPropertyValues.getProperty(Constants.SIFT_RATE_LIMIT_PROP), "");
     }
 
     @Test
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer.Fault;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer.LatencyDistribution;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RetryConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Tests the http transport to Sift against an embedded Sift stand-in injecting faults.
+ */
+public class SiftTransportTest {
+
+    private static final String PAYLOAD = "{\"$type\":\"$login\",\"$user_id\":\"user\"}";
+
+    private SiftStandInServer server;
+    private CloseableHttpClient httpClient;
+    private ConnectionConfig connectionConfig;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        server = SiftStandInServer.start();
+        connectionConfig = new ConnectionConfig.Builder()
+                .setBaseUrl(server.getBaseUrl())
+                .setConnectionTimeout(1000)
+                .setReadTimeout(300)
+                .setConnectionRequestTimeout(1000)
+                .build();
+        httpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        HttpClientManager.getInstance().closeHttpClient(httpClient);
+        server.close();
+    }
+
+    @Test
+    public void testScoreAndEventResponses() throws IOException {
+
+        server.withRiskScore(0.85);
+        try (CloseableHttpResponse response = httpClient.execute(
+                createRequest(connectionConfig.getSiftApiUrl() + Constants.RETURN_SCORE_PARAM))) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+            String body = EntityUtils.toString(response.getEntity());
+            Assert.assertTrue(body.contains("\"account_takeover\":{\"score\":0.85"));
+        }
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+            Assert.assertFalse(EntityUtils.toString(response.getEntity()).contains("score_response"));
+        }
+
+        Assert.assertEquals(server.getRequestCount(), 2);
+        Assert.assertEquals(server.getRequests().get(0).getBody(), PAYLOAD);
+        // Both requests are sent on the same pooled connection.
+        Assert.assertEquals(server.getConnectionCount(), 1);
+    }
+
+    @Test
+    public void testStalledReadTimesOut() throws IOException {
+
+        server.enqueueFaults(Fault.STALL);
+
+        long startTime = System.currentTimeMillis();
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            EntityUtils.toString(response.getEntity());
+            Assert.fail("Stalled response should time out.");
+        } catch (SocketTimeoutException e) {
+            Assert.assertTrue(System.currentTimeMillis() - startTime < 2000);
+        }
+    }
+
+    @Test
+    public void testRecoversFromConnectionReset() throws IOException {
+
+        server.enqueueFaults(Fault.RESET);
+
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            Assert.fail("Reset connection should fail the request.");
+        } catch (IOException e) {
+            // Expected.
+        }
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+        }
+        Assert.assertEquals(server.getFaultCount(Fault.RESET), 1);
+    }
+
+    @Test
+    public void testThrottledResponseHonorsRetryAfter() throws IOException {
+
+        server.withThrottleRate(0, 2).enqueueFaults(Fault.THROTTLE, Fault.ERROR);
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig.Builder().setMaxBackoff(5000)
+                .setBudgetPercentage(100).build());
+        try {
+            retryPolicy.onRequest();
+            try (CloseableHttpResponse response = httpClient.execute(
+                    createRequest(connectionConfig.getSiftApiUrl()))) {
+                Assert.assertEquals(response.getStatusLine().getStatusCode(), 429);
+                Assert.assertEquals(retryPolicy.getRetryDelay(0, response), 2000);
+            }
+            retryPolicy.onRequest();
+            try (CloseableHttpResponse response = httpClient.execute(
+                    createRequest(connectionConfig.getSiftApiUrl()))) {
+                Assert.assertEquals(response.getStatusLine().getStatusCode(), 500);
+                Assert.assertNotEquals(retryPolicy.getRetryDelay(0, response), RetryPolicy.NO_RETRY);
+            }
+        } finally {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    public void testInjectedLatency() throws IOException {
+
+        server.withLatency(LatencyDistribution.fixed(100));
+
+        long startTime = System.currentTimeMillis();
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            Assert.assertEquals(response.getStatusLine().getStatusCode(), 200);
+        }
+        Assert.assertTrue(System.currentTimeMillis() - startTime >= 100);
+
+        // Latency beyond the read timeout fails the request.
+        server.withLatency(LatencyDistribution.uniform(500, 600));
+        try (CloseableHttpResponse response = httpClient.execute(createRequest(connectionConfig.getSiftApiUrl()))) {
+            Assert.fail("Slow response should time out.");
+        } catch (SocketTimeoutException e) {
+            // Expected.
+        }
+    }
+
+    private static HttpPost createRequest(String url) {
+
+        HttpPost request = new HttpPost(url);
+        request.setEntity(new StringEntity(PAYLOAD, ContentType.APPLICATION_JSON));
+        return request;
+    }
+}
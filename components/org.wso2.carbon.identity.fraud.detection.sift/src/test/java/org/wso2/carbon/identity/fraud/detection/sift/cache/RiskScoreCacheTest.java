@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ScoreCacheConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for RiskScoreCache.
+ */
+public class RiskScoreCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String KEY = "key";
+
+    @Test
+    public void testCreateKey() {
+
+        String key = RiskScoreCache.createKey(TENANT_DOMAIN, createPayload("user", "session", "1.1.1.1", "agent"));
+
+        Assert.assertEquals(key.length(), 64);
+        Assert.assertEquals(RiskScoreCache.createKey(TENANT_DOMAIN,
+                createPayload("user", "session", "1.1.1.1", "agent")), key);
+        Assert.assertNotEquals(RiskScoreCache.createKey("wso2.com",
+                createPayload("user", "session", "1.1.1.1", "agent")), key);
+        Assert.assertNotEquals(RiskScoreCache.createKey(TENANT_DOMAIN,
+                createPayload("user", "session", "1.1.1.2", "agent")), key);
+        Assert.assertNotEquals(RiskScoreCache.createKey(TENANT_DOMAIN,
+                createPayload("user", "session", "1.1.1.1", "other-agent")), key);
+        // The parts are length prefixed, hence moving characters between them changes the key.
+        Assert.assertNotEquals(RiskScoreCache.createKey(TENANT_DOMAIN,
+                createPayload("users", "ession", "1.1.1.1", "agent")), key);
+
+        JSONObject failedLogin = createPayload("user", "session", "1.1.1.1", "agent");
+        failedLogin.put(Constants.LOGIN_STATUS, Constants.LoginStatus.LOGIN_FAILED.getSiftValue());
+        Assert.assertNotEquals(RiskScoreCache.createKey(TENANT_DOMAIN, failedLogin), key);
+    }
+
+    @Test
+    public void testCreateKeyWithMissingFields() {
+
+        String key = RiskScoreCache.createKey(TENANT_DOMAIN, new JSONObject());
+
+        Assert.assertEquals(key, RiskScoreCache.createKey(TENANT_DOMAIN, new JSONObject()));
+    }
+
+    @Test
+    public void testGetCachedRiskScore() {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(0, 10), null);
+
+        Assert.assertNull(riskScoreCache.get(KEY, null));
+        riskScoreCache.put(KEY, 0.5, 60000);
+
+        Assert.assertEquals(riskScoreCache.get(KEY, null), Double.valueOf(0.5));
+        Assert.assertEquals(riskScoreCache.getHitCount(), 1);
+        Assert.assertEquals(riskScoreCache.getMissCount(), 1);
+        riskScoreCache.shutdown();
+    }
+
+    @Test
+    public void testErrorValueIsNotCached() {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(0, 10), null);
+
+        riskScoreCache.put(KEY, Constants.DEFAULT_ERROR_VALUE, 60000);
+        riskScoreCache.put("other", 0.5, 0);
+
+        Assert.assertEquals(riskScoreCache.size(), 0);
+        riskScoreCache.shutdown();
+    }
+
+    @Test
+    public void testRiskScoreExpires() throws Exception {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(0, 10), null);
+
+        riskScoreCache.put(KEY, 0.5, 50);
+        Thread.sleep(100);
+
+        Assert.assertNull(riskScoreCache.get(KEY, () -> 0.9));
+        Assert.assertEquals(riskScoreCache.getMissCount(), 1);
+        Assert.assertEquals(riskScoreCache.size(), 0);
+        riskScoreCache.shutdown();
+    }
+
+    @Test
+    public void testStaleRiskScoreIsRefreshedOnce() throws Exception {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(60000, 10), null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RiskScoreCache.ScoreLoader loader = () -> {
+            loads.incrementAndGet();
+            refreshStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0.9;
+        };
+
+        riskScoreCache.put(KEY, 0.5, 50);
+        Thread.sleep(100);
+
+        // Stale risk scores are served while a single refresh is in progress.
+        Assert.assertEquals(riskScoreCache.get(KEY, loader), Double.valueOf(0.5));
+        Assert.assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(riskScoreCache.get(KEY, loader), Double.valueOf(0.5));
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (riskScoreCache.get(KEY, loader) != 0.9 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(riskScoreCache.get(KEY, loader), Double.valueOf(0.9));
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertTrue(riskScoreCache.getStaleHitCount() >= 2);
+        riskScoreCache.shutdown();
+    }
+
+    @Test
+    public void testFailedRefreshKeepsStaleRiskScore() throws Exception {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(60000, 10), null);
+        AtomicInteger loads = new AtomicInteger();
+
+        riskScoreCache.put(KEY, 0.5, 50);
+        Thread.sleep(100);
+        Assert.assertEquals(riskScoreCache.get(KEY, () -> {
+            loads.incrementAndGet();
+            return Constants.DEFAULT_ERROR_VALUE;
+        }), Double.valueOf(0.5));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loads.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        Assert.assertEquals(riskScoreCache.get(KEY, null), Double.valueOf(0.5));
+        riskScoreCache.shutdown();
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(createConfig(0, 10), null);
+
+        for (int i = 0; i < 100; i++) {
+            riskScoreCache.put("key-" + i, 0.5, 60000);
+        }
+
+        Assert.assertTrue(riskScoreCache.size() <= 10);
+        Assert.assertTrue(riskScoreCache.getEvictionCount() > 0);
+        Assert.assertEquals(riskScoreCache.get("key-99", null), Double.valueOf(0.5));
+        riskScoreCache.shutdown();
+    }
+
+    private static JSONObject createPayload(String userId, String sessionId, String ip, String userAgent) {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.LOGIN_STATUS, Constants.LoginStatus.LOGIN_SUCCESS.getSiftValue());
+        payload.put(Constants.USER_ID_KEY, userId);
+        payload.put(Constants.SESSION_ID_KEY, sessionId);
+        payload.put(Constants.IP_KEY, ip);
+        JSONObject browserProperties = new JSONObject();
+        browserProperties.put(Constants.USER_AGENT_KEY, userAgent);
+        payload.put(Constants.BROWSER_KEY, browserProperties);
+        return payload;
+    }
+
+    private static ScoreCacheConfig createConfig(int staleWhileRevalidate, int maxEntries) {
+
+        return new ScoreCacheConfig.Builder()
+                .setTimeToLive(60000)
+                .setStaleWhileRevalidate(staleWhileRevalidate)
+                .setMaxEntries(maxEntries)
+                .setRefreshThreads(2)
+                .build();
+    }
+}
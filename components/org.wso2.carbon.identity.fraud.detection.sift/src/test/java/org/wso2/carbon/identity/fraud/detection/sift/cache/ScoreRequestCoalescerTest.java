@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for ScoreRequestCoalescer.
+ */
+public class ScoreRequestCoalescerTest {
+
+    private static final String KEY = "key";
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    @Test
+    public void testCreateKey() {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.USER_ID_KEY, "user");
+        JSONObject samePayload = new JSONObject();
+        samePayload.put(Constants.USER_ID_KEY, "user");
+        JSONObject otherPayload = new JSONObject();
+        otherPayload.put(Constants.USER_ID_KEY, "user");
+        otherPayload.put("custom", "value");
+
+        Assert.assertEquals(ScoreRequestCoalescer.createKey(samePayload), ScoreRequestCoalescer.createKey(payload));
+        Assert.assertNotEquals(ScoreRequestCoalescer.createKey(otherPayload),
+                ScoreRequestCoalescer.createKey(payload));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareSingleLoad() throws Exception {
+
+        ScoreRequestCoalescer scoreRequestCoalescer = new ScoreRequestCoalescer();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
+        try {
+            List<Future<Double>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> scoreRequestCoalescer.execute(KEY, () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return 0.7;
+                })));
+            }
+            waitForCoalescedRequests(scoreRequestCoalescer, CONCURRENT_REQUESTS - 1);
+            release.countDown();
+
+            for (Future<Double> result : results) {
+                Assert.assertEquals(result.get(5, TimeUnit.SECONDS), Double.valueOf(0.7));
+            }
+            Assert.assertEquals(loads.get(), 1);
+            Assert.assertEquals(scoreRequestCoalescer.getInFlightRequestCount(), 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsSharedWithWaitingRequests() throws Exception {
+
+        ScoreRequestCoalescer scoreRequestCoalescer = new ScoreRequestCoalescer();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Double> first = executor.submit(() -> scoreRequestCoalescer.execute(KEY, () -> {
+                awaitQuietly(release);
+                throw new FrameworkException("Error while executing the request.");
+            }));
+            // Waits until the first request is in flight, so that the second request is coalesced with it.
+            long deadline = System.currentTimeMillis() + 5000;
+            while (scoreRequestCoalescer.getInFlightRequestCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Future<Double> second = executor.submit(() -> scoreRequestCoalescer.execute(KEY, () -> 0.1));
+            waitForCoalescedRequests(scoreRequestCoalescer, 1);
+            release.countDown();
+
+            assertFailed(first);
+            assertFailed(second);
+            Assert.assertEquals(scoreRequestCoalescer.getInFlightRequestCount(), 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCompletedRequestIsNotReused() throws FrameworkException {
+
+        ScoreRequestCoalescer scoreRequestCoalescer = new ScoreRequestCoalescer();
+        AtomicInteger loads = new AtomicInteger();
+
+        scoreRequestCoalescer.execute(KEY, () -> loads.incrementAndGet());
+        double riskScore = scoreRequestCoalescer.execute(KEY, () -> loads.incrementAndGet());
+
+        Assert.assertEquals(riskScore, 2.0);
+        Assert.assertEquals(scoreRequestCoalescer.getCoalescedRequestCount(), 0);
+    }
+
+    private static void waitForCoalescedRequests(ScoreRequestCoalescer scoreRequestCoalescer, long count)
+            throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scoreRequestCoalescer.getCoalescedRequestCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(scoreRequestCoalescer.getCoalescedRequestCount(), count);
+    }
+
+    private static void assertFailed(Future<Double> result) throws Exception {
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected the request to fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof FrameworkException);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
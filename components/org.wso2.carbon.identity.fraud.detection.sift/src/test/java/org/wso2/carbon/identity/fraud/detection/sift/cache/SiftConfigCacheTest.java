@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.cache;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConfigCacheConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for SiftConfigCache.
+ */
+public class SiftConfigCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+    private static final String UNCONFIGURED_TENANT_DOMAIN = "unconfigured.com";
+
+    @Test
+    public void testGetCachedConfigs() throws FrameworkException {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), loader);
+
+        Map<String, String> configs = siftConfigCache.getConfigs(TENANT_DOMAIN);
+
+        Assert.assertEquals(configs.get(Constants.SIFT_API_KEY_PROP), "api-key-" + TENANT_DOMAIN);
+        Assert.assertSame(siftConfigCache.getConfigs(TENANT_DOMAIN), configs);
+        Assert.assertEquals(loader.getLoadCount(TENANT_DOMAIN), 1);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testCachedConfigsAreUnmodifiable() throws FrameworkException {
+
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), new CountingLoader());
+
+        siftConfigCache.getConfigs(TENANT_DOMAIN).put(Constants.SIFT_API_KEY_PROP, "modified");
+    }
+
+    @Test
+    public void testConfigsExpire() throws Exception {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(50, 60000, 10), loader);
+
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        Thread.sleep(100);
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+
+        Assert.assertEquals(loader.getLoadCount(TENANT_DOMAIN), 2);
+    }
+
+    @Test
+    public void testNegativeCaching() throws Exception {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 50, 10), loader);
+
+        Assert.assertNull(siftConfigCache.getConfigs(UNCONFIGURED_TENANT_DOMAIN));
+        Assert.assertNull(siftConfigCache.getConfigs(UNCONFIGURED_TENANT_DOMAIN));
+        Assert.assertEquals(loader.getLoadCount(UNCONFIGURED_TENANT_DOMAIN), 1);
+
+        // Tenants without configs are cached for the shorter negative time to live.
+        Thread.sleep(100);
+        Assert.assertNull(siftConfigCache.getConfigs(UNCONFIGURED_TENANT_DOMAIN));
+        Assert.assertEquals(loader.getLoadCount(UNCONFIGURED_TENANT_DOMAIN), 2);
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws FrameworkException {
+
+        AtomicInteger loadCount = new AtomicInteger();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), tenantDomain -> {
+            if (loadCount.incrementAndGet() == 1) {
+                throw new FrameworkException("Error while retrieving sift configurations.");
+            }
+            return new HashMap<>();
+        });
+
+        try {
+            siftConfigCache.getConfigs(TENANT_DOMAIN);
+            Assert.fail("Expected the load failure to be thrown.");
+        } catch (FrameworkException e) {
+            // Expected.
+        }
+        Assert.assertNotNull(siftConfigCache.getConfigs(TENANT_DOMAIN));
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testInvalidate() throws FrameworkException {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), loader);
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(OTHER_TENANT_DOMAIN);
+
+        siftConfigCache.invalidate(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(OTHER_TENANT_DOMAIN);
+
+        Assert.assertEquals(loader.getLoadCount(TENANT_DOMAIN), 2);
+        Assert.assertEquals(loader.getLoadCount(OTHER_TENANT_DOMAIN), 1);
+
+        siftConfigCache.invalidateAll();
+        Assert.assertEquals(siftConfigCache.size(), 0);
+    }
+
+    @Test
+    public void testInvalidateWhileLoading() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), tenantDomain -> {
+            if (loadCount.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    invalidated.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new HashMap<>();
+        });
+
+        Thread loader = new Thread(() -> {
+            try {
+                siftConfigCache.getConfigs(TENANT_DOMAIN);
+            } catch (FrameworkException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        loader.start();
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+        siftConfigCache.invalidate(TENANT_DOMAIN);
+        invalidated.countDown();
+        loader.join(5000);
+
+        // The configs loaded before the invalidation must not be served from the cache.
+        Assert.assertEquals(siftConfigCache.size(), 0);
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        Assert.assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testMaxEntries() throws FrameworkException {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 2), loader);
+
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(OTHER_TENANT_DOMAIN);
+        siftConfigCache.getConfigs(UNCONFIGURED_TENANT_DOMAIN);
+
+        Assert.assertTrue(siftConfigCache.size() <= 2);
+    }
+
+    @Test
+    public void testCachingDisabledWithZeroTimeToLive() throws FrameworkException {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(0, 0, 10), loader);
+
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+
+        Assert.assertEquals(loader.getLoadCount(TENANT_DOMAIN), 2);
+        Assert.assertEquals(siftConfigCache.size(), 0);
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+
+        CountingLoader loader = new CountingLoader();
+        SiftConfigCache siftConfigCache = new SiftConfigCache(createConfig(60000, 60000, 10), loader);
+
+        siftConfigCache.warmUp(TENANT_DOMAIN + ", " + OTHER_TENANT_DOMAIN + ",");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (siftConfigCache.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        siftConfigCache.getConfigs(TENANT_DOMAIN);
+        siftConfigCache.getConfigs(OTHER_TENANT_DOMAIN);
+
+        Assert.assertEquals(loader.getLoadCount(TENANT_DOMAIN), 1);
+        Assert.assertEquals(loader.getLoadCount(OTHER_TENANT_DOMAIN), 1);
+    }
+
+    private static ConfigCacheConfig createConfig(int timeToLive, int negativeTimeToLive, int maxEntries) {
+
+        return new ConfigCacheConfig.Builder()
+                .setTimeToLive(timeToLive)
+                .setNegativeTimeToLive(negativeTimeToLive)
+                .setMaxEntries(maxEntries)
+                .build();
+    }
+
+    /**
+     * Config loader counting the loads of each tenant. Only the unconfigured tenant has no configs.
+     */
+    private static class CountingLoader implements SiftConfigCache.ConfigLoader {
+
+        private final Map<String, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
+
+        @Override
+        public Map<String, String> load(String tenantDomain) {
+
+            loadCounts.computeIfAbsent(tenantDomain, key -> new AtomicInteger()).incrementAndGet();
+            if (UNCONFIGURED_TENANT_DOMAIN.equals(tenantDomain)) {
+                return null;
+            }
+            Map<String, String> configs = new HashMap<>();
+            configs.put(Constants.SIFT_API_KEY_PROP, "api-key-" + tenantDomain);
+            return configs;
+        }
+
+        int getLoadCount(String tenantDomain) {
+
+            AtomicInteger loadCount = loadCounts.get(tenantDomain);
+            return loadCount != null ? loadCount.get() : 0;
+        }
+    }
+}
@@ -35,21 +35,42 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.HttpClientManager;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.RiskScoreCache;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer.Fault;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.iprange.IpRangeRegistry;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FallbackConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.IpRangeConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ScoreCacheConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.Bulkhead;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
 import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -84,7 +105,7 @@ public class CallSiftOnLoginFunctionImplTest {
         when(Util.isLoggingEnabled(any())).thenReturn(true);
         payload = new JSONObject();
         payload.put(Constants.API_KEY, "testApiKey");
-        when(Util.buildPayload(any(), anyString(), anyMap())).thenReturn(new JSONObject());
+        when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(new JSONObject());
     }
 
     @BeforeMethod
@@ -207,4 +228,251 @@ public class CallSiftOnLoginFunctionImplTest {
 
         assertEquals(riskScore, Constants.DEFAULT_ERROR_VALUE);
     }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginCircuitBreakerOpen() throws Exception {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(new CircuitBreakerConfig.Builder()
+                .setEnabled(true)
+                .setMinimumNumberOfCalls(1)
+                .setWaitDurationInOpenState(60000)
+                .build());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onResult(true, 0);
+        SiftDataHolder.getInstance().setCircuitBreaker(circuitBreaker);
+        reset(httpClient);
+
+        try {
+            double riskScore = callSiftOnLoginFunction.getSiftRiskScoreForLogin(
+                    mock(JsAuthenticationContext.class), "LOGIN_SUCCESS", new ArrayList<>(),
+                    new HashMap<String, Object>());
+
+            assertEquals(riskScore, Constants.DEFAULT_ERROR_VALUE);
+            verify(httpClient, never()).execute(any(HttpPost.class));
+        } finally {
+            SiftDataHolder.getInstance().setCircuitBreaker(null);
+        }
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginBulkheadFull() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("risk score", 1, 0);
+        bulkhead.tryAcquire();
+        CloseableHttpClient bulkheadHttpClient = mock(CloseableHttpClient.class);
+
+        double riskScore = new CallSiftOnLoginFunctionImpl(bulkheadHttpClient, bulkhead).getSiftRiskScoreForLogin(
+                mock(JsAuthenticationContext.class), "LOGIN_SUCCESS", new ArrayList<>(),
+                new HashMap<String, Object>());
+
+        assertEquals(riskScore, Constants.DEFAULT_ERROR_VALUE);
+        assertEquals(bulkhead.getRejectedRequestCount(), 1);
+        verify(bulkheadHttpClient, never()).execute(any(HttpPost.class));
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginWithSiftStandIn() throws Exception {
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.withRiskScore(0.42);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+            CallSiftOnLoginFunctionImpl function = new CallSiftOnLoginFunctionImpl(standInHttpClient, null,
+                    connectionConfig.getSiftApiUrl());
+
+            try {
+                assertEquals(function.getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class),
+                        "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>()), 0.42);
+                assertTrue(server.getRequests().get(0).getPath().contains(Constants.RETURN_SCORE_PARAM.substring(1)));
+
+                // Throttled and failed responses fall back to the default error value.
+                server.enqueueFaults(Fault.THROTTLE, Fault.ERROR);
+                assertEquals(function.getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class),
+                        "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>()),
+                        Constants.DEFAULT_ERROR_VALUE);
+                assertEquals(function.getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class),
+                        "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>()),
+                        Constants.DEFAULT_ERROR_VALUE);
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginReusesConnectionAfterErrorResponse() throws Exception {
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.withRiskScore(0.42).enqueueFaults(Fault.ERROR);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+            CallSiftOnLoginFunctionImpl function = new CallSiftOnLoginFunctionImpl(standInHttpClient, null,
+                    connectionConfig.getSiftApiUrl());
+
+            try {
+                assertEquals(function.getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class),
+                        "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>()),
+                        Constants.DEFAULT_ERROR_VALUE);
+                assertEquals(function.getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class),
+                        "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>()), 0.42);
+
+                // The error response is consumed, hence its connection is released to the pool and reused.
+                assertEquals(server.getRequestCount(), 2);
+                assertEquals(server.getConnectionCount(), 1);
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginFromCache() throws Exception {
+
+        RiskScoreCache riskScoreCache = new RiskScoreCache(new ScoreCacheConfig.Builder()
+                .setTimeToLive(60000)
+                .setStaleWhileRevalidate(0)
+                .setMaxEntries(10)
+                .build(), null);
+        SiftDataHolder.getInstance().setRiskScoreCache(riskScoreCache);
+        when(Util.getRiskScoreCacheTimeToLive(anyMap(), anyString(), anyLong())).thenReturn(60000L);
+        JsAuthenticationContext context = mock(JsAuthenticationContext.class);
+        AuthenticationContext wrappedContext = mock(AuthenticationContext.class);
+        when(context.getWrapped()).thenReturn(wrappedContext);
+        when(wrappedContext.getTenantDomain()).thenReturn("carbon.super");
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.withRiskScore(0.42);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+            CallSiftOnLoginFunctionImpl function = new CallSiftOnLoginFunctionImpl(standInHttpClient, null,
+                    connectionConfig.getSiftApiUrl());
+
+            try {
+                assertEquals(function.getSiftRiskScoreForLogin(context, "LOGIN_SUCCESS", new ArrayList<>(),
+                        new HashMap<String, Object>()), 0.42);
+                assertEquals(function.getSiftRiskScoreForLogin(context, "LOGIN_SUCCESS", new ArrayList<>(),
+                        new HashMap<String, Object>()), 0.42);
+
+                // The repeated evaluation is served from the cache without a request to Sift.
+                assertEquals(server.getRequests().size(), 1);
+                assertEquals(riskScoreCache.getHitCount(), 1);
+                assertEquals(riskScoreCache.getMissCount(), 1);
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+            }
+        } finally {
+            SiftDataHolder.getInstance().setRiskScoreCache(null);
+            riskScoreCache.shutdown();
+        }
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginFromIpRange() throws Exception {
+
+        Path directory = Files.createTempDirectory("sift-ip-ranges");
+        Path ipRangeFile = Files.write(directory.resolve("carbon.super" + Constants.IP_RANGE_FILE_EXTENSION),
+                "203.0.113.0/24 deny\n".getBytes(StandardCharsets.UTF_8));
+        IpRangeRegistry ipRangeRegistry = new IpRangeRegistry(new IpRangeConfig.Builder()
+                .setDirectory(directory.toString())
+                .setReloadInterval(0)
+                .build());
+        ipRangeRegistry.start();
+        SiftDataHolder.getInstance().setIpRangeRegistry(ipRangeRegistry);
+        JSONObject ipPayload = new JSONObject();
+        ipPayload.put(Constants.IP_KEY, "203.0.113.7");
+        when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(ipPayload);
+        JsAuthenticationContext context = mock(JsAuthenticationContext.class);
+        AuthenticationContext wrappedContext = mock(AuthenticationContext.class);
+        when(context.getWrapped()).thenReturn(wrappedContext);
+        when(wrappedContext.getTenantDomain()).thenReturn("carbon.super");
+        CloseableHttpClient ipRangeHttpClient = mock(CloseableHttpClient.class);
+
+        try {
+            double riskScore = new CallSiftOnLoginFunctionImpl(ipRangeHttpClient).getSiftRiskScoreForLogin(context,
+                    "LOGIN_SUCCESS", new ArrayList<>(), new HashMap<String, Object>());
+
+            assertEquals(riskScore, Constants.IP_RANGE_DENY_SCORE);
+            verify(ipRangeHttpClient, never()).execute(any(HttpPost.class));
+        } finally {
+            when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(new JSONObject());
+            SiftDataHolder.getInstance().setIpRangeRegistry(null);
+            ipRangeRegistry.stop();
+            Files.delete(ipRangeFile);
+            Files.delete(directory);
+        }
+    }
+
+    @Test(expectedExceptions = FrameworkException.class)
+    public void testGetSiftRiskScoreForLoginStalledRead() throws Exception {
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.enqueueFaults(Fault.STALL);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+
+            try {
+                new CallSiftOnLoginFunctionImpl(standInHttpClient, null, connectionConfig.getSiftApiUrl())
+                        .getSiftRiskScoreForLogin(mock(JsAuthenticationContext.class), "LOGIN_SUCCESS",
+                                new ArrayList<>(), new HashMap<String, Object>());
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+            }
+        }
+    }
+
+    @Test
+    public void testGetSiftRiskScoreForLoginFallbackOnStalledRead() throws Exception {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(new FallbackConfig.Builder()
+                .setUserIpFailureThreshold(2)
+                .build());
+        SiftDataHolder.getInstance().setFallbackRiskScorer(fallbackRiskScorer);
+        JSONObject failedLogin = new JSONObject();
+        failedLogin.put(Constants.LOGIN_STATUS, Constants.LoginStatus.LOGIN_FAILED.getSiftValue());
+        failedLogin.put(Constants.USER_ID_KEY, "user");
+        failedLogin.put(Constants.IP_KEY, "203.0.113.7");
+        fallbackRiskScorer.recordLogin("carbon.super", failedLogin);
+        JSONObject loginPayload = new JSONObject();
+        loginPayload.put(Constants.USER_ID_KEY, "user");
+        loginPayload.put(Constants.IP_KEY, "203.0.113.7");
+        when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(loginPayload);
+        JsAuthenticationContext context = mock(JsAuthenticationContext.class);
+        AuthenticationContext wrappedContext = mock(AuthenticationContext.class);
+        when(context.getWrapped()).thenReturn(wrappedContext);
+        when(wrappedContext.getTenantDomain()).thenReturn("carbon.super");
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.enqueueFaults(Fault.STALL);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+
+            try {
+                double riskScore = new CallSiftOnLoginFunctionImpl(standInHttpClient, null,
+                        connectionConfig.getSiftApiUrl()).getSiftRiskScoreForLogin(context, "LOGIN_SUCCESS",
+                        new ArrayList<>(), new HashMap<String, Object>());
+
+                assertEquals(riskScore, 0.5);
+                verify(wrappedContext).setProperty(Constants.LOCAL_RISK_SCORE_PROPERTY, true);
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+                when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(new JSONObject());
+                SiftDataHolder.getInstance().setFallbackRiskScorer(null);
+            }
+        }
+    }
 }
@@ -36,6 +36,15 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.application.authentication.framework.config.model.graph.js.JsAuthenticationContext;
 import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.HttpClientManager;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer.Fault;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.PublisherConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RetryConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.publisher.AsyncEventPublisher;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.RetryPolicy;
 import org.wso2.carbon.identity.fraud.detection.sift.util.Util;
 
 import java.io.ByteArrayInputStream;
@@ -50,6 +59,9 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -80,7 +92,7 @@ public class PublishLoginToSiftFunctionImplTest {
         utilMockedStatic = mockStatic(Util.class);
         when(Util.getPassedCustomParams(any())).thenReturn(new HashMap<>());
         when(Util.isLoggingEnabled(any())).thenReturn(true);
-        when(Util.buildPayload(any(), anyString(), anyMap())).thenReturn(new JSONObject());
+        when(Util.buildPayload(any(), anyString(), anyMap(), anyMap())).thenReturn(new JSONObject());
     }
 
     @BeforeMethod
@@ -150,4 +162,102 @@ public class PublishLoginToSiftFunctionImplTest {
                 " to Sift. HTTP Status code: 500"));
 
     }
+
+    @Test()
+    public void testPublishLoginEventToSiftReusesConnectionAfterErrorResponse() throws Exception {
+
+        try (SiftStandInServer server = SiftStandInServer.start()) {
+            server.enqueueFaults(Fault.ERROR);
+            ConnectionConfig connectionConfig = new ConnectionConfig.Builder()
+                    .setBaseUrl(server.getBaseUrl())
+                    .setReadTimeout(300)
+                    .build();
+            CloseableHttpClient standInHttpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+            PublishLoginToSiftFunctionImpl function = new PublishLoginToSiftFunctionImpl(standInHttpClient, null,
+                    null, connectionConfig.getSiftApiUrl());
+
+            try {
+                function.publishLoginEventToSift(mock(JsAuthenticationContext.class), "LOGIN_SUCCESS",
+                        new ArrayList<>(), new HashMap<String, Object>());
+                function.publishLoginEventToSift(mock(JsAuthenticationContext.class), "LOGIN_SUCCESS",
+                        new ArrayList<>(), new HashMap<String, Object>());
+
+                // The error response is consumed, hence its connection is released to the pool and reused.
+                Assert.assertEquals(server.getRequestCount(), 2);
+                Assert.assertEquals(server.getConnectionCount(), 1);
+                Assert.assertTrue(logOutput.toString().contains("Successfully published login event information " +
+                        "to Sift."));
+            } finally {
+                HttpClientManager.getInstance().closeHttpClient(standInHttpClient);
+            }
+        }
+    }
+
+    @Test()
+    public void testPublishLoginEventToSiftAsync() throws Exception {
+
+        when(httpClient.execute(any(HttpPost.class))).thenReturn(httpResponse);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(httpResponse.getStatusLine().getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream("{\"status\":0}".getBytes(StandardCharsets.UTF_8)));
+
+        AsyncEventPublisher eventPublisher = new AsyncEventPublisher(new PublisherConfig.Builder()
+                .setAsyncEnabled(true)
+                .setWorkerCount(1)
+                .setQueueSize(10)
+                .setDrainTimeout(5000)
+                .build());
+        PublishLoginToSiftFunctionImpl asyncPublishFunction =
+                new PublishLoginToSiftFunctionImpl(httpClient, eventPublisher);
+
+        asyncPublishFunction.publishLoginEventToSift(
+                mock(JsAuthenticationContext.class), "LOGIN_SUCCESS", new ArrayList<>(),
+                new HashMap<String, Object>());
+        // Shutting down the publisher drains the queued login events.
+        eventPublisher.shutdown();
+
+        Assert.assertTrue(logOutput.toString().contains("Successfully published login event information to Sift."));
+    }
+
+    @Test()
+    public void testPublishLoginEventToSiftRetry() throws Exception {
+
+        CloseableHttpClient retryHttpClient = mock(CloseableHttpClient.class);
+        CloseableHttpResponse errorResponse = mock(CloseableHttpResponse.class);
+        StatusLine errorStatusLine = mock(StatusLine.class);
+        when(errorResponse.getStatusLine()).thenReturn(errorStatusLine);
+        when(errorStatusLine.getStatusCode()).thenReturn(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        when(retryHttpClient.execute(any(HttpPost.class))).thenReturn(errorResponse).thenReturn(httpResponse);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(httpResponse.getStatusLine()).thenReturn(statusLine);
+        when(httpResponse.getStatusLine().getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(httpEntity.getContent())
+                .thenReturn(new ByteArrayInputStream("{\"status\":0}".getBytes(StandardCharsets.UTF_8)));
+
+        RetryPolicy retryPolicy = new RetryPolicy(new RetryConfig.Builder()
+                .setEnabled(true)
+                .setMaxAttempts(3)
+                .setInitialBackoff(10)
+                .setMaxBackoff(1000)
+                .setBudgetPercentage(100)
+                .setSchedulerThreads(1)
+                .build());
+        SiftDataHolder.getInstance().setRetryPolicy(retryPolicy);
+        try {
+            new PublishLoginToSiftFunctionImpl(retryHttpClient).publishLoginEventToSift(
+                    mock(JsAuthenticationContext.class), "LOGIN_SUCCESS", new ArrayList<>(),
+                    new HashMap<String, Object>());
+
+            // The retry is run on the retry scheduler, not on the calling thread.
+            verify(retryHttpClient, timeout(5000).times(2)).execute(any(HttpPost.class));
+            Assert.assertEquals(retryPolicy.getRetryCount(), 1);
+        } finally {
+            SiftDataHolder.getInstance().setRetryPolicy(null);
+            retryPolicy.shutdown();
+        }
+    }
 }
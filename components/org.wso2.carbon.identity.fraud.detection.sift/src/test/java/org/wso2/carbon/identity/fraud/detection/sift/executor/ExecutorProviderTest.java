@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.executor;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ExecutorConfig;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for ExecutorProvider.
+ */
+public class ExecutorProviderTest {
+
+    @Test
+    public void testPlatformThreads() throws Exception {
+
+        ExecutorProvider executorProvider = new ExecutorProvider(getExecutorConfig(Constants.ExecutorMode.PLATFORM));
+
+        Assert.assertFalse(executorProvider.isVirtualThreadsEnabled());
+        Thread thread = executorProvider.getThreadFactory("sift-test-").newThread(() -> { });
+        Assert.assertTrue(thread.isDaemon());
+        Assert.assertEquals(thread.getName(), "sift-test-1");
+        assertRunsTasks(executorProvider.newTaskExecutor("sift-test-"), "sift-test-");
+    }
+
+    @Test
+    public void testVirtualThreadsWithFallback() throws Exception {
+
+        ExecutorProvider executorProvider = new ExecutorProvider(getExecutorConfig(Constants.ExecutorMode.VIRTUAL));
+
+        // Virtual threads are used only on the runtimes supporting them.
+        Assert.assertEquals(executorProvider.isVirtualThreadsEnabled(), isVirtualThreadsSupported());
+        assertRunsTasks(executorProvider.newTaskExecutor("sift-test-"), "sift-test-");
+    }
+
+    private static void assertRunsTasks(ExecutorService executor, String namePrefix) throws Exception {
+
+        try {
+            Future<String> threadName = executor.submit(() -> Thread.currentThread().getName());
+            Assert.assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith(namePrefix));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean isVirtualThreadsSupported() {
+
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorConfig getExecutorConfig(Constants.ExecutorMode executorMode) {
+
+        return new ExecutorConfig.Builder()
+                .setExecutorMode(executorMode)
+                .setMaxPlatformThreads(4)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.fallback;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FallbackConfig;
+
+/**
+ * Test class for FallbackRiskScorer.
+ */
+public class FallbackRiskScorerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String USER_ID = "user";
+    private static final String IP = "192.168.1.1";
+
+    @Test
+    public void testSuccessfulLoginsAreNotCounted() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+
+        for (int i = 0; i < 5; i++) {
+            fallbackRiskScorer.recordLogin(TENANT_DOMAIN, createPayload(Constants.LoginStatus.LOGIN_SUCCESS, USER_ID,
+                    IP));
+        }
+
+        Assert.assertEquals(fallbackRiskScorer.getRiskScore(TENANT_DOMAIN, createPayload(
+                Constants.LoginStatus.LOGIN_SUCCESS, USER_ID, IP)), 0.0);
+    }
+
+    @Test
+    public void testUserIpFailures() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+
+        recordFailedLogin(fallbackRiskScorer, USER_ID, IP);
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, IP), 0.5);
+
+        recordFailedLogin(fallbackRiskScorer, USER_ID, IP);
+        recordFailedLogin(fallbackRiskScorer, USER_ID, IP);
+        // The risk score is capped at 1.
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, IP), 1.0);
+    }
+
+    @Test
+    public void testUserFailures() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+
+        recordFailedLogin(fallbackRiskScorer, USER_ID, "10.0.0.1");
+        recordFailedLogin(fallbackRiskScorer, USER_ID, "10.0.0.2");
+        recordFailedLogin(fallbackRiskScorer, USER_ID, "10.0.0.3");
+
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, IP), 0.75);
+    }
+
+    @Test
+    public void testIpFailures() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+
+        for (int i = 0; i < 5; i++) {
+            recordFailedLogin(fallbackRiskScorer, "user" + i, IP);
+        }
+
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, IP), 0.5);
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, "10.0.0.1"), 0.0);
+    }
+
+    @Test
+    public void testTenantsAreIsolated() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+
+        recordFailedLogin(fallbackRiskScorer, USER_ID, IP);
+
+        Assert.assertEquals(fallbackRiskScorer.getRiskScore("wso2.com", createPayload(
+                Constants.LoginStatus.LOGIN_SUCCESS, USER_ID, IP)), 0.0);
+    }
+
+    @Test
+    public void testDisabledThreshold() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 0));
+
+        recordFailedLogin(fallbackRiskScorer, USER_ID, IP);
+
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, IP), 0.25);
+    }
+
+    @Test
+    public void testMissingUserAndIp() {
+
+        FallbackRiskScorer fallbackRiskScorer = new FallbackRiskScorer(createConfig(4, 10, 2));
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.LOGIN_STATUS, Constants.LoginStatus.LOGIN_FAILED.getSiftValue());
+
+        fallbackRiskScorer.recordLogin(TENANT_DOMAIN, payload);
+        recordFailedLogin(fallbackRiskScorer, USER_ID, null);
+
+        Assert.assertEquals(fallbackRiskScorer.getRiskScore(TENANT_DOMAIN, payload), 0.0);
+        Assert.assertEquals(getRiskScore(fallbackRiskScorer, USER_ID, null), 0.25);
+    }
+
+    private static void recordFailedLogin(FallbackRiskScorer fallbackRiskScorer, String userId, String ip) {
+
+        fallbackRiskScorer.recordLogin(TENANT_DOMAIN, createPayload(Constants.LoginStatus.LOGIN_FAILED, userId, ip));
+    }
+
+    private static double getRiskScore(FallbackRiskScorer fallbackRiskScorer, String userId, String ip) {
+
+        return fallbackRiskScorer.getRiskScore(TENANT_DOMAIN, createPayload(Constants.LoginStatus.LOGIN_SUCCESS,
+                userId, ip));
+    }
+
+    private static JSONObject createPayload(Constants.LoginStatus loginStatus, String userId, String ip) {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.LOGIN_STATUS, loginStatus.getSiftValue());
+        payload.put(Constants.USER_ID_KEY, userId);
+        if (ip != null) {
+            payload.put(Constants.IP_KEY, ip);
+        }
+        return payload;
+    }
+
+    private static FallbackConfig createConfig(int userFailureThreshold, int ipFailureThreshold,
+                                               int userIpFailureThreshold) {
+
+        return new FallbackConfig.Builder()
+                .setWindow(60000)
+                .setSketchWidth(1024)
+                .setUserFailureThreshold(userFailureThreshold)
+                .setIpFailureThreshold(ipFailureThreshold)
+                .setUserIpFailureThreshold(userIpFailureThreshold)
+                .build();
+    }
+}
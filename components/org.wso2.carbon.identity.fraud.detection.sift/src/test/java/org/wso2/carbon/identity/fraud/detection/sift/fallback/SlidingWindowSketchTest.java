@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.fallback;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test class for SlidingWindowSketch.
+ */
+public class SlidingWindowSketchTest {
+
+    // Window of 1 second split into 10 slices of 100 ms.
+    private static final long WINDOW = 1000;
+    private static final long SLICE_NANOS = 100000000L;
+
+    @Test
+    public void testWidthIsRoundedUpToPowerOfTwo() {
+
+        Assert.assertEquals(new SlidingWindowSketch(WINDOW, 10, 1000).getWidth(), 1024);
+        Assert.assertEquals(new SlidingWindowSketch(WINDOW, 10, 1024).getWidth(), 1024);
+        Assert.assertEquals(new SlidingWindowSketch(WINDOW, 10, 0).getWidth(), 2);
+    }
+
+    @Test
+    public void testEstimate() {
+
+        SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 10, 1024);
+
+        for (int i = 0; i < 3; i++) {
+            sketch.increment(1L, 0);
+        }
+        sketch.increment(2L, 0);
+
+        Assert.assertEquals(sketch.estimate(1L, 0), 3);
+        Assert.assertEquals(sketch.estimate(2L, 0), 1);
+        Assert.assertEquals(sketch.estimate(3L, 0), 0);
+    }
+
+    @Test
+    public void testWindowSlides() {
+
+        SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 10, 1024);
+
+        sketch.increment(1L, 0);
+        sketch.increment(1L, 5 * SLICE_NANOS);
+
+        Assert.assertEquals(sketch.estimate(1L, 10 * SLICE_NANOS - 1), 2);
+        // The first slice leaves the window.
+        Assert.assertEquals(sketch.estimate(1L, 10 * SLICE_NANOS), 1);
+        Assert.assertEquals(sketch.estimate(1L, 15 * SLICE_NANOS), 0);
+    }
+
+    @Test
+    public void testExpiredSliceIsCleared() {
+
+        SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 10, 1024);
+
+        sketch.increment(1L, 0);
+        sketch.increment(1L, 0);
+        // Reuses the slice of the first increments, one window later.
+        sketch.increment(1L, 10 * SLICE_NANOS);
+
+        Assert.assertEquals(sketch.estimate(1L, 10 * SLICE_NANOS), 1);
+    }
+
+    @Test
+    public void testNegativeTime() {
+
+        SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 10, 1024);
+
+        sketch.increment(1L, -SLICE_NANOS);
+        sketch.increment(1L, 0);
+
+        Assert.assertEquals(sketch.estimate(1L, 0), 2);
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws Exception {
+
+        SlidingWindowSketch sketch = new SlidingWindowSketch(WINDOW, 10, 1024);
+        int threadCount = 4;
+        int increments = 10000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < increments; j++) {
+                    sketch.increment(1L, 0);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(sketch.estimate(1L, 0), threadCount * increments);
+    }
+}
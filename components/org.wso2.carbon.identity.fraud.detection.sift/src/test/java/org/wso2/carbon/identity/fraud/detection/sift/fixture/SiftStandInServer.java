@@ -0,0 +1,583 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.fixture;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Embedded stand-in for the Sift events API, used to run the real transport code against real sockets. It serves
+ * the /v205/events endpoint, including the return_score responses, and injects faults: latency drawn from a
+ * configurable distribution, error statuses, 429 responses with a Retry-After header, connection resets and stalled
+ * reads. Faults are either drawn at the configured rates or scripted with {@link #enqueueFaults(Fault...)}.
+ *
+ * <p>The server speaks plain HTTP/1.1 over a raw server socket, so that resets and partial responses can be injected
+ * at the socket level.</p>
+ */
+public class SiftStandInServer implements Closeable {
+
+    private static final String EVENTS_PATH = "/v205/events";
+    private static final String RETURN_SCORE_QUERY = "return_score=true";
+    private static final String CRLF = "\r\n";
+    private static final int MAX_HEADER_LINE_LENGTH = 8192;
+
+    /**
+     * Fault injected in a response.
+     */
+    public enum Fault {
+        NONE,
+        ERROR,
+        THROTTLE,
+        RESET,
+        STALL
+    }
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final Queue<Fault> scriptedFaults = new ConcurrentLinkedQueue<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Map<Fault, AtomicLong> faultCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Random random;
+
+    private volatile LatencyDistribution latency = LatencyDistribution.fixed(0);
+    private volatile double errorRate;
+    private volatile int errorStatus = 500;
+    private volatile double throttleRate;
+    private volatile int retryAfterSeconds = 1;
+    private volatile double resetRate;
+    private volatile double stallRate;
+    private volatile long stallDuration = 30000;
+    private volatile double riskScore = 0.5;
+    private volatile int siftStatus;
+
+    private SiftStandInServer(long seed) throws IOException {
+
+        this.random = new Random(seed);
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sift-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Fault fault : Fault.values()) {
+            faultCounts.put(fault, new AtomicLong());
+        }
+        executor.execute(this::accept);
+    }
+
+    /**
+     * Start a stand-in server on an ephemeral loopback port.
+     *
+     * @return Started server.
+     * @throws IOException If the server socket cannot be bound.
+     */
+    public static SiftStandInServer start() throws IOException {
+
+        return start(0L);
+    }
+
+    /**
+     * Start a stand-in server drawing the faults and latencies with the given seed, so that runs are reproducible.
+     *
+     * @param seed Random seed.
+     * @return Started server.
+     * @throws IOException If the server socket cannot be bound.
+     */
+    public static SiftStandInServer start(long seed) throws IOException {
+
+        return new SiftStandInServer(seed);
+    }
+
+    /**
+     * Get the base URL of the server, to be configured as the Sift base URL.
+     *
+     * @return Base URL.
+     */
+    public String getBaseUrl() {
+
+        return "http://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    public SiftStandInServer withLatency(LatencyDistribution latency) {
+
+        this.latency = latency;
+        return this;
+    }
+
+    public SiftStandInServer withErrorRate(double errorRate, int errorStatus) {
+
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        return this;
+    }
+
+    public SiftStandInServer withThrottleRate(double throttleRate, int retryAfterSeconds) {
+
+        this.throttleRate = throttleRate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    public SiftStandInServer withResetRate(double resetRate) {
+
+        this.resetRate = resetRate;
+        return this;
+    }
+
+    public SiftStandInServer withStallRate(double stallRate, long stallDuration) {
+
+        this.stallRate = stallRate;
+        this.stallDuration = stallDuration;
+        return this;
+    }
+
+    public SiftStandInServer withRiskScore(double riskScore) {
+
+        this.riskScore = riskScore;
+        return this;
+    }
+
+    public SiftStandInServer withSiftStatus(int siftStatus) {
+
+        this.siftStatus = siftStatus;
+        return this;
+    }
+
+    /**
+     * Inject the given faults in the next responses, in order, before falling back to the configured rates.
+     *
+     * @param faults Faults of the next responses.
+     * @return This server.
+     */
+    public SiftStandInServer enqueueFaults(Fault... faults) {
+
+        Collections.addAll(scriptedFaults, faults);
+        return this;
+    }
+
+    public int getRequestCount() {
+
+        return requests.size();
+    }
+
+    public List<RecordedRequest> getRequests() {
+
+        return Collections.unmodifiableList(requests);
+    }
+
+    public long getFaultCount(Fault fault) {
+
+        return faultCounts.get(fault).get();
+    }
+
+    public int getConnectionCount() {
+
+        return connectionCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        serverSocket.close();
+        for (Socket socket : sockets) {
+            closeQuietly(socket);
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void accept() {
+
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                sockets.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                // Server socket closed.
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+
+        try {
+            InputStream inputStream = new BufferedInputStream(socket.getInputStream());
+            OutputStream outputStream = socket.getOutputStream();
+            while (!socket.isClosed()) {
+                RecordedRequest request = readRequest(inputStream);
+                if (request == null) {
+                    return;
+                }
+                requests.add(request);
+                if (!respond(socket, outputStream, request)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Connection closed by the client or by a fault.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private boolean respond(Socket socket, OutputStream outputStream, RecordedRequest request)
+            throws IOException, InterruptedException {
+
+        Fault fault = nextFault();
+        faultCounts.get(fault).incrementAndGet();
+        long delay = latency.nextLatency(random);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+
+        if (!request.getPath().startsWith(EVENTS_PATH)) {
+            writeResponse(outputStream, 404, "Not Found", null, "{\"status\":-1,\"error_message\":\"Not Found\"}");
+            return true;
+        }
+        switch (fault) {
+            case RESET:
+                // A zero linger time makes the close send a RST instead of a FIN.
+                socket.setSoLinger(true, 0);
+                socket.close();
+                return false;
+            case STALL:
+                byte[] body = getEventResponse(request).getBytes(StandardCharsets.UTF_8);
+                String headers = "HTTP/1.1 200 OK" + CRLF + "Content-Type: application/json" + CRLF +
+                        "Content-Length: " + body.length + CRLF + CRLF;
+                outputStream.write(headers.getBytes(StandardCharsets.US_ASCII));
+                outputStream.write(body, 0, body.length / 2);
+                outputStream.flush();
+                Thread.sleep(stallDuration);
+                return false;
+            case ERROR:
+                writeResponse(outputStream, errorStatus, "Error", null,
+                        "{\"status\":-1,\"error_message\":\"Internal server error\"}");
+                return true;
+            case THROTTLE:
+                writeResponse(outputStream, 429, "Too Many Requests", "Retry-After: " + retryAfterSeconds,
+                        "{\"status\":60,\"error_message\":\"Rate limit exceeded\"}");
+                return true;
+            default:
+                writeResponse(outputStream, 200, "OK", null, getEventResponse(request));
+                return !request.isConnectionClose();
+        }
+    }
+
+    private Fault nextFault() {
+
+        Fault scriptedFault = scriptedFaults.poll();
+        if (scriptedFault != null) {
+            return scriptedFault;
+        }
+        double value;
+        synchronized (random) {
+            value = random.nextDouble();
+        }
+        if ((value -= errorRate) < 0) {
+            return Fault.ERROR;
+        }
+        if ((value -= throttleRate) < 0) {
+            return Fault.THROTTLE;
+        }
+        if ((value -= resetRate) < 0) {
+            return Fault.RESET;
+        }
+        if (value - stallRate < 0) {
+            return Fault.STALL;
+        }
+        return Fault.NONE;
+    }
+
+    private String getEventResponse(RecordedRequest request) {
+
+        String response = "{\"status\":" + siftStatus + ",\"error_message\":\"OK\",\"time\":" +
+                TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + ",\"request\":\"\"";
+        if (request.getPath().contains(RETURN_SCORE_QUERY)) {
+            response += String.format(Locale.ROOT, ",\"score_response\":{\"status\":%d,\"error_message\":\"OK\"," +
+                    "\"scores\":{\"account_takeover\":{\"score\":%s,\"reasons\":[]}}}", siftStatus,
+                    Double.toString(riskScore));
+        }
+        return response + "}";
+    }
+
+    private static void writeResponse(OutputStream outputStream, int status, String reason, String header,
+                                      String body) throws IOException {
+
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        StringBuilder response = new StringBuilder()
+                .append("HTTP/1.1 ").append(status).append(' ').append(reason).append(CRLF)
+                .append("Content-Type: application/json").append(CRLF)
+                .append("Content-Length: ").append(content.length).append(CRLF);
+        if (header != null) {
+            response.append(header).append(CRLF);
+        }
+        response.append(CRLF);
+        outputStream.write(response.toString().getBytes(StandardCharsets.US_ASCII));
+        outputStream.write(content);
+        outputStream.flush();
+    }
+
+    private static RecordedRequest readRequest(InputStream inputStream) throws IOException {
+
+        String requestLine = readLine(inputStream);
+        if (requestLine == null || requestLine.isEmpty()) {
+            return null;
+        }
+        String[] requestLineParts = requestLine.split(" ");
+        if (requestLineParts.length != 3) {
+            throw new IOException("Malformed request line: " + requestLine);
+        }
+
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String line = readLine(inputStream); line != null && !line.isEmpty(); line = readLine(inputStream)) {
+            int separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+            }
+        }
+
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(headers.get("Transfer-Encoding"))) {
+            body = readChunkedBody(inputStream);
+        } else {
+            body = readFully(inputStream, Integer.parseInt(headers.getOrDefault("Content-Length", "0")));
+        }
+        if ("gzip".equalsIgnoreCase(headers.get("Content-Encoding"))) {
+            body = gunzip(body);
+        }
+        return new RecordedRequest(requestLineParts[0], requestLineParts[1], headers,
+                new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readChunkedBody(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String chunkHeader = readLine(inputStream);
+            if (chunkHeader == null) {
+                throw new EOFException("Unexpected end of the chunked request body.");
+            }
+            int extension = chunkHeader.indexOf(';');
+            int chunkSize = Integer.parseInt((extension >= 0 ? chunkHeader.substring(0, extension) : chunkHeader)
+                    .trim(), 16);
+            if (chunkSize == 0) {
+                // Skip the trailers.
+                String line;
+                do {
+                    line = readLine(inputStream);
+                } while (line != null && !line.isEmpty());
+                return body.toByteArray();
+            }
+            body.write(readFully(inputStream, chunkSize));
+            readLine(inputStream);
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream, int length) throws IOException {
+
+        byte[] data = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = inputStream.read(data, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of the request body.");
+            }
+            offset += read;
+        }
+        return data;
+    }
+
+    private static String readLine(InputStream inputStream) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int previous = -1;
+        while (line.length() < MAX_HEADER_LINE_LENGTH) {
+            int current = inputStream.read();
+            if (current < 0) {
+                return line.length() == 0 ? null : line.toString();
+            }
+            if (previous == '\r' && current == '\n') {
+                line.setLength(line.length() - 1);
+                return line.toString();
+            }
+            line.append((char) current);
+            previous = current;
+        }
+        throw new IOException("Request line is too long.");
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer)) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+
+        try {
+            socket.close();
+        } catch (SocketException e) {
+            // Already reset.
+        } catch (IOException e) {
+            // Nothing to do.
+        }
+    }
+
+    /**
+     * Distribution of the latency injected before each response.
+     */
+    public interface LatencyDistribution {
+
+        /**
+         * Draw the latency of the next response.
+         *
+         * @param random Random source of the server.
+         * @return Latency in milliseconds.
+         */
+        long nextLatency(Random random);
+
+        static LatencyDistribution fixed(long latency) {
+
+            return random -> latency;
+        }
+
+        static LatencyDistribution uniform(long minLatency, long maxLatency) {
+
+            return random -> {
+                synchronized (random) {
+                    return minLatency + (long) (random.nextDouble() * (maxLatency - minLatency));
+                }
+            };
+        }
+
+        /**
+         * Log-normal latency, the usual shape of the response times of a remote service: most responses are close
+         * to the median, with a long tail of slow responses.
+         *
+         * @param medianLatency Median latency in milliseconds.
+         * @param sigma         Standard deviation of the log of the latency. 0.5 gives a p99 about 3x the median.
+         * @return Latency distribution.
+         */
+        static LatencyDistribution logNormal(long medianLatency, double sigma) {
+
+            return random -> {
+                synchronized (random) {
+                    return Math.round(medianLatency * Math.exp(sigma * random.nextGaussian()));
+                }
+            };
+        }
+    }
+
+    /**
+     * Request received by the server.
+     */
+    public static class RecordedRequest {
+
+        private final String method;
+        private final String path;
+        private final Map<String, String> headers;
+        private final String body;
+
+        RecordedRequest(String method, String path, Map<String, String> headers, String body) {
+
+            this.method = method;
+            this.path = path;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getMethod() {
+
+            return method;
+        }
+
+        public String getPath() {
+
+            return path;
+        }
+
+        public String getHeader(String name) {
+
+            return headers.get(name);
+        }
+
+        /**
+         * Get the request body, decompressed if it was sent with gzip.
+         *
+         * @return Request body.
+         */
+        public String getBody() {
+
+            return body;
+        }
+
+        boolean isConnectionClose() {
+
+            return "close".equalsIgnoreCase(headers.get("Connection"));
+        }
+    }
+}
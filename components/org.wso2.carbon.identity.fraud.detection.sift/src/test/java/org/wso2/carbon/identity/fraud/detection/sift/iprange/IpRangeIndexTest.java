@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.iprange;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Test class for IpRangeIndex.
+ */
+public class IpRangeIndexTest {
+
+    @DataProvider(name = "addresses")
+    public Object[][] addresses() {
+
+        return new Object[][]{
+                {"192.168.1.10", 0L, 0xffffc0a8010aL},
+                {" 10.0.0.1 ", 0L, 0xffff0a000001L},
+                {"2001:db8::1", 0x20010db800000000L, 1L},
+                {"::", 0L, 0L},
+                {"::1", 0L, 1L},
+                {"1::", 0x0001000000000000L, 0L},
+                {"1:2:3:4:5:6:7:8", 0x0001000200030004L, 0x0005000600070008L},
+                {"1:2:3:4::6:7:8", 0x0001000200030004L, 0x0000000600070008L},
+                {"FE80::ABCD%eth0", 0xfe80000000000000L, 0xabcdL},
+                {"::ffff:192.168.1.10", 0L, 0xffffc0a8010aL},
+                {"64:ff9b::10.0.0.1", 0x0064ff9b00000000L, 0x0a000001L},
+        };
+    }
+
+    @Test(dataProvider = "addresses")
+    public void testParseAddress(String ipAddress, long high, long low) {
+
+        long[] address = new long[2];
+
+        Assert.assertTrue(IpRangeIndex.parseAddress(ipAddress, 0, ipAddress.length(), address));
+        Assert.assertEquals(address[0], high);
+        Assert.assertEquals(address[1], low);
+    }
+
+    @DataProvider(name = "invalidAddresses")
+    public Object[][] invalidAddresses() {
+
+        return new Object[][]{
+                {""}, {"localhost"}, {"256.1.1.1"}, {"1.2.3"}, {"1.2.3.4.5"}, {"1..2.3"}, {"1.2.3.4."},
+                {"1:2:3:4:5:6:7"}, {"1:2:3:4:5:6:7:8:9"}, {"1::2::3"}, {":1:2:3:4:5:6:7"}, {"1:2:3:4:5:6:7:"},
+                {"12345::"}, {"1:2:3:4:5:6:7::8"}, {"::1.2.3"}, {"g::1"},
+        };
+    }
+
+    @Test(dataProvider = "invalidAddresses")
+    public void testParseInvalidAddress(String ipAddress) {
+
+        Assert.assertFalse(IpRangeIndex.parseAddress(ipAddress, 0, ipAddress.length(), new long[2]));
+    }
+
+    @Test
+    public void testMostSpecificRangeWins() {
+
+        IpRangeIndex index = new IpRangeIndex.Builder()
+                .add("10.0.0.0/8", 0.1)
+                .add("10.1.0.0/16", 0.5)
+                .add("10.1.2.3", 0.9)
+                .add("2001:db8::/32", 0.2)
+                .add("2001:db8:1::/48", 0.7)
+                .build();
+
+        Assert.assertEquals(index.size(), 5);
+        Assert.assertEquals(index.lookup("10.2.0.1"), 0.1);
+        Assert.assertEquals(index.lookup("10.1.9.9"), 0.5);
+        Assert.assertEquals(index.lookup("10.1.2.3"), 0.9);
+        Assert.assertEquals(index.lookup("::ffff:10.1.2.3"), 0.9);
+        Assert.assertEquals(index.lookup("2001:db8:2::1"), 0.2);
+        Assert.assertEquals(index.lookup("2001:db8:1:ffff::1"), 0.7);
+        Assert.assertTrue(Double.isNaN(index.lookup("11.0.0.1")));
+        Assert.assertTrue(Double.isNaN(index.lookup("2001:db9::1")));
+        Assert.assertTrue(Double.isNaN(index.lookup("invalid")));
+        Assert.assertTrue(Double.isNaN(index.lookup(null)));
+    }
+
+    @Test
+    public void testDefaultRoutes() {
+
+        IpRangeIndex index = new IpRangeIndex.Builder()
+                .add("0.0.0.0/0", 0.3)
+                .add("::/0", 0.6)
+                .build();
+
+        Assert.assertEquals(index.lookup("203.0.113.7"), 0.3);
+        Assert.assertEquals(index.lookup("2001:db8::1"), 0.6);
+    }
+
+    @Test
+    public void testRangeAddedAgainReplacesRiskScore() {
+
+        IpRangeIndex index = new IpRangeIndex.Builder()
+                .add("192.168.0.0/16", 0.1)
+                .add("192.168.7.7/16", 0.8)
+                .build();
+
+        Assert.assertEquals(index.size(), 1);
+        Assert.assertEquals(index.lookup("192.168.1.1"), 0.8);
+    }
+
+    @Test
+    public void testEmptyIndex() {
+
+        Assert.assertTrue(Double.isNaN(new IpRangeIndex.Builder().build().lookup("10.0.0.1")));
+    }
+
+    @DataProvider(name = "invalidRanges")
+    public Object[][] invalidRanges() {
+
+        return new Object[][]{{"10.0.0.0/33"}, {"10.0.0.0/-1"}, {"10.0.0.0/x"}, {"2001:db8::/129"}, {"host/8"}};
+    }
+
+    @Test(dataProvider = "invalidRanges", expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidRange(String range) {
+
+        new IpRangeIndex.Builder().add(range, 0.5);
+    }
+
+    @Test
+    public void testLookupMatchesLinearScan() {
+
+        Random random = new Random(42);
+        int rangeCount = 2000;
+        int[] networks = new int[rangeCount];
+        int[] prefixLengths = new int[rangeCount];
+        double[] scores = new double[rangeCount];
+        IpRangeIndex.Builder builder = new IpRangeIndex.Builder();
+        for (int i = 0; i < rangeCount; i++) {
+            prefixLengths[i] = 8 + random.nextInt(25);
+            networks[i] = random.nextInt(1 << 12) << 20 & mask(prefixLengths[i]);
+            scores[i] = i / (double) rangeCount;
+            builder.add(toIpv4(networks[i]) + "/" + prefixLengths[i], scores[i]);
+        }
+        IpRangeIndex index = builder.build();
+
+        for (int i = 0; i < 20000; i++) {
+            int address = random.nextInt(1 << 12) << 20 | random.nextInt(1 << 20);
+            double expected = Double.NaN;
+            int expectedPrefixLength = -1;
+            for (int j = 0; j < rangeCount; j++) {
+                // The last added range wins between the identical ranges, as in the index.
+                if ((address & mask(prefixLengths[j])) == networks[j] && prefixLengths[j] >= expectedPrefixLength) {
+                    expected = scores[j];
+                    expectedPrefixLength = prefixLengths[j];
+                }
+            }
+            Assert.assertEquals(index.lookup(toIpv4(address)), expected, "Address: " + toIpv4(address));
+        }
+    }
+
+    private static int mask(int prefixLength) {
+
+        return prefixLength == 0 ? 0 : -1 << (32 - prefixLength);
+    }
+
+    private static String toIpv4(int address) {
+
+        return (address >>> 24) + "." + (address >>> 16 & 0xff) + "." + (address >>> 8 & 0xff) + "." +
+                (address & 0xff);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.iprange;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.IpRangeConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Test class for IpRangeRegistry.
+ */
+public class IpRangeRegistryTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String OTHER_TENANT_DOMAIN = "wso2.com";
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("sift-ip-ranges");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testLoadIpRanges() throws IOException {
+
+        writeIpRanges(TENANT_DOMAIN, "# Corporate egress.\n10.0.0.0/8 allow\n\n203.0.113.0/24 deny\n" +
+                "2001:db8::/32 0.4\n");
+        IpRangeRegistry ipRangeRegistry = createRegistry();
+
+        ipRangeRegistry.reload();
+
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "10.1.2.3"), Constants.IP_RANGE_ALLOW_SCORE);
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "203.0.113.9"),
+                Constants.IP_RANGE_DENY_SCORE);
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "2001:db8::1"), 0.4);
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "192.0.2.1")));
+        // The IP ranges are not shared between the tenants.
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(OTHER_TENANT_DOMAIN, "10.1.2.3")));
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(null, "10.1.2.3")));
+    }
+
+    @Test
+    public void testInvalidLinesAreIgnored() throws IOException {
+
+        writeIpRanges(TENANT_DOMAIN, "10.0.0.0/8 allow\nnot-a-range deny\n192.0.2.0/24 2.5\n198.51.100.0/24\n" +
+                "172.16.0.0/12 deny\n");
+        IpRangeRegistry ipRangeRegistry = createRegistry();
+
+        ipRangeRegistry.reload();
+
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "10.1.2.3"), Constants.IP_RANGE_ALLOW_SCORE);
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "172.16.0.1"),
+                Constants.IP_RANGE_DENY_SCORE);
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "192.0.2.1")));
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "198.51.100.1")));
+    }
+
+    @Test
+    public void testReloadChangedAndRemovedFiles() throws IOException {
+
+        Path file = writeIpRanges(TENANT_DOMAIN, "10.0.0.0/8 allow\n");
+        writeIpRanges(OTHER_TENANT_DOMAIN, "10.0.0.0/8 deny\n");
+        IpRangeRegistry ipRangeRegistry = createRegistry();
+        ipRangeRegistry.reload();
+
+        Files.write(file, "10.0.0.0/8 0.25\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+        Files.delete(directory.resolve(OTHER_TENANT_DOMAIN + Constants.IP_RANGE_FILE_EXTENSION));
+        ipRangeRegistry.reload();
+
+        Assert.assertEquals(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "10.1.2.3"), 0.25);
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(OTHER_TENANT_DOMAIN, "10.1.2.3")));
+    }
+
+    @Test
+    public void testMissingDirectory() {
+
+        IpRangeRegistry ipRangeRegistry = new IpRangeRegistry(new IpRangeConfig.Builder()
+                .setDirectory(directory.resolve("missing").toString())
+                .setReloadInterval(0)
+                .build());
+
+        ipRangeRegistry.start();
+
+        Assert.assertTrue(Double.isNaN(ipRangeRegistry.getRiskScore(TENANT_DOMAIN, "10.1.2.3")));
+        ipRangeRegistry.stop();
+    }
+
+    private IpRangeRegistry createRegistry() {
+
+        return new IpRangeRegistry(new IpRangeConfig.Builder()
+                .setDirectory(directory.toString())
+                .setReloadInterval(0)
+                .build());
+    }
+
+    private Path writeIpRanges(String tenantDomain, String ipRanges) throws IOException {
+
+        return Files.write(directory.resolve(tenantDomain + Constants.IP_RANGE_FILE_EXTENSION),
+                ipRanges.getBytes(StandardCharsets.UTF_8));
+    }
+}
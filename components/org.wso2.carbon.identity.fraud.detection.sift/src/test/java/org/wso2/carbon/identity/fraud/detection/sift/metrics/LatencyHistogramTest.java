@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBounds() {
+
+        for (long value = 0; value < 100000; value++) {
+            int bucket = LatencyHistogram.getBucket(value);
+            Assert.assertTrue(value <= LatencyHistogram.getHighestValue(bucket));
+            if (bucket > 0) {
+                Assert.assertTrue(value > LatencyHistogram.getHighestValue(bucket - 1));
+            }
+        }
+        // The highest value of a bucket is off by at most 1/16 of the recorded value.
+        long value = 1234567890L;
+        Assert.assertTrue(LatencyHistogram.getHighestValue(LatencyHistogram.getBucket(value)) - value <= value / 16);
+    }
+
+    @Test
+    public void testStatistics() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            latencyHistogram.record(value * 1000);
+        }
+
+        Assert.assertEquals(latencyHistogram.getCount(), 100);
+        Assert.assertEquals(latencyHistogram.getMax(), 100000);
+        Assert.assertEquals(latencyHistogram.getMean(), 50500);
+        assertWithinError(latencyHistogram.getValueAtPercentile(50), 50000);
+        assertWithinError(latencyHistogram.getValueAtPercentile(90), 90000);
+        Assert.assertEquals(latencyHistogram.getValueAtPercentile(100), 100000);
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(-1);
+        latencyHistogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(latencyHistogram.getCount(), 2);
+        Assert.assertEquals(latencyHistogram.getValueAtPercentile(50), 0);
+        Assert.assertEquals(latencyHistogram.getValueAtPercentile(100), latencyHistogram.getMax());
+    }
+
+    @Test
+    public void testReset() {
+
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        latencyHistogram.record(1000);
+        latencyHistogram.reset();
+
+        Assert.assertEquals(latencyHistogram.getCount(), 0);
+        Assert.assertEquals(latencyHistogram.getMax(), 0);
+        Assert.assertEquals(latencyHistogram.getMean(), 0);
+        Assert.assertEquals(latencyHistogram.getValueAtPercentile(99), 0);
+    }
+
+    private static void assertWithinError(long actual, long expected) {
+
+        Assert.assertTrue(actual >= expected && actual <= expected + expected / 16,
+                "Expected " + expected + " within the histogram error, but was " + actual);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.metrics;
+
+import org.apache.http.conn.ConnectTimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Operation;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Outcome;
+import org.wso2.carbon.identity.fraud.detection.sift.metrics.SiftMetrics.Phase;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.MetricsConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+
+/**
+ * Test class for SiftMetrics.
+ */
+public class SiftMetricsTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    @Test
+    public void testOutcomesPerTenant() {
+
+        SiftMetrics siftMetrics = createSiftMetrics(10);
+        siftMetrics.recordOutcome(Operation.RISK_SCORE, TENANT_DOMAIN, Outcome.OK);
+        siftMetrics.recordOutcome(Operation.RISK_SCORE, TENANT_DOMAIN, Outcome.OK);
+        siftMetrics.recordOutcome(Operation.PUBLISH, TENANT_DOMAIN, Outcome.TIMEOUT);
+        siftMetrics.recordOutcome(Operation.PUBLISH, null, Outcome.HTTP_ERROR);
+
+        Map<String, Long> outcomes = siftMetrics.getOutcomes();
+        Assert.assertEquals(outcomes.get("carbon.super.riskScore.ok"), Long.valueOf(2));
+        Assert.assertEquals(outcomes.get("carbon.super.riskScore.timeout"), Long.valueOf(0));
+        Assert.assertEquals(outcomes.get("carbon.super.publish.timeout"), Long.valueOf(1));
+        Assert.assertEquals(outcomes.get(SiftMetrics.UNKNOWN_TENANT + ".publish.httpError"), Long.valueOf(1));
+    }
+
+    @Test
+    public void testOutcomesBeyondMaxTenants() {
+
+        SiftMetrics siftMetrics = createSiftMetrics(1);
+        siftMetrics.recordOutcome(Operation.RISK_SCORE, TENANT_DOMAIN, Outcome.OK);
+        siftMetrics.recordOutcome(Operation.RISK_SCORE, "wso2.com", Outcome.OK);
+        siftMetrics.recordOutcome(Operation.RISK_SCORE, "example.com", Outcome.OK);
+
+        Map<String, Long> outcomes = siftMetrics.getOutcomes();
+        Assert.assertEquals(outcomes.get("carbon.super.riskScore.ok"), Long.valueOf(1));
+        Assert.assertEquals(outcomes.get(SiftMetrics.OTHER_TENANTS + ".riskScore.ok"), Long.valueOf(2));
+        Assert.assertFalse(outcomes.containsKey("wso2.com.riskScore.ok"));
+    }
+
+    @Test
+    public void testLatencies() {
+
+        SiftMetrics siftMetrics = createSiftMetrics(10);
+        siftMetrics.recordLatency(Operation.RISK_SCORE, Phase.ROUND_TRIP, 2000000);
+        siftMetrics.recordConfigLookup(5000);
+
+        Map<String, Long> latencies = siftMetrics.getLatencies();
+        Assert.assertEquals(latencies.get("riskScore.roundTrip.count"), Long.valueOf(1));
+        Assert.assertEquals(latencies.get("riskScore.roundTrip.max"), Long.valueOf(2000));
+        Assert.assertEquals(latencies.get("publish.roundTrip.count"), Long.valueOf(0));
+        Assert.assertEquals(latencies.get("configLookup.count"), Long.valueOf(1));
+        Assert.assertTrue(latencies.containsKey("publish.connectionLease.p999"));
+
+        siftMetrics.reset();
+        Assert.assertEquals(siftMetrics.getLatency(Operation.RISK_SCORE, Phase.ROUND_TRIP).getCount(), 0);
+        Assert.assertEquals(siftMetrics.getConfigLookupLatency().getCount(), 0);
+    }
+
+    @Test
+    public void testCircuitBreakerCounters() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(new CircuitBreakerConfig.Builder()
+                .setEnabled(true)
+                .setFailureRateThreshold(50)
+                .setSlidingWindowSize(2)
+                .setMinimumNumberOfCalls(2)
+                .setWaitDurationInOpenState(10000)
+                .build());
+        SiftDataHolder.getInstance().setCircuitBreaker(circuitBreaker);
+        try {
+            SiftMetrics siftMetrics = createSiftMetrics(10);
+            Assert.assertEquals(siftMetrics.getCounters().get("circuitBreaker.state"), Long.valueOf(0));
+
+            for (int i = 0; i < 2; i++) {
+                Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+                circuitBreaker.onResult(true, 0);
+            }
+
+            Map<String, Long> counters = siftMetrics.getCounters();
+            Assert.assertEquals(counters.get("circuitBreaker.state"),
+                    Long.valueOf(CircuitBreaker.State.OPEN.ordinal()));
+            Assert.assertEquals(counters.get("circuitBreaker.openTransitions"), Long.valueOf(1));
+            Assert.assertEquals(counters.get("circuitBreaker.halfOpenTransitions"), Long.valueOf(0));
+            Assert.assertEquals(counters.get("circuitBreaker.closedTransitions"), Long.valueOf(0));
+        } finally {
+            SiftDataHolder.getInstance().setCircuitBreaker(null);
+        }
+    }
+
+    @Test
+    public void testOutcomeOfException() {
+
+        Assert.assertEquals(Outcome.of(new SocketTimeoutException()), Outcome.TIMEOUT);
+        Assert.assertEquals(Outcome.of(new ConnectTimeoutException()), Outcome.TIMEOUT);
+        Assert.assertEquals(Outcome.of(new IOException()), Outcome.IO_ERROR);
+    }
+
+    private static SiftMetrics createSiftMetrics(int maxTenants) {
+
+        return new SiftMetrics(new MetricsConfig.Builder().setMaxTenants(maxTenants).build());
+    }
+}
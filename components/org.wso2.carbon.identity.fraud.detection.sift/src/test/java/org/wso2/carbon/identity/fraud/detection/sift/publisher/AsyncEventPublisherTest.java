@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.publisher;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants.OverflowPolicy;
+import org.wso2.carbon.identity.fraud.detection.sift.models.PublisherConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for AsyncEventPublisher.
+ */
+public class AsyncEventPublisherTest {
+
+    @Test
+    public void testPublish() throws InterruptedException {
+
+        AsyncEventPublisher publisher = new AsyncEventPublisher(getPublisherConfig(OverflowPolicy.DROP_NEWEST));
+        CountDownLatch published = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+
+        publisher.publish(() -> {
+            threadName.set(Thread.currentThread().getName());
+            published.countDown();
+        });
+
+        Assert.assertTrue(published.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(threadName.get().startsWith("sift-event-publisher-"));
+        publisher.shutdown();
+    }
+
+    @Test
+    public void testDropNewestWhenQueueIsFull() throws InterruptedException {
+
+        AsyncEventPublisher publisher = new AsyncEventPublisher(getPublisherConfig(OverflowPolicy.DROP_NEWEST));
+        CountDownLatch release = blockWorker(publisher);
+        AtomicBoolean queuedEventPublished = new AtomicBoolean();
+        AtomicBoolean droppedEventPublished = new AtomicBoolean();
+
+        publisher.publish(() -> queuedEventPublished.set(true));
+        publisher.publish(() -> droppedEventPublished.set(true));
+        Assert.assertEquals(publisher.getDroppedEventCount(), 1);
+
+        release.countDown();
+        publisher.shutdown();
+        Assert.assertTrue(queuedEventPublished.get());
+        Assert.assertFalse(droppedEventPublished.get());
+    }
+
+    @Test
+    public void testDropOldestWhenQueueIsFull() throws InterruptedException {
+
+        AsyncEventPublisher publisher = new AsyncEventPublisher(getPublisherConfig(OverflowPolicy.DROP_OLDEST));
+        CountDownLatch release = blockWorker(publisher);
+        AtomicBoolean droppedEventPublished = new AtomicBoolean();
+        AtomicBoolean queuedEventPublished = new AtomicBoolean();
+
+        publisher.publish(() -> droppedEventPublished.set(true));
+        publisher.publish(() -> queuedEventPublished.set(true));
+        Assert.assertEquals(publisher.getDroppedEventCount(), 1);
+
+        release.countDown();
+        publisher.shutdown();
+        Assert.assertTrue(queuedEventPublished.get());
+        Assert.assertFalse(droppedEventPublished.get());
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull() throws InterruptedException {
+
+        AsyncEventPublisher publisher = new AsyncEventPublisher(getPublisherConfig(OverflowPolicy.CALLER_RUNS));
+        CountDownLatch release = blockWorker(publisher);
+        AtomicBoolean queuedEventPublished = new AtomicBoolean();
+        AtomicReference<Thread> publishingThread = new AtomicReference<>();
+
+        publisher.publish(() -> queuedEventPublished.set(true));
+        publisher.publish(() -> publishingThread.set(Thread.currentThread()));
+
+        Assert.assertEquals(publishingThread.get(), Thread.currentThread());
+        Assert.assertEquals(publisher.getDroppedEventCount(), 0);
+        release.countDown();
+        publisher.shutdown();
+        Assert.assertTrue(queuedEventPublished.get());
+    }
+
+    @Test
+    public void testPublishAfterShutdown() {
+
+        AsyncEventPublisher publisher = new AsyncEventPublisher(getPublisherConfig(OverflowPolicy.CALLER_RUNS));
+        publisher.shutdown();
+        AtomicBoolean published = new AtomicBoolean();
+
+        publisher.publish(() -> published.set(true));
+
+        Assert.assertFalse(published.get());
+        Assert.assertEquals(publisher.getDroppedEventCount(), 1);
+    }
+
+    private static PublisherConfig getPublisherConfig(OverflowPolicy overflowPolicy) {
+
+        return new PublisherConfig.Builder()
+                .setAsyncEnabled(true)
+                .setWorkerCount(1)
+                .setQueueSize(1)
+                .setOverflowPolicy(overflowPolicy)
+                .setDrainTimeout(5000)
+                .build();
+    }
+
+    private static CountDownLatch blockWorker(AsyncEventPublisher publisher) throws InterruptedException {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        publisher.publish(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.publisher;
+
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.FailedLoginAggregationConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for FailedLoginAggregator.
+ */
+public class FailedLoginAggregatorTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String IP = "203.0.113.7";
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(60000);
+
+    @Test
+    public void testSuccessfulLoginsAreAlwaysPublished() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(0, 100, 10));
+
+        for (int i = 0; i < 10; i++) {
+            JSONObject payload = createPayload(Constants.LoginStatus.LOGIN_SUCCESS, null);
+            Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN, payload, 0));
+            Assert.assertFalse(payload.has(Constants.AGGREGATED_FAILED_LOGINS_KEY));
+        }
+        Assert.assertEquals(failedLoginAggregator.size(), 0);
+    }
+
+    @Test
+    public void testFailedLoginsBelowBurstThreshold() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(3, 10, 10));
+
+        for (int i = 0; i < 3; i++) {
+            JSONObject payload = createPayload(Constants.LoginStatus.LOGIN_FAILED, null);
+            Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN, payload, 0));
+            Assert.assertFalse(payload.has(Constants.AGGREGATED_FAILED_LOGINS_KEY));
+        }
+        Assert.assertEquals(failedLoginAggregator.getAggregatedEventCount(), 0);
+    }
+
+    @Test
+    public void testBurstIsSampled() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(2, 5, 10));
+
+        int published = 0;
+        JSONObject lastPublished = null;
+        for (int i = 0; i < 12; i++) {
+            JSONObject payload = createPayload(Constants.LoginStatus.LOGIN_FAILED, null);
+            if (failedLoginAggregator.shouldPublish(TENANT_DOMAIN, payload, 0)) {
+                published++;
+                lastPublished = payload;
+            }
+        }
+
+        // The 2 failed logins of the burst threshold, then the 3rd and 8th failed logins.
+        Assert.assertEquals(published, 4);
+        Assert.assertEquals(failedLoginAggregator.getAggregatedEventCount(), 8);
+        Assert.assertEquals(lastPublished.getInt(Constants.AGGREGATED_FAILED_LOGINS_KEY), 5);
+        Assert.assertEquals(lastPublished.getInt(Constants.WINDOW_FAILED_LOGINS_KEY), 8);
+    }
+
+    @Test
+    public void testUnreportedFailuresCarryOverToNextWindow() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(1, 10, 10));
+
+        for (int i = 0; i < 4; i++) {
+            failedLoginAggregator.shouldPublish(TENANT_DOMAIN, createPayload(Constants.LoginStatus.LOGIN_FAILED,
+                    null), 0);
+        }
+        JSONObject payload = createPayload(Constants.LoginStatus.LOGIN_FAILED, null);
+
+        Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN, payload, WINDOW_NANOS));
+        // The 3rd and 4th failed logins of the previous window were not reported.
+        Assert.assertEquals(payload.getInt(Constants.AGGREGATED_FAILED_LOGINS_KEY), 3);
+        Assert.assertEquals(payload.getInt(Constants.WINDOW_FAILED_LOGINS_KEY), 1);
+    }
+
+    @Test
+    public void testFailedLoginsAreGroupedPerIpAndUser() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(1, 10, 10));
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                    createPayload(Constants.LoginStatus.LOGIN_FAILED, null), 0));
+        }
+        Assert.assertFalse(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, null), 0));
+        Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, "user"), 0));
+        Assert.assertTrue(failedLoginAggregator.shouldPublish("wso2.com",
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, null), 0));
+        Assert.assertEquals(failedLoginAggregator.size(), 3);
+    }
+
+    @Test
+    public void testMaxKeys() {
+
+        FailedLoginAggregator failedLoginAggregator = new FailedLoginAggregator(createConfig(0, 10, 1));
+
+        Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, "user1"), 0));
+        // No more groups can be tracked, hence the failed logins of a new group are published as they are.
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                    createPayload(Constants.LoginStatus.LOGIN_FAILED, "user2"), 0));
+        }
+        Assert.assertEquals(failedLoginAggregator.size(), 1);
+
+        // The expired group is evicted to make room for the new group.
+        Assert.assertTrue(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, "user2"), WINDOW_NANOS));
+        Assert.assertFalse(failedLoginAggregator.shouldPublish(TENANT_DOMAIN,
+                createPayload(Constants.LoginStatus.LOGIN_FAILED, "user2"), WINDOW_NANOS));
+        Assert.assertEquals(failedLoginAggregator.size(), 1);
+    }
+
+    private static JSONObject createPayload(Constants.LoginStatus loginStatus, String userId) {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.LOGIN_STATUS, loginStatus.getSiftValue());
+        payload.put(Constants.IP_KEY, IP);
+        if (userId != null) {
+            payload.put(Constants.USER_ID_KEY, userId);
+        }
+        return payload;
+    }
+
+    private static FailedLoginAggregationConfig createConfig(int burstThreshold, int sampleInterval, int maxKeys) {
+
+        return new FailedLoginAggregationConfig.Builder()
+                .setWindow(60000)
+                .setBurstThreshold(burstThreshold)
+                .setSampleInterval(sampleInterval)
+                .setMaxKeys(maxKeys)
+                .build();
+    }
+}
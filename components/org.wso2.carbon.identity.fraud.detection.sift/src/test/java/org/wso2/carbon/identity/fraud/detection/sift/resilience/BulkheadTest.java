@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for Bulkhead.
+ */
+public class BulkheadTest {
+
+    @Test
+    public void testRejectsWhenFull() {
+
+        Bulkhead bulkhead = new Bulkhead("test", 2, 0);
+
+        Assert.assertTrue(bulkhead.tryAcquire());
+        Assert.assertTrue(bulkhead.tryAcquire());
+        Assert.assertFalse(bulkhead.tryAcquire());
+        Assert.assertEquals(bulkhead.getConcurrentRequestCount(), 2);
+        Assert.assertEquals(bulkhead.getRejectedRequestCount(), 1);
+
+        bulkhead.release();
+        Assert.assertTrue(bulkhead.tryAcquire());
+        Assert.assertEquals(bulkhead.getRejectedRequestCount(), 1);
+    }
+
+    @Test
+    public void testWaitsForFreeSlot() throws InterruptedException {
+
+        Bulkhead bulkhead = new Bulkhead("test", 1, 5000);
+        Assert.assertTrue(bulkhead.tryAcquire());
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            bulkhead.release();
+        });
+        releaser.start();
+
+        Assert.assertTrue(bulkhead.tryAcquire());
+        Assert.assertEquals(bulkhead.getRejectedRequestCount(), 0);
+        releaser.join();
+    }
+
+    @Test
+    public void testRejectsAfterMaxWaitDuration() {
+
+        Bulkhead bulkhead = new Bulkhead("test", 1, 50);
+        Assert.assertTrue(bulkhead.tryAcquire());
+
+        long startTime = System.currentTimeMillis();
+        Assert.assertFalse(bulkhead.tryAcquire());
+        Assert.assertTrue(System.currentTimeMillis() - startTime >= 40);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for CircuitBreaker.
+ */
+public class CircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_CALL = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    @Test
+    public void testStaysClosedBelowMinimumNumberOfCalls() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getCircuitBreakerConfig(10000));
+
+        recordCalls(circuitBreaker, 3, true, FAST_CALL);
+
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testOpensOnFailureRate() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getCircuitBreakerConfig(10000));
+
+        recordCalls(circuitBreaker, 2, false, FAST_CALL);
+        recordCalls(circuitBreaker, 2, true, FAST_CALL);
+
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getCircuitBreakerConfig(10000));
+
+        recordCalls(circuitBreaker, 4, false, SLOW_CALL);
+
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void testHalfOpenTransitionsToClosed() throws InterruptedException {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getCircuitBreakerConfig(50));
+        recordCalls(circuitBreaker, 4, true, FAST_CALL);
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+
+        Thread.sleep(100);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        // Only the permitted number of trial calls are allowed in half open state.
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onResult(false, FAST_CALL);
+        circuitBreaker.onResult(false, FAST_CALL);
+
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertEquals(circuitBreaker.getFailureRate(), 0f);
+        Assert.assertEquals(circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN), 1);
+        Assert.assertEquals(circuitBreaker.getTransitionCount(CircuitBreaker.State.HALF_OPEN), 1);
+        Assert.assertEquals(circuitBreaker.getTransitionCount(CircuitBreaker.State.CLOSED), 1);
+    }
+
+    @Test
+    public void testHalfOpenTransitionsToOpen() throws InterruptedException {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(getCircuitBreakerConfig(50));
+        recordCalls(circuitBreaker, 4, true, FAST_CALL);
+
+        Thread.sleep(100);
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(true, FAST_CALL);
+        circuitBreaker.onResult(false, FAST_CALL);
+
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testIsFailureStatus() {
+
+        Assert.assertTrue(CircuitBreaker.isFailureStatus(500));
+        Assert.assertTrue(CircuitBreaker.isFailureStatus(503));
+        Assert.assertTrue(CircuitBreaker.isFailureStatus(429));
+        Assert.assertFalse(CircuitBreaker.isFailureStatus(200));
+        Assert.assertFalse(CircuitBreaker.isFailureStatus(400));
+    }
+
+    private static void recordCalls(CircuitBreaker circuitBreaker, int count, boolean failed, long duration) {
+
+        for (int i = 0; i < count; i++) {
+            Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(failed, duration);
+        }
+    }
+
+    private static CircuitBreakerConfig getCircuitBreakerConfig(int waitDurationInOpenState) {
+
+        return new CircuitBreakerConfig.Builder()
+                .setEnabled(true)
+                .setFailureRateThreshold(50)
+                .setSlowCallRateThreshold(100)
+                .setSlowCallDuration(1000)
+                .setWaitDurationInOpenState(waitDurationInOpenState)
+                .setSlidingWindowSize(10)
+                .setMinimumNumberOfCalls(4)
+                .setPermittedCallsInHalfOpenState(2)
+                .build();
+    }
+}
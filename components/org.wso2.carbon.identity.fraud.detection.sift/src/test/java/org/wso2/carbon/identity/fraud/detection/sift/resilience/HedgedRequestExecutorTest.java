@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.models.HedgingConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for HedgedRequestExecutor.
+ */
+public class HedgedRequestExecutorTest {
+
+    private static final String SIFT_URL = "https://localhost/v205/events";
+
+    @Test
+    public void testHedgedRequestWinsWhenPrimaryIsSlow() throws Exception {
+
+        CloseableHttpResponse slowResponse = mock(CloseableHttpResponse.class);
+        CloseableHttpResponse fastResponse = mock(CloseableHttpResponse.class);
+        CloseableHttpClient httpClient = getHttpClient(slowResponse, fastResponse, 1000);
+        HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor(getHedgingConfig(100));
+        List<HttpPost> requests = new ArrayList<>();
+
+        try {
+            CloseableHttpResponse response = hedgedRequestExecutor.execute(httpClient, getRequestFactory(requests));
+
+            Assert.assertSame(response, fastResponse);
+            Assert.assertEquals(requests.size(), 2);
+            Assert.assertTrue(requests.get(0).isAborted());
+            Assert.assertEquals(hedgedRequestExecutor.getHedgedRequestCount(), 1);
+        } finally {
+            hedgedRequestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoHedgingWhenPrimaryIsFast() throws Exception {
+
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        CloseableHttpClient httpClient = getHttpClient(response, mock(CloseableHttpResponse.class), 0);
+        HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor(getHedgingConfig(100));
+        List<HttpPost> requests = new ArrayList<>();
+
+        try {
+            Assert.assertSame(hedgedRequestExecutor.execute(httpClient, getRequestFactory(requests)), response);
+            Assert.assertEquals(requests.size(), 1);
+            Assert.assertEquals(hedgedRequestExecutor.getHedgedRequestCount(), 0);
+        } finally {
+            hedgedRequestExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNoHedgingWithoutBudget() throws Exception {
+
+        CloseableHttpResponse slowResponse = mock(CloseableHttpResponse.class);
+        CloseableHttpClient httpClient = getHttpClient(slowResponse, mock(CloseableHttpResponse.class), 200);
+        HedgedRequestExecutor hedgedRequestExecutor = new HedgedRequestExecutor(getHedgingConfig(0));
+        List<HttpPost> requests = new ArrayList<>();
+
+        try {
+            Assert.assertSame(hedgedRequestExecutor.execute(httpClient, getRequestFactory(requests)), slowResponse);
+            Assert.assertEquals(requests.size(), 1);
+            Assert.assertEquals(hedgedRequestExecutor.getHedgedRequestCount(), 0);
+        } finally {
+            hedgedRequestExecutor.shutdown();
+        }
+    }
+
+    private static CloseableHttpClient getHttpClient(CloseableHttpResponse primaryResponse,
+                                                     CloseableHttpResponse hedgedResponse, long primaryDelay)
+            throws Exception {
+
+        CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+        AtomicInteger attempts = new AtomicInteger();
+        when(httpClient.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(primaryDelay);
+                return primaryResponse;
+            }
+            return hedgedResponse;
+        });
+        return httpClient;
+    }
+
+    private static Supplier<HttpPost> getRequestFactory(List<HttpPost> requests) {
+
+        return () -> {
+            HttpPost request = new HttpPost(SIFT_URL);
+            requests.add(request);
+            return request;
+        };
+    }
+
+    private static HedgingConfig getHedgingConfig(int budgetPercentage) {
+
+        return new HedgingConfig.Builder()
+                .setEnabled(true)
+                .setDelayPercentile(95)
+                .setMinDelay(50)
+                .setBudgetPercentage(budgetPercentage)
+                .setMaxThreads(10)
+                .build();
+    }
+}
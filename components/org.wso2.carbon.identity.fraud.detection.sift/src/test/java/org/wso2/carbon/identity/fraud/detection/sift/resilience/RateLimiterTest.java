@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RateLimitConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for RateLimiter.
+ */
+public class RateLimiterTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    @Test
+    public void testTenantsAreLimitedSeparately() {
+
+        RateLimiter rateLimiter = createRateLimiter(0, 4, 4, 10);
+
+        Assert.assertEquals(acquireAll(rateLimiter, 0, TENANT_DOMAIN, 4), 4);
+        Assert.assertEquals(acquireAll(rateLimiter, 0, "wso2.com", 4), 4);
+        Assert.assertEquals(rateLimiter.getRejectedRequestCount(), 192);
+        Assert.assertEquals(rateLimiter.size(), 2);
+    }
+
+    @Test
+    public void testGlobalLimit() {
+
+        RateLimiter rateLimiter = createRateLimiter(4, 4, 4, 10);
+
+        Assert.assertEquals(acquireAll(rateLimiter, 0, TENANT_DOMAIN, 4), 4);
+        Assert.assertFalse(rateLimiter.tryAcquire("wso2.com", 4, 0));
+    }
+
+    @Test
+    public void testTenantRateOverride() {
+
+        RateLimiter rateLimiter = createRateLimiter(0, 4, 4, 10);
+
+        // The burst is scaled with the rate of the tenant.
+        Assert.assertEquals(acquireAll(rateLimiter, 0, TENANT_DOMAIN, 8), 8);
+        Assert.assertEquals(acquireAll(rateLimiter, 0, "wso2.com", 0), 100);
+    }
+
+    @Test
+    public void testMaxTenants() {
+
+        RateLimiter rateLimiter = createRateLimiter(0, 4, 4, 1);
+
+        Assert.assertEquals(acquireAll(rateLimiter, 0, TENANT_DOMAIN, 4), 4);
+        // The tenants beyond the limit share a bucket.
+        Assert.assertEquals(acquireAll(rateLimiter, 0, "wso2.com", 4), 4);
+        Assert.assertEquals(acquireAll(rateLimiter, 0, "example.com", 4), 0);
+        Assert.assertEquals(rateLimiter.size(), 1);
+
+        // The refilled bucket is evicted to make room for the next tenant.
+        long nanoTime = TimeUnit.SECONDS.toNanos(10);
+        Assert.assertEquals(acquireAll(rateLimiter, nanoTime, "example.com", 4), 4);
+        Assert.assertEquals(acquireAll(rateLimiter, nanoTime, TENANT_DOMAIN, 4), 4);
+        Assert.assertEquals(rateLimiter.size(), 1);
+    }
+
+    private static int acquireAll(RateLimiter rateLimiter, long nanoTime, String tenantDomain, int rate) {
+
+        int acquired = 0;
+        for (int i = 0; i < 100; i++) {
+            if (rateLimiter.tryAcquire(tenantDomain, rate, nanoTime)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+
+    private static RateLimiter createRateLimiter(int globalRate, int tenantRate, int tenantBurst, int maxTenants) {
+
+        return new RateLimiter(new RateLimitConfig.Builder()
+                .setGlobalRate(globalRate)
+                .setGlobalBurst(globalRate)
+                .setTenantRate(tenantRate)
+                .setTenantBurst(tenantBurst)
+                .setMaxTenants(maxTenants)
+                .setPublishPolicy(Constants.RateLimitPolicy.QUEUE)
+                .build(), 0);
+    }
+}
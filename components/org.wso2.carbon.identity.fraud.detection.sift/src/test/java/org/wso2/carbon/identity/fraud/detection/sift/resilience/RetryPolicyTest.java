@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicHttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.models.RetryConfig;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for RetryPolicy.
+ */
+public class RetryPolicyTest {
+
+    @Test
+    public void testNoRetryForSuccessfulOrClientErrorResponses() {
+
+        RetryPolicy retryPolicy = getRetryPolicy(100);
+
+        try {
+            retryPolicy.onRequest();
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, getResponse(HttpStatus.SC_OK)), RetryPolicy.NO_RETRY);
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, getResponse(HttpStatus.SC_BAD_REQUEST)),
+                    RetryPolicy.NO_RETRY);
+        } finally {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryUntilMaxAttempts() {
+
+        RetryPolicy retryPolicy = getRetryPolicy(100);
+
+        try {
+            recordRequests(retryPolicy, 5);
+            HttpResponse response = getResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+            long firstDelay = retryPolicy.getRetryDelay(0, response);
+            long secondDelay = retryPolicy.getRetryDelay(1);
+
+            Assert.assertTrue(firstDelay >= 0 && firstDelay <= 100);
+            Assert.assertTrue(secondDelay >= 0 && secondDelay <= 200);
+            Assert.assertEquals(retryPolicy.getRetryDelay(2, response), RetryPolicy.NO_RETRY);
+            Assert.assertEquals(retryPolicy.getRetryCount(), 2);
+        } finally {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryAfterHeader() {
+
+        RetryPolicy retryPolicy = getRetryPolicy(100);
+
+        try {
+            recordRequests(retryPolicy, 5);
+            HttpResponse response = getResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+            response.addHeader(HttpHeaders.RETRY_AFTER, "2");
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, response), 2000);
+            // Retry after exceeding the time left.
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, response, 1000), RetryPolicy.NO_RETRY);
+
+            HttpResponse throttledResponse = getResponse(Constants.HTTP_STATUS_TOO_MANY_REQUESTS);
+            throttledResponse.addHeader(HttpHeaders.RETRY_AFTER, "60");
+            // Retry after exceeding the max backoff.
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, throttledResponse), RetryPolicy.NO_RETRY);
+        } finally {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    public void testRetryBudget() {
+
+        RetryPolicy retryPolicy = getRetryPolicy(50);
+
+        try {
+            HttpResponse response = getResponse(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, response), RetryPolicy.NO_RETRY);
+
+            recordRequests(retryPolicy, 2);
+            Assert.assertNotEquals(retryPolicy.getRetryDelay(0, response), RetryPolicy.NO_RETRY);
+            Assert.assertEquals(retryPolicy.getRetryDelay(0, response), RetryPolicy.NO_RETRY);
+        } finally {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    public void testScheduleRetry() throws InterruptedException {
+
+        RetryPolicy retryPolicy = getRetryPolicy(100);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try {
+            Assert.assertTrue(retryPolicy.schedule(latch::countDown, 10));
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            retryPolicy.shutdown();
+        }
+        Assert.assertFalse(retryPolicy.schedule(latch::countDown, 10));
+    }
+
+    @Test
+    public void testShutdownRunsFallbackOfPendingRetries() {
+
+        RetryPolicy retryPolicy = getRetryPolicy(100);
+        AtomicInteger retries = new AtomicInteger();
+        AtomicInteger fallbacks = new AtomicInteger();
+
+        Assert.assertTrue(retryPolicy.schedule(retries::incrementAndGet, fallbacks::incrementAndGet, 60000));
+        Assert.assertTrue(retryPolicy.schedule(retries::incrementAndGet, 60000));
+        retryPolicy.shutdown();
+
+        Assert.assertEquals(retries.get(), 0);
+        Assert.assertEquals(fallbacks.get(), 1);
+        // The fallback is run only once, even if shut down again.
+        retryPolicy.shutdown();
+        Assert.assertEquals(fallbacks.get(), 1);
+    }
+
+    private static void recordRequests(RetryPolicy retryPolicy, int count) {
+
+        for (int i = 0; i < count; i++) {
+            retryPolicy.onRequest();
+        }
+    }
+
+    private static HttpResponse getResponse(int statusCode) {
+
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, null);
+    }
+
+    private static RetryPolicy getRetryPolicy(int budgetPercentage) {
+
+        return new RetryPolicy(new RetryConfig.Builder()
+                .setEnabled(true)
+                .setMaxAttempts(3)
+                .setInitialBackoff(100)
+                .setMaxBackoff(10000)
+                .setBudgetPercentage(budgetPercentage)
+                .setSchedulerThreads(1)
+                .build());
+    }
+}
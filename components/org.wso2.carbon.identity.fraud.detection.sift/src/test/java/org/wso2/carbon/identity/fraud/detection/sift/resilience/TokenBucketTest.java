@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.resilience;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for TokenBucket.
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurst() {
+
+        TokenBucket tokenBucket = new TokenBucket(8, 8, 0);
+
+        Assert.assertEquals(acquireAll(tokenBucket, 0), 8);
+        Assert.assertFalse(tokenBucket.isFull(0));
+    }
+
+    @Test
+    public void testBurstNotMultipleOfStripes() {
+
+        // The burst of 7 tokens is split over 4 stripes.
+        TokenBucket tokenBucket = new TokenBucket(7, 7, 4, 0);
+
+        // The tokens left over by the split of the burst are not lost.
+        Assert.assertEquals(acquireAll(tokenBucket, 0), 7);
+        Assert.assertEquals(acquireAll(tokenBucket, 10 * SECOND_NANOS), 7);
+    }
+
+    @Test
+    public void testRefill() {
+
+        TokenBucket tokenBucket = new TokenBucket(8, 8, 0);
+        acquireAll(tokenBucket, 0);
+
+        Assert.assertEquals(acquireAll(tokenBucket, SECOND_NANOS / 2), 4);
+        Assert.assertEquals(acquireAll(tokenBucket, SECOND_NANOS), 4);
+        // The bucket does not hold more than the burst after an idle period.
+        Assert.assertTrue(tokenBucket.isFull(10 * SECOND_NANOS));
+        Assert.assertEquals(acquireAll(tokenBucket, 10 * SECOND_NANOS), 8);
+    }
+
+    @Test
+    public void testNegativeNanoTime() {
+
+        long nanoTime = Long.MIN_VALUE + 1;
+        TokenBucket tokenBucket = new TokenBucket(8, 8, nanoTime);
+
+        Assert.assertEquals(acquireAll(tokenBucket, nanoTime), 8);
+        Assert.assertEquals(acquireAll(tokenBucket, nanoTime + SECOND_NANOS), 8);
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws InterruptedException {
+
+        // A rate low enough for the bucket not to refill while the test runs.
+        TokenBucket tokenBucket = new TokenBucket(1, 64);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < 100; j++) {
+                    if (tokenBucket.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        executorService.shutdown();
+
+        Assert.assertEquals(acquired.get(), 64);
+    }
+
+    private static int acquireAll(TokenBucket tokenBucket, long nanoTime) {
+
+        int acquired = 0;
+        while (tokenBucket.tryAcquire(nanoTime)) {
+            acquired++;
+        }
+        return acquired;
+    }
+}
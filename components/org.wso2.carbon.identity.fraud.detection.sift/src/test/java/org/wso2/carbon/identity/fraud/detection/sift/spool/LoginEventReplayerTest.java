@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.spool;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.exception.FrameworkException;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.HttpClientManager;
+import org.wso2.carbon.identity.fraud.detection.sift.cache.SiftConfigCache;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer;
+import org.wso2.carbon.identity.fraud.detection.sift.fixture.SiftStandInServer.Fault;
+import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
+import org.wso2.carbon.identity.fraud.detection.sift.models.CircuitBreakerConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConfigCacheConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.ConnectionConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.models.SpoolConfig;
+import org.wso2.carbon.identity.fraud.detection.sift.resilience.CircuitBreaker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tests the replay of spooled login events against an embedded Sift stand-in.
+ */
+public class LoginEventReplayerTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String API_KEY = "dummyApiKey";
+    private static final String PAYLOAD = "{\"$type\":\"$login\",\"$user_id\":\"user%d\"}";
+
+    private Path directory;
+    private SiftStandInServer server;
+    private CloseableHttpClient httpClient;
+    private ConnectionConfig connectionConfig;
+    private LoginEventSpool spool;
+    private volatile boolean configLookupFailing;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("sift-spool");
+        server = SiftStandInServer.start();
+        connectionConfig = new ConnectionConfig.Builder()
+                .setBaseUrl(server.getBaseUrl())
+                .setConnectionTimeout(1000)
+                .setReadTimeout(1000)
+                .setConnectionRequestTimeout(1000)
+                .build();
+        httpClient = HttpClientManager.getInstance().getHttpClient(connectionConfig);
+        configLookupFailing = false;
+        SiftDataHolder.getInstance().setSiftConfigCache(new SiftConfigCache(new ConfigCacheConfig.Builder()
+                .setTimeToLive(0)
+                .setNegativeTimeToLive(0)
+                .setMaxEntries(10)
+                .build(), this::loadSiftConfigs));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        SiftDataHolder.getInstance().setSiftConfigCache(null);
+        SiftDataHolder.getInstance().setCircuitBreaker(null);
+        if (spool != null) {
+            spool.close();
+            spool = null;
+        }
+        HttpClientManager.getInstance().closeHttpClient(httpClient);
+        server.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReplaysAndCommitsSpooledEvents() throws IOException {
+
+        LoginEventReplayer replayer = createReplayer(1000, 3);
+
+        replayer.replay();
+
+        Assert.assertEquals(server.getRequestCount(), 3);
+        for (int i = 0; i < 3; i++) {
+            JSONObject payload = new JSONObject(server.getRequests().get(i).getBody());
+            Assert.assertEquals(payload.getString(Constants.USER_ID_KEY), "user" + i);
+            // The API key is resolved at replay time, as it is not written to the spool.
+            Assert.assertEquals(payload.getString(Constants.API_KEY), API_KEY);
+        }
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    public void testCommitsReplayedEventsOnPartialFailure() throws IOException {
+
+        LoginEventReplayer replayer = createReplayer(1000, 3);
+        server.enqueueFaults(Fault.NONE, Fault.ERROR);
+
+        replayer.replay();
+
+        // The first event is committed, the failed and the remaining events stay in the spool.
+        Assert.assertEquals(server.getRequestCount(), 2);
+        List<SpooledEvent> events = spool.read(10);
+        Assert.assertEquals(events.size(), 2);
+        Assert.assertEquals(events.get(0).getPayload(), String.format(PAYLOAD, 1));
+        Assert.assertEquals(events.get(1).getPayload(), String.format(PAYLOAD, 2));
+
+        replayer.replay();
+
+        Assert.assertEquals(server.getRequestCount(), 4);
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    public void testReplayIsPaced() throws IOException {
+
+        LoginEventReplayer replayer = createReplayer(20, 5);
+
+        long startTime = System.nanoTime();
+        replayer.replay();
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        Assert.assertEquals(server.getRequestCount(), 5);
+        // A replay rate of 20 events per second spaces the events by 50 ms.
+        Assert.assertTrue(duration >= 200, "Replay of 5 events took only " + duration + " ms.");
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    public void testSkipsReplayWhileCircuitBreakerIsNotClosed() throws IOException {
+
+        LoginEventReplayer replayer = createReplayer(1000, 2);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(new CircuitBreakerConfig.Builder()
+                .setEnabled(true)
+                .setFailureRateThreshold(50)
+                .setWaitDurationInOpenState(60000)
+                .setSlidingWindowSize(2)
+                .setMinimumNumberOfCalls(2)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(true, 0);
+        }
+        Assert.assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        SiftDataHolder.getInstance().setCircuitBreaker(circuitBreaker);
+
+        replayer.replay();
+
+        Assert.assertEquals(server.getRequestCount(), 0);
+        Assert.assertEquals(spool.read(10).size(), 2);
+    }
+
+    @Test
+    public void testKeepsEventsWhenConfigLookupFails() throws IOException {
+
+        LoginEventReplayer replayer = createReplayer(1000, 2);
+        configLookupFailing = true;
+
+        replayer.replay();
+
+        Assert.assertEquals(server.getRequestCount(), 0);
+        Assert.assertEquals(spool.read(10).size(), 2);
+
+        configLookupFailing = false;
+        replayer.replay();
+
+        Assert.assertEquals(server.getRequestCount(), 2);
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    private LoginEventReplayer createReplayer(int replayRate, int eventCount) throws IOException {
+
+        SpoolConfig spoolConfig = new SpoolConfig.Builder()
+                .setDirectory(directory.toString())
+                .setSegmentSize(4096)
+                .setMaxSize(1024 * 1024)
+                .setReplayRate(replayRate)
+                .build();
+        spool = new LoginEventSpool(spoolConfig);
+        for (int i = 0; i < eventCount; i++) {
+            Assert.assertTrue(spool.append(TENANT_DOMAIN, String.format(PAYLOAD, i)));
+        }
+        return new LoginEventReplayer(spool, httpClient, connectionConfig.getSiftApiUrl(), spoolConfig);
+    }
+
+    private Map<String, String> loadSiftConfigs(String tenantDomain) throws FrameworkException {
+
+        if (configLookupFailing) {
+            throw new FrameworkException("Unable to load the Sift configurations of tenant: " + tenantDomain);
+        }
+        return Collections.singletonMap(Constants.SIFT_API_KEY_PROP, API_KEY);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.spool;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.models.SpoolConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for LoginEventSpool.
+ */
+public class LoginEventSpoolTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+    private static final String PAYLOAD = "{\"$type\":\"$login\",\"$user_id\":\"user\"}";
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("sift-spool");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testAppendReadAndCommit() throws IOException {
+
+        LoginEventSpool spool = new LoginEventSpool(getSpoolConfig(4096, 1024 * 1024));
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 1));
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 2));
+
+        List<SpooledEvent> events = spool.read(10);
+        Assert.assertEquals(events.size(), 2);
+        Assert.assertEquals(events.get(0).getTenantDomain(), TENANT_DOMAIN);
+        Assert.assertEquals(events.get(0).getPayload(), PAYLOAD + 1);
+        Assert.assertEquals(events.get(1).getPayload(), PAYLOAD + 2);
+
+        // Events are kept until they are committed.
+        Assert.assertEquals(spool.read(10).size(), 2);
+        spool.commit(events.get(0));
+        events = spool.read(10);
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getPayload(), PAYLOAD + 2);
+        spool.commit(events.get(0));
+        Assert.assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    @Test
+    public void testSurvivesRestart() throws IOException {
+
+        SpoolConfig spoolConfig = getSpoolConfig(256, 1024 * 1024);
+        LoginEventSpool spool = new LoginEventSpool(spoolConfig);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + i));
+        }
+        spool.commit(spool.read(3).get(2));
+        spool.close();
+
+        spool = new LoginEventSpool(spoolConfig);
+        List<SpooledEvent> events = spool.read(20);
+        Assert.assertEquals(events.size(), 7);
+        for (int i = 0; i < events.size(); i++) {
+            Assert.assertEquals(events.get(i).getPayload(), PAYLOAD + (i + 3));
+        }
+        // New events are appended after the recovered events.
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 10));
+        Assert.assertEquals(spool.read(20).size(), 8);
+        spool.close();
+    }
+
+    @Test
+    public void testDropsOldestSegmentsWhenFull() throws IOException {
+
+        LoginEventSpool spool = new LoginEventSpool(getSpoolConfig(256, 512));
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + i));
+        }
+
+        List<SpooledEvent> events = spool.read(20);
+        Assert.assertTrue(spool.getDroppedEventCount() > 0);
+        Assert.assertEquals(events.size() + spool.getDroppedEventCount(), 20);
+        Assert.assertEquals(events.get(events.size() - 1).getPayload(), PAYLOAD + 19);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertTrue(files.filter(path -> path.toString().endsWith(".spool")).count() <= 2);
+        }
+        spool.close();
+    }
+
+    @Test
+    public void testCommitOfDroppedEventIsIgnored() throws IOException {
+
+        LoginEventSpool spool = new LoginEventSpool(getSpoolConfig(256, 512));
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 0));
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 1));
+        List<SpooledEvent> events = spool.read(2);
+
+        // The segment of the read events is dropped before they are committed.
+        for (int i = 2; i < 20; i++) {
+            Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + i));
+        }
+        Assert.assertTrue(spool.getDroppedEventCount() > 0);
+        spool.commit(events.get(1));
+
+        events = spool.read(20);
+        Assert.assertFalse(events.isEmpty());
+        Assert.assertEquals(events.size() + spool.getDroppedEventCount(), 20);
+        Assert.assertEquals(events.get(events.size() - 1).getPayload(), PAYLOAD + 19);
+        spool.commit(events.get(events.size() - 1));
+        Assert.assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    @Test
+    public void testDiscardsCorruptedRecords() throws IOException {
+
+        SpoolConfig spoolConfig = getSpoolConfig(4096, 1024 * 1024);
+        LoginEventSpool spool = new LoginEventSpool(spoolConfig);
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 1));
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD + 2));
+        int secondRecordOffset = spool.read(1).get(0).getNextOffset();
+        spool.close();
+
+        // Corrupt the data of the second record, as if the server crashed while writing it.
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files.filter(path -> path.toString().endsWith(".spool"))
+                     .findFirst().get(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), secondRecordOffset + 20);
+        }
+
+        spool = new LoginEventSpool(spoolConfig);
+        List<SpooledEvent> events = spool.read(10);
+        Assert.assertEquals(events.size(), 1);
+        Assert.assertEquals(events.get(0).getPayload(), PAYLOAD + 1);
+        spool.close();
+    }
+
+    @Test
+    public void testSkipsExpiredEvents() throws IOException, InterruptedException {
+
+        LoginEventSpool spool = new LoginEventSpool(new SpoolConfig.Builder()
+                .setDirectory(directory.toString())
+                .setSegmentSize(4096)
+                .setMaxSize(1024 * 1024)
+                .setMaxAge(10)
+                .build());
+        Assert.assertTrue(spool.append(TENANT_DOMAIN, PAYLOAD));
+        Thread.sleep(50);
+
+        Assert.assertTrue(spool.read(10).isEmpty());
+        Assert.assertEquals(spool.getDroppedEventCount(), 1);
+        Assert.assertTrue(spool.isEmpty());
+        spool.close();
+    }
+
+    private SpoolConfig getSpoolConfig(int segmentSize, int maxSize) {
+
+        return new SpoolConfig.Builder()
+                .setDirectory(directory.toString())
+                .setSegmentSize(segmentSize)
+                .setMaxSize(maxSize)
+                .build();
+    }
+}
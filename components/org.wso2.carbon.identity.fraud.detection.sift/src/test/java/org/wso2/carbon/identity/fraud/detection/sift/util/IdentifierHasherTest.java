@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.context.AuthenticationContext;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+/**
+ * Test class for IdentifierHasher.
+ */
+public class IdentifierHasherTest {
+
+    private static final String USER_ID = "4b4a8e5c-2f1d-4f3a-9a55-0b5c1e1d9f10";
+    private static final String OTHER_USER_ID = "9d1f5e2b-7c3a-4e8b-b6a1-3f2e4d5c6b7a";
+
+    @DataProvider(name = "values")
+    public Object[][] values() {
+
+        return new Object[][]{
+                {""},
+                {USER_ID},
+                {"user\u00e9\u65e5\ud83d\ude00"}
+        };
+    }
+
+    @Test(dataProvider = "values")
+    public void testSha256Hex(String value) {
+
+        Assert.assertEquals(IdentifierHasher.sha256Hex(value), DigestUtils.sha256Hex(value));
+        // The digest of the thread is reset after each use.
+        Assert.assertEquals(IdentifierHasher.sha256Hex(value), DigestUtils.sha256Hex(value));
+    }
+
+    @Test
+    public void testSha256HexMemoized() {
+
+        AuthenticationContext context = new AuthenticationContext();
+
+        String hash = IdentifierHasher.sha256Hex(context, Constants.HASHED_USER_ID_PROPERTY, USER_ID);
+
+        Assert.assertEquals(hash, DigestUtils.sha256Hex(USER_ID));
+        Assert.assertSame(IdentifierHasher.sha256Hex(context, Constants.HASHED_USER_ID_PROPERTY, USER_ID), hash);
+        Assert.assertNull(context.getProperty(Constants.HASHED_SESSION_ID_PROPERTY));
+    }
+
+    @Test
+    public void testSha256HexMemoizedValueChanged() {
+
+        AuthenticationContext context = new AuthenticationContext();
+        IdentifierHasher.sha256Hex(context, Constants.HASHED_USER_ID_PROPERTY, USER_ID);
+
+        // A different user identified in a later step of the flow is hashed again.
+        Assert.assertEquals(IdentifierHasher.sha256Hex(context, Constants.HASHED_USER_ID_PROPERTY, OTHER_USER_ID),
+                DigestUtils.sha256Hex(OTHER_USER_ID));
+        Assert.assertEquals(IdentifierHasher.sha256Hex(context, Constants.HASHED_USER_ID_PROPERTY, OTHER_USER_ID),
+                DigestUtils.sha256Hex(OTHER_USER_ID));
+    }
+
+    @Test
+    public void testSha256HexWithoutContext() {
+
+        Assert.assertEquals(IdentifierHasher.sha256Hex(null, Constants.HASHED_USER_ID_PROPERTY, USER_ID),
+                DigestUtils.sha256Hex(USER_ID));
+    }
+}
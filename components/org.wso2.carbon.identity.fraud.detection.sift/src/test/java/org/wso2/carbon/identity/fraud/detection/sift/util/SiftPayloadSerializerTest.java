@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for SiftPayloadSerializer.
+ */
+public class SiftPayloadSerializerTest {
+
+    private static final String API_KEY = "1234567890abcdef";
+
+    @DataProvider(name = "strings")
+    public Object[][] strings() {
+
+        return new Object[][]{
+                {""},
+                {"Mozilla/5.0 (Windows NT 10.0; Win64; x64)"},
+                {"quote \" backslash \\ slash / script </script>"},
+                {"control \b \t \n \f \r \u0000 \u001f"},
+                {"latin \u00e9 \u00f1 \u0080 \u0085 \u009f \u00a0"},
+                {"separators \u2000 \u2028 \u2029 \u20ac \u20ff \u2100"},
+                {"cjk \u65e5\u672c emoji \ud83d\ude00"},
+                {"unpaired \ud83d surrogates \ude00"}
+        };
+    }
+
+    @Test(dataProvider = "strings")
+    public void testSerializeStrings(String value) {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.IP_KEY, value);
+        payload.put(value, Constants.IP_KEY);
+
+        assertSameBytes(payload);
+    }
+
+    @Test
+    public void testSerializeLoginPayload() {
+
+        assertSameBytes(createPayload());
+    }
+
+    @Test
+    public void testSerializeCustomParams() {
+
+        JSONObject payload = createPayload();
+        Map<String, Object> address = new HashMap<>();
+        address.put("$city", "Colombo");
+        address.put("$zipcode", null);
+        payload.put("$billing_address", address);
+        payload.put("$tags", Arrays.asList("vip", 1, true));
+        payload.put("$amount", 1.50d);
+        payload.put("$count", 42);
+        payload.put("$time", 1700000000000L);
+        payload.put("$verified", false);
+        payload.put("$empty", Collections.emptyMap());
+        payload.put("$currency", Constants.LoginStatus.LOGIN_SUCCESS);
+        payload.put("$null", JSONObject.NULL);
+
+        assertSameBytes(payload);
+    }
+
+    @Test
+    public void testSerializeManyCustomParams() {
+
+        JSONObject payload = createPayload();
+        for (int i = 0; i < 64; i++) {
+            payload.put("custom_param_" + i, "value " + i);
+        }
+
+        assertSameBytes(payload);
+    }
+
+    @Test
+    public void testSerializeApiKeys() {
+
+        for (int i = 0; i < 3; i++) {
+            JSONObject payload = createPayload();
+            payload.put(Constants.API_KEY, API_KEY + i);
+            assertSameBytes(payload);
+            // The second serialization uses the cached API key field.
+            assertSameBytes(payload);
+        }
+    }
+
+    @Test
+    public void testSerializeEmptyPayload() {
+
+        assertSameBytes(new JSONObject());
+    }
+
+    @Test
+    public void testToEntity() throws IOException {
+
+        JSONObject payload = createPayload();
+
+        HttpEntity entity = SiftPayloadSerializer.toEntity(payload);
+
+        Assert.assertTrue(entity.isRepeatable());
+        Assert.assertEquals(entity.getContentType().getValue(), "application/json; charset=UTF-8");
+        byte[] expected = payload.toString().getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(entity.getContentLength(), expected.length);
+        Assert.assertEquals(EntityUtils.toByteArray(entity), expected);
+        // A repeated read, as done when retrying the request, returns the same content.
+        Assert.assertEquals(EntityUtils.toByteArray(entity), expected);
+    }
+
+    @DataProvider(name = "apiKeys")
+    public Object[][] apiKeys() {
+
+        return new Object[][]{
+                {"12345abcde", "12345*****"},
+                {"12345abcdef", "12345******"},
+                {"a", "*"},
+                {"", ""}
+        };
+    }
+
+    @Test(dataProvider = "apiKeys")
+    public void testToMaskedString(String apiKey, String maskedApiKey) {
+
+        JSONObject payload = createPayload();
+        payload.put(Constants.API_KEY, apiKey);
+
+        String maskedPayload = SiftPayloadSerializer.toMaskedString(payload);
+
+        // Replacing the value keeps the position of the key, hence the masked payload is the same as this one.
+        payload.put(Constants.API_KEY, maskedApiKey);
+        Assert.assertEquals(maskedPayload, payload.toString());
+    }
+
+    @Test
+    public void testToMaskedStringReusesBuffer() {
+
+        JSONObject largePayload = createPayload();
+        for (int i = 0; i < 64; i++) {
+            largePayload.put("custom_param_" + i, "value " + i);
+        }
+        JSONObject smallPayload = new JSONObject().put(Constants.API_KEY, API_KEY);
+
+        Assert.assertTrue(SiftPayloadSerializer.toMaskedString(largePayload).contains("\"custom_param_63\""));
+        Assert.assertEquals(SiftPayloadSerializer.toMaskedString(smallPayload), "{\"$api_key\":\"12345678********\"}");
+        // Masking does not change the API key of the payload sent to Sift.
+        assertSameBytes(smallPayload);
+    }
+
+    @Test
+    public void testToStringWithoutApiKey() {
+
+        JSONObject payload = createPayload();
+
+        String spooledPayload = SiftPayloadSerializer.toStringWithoutApiKey(payload);
+
+        // Removing the API key does not change the order of the remaining keys.
+        Assert.assertEquals(payload.getString(Constants.API_KEY), API_KEY);
+        payload.remove(Constants.API_KEY);
+        Assert.assertEquals(spooledPayload, payload.toString());
+        Assert.assertEquals(SiftPayloadSerializer.toStringWithoutApiKey(new JSONObject().put(Constants.API_KEY,
+                API_KEY)), "{}");
+    }
+
+    private static JSONObject createPayload() {
+
+        JSONObject payload = new JSONObject();
+        payload.put(Constants.TYPE, Constants.LOGIN_TYPE);
+        payload.put(Constants.API_KEY, API_KEY);
+        payload.put(Constants.LOGIN_STATUS, "$success");
+        payload.put(Constants.USER_ID_KEY, "a665a45920422f9d417e4867efdc4fb8a04a1f3fff1fa07e998e86f7f7a27ae3");
+        payload.put(Constants.BROWSER_KEY, new JSONObject().put(Constants.USER_AGENT_KEY, "Mozilla/5.0"));
+        payload.put(Constants.IP_KEY, "192.168.1.1");
+        payload.put(Constants.SESSION_ID_KEY, "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae");
+        return payload;
+    }
+
+    private static void assertSameBytes(JSONObject payload) {
+
+        Assert.assertEquals(SiftPayloadSerializer.toBytes(payload),
+                payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
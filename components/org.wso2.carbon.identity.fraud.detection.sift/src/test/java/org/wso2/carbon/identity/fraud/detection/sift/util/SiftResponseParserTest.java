@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (https://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.fraud.detection.sift.util;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.fraud.detection.sift.util.SiftResponseParser.SiftResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class for SiftResponseParser.
+ */
+public class SiftResponseParserTest {
+
+    @Test
+    public void testParseScoreResponse() throws IOException {
+
+        String response = "{\"status\":0,\"error_message\":\"OK\",\"request\":{\"$type\":\"$login\"," +
+                "\"$browser\":{\"$user_agent\":\"Mozilla/5.0\"}},\"time\":1700000000," +
+                "\"score_response\":{\"status\":0,\"scores\":{\"payment_abuse\":{\"score\":0.1,\"reasons\":[]}," +
+                "\"account_takeover\":{\"score\":0.85,\"reasons\":[{\"name\":\"Network\",\"value\":\"0.5\"}]," +
+                "\"percentiles\":{\"last_7_days\":-1.0}}},\"latest_labels\":{}}}";
+
+        SiftResponse siftResponse = SiftResponseParser.parse(toStream(response));
+
+        Assert.assertTrue(siftResponse.hasStatus());
+        Assert.assertEquals(siftResponse.getStatus(), 0);
+        Assert.assertTrue(siftResponse.hasScore());
+        Assert.assertEquals(siftResponse.getScore(), 0.85);
+    }
+
+    @Test
+    public void testParseStatusAfterScoreResponse() throws IOException {
+
+        String response = "{\"score_response\":{\"scores\":{\"account_takeover\":{\"score\":0.3}}},\"status\":51}";
+
+        SiftResponse siftResponse = SiftResponseParser.parse(toStream(response));
+
+        Assert.assertEquals(siftResponse.getStatus(), 51);
+        Assert.assertEquals(siftResponse.getScore(), 0.3);
+    }
+
+    @Test
+    public void testParseQuotedValues() throws IOException {
+
+        String response = "{\"status\":\"2\"," +
+                "\"score_response\":{\"scores\":{\"account_takeover\":{\"score\":\"0.4\"}}}}";
+
+        SiftResponse siftResponse = SiftResponseParser.parse(toStream(response));
+
+        Assert.assertEquals(siftResponse.getStatus(), 2);
+        Assert.assertEquals(siftResponse.getScore(), 0.4);
+    }
+
+    @DataProvider(name = "responsesWithoutScore")
+    public Object[][] responsesWithoutScore() {
+
+        return new Object[][]{
+                {"{\"status\":0}"},
+                {"{\"status\":0,\"score_response\":null}"},
+                {"{\"status\":0,\"score_response\":{\"scores\":[]}}"},
+                {"{\"status\":0,\"score_response\":{\"scores\":{\"payment_abuse\":{\"score\":0.9}}}}"},
+                {"{\"status\":0,\"score_response\":{\"scores\":{\"account_takeover\":{\"score\":null}}}}"},
+                {"{\"status\":0,\"account_takeover\":{\"score\":0.9}}"}
+        };
+    }
+
+    @Test(dataProvider = "responsesWithoutScore")
+    public void testParseResponseWithoutScore(String response) throws IOException {
+
+        SiftResponse siftResponse = SiftResponseParser.parse(toStream(response));
+
+        Assert.assertTrue(siftResponse.hasStatus());
+        Assert.assertFalse(siftResponse.hasScore());
+    }
+
+    @Test
+    public void testParseResponseWithoutStatus() throws IOException {
+
+        SiftResponse siftResponse = SiftResponseParser.parse(toStream("{\"error_message\":\"OK\"}"));
+
+        Assert.assertFalse(siftResponse.hasStatus());
+        Assert.assertFalse(siftResponse.hasScore());
+    }
+
+    @DataProvider(name = "invalidResponses")
+    public Object[][] invalidResponses() {
+
+        return new Object[][]{
+                {""},
+                {"[]"},
+                {"{\"status\":0,"},
+                {"{\"status\":\"invalid\"}"},
+                {"<html>Bad Gateway</html>"}
+        };
+    }
+
+    @Test(dataProvider = "invalidResponses", expectedExceptions = IOException.class)
+    public void testParseInvalidResponse(String response) throws IOException {
+
+        SiftResponseParser.parse(toStream(response));
+    }
+
+    private static InputStream toStream(String response) {
+
+        return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+    }
+}
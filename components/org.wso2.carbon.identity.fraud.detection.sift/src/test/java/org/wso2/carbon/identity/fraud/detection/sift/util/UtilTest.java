@@ -34,6 +34,7 @@ import org.wso2.carbon.identity.application.authentication.framework.exception.U
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.model.Property;
 import org.wso2.carbon.identity.fraud.detection.sift.Constants;
+import org.wso2.carbon.identity.fraud.detection.sift.fallback.FallbackRiskScorer;
 import org.wso2.carbon.identity.fraud.detection.sift.internal.SiftDataHolder;
 import org.wso2.carbon.identity.governance.IdentityGovernanceException;
 import org.wso2.carbon.identity.governance.IdentityGovernanceService;
@@ -44,7 +45,11 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequestWrapper;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -114,7 +119,8 @@ public class UtilTest {
 
         HashMap<String, Object> passedCustomParams = new HashMap<>();
 
-        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_SUCCESS", passedCustomParams);
+        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_SUCCESS", passedCustomParams,
+                Util.getSiftConfigs("carbon.super"));
         assertEquals(payload.getString(Constants.TYPE), Constants.LOGIN_TYPE);
         assertEquals(payload.getString(Constants.LOGIN_STATUS), "$success");
         assertEquals(payload.getString(Constants.USER_ID_KEY), DigestUtils.sha256Hex(USER_ID));
@@ -166,7 +172,8 @@ public class UtilTest {
         passedCustomParams.put(Constants.SESSION_ID_KEY, "");
         passedCustomParams.put(Constants.LOGGING_ENABLED, true);
 
-        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_FAILED", passedCustomParams);
+        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_FAILED", passedCustomParams,
+                Util.getSiftConfigs("carbon.super"));
         assertEquals(payload.getString(Constants.TYPE), Constants.LOGIN_TYPE);
         assertEquals(payload.getString(Constants.LOGIN_STATUS), "$failure");
         assertEquals(payload.getString(Constants.USER_ID_KEY), CUSTOM_USER_ID);
@@ -218,7 +225,8 @@ public class UtilTest {
         passedCustomParams.put(Constants.USER_AGENT_KEY, CUSTOM_USER_AGENT);
         passedCustomParams.put(Constants.LOGGING_ENABLED, true);
 
-        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_SUCCESS", passedCustomParams);
+        JSONObject payload = Util.buildPayload(mockContext, "LOGIN_SUCCESS", passedCustomParams,
+                Util.getSiftConfigs("carbon.super"));
         assertEquals(payload.getString(Constants.TYPE), Constants.LOGIN_TYPE);
         assertEquals(payload.getString(Constants.LOGIN_STATUS), "$success");
         assertEquals(payload.getString(Constants.USER_ID_KEY), DigestUtils.sha256Hex(USER_ID));
@@ -229,6 +237,72 @@ public class UtilTest {
         assertEquals(payload.getString(CUSTOM_KEY), CUSTOM_VALUE);
     }
 
+    @Test
+    public void testBuildPayloadRecordsLoginOnce() throws FrameworkException, UserIdNotFoundException {
+
+        AuthenticationContext wrappedContext = new AuthenticationContext();
+        wrappedContext.setTenantDomain("carbon.super");
+        wrappedContext.setContextIdentifier(SESSION_ID);
+        when(mockContext.getWrapped()).thenReturn(wrappedContext);
+
+        JsGraalAuthenticatedUser mockUser = mock(JsGraalAuthenticatedUser.class);
+        AuthenticatedUser authenticatedUser = mock(AuthenticatedUser.class);
+        when(mockUser.getWrapped()).thenReturn(authenticatedUser);
+        when(authenticatedUser.getUserId()).thenReturn(USER_ID);
+        when(mockContext.getMember(Constants.CURRENT_KNOWN_SUBJECT)).thenReturn(mockUser);
+
+        HttpServletRequestWrapper httpServletRequestWrapper = mock(HttpServletRequestWrapper.class);
+        TransientObjectWrapper<HttpServletRequestWrapper> transientObjectWrapper = mock(TransientObjectWrapper.class);
+        when(transientObjectWrapper.getWrapped()).thenReturn(httpServletRequestWrapper);
+        wrappedContext.addParameter(Constants.HTTP_SERVLET_REQUEST, transientObjectWrapper);
+
+        Map<String, String> siftConfigs = new HashMap<>();
+        siftConfigs.put(Constants.SIFT_API_KEY_PROP, "dummyApiKey");
+        FallbackRiskScorer fallbackRiskScorer = mock(FallbackRiskScorer.class);
+        SiftDataHolder.getInstance().setFallbackRiskScorer(fallbackRiskScorer);
+        try {
+            // The script gets the risk score and publishes the same failed login.
+            Util.buildPayload(mockContext, "LOGIN_FAILED", new HashMap<>(), siftConfigs);
+            Util.buildPayload(mockContext, "LOGIN_FAILED", new HashMap<>(), siftConfigs);
+            verify(fallbackRiskScorer, times(1)).recordLogin(anyString(), any(JSONObject.class));
+
+            Util.buildPayload(mockContext, "LOGIN_SUCCESS", new HashMap<>(), siftConfigs);
+            verify(fallbackRiskScorer, times(2)).recordLogin(anyString(), any(JSONObject.class));
+        } finally {
+            SiftDataHolder.getInstance().setFallbackRiskScorer(null);
+        }
+    }
+
+    @Test
+    public void testGetRiskScoreCacheTimeToLive() {
+
+        Map<String, String> siftConfigs = new HashMap<>();
+        assertEquals(Util.getRiskScoreCacheTimeToLive(siftConfigs, "carbon.super", 30000L), 30000L);
+
+        // Configured in seconds by the tenant.
+        siftConfigs.put(Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP, "120");
+        assertEquals(Util.getRiskScoreCacheTimeToLive(siftConfigs, "carbon.super", 30000L), 120000L);
+
+        siftConfigs.put(Constants.SIFT_SCORE_CACHE_TIME_TO_LIVE_PROP, "invalid");
+        assertEquals(Util.getRiskScoreCacheTimeToLive(siftConfigs, "carbon.super", 30000L), 30000L);
+    }
+
+    @Test
+    public void testGetRateLimit() {
+
+        Map<String, String> siftConfigs = new HashMap<>();
+        assertEquals(Util.getRateLimit(siftConfigs, "carbon.super", 10), 10);
+
+        siftConfigs.put(Constants.SIFT_RATE_LIMIT_PROP, "25");
+        assertEquals(Util.getRateLimit(siftConfigs, "carbon.super", 10), 25);
+
+        siftConfigs.put(Constants.SIFT_RATE_LIMIT_PROP, "-5");
+        assertEquals(Util.getRateLimit(siftConfigs, "carbon.super", 10), 0);
+
+        siftConfigs.put(Constants.SIFT_RATE_LIMIT_PROP, "invalid");
+        assertEquals(Util.getRateLimit(siftConfigs, "carbon.super", 10), 10);
+    }
+
     @Test
     public void testGetPassedCustomParams() {
 